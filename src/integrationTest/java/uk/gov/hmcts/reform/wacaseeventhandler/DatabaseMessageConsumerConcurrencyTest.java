@@ -0,0 +1,130 @@
+package uk.gov.hmcts.reform.wacaseeventhandler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.LaunchDarklyFeatureFlagProvider;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.CaseEventMessage;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.ccd.CcdEventProcessor;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+@ActiveProfiles("db")
+@TestPropertySource(properties = {
+    "scheduledExecutors.messageProcessing.threadPoolSize=4",
+    "scheduledExecutors.messageProcessing.pollIntervalMilliSeconds=100",
+    "scheduledExecutors.messageProcessing.claimBatchSize=2"
+})
+class DatabaseMessageConsumerConcurrencyTest {
+
+    private static final int NUMBER_OF_CASES = 5;
+    private static final int MESSAGES_PER_CASE = 10;
+    private static final LocalDateTime FIRST_EVENT_TIMESTAMP = LocalDateTime.of(2022, 1, 4, 12, 0);
+
+    private static final String INSERT_READY_MESSAGE =
+        "INSERT INTO wa_case_event_messages (message_id, case_id, event_timestamp, from_dlq, state, "
+        + "message_properties, message_content, received, delivery_count, retry_count) "
+        + "VALUES (?, ?, ?, false, 'READY', 'null', '{}', now(), 0, 0)";
+
+    @MockBean
+    private LaunchDarklyFeatureFlagProvider launchDarklyFeatureFlagProvider;
+
+    @SpyBean
+    private CcdEventProcessor ccdEventProcessor;
+
+    @Autowired
+    private DataSource db;
+
+    private final Map<String, List<LocalDateTime>> processedTimestampsByCase = new ConcurrentHashMap<>();
+    private final Set<String> casesInFlight = ConcurrentHashMap.newKeySet();
+    private final Set<String> workerThreads = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean sameCaseProcessedConcurrently = new AtomicBoolean(false);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        new JdbcTemplate(db).execute("DELETE FROM wa_case_event_messages");
+
+        doAnswer(invocation -> {
+            CaseEventMessage message = invocation.getArgument(0);
+            String caseId = message.getCaseId();
+            if (!casesInFlight.add(caseId)) {
+                sameCaseProcessedConcurrently.set(true);
+            }
+            try {
+                workerThreads.add(Thread.currentThread().getName());
+                Thread.sleep(20);
+                processedTimestampsByCase
+                    .computeIfAbsent(caseId, key -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(message.getEventTimestamp());
+            } finally {
+                casesInFlight.remove(caseId);
+            }
+            return null;
+        }).when(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(db).execute("DELETE FROM wa_case_event_messages");
+    }
+
+    @Test
+    void should_process_messages_in_event_timestamp_order_per_case_with_concurrent_workers() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(db);
+        // insert the newest messages first so the sequence order does not match the event order
+        for (int message = MESSAGES_PER_CASE - 1; message >= 0; message--) {
+            for (int caseNumber = 0; caseNumber < NUMBER_OF_CASES; caseNumber++) {
+                jdbcTemplate.update(INSERT_READY_MESSAGE,
+                    UUID.randomUUID().toString(),
+                    caseId(caseNumber),
+                    Timestamp.valueOf(FIRST_EVENT_TIMESTAMP.plusSeconds(message)));
+            }
+        }
+
+        await().atMost(60, SECONDS).untilAsserted(() -> assertEquals(
+            NUMBER_OF_CASES * MESSAGES_PER_CASE,
+            jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM wa_case_event_messages WHERE state = 'PROCESSED'", Integer.class)
+        ));
+
+        assertFalse(sameCaseProcessedConcurrently.get(), "Two messages of the same case were processed at once");
+        assertTrue(workerThreads.size() > 1, "Messages were not processed by more than one worker");
+        assertEquals(NUMBER_OF_CASES, processedTimestampsByCase.size());
+        processedTimestampsByCase.forEach((caseId, timestamps) -> {
+            List<LocalDateTime> expectedOrder = new ArrayList<>(timestamps);
+            Collections.sort(expectedOrder);
+            assertEquals(MESSAGES_PER_CASE, timestamps.size());
+            assertEquals(expectedOrder, timestamps, "Messages for case " + caseId + " were processed out of order");
+        });
+    }
+
+    private static String caseId(int caseNumber) {
+        return String.valueOf(1_000_000_000_000_000L + caseNumber);
+    }
+}
@@ -28,6 +28,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 
@@ -88,6 +89,9 @@ public class DatabaseMessageConsumerResilienceTest {
         doThrow(new JDBCConnectionException("An error occurred when running database message consumer.", null))
             .when(caseEventMessageRepository)
             .getNextAvailableMessageReadyToProcess();
+        doThrow(new JDBCConnectionException("An error occurred when running database message consumer.", null))
+            .when(caseEventMessageRepository)
+            .getNextAvailableMessagesReadyToProcess(anyInt());
 
         await().ignoreException(Exception.class)
             .pollInterval(5, SECONDS)
@@ -28,6 +28,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
@@ -67,6 +68,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureMockMvc(addFilters = false)
 @ActiveProfiles("db")
+@TestPropertySource(properties = {"scheduledExecutors.messageProcessing.claimBatchSize=1"})
 class MessageProcessorTest {
 
     protected static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
@@ -297,7 +299,7 @@ class MessageProcessorTest {
             .when(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
 
         final ExecutorService executorService = Executors.newFixedThreadPool(2);
-        executorService.execute(databaseMessageConsumer);
+        executorService.execute(databaseMessageConsumer::processReadyMessages);
 
         await()
                 .atMost(20, SECONDS)
@@ -20,18 +20,16 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.TransactionTimedOutException;
 import uk.gov.hmcts.reform.wacaseeventhandler.clients.LaunchDarklyFeatureFlagProvider;
 import uk.gov.hmcts.reform.wacaseeventhandler.config.executors.MessageReadinessExecutor;
-import uk.gov.hmcts.reform.wacaseeventhandler.entity.CaseEventMessageEntity;
 import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.DeadLetterQueuePeekService;
 
-import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
-import static com.azure.messaging.servicebus.implementation.ManagementConstants.MESSAGE_ID;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
@@ -90,10 +88,10 @@ public class MessageReadinessResilienceTest {
     }
 
     @Test
-    void should_handle_database_outage_and_log_issue_when_getting_all_messages_in_new_state(CapturedOutput output) {
-        doThrow(new JDBCConnectionException("An error occurred when getting all message in new state", null))
+    void should_handle_database_outage_and_log_issue_when_checking_for_messages_in_new_state(CapturedOutput output) {
+        doThrow(new JDBCConnectionException("An error occurred when checking for messages in new state", null))
             .when(caseEventMessageRepository)
-            .getAllMessagesInNewState();
+            .hasMessagesInNewState();
 
         await().ignoreException(Exception.class)
             .pollInterval(5, SECONDS)
@@ -107,17 +105,14 @@ public class MessageReadinessResilienceTest {
     @Test
     void should_handle_database_outage_and_log_issue_when_updating_message_state(CapturedOutput output) {
 
-        CaseEventMessageEntity caseEventMessageEntity = new CaseEventMessageEntity();
-        caseEventMessageEntity.setMessageId(MESSAGE_ID);
-        when(caseEventMessageRepository.getAllMessagesInNewState())
-            .thenReturn(List.of(caseEventMessageEntity));
+        when(caseEventMessageRepository.hasMessagesInNewState()).thenReturn(true);
 
         when(deadLetterQueuePeekService.isDeadLetterQueueEmpty())
             .thenReturn(true);
 
         doThrow(new TransactionTimedOutException("An error occurred when updating message state"))
             .when(caseEventMessageRepository)
-            .updateMessageState(any(), any());
+            .updateNewMessagesToReady(anyInt());
 
 
         await().ignoreException(Exception.class)
@@ -11,7 +11,6 @@ import feign.FeignException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -37,6 +36,7 @@ import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
@@ -92,7 +92,7 @@ public class UpdateRecordErrorHandlingTest {
         throws JsonProcessingException {
         doNothing().when(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
         doThrow(new TransactionTimedOutException("Time out")).when(caseEventMessageRepository)
-            .updateMessageState(eq(MessageState.PROCESSED), Mockito.<String>anyList());
+            .updateLeasedMessageState(eq(MessageState.PROCESSED), anyString(), anyString());
         await()
             .atMost(120, SECONDS)
             .untilAsserted(() -> assertEquals(1, getMessagesInDbFromQuery(PROCESSED_STATE_QUERY).size()));
@@ -112,7 +112,7 @@ public class UpdateRecordErrorHandlingTest {
             .when(ccdEventProcessor)
             .processMessage(any(CaseEventMessage.class));
         doThrow(new TransactionTimedOutException("Time out")).when(caseEventMessageRepository)
-            .updateMessageWithRetryDetails(eq(1), any(LocalDateTime.class), eq(MESSAGE_ID));
+            .updateLeasedMessageWithRetryDetails(eq(1), any(LocalDateTime.class), eq(MESSAGE_ID), anyString());
 
         await()
             .atMost(120, SECONDS)
@@ -133,7 +133,7 @@ public class UpdateRecordErrorHandlingTest {
 
         doNothing().when(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
         doThrow(new TransactionTimedOutException("Time out")).when(caseEventMessageRepository)
-            .updateMessageState(eq(MessageState.PROCESSED), Mockito.<String>anyList());
+            .updateLeasedMessageState(eq(MessageState.PROCESSED), anyString(), anyString());
 
         await()
             .atMost(120, SECONDS)
@@ -150,7 +150,7 @@ public class UpdateRecordErrorHandlingTest {
     void should_set_message_state_to_unprocessable_when_non_retryable_error_occurs() throws JsonProcessingException {
         doThrow(FeignException.NotFound.class).when(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
         doThrow(new TransactionTimedOutException("Time out")).when(caseEventMessageRepository)
-            .updateMessageState(eq(MessageState.UNPROCESSABLE), Mockito.<String>anyList());
+            .updateLeasedMessageState(eq(MessageState.UNPROCESSABLE), anyString(), anyString());
         await()
             .atMost(120, SECONDS)
             .untilAsserted(() -> assertEquals(1, getMessagesInDbFromQuery(UNPROCESSABLE_STATE_QUERY).size()));
@@ -0,0 +1,13 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("db")
+@TestPropertySource(properties = "workflowMessages.batchingEnabled=true")
+class BatchedWorkflowMessageLoadBenchmarkTest extends WorkflowMessageBatchingLoadBenchmark {
+}
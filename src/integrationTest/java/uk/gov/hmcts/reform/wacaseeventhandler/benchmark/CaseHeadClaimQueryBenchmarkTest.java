@@ -0,0 +1,129 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository.LOCK_AND_GET_NEXT_MESSAGE_SQL;
+
+/**
+ * Compares the claim query reading wa_case_event_heads with the previous claim query grouping all unprocessed
+ * messages by case. Run with ./gradlew benchmark.
+ */
+@Slf4j
+@Tag("benchmark")
+@ActiveProfiles("integration")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CaseHeadClaimQueryBenchmarkTest {
+
+    private static final int PENDING_CASES = 1_000;
+    private static final int MESSAGES_PER_CASE = 20;
+    private static final int WARM_UP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 50;
+
+    private static final String GROUP_BY_CLAIM_SQL =
+        "select * "
+        + "from public.wa_case_event_messages msg "
+        + "where msg.state = 'READY' "
+        + "and (msg.case_id, msg.event_timestamp) in ( "
+        + "  select case_id, min(event_timestamp) "
+        + "  from wa_case_event_messages "
+        + "  where state != 'PROCESSED' "
+        + "  group by case_id) "
+        + "and not exists (select 1 from wa_case_event_messages e "
+        + "                where e.case_id = msg.case_id "
+        + "                and e.event_timestamp is null) "
+        + "and not exists (select 1 from wa_case_event_messages c "
+        + "                where c.case_id is null) "
+        + "and ( "
+        + "  not msg.from_dlq "
+        + "  or ( "
+        + "    msg.from_dlq and ( "
+        + "      exists (select 1 from wa_case_event_messages d "
+        + "              where d.case_id = msg.case_id "
+        + "              and d.event_timestamp > msg.event_timestamp "
+        + "              and not d.from_dlq "
+        + "              and d.state = 'READY') "
+        + "      or exists (select 1 from wa_case_event_messages d "
+        + "                 where d.event_timestamp > msg.event_timestamp + interval '30 minutes' "
+        + "                 and not d.from_dlq "
+        + "                 and d.state in ('READY', 'PROCESSED'))))) "
+        + "and (current_timestamp > hold_until or hold_until is null) "
+        + "for update skip locked "
+        + "limit 1 ";
+
+    // every case has MESSAGES_PER_CASE messages, only the last message of the last PENDING_CASES cases is unprocessed
+    private static final String INSERT_MESSAGES_SQL =
+        "INSERT INTO wa_case_event_messages (message_id, case_id, event_timestamp, from_dlq, state, "
+        + "message_properties, message_content, received, delivery_count, retry_count) "
+        + "SELECT 'benchmark-' || g, (g % ?)::text, timestamp '2022-01-01' + g * interval '1 second', false, "
+        + "  CASE WHEN g > ? - ? THEN 'READY'::message_state_enum ELSE 'PROCESSED'::message_state_enum END, "
+        + "  'null', '{}', now(), 0, 0 "
+        + "FROM generate_series(1, ?) g";
+
+    @Autowired
+    private DataSource db;
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(db).execute("TRUNCATE TABLE wa_case_event_messages");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000_000, 10_000_000})
+    void should_compare_claim_query_latency(int rows) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(db);
+        loadMessages(jdbcTemplate, rows);
+
+        double groupByMillis = measure(jdbcTemplate, GROUP_BY_CLAIM_SQL);
+        double caseHeadMillis = measure(jdbcTemplate, LOCK_AND_GET_NEXT_MESSAGE_SQL);
+
+        log.info("Claim query latency over {} messages: group by {} ms, case heads {} ms",
+            rows, String.format("%.2f", groupByMillis), String.format("%.2f", caseHeadMillis));
+    }
+
+    private void loadMessages(JdbcTemplate jdbcTemplate, int rows) {
+        int cases = rows / MESSAGES_PER_CASE;
+        // derived tables are rebuilt once after the bulk load instead of once per inserted row
+        jdbcTemplate.execute("ALTER TABLE wa_case_event_messages DISABLE TRIGGER USER");
+        try {
+            jdbcTemplate.update(INSERT_MESSAGES_SQL, cases, rows, PENDING_CASES, rows);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE wa_case_event_messages ENABLE TRIGGER USER");
+        }
+        jdbcTemplate.execute("SELECT refresh_wa_case_event_head(case_id) "
+                             + "FROM (SELECT DISTINCT case_id FROM wa_case_event_messages) cases");
+        jdbcTemplate.execute("ANALYZE wa_case_event_messages");
+        jdbcTemplate.execute("ANALYZE wa_case_event_heads");
+    }
+
+    private double measure(JdbcTemplate jdbcTemplate, String claimSql) {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            assertFalse(jdbcTemplate.queryForList(claimSql).isEmpty());
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            List<?> claimed = jdbcTemplate.queryForList(claimSql);
+            assertFalse(claimed.isEmpty());
+        }
+        return (double) TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / 1000 / MEASURED_ITERATIONS;
+    }
+}
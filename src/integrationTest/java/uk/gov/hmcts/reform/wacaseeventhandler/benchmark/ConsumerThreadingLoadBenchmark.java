@@ -0,0 +1,115 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.benchmark;
+
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.LaunchDarklyFeatureFlagProvider;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.CaseEventMessage;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.ccd.CcdEventProcessor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Processes the same load of READY messages with the consumers on platform or virtual threads, the subclasses
+ * only differ in scheduledExecutors.virtualThreads.enabled. The message processing is replaced by a sleep
+ * standing in for the calls to the workflow api. Run with ./gradlew benchmark.
+ */
+@Slf4j
+abstract class ConsumerThreadingLoadBenchmark {
+
+    static final String LOAD_SETTINGS_THREAD_POOL_SIZE = "scheduledExecutors.messageProcessing.threadPoolSize=8";
+    static final String LOAD_SETTINGS_MAX_CONCURRENT_POLLS =
+        "scheduledExecutors.messageProcessing.maxConcurrentPolls=8";
+    static final String LOAD_SETTINGS_POLL_INTERVAL =
+        "scheduledExecutors.messageProcessing.pollIntervalMilliSeconds=100";
+    static final String LOAD_SETTINGS_CLAIM_BATCH_SIZE = "scheduledExecutors.messageProcessing.claimBatchSize=10";
+
+    private static final int NUMBER_OF_CASES = 200;
+    private static final int MESSAGES_PER_CASE = 10;
+    private static final long PROCESSING_MILLISECONDS = 10;
+
+    // cases are numbered from 1 and every case gets MESSAGES_PER_CASE messages one second apart
+    private static final String INSERT_READY_MESSAGES_SQL =
+        "INSERT INTO wa_case_event_messages (message_id, case_id, event_timestamp, from_dlq, state, "
+        + "message_properties, message_content, received, delivery_count, retry_count) "
+        + "SELECT 'load-' || g, (1000000000000000 + g % ?)::text, timestamp '2022-01-01' + g * interval '1 second', "
+        + "  false, 'READY', 'null', '{}', now(), 0, 0 "
+        + "FROM generate_series(1, ?) g";
+
+    @MockBean
+    private LaunchDarklyFeatureFlagProvider launchDarklyFeatureFlagProvider;
+
+    @SpyBean
+    private CcdEventProcessor ccdEventProcessor;
+
+    @Autowired
+    private DataSource db;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        new JdbcTemplate(db).execute("DELETE FROM wa_case_event_messages");
+
+        doAnswer(invocation -> {
+            TimeUnit.MILLISECONDS.sleep(PROCESSING_MILLISECONDS);
+            return null;
+        }).when(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(db).execute("DELETE FROM wa_case_event_messages");
+    }
+
+    @Test
+    void should_report_throughput_and_memory_under_load() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(db);
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int messages = NUMBER_OF_CASES * MESSAGES_PER_CASE;
+        AtomicLong pinnedEvents = new AtomicLong();
+
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            recording.onEvent("jdk.VirtualThreadPinned", event -> pinnedEvents.incrementAndGet());
+            recording.startAsync();
+
+            System.gc();
+            long heapBefore = memory.getHeapMemoryUsage().getUsed();
+            threads.resetPeakThreadCount();
+
+            long start = System.nanoTime();
+            jdbcTemplate.update(INSERT_READY_MESSAGES_SQL, NUMBER_OF_CASES, messages);
+            await().atMost(300, SECONDS).pollInterval(Duration.ofMillis(50)).untilAsserted(() -> assertEquals(
+                messages,
+                jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM wa_case_event_messages WHERE state = 'PROCESSED'", Integer.class)
+            ));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            long heapAfter = memory.getHeapMemoryUsage().getUsed();
+
+            log.info("{}: {} messages in {} ms ({} messages/s), heap used {} MB before and {} MB after load, "
+                     + "{} live and {} peak platform threads, {} pinned virtual thread events",
+                getClass().getSimpleName(), messages, elapsedMillis, messages * 1000L / Math.max(1, elapsedMillis),
+                heapBefore / (1024 * 1024), heapAfter / (1024 * 1024),
+                threads.getThreadCount(), threads.getPeakThreadCount(), pinnedEvents.get());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository.LOCK_AND_GET_NEXT_MESSAGE_SQL;
+
+/**
+ * Compares the claim query reading the latest non dlq event timestamp from its partial index with the previous
+ * claim query looking for a later non dlq message across the whole table, with a backlog of dlq messages that are
+ * not eligible yet.
+ * Run with ./gradlew benchmark.
+ */
+@Slf4j
+@Tag("benchmark")
+@ActiveProfiles("integration")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DlqClaimQueryBenchmarkTest {
+
+    private static final int PROCESSED_MESSAGES = 1_000_000;
+    private static final int WARM_UP_ITERATIONS = 1;
+    private static final int MEASURED_ITERATIONS = 5;
+
+    private static final String TABLE_SCAN_DLQ_CLAIM_SQL =
+        "select msg.* "
+        + "from public.wa_case_event_heads head "
+        + "join public.wa_case_event_messages msg on msg.message_id = head.head_message_id "
+        + "where msg.state = 'READY' "
+        + "and head.head_message_id is not null "
+        + "and not head.blocked_by_null_timestamp "
+        + "and not exists (select 1 from wa_case_event_null_case_guard g "
+        + "                where g.message_count > 0) "
+        + "and ( "
+        + "  not msg.from_dlq "
+        + "  or ( "
+        + "    msg.from_dlq and ( "
+        + "      exists (select 1 from wa_case_event_messages d "
+        + "              where d.case_id = msg.case_id "
+        + "              and d.event_timestamp > msg.event_timestamp "
+        + "              and not d.from_dlq "
+        + "              and d.state = 'READY') "
+        + "      or exists (select 1 from wa_case_event_messages d "
+        + "                 where d.event_timestamp > msg.event_timestamp + interval '30 minutes' "
+        + "                 and not d.from_dlq "
+        + "                 and d.state in ('READY', 'PROCESSED'))))) "
+        + "and (current_timestamp > msg.hold_until or msg.hold_until is null) "
+        + "for update of msg skip locked "
+        + "limit 1 ";
+
+    private static final String INSERT_PROCESSED_MESSAGES_SQL =
+        "INSERT INTO wa_case_event_messages (message_id, case_id, event_timestamp, from_dlq, state, "
+        + "message_properties, message_content, received, delivery_count, retry_count) "
+        + "SELECT 'processed-' || g, (g % 50000)::text, timestamp '2022-01-01' + g * interval '1 second', false, "
+        + "  'PROCESSED', 'null', '{}', now(), 0, 0 "
+        + "FROM generate_series(1, ?) g";
+
+    // dlq messages within 30 minutes of the latest non dlq message are not eligible for processing yet
+    private static final String INSERT_DLQ_MESSAGES_SQL =
+        "INSERT INTO wa_case_event_messages (message_id, case_id, event_timestamp, from_dlq, state, "
+        + "message_properties, message_content, received, delivery_count, retry_count) "
+        + "SELECT 'dlq-' || g, 'dlq-' || g, "
+        + "  timestamp '2022-01-01' + ? * interval '1 second' - interval '10 minutes' + g * interval '1 millisecond', "
+        + "  true, 'READY', 'null', '{}', now(), 0, 0 "
+        + "FROM generate_series(1, ?) g";
+
+    @Autowired
+    private DataSource db;
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(db).execute("TRUNCATE TABLE wa_case_event_messages");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 5_000})
+    void should_compare_claim_query_latency_with_dlq_backlog(int dlqMessages) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(db);
+        loadMessages(jdbcTemplate, dlqMessages);
+
+        double tableScanMillis = measure(jdbcTemplate, TABLE_SCAN_DLQ_CLAIM_SQL);
+        double partialIndexMillis = measure(jdbcTemplate, LOCK_AND_GET_NEXT_MESSAGE_SQL);
+
+        log.info("Claim query latency with {} dlq messages over {} processed messages: table scan {} ms, "
+                 + "partial index {} ms", dlqMessages, PROCESSED_MESSAGES,
+            String.format("%.2f", tableScanMillis), String.format("%.2f", partialIndexMillis));
+    }
+
+    private void loadMessages(JdbcTemplate jdbcTemplate, int dlqMessages) {
+        // derived tables are rebuilt once after the bulk load instead of once per inserted row
+        jdbcTemplate.execute("ALTER TABLE wa_case_event_messages DISABLE TRIGGER USER");
+        try {
+            jdbcTemplate.update(INSERT_PROCESSED_MESSAGES_SQL, PROCESSED_MESSAGES);
+            jdbcTemplate.update(INSERT_DLQ_MESSAGES_SQL, PROCESSED_MESSAGES, dlqMessages);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE wa_case_event_messages ENABLE TRIGGER USER");
+        }
+        jdbcTemplate.execute("SELECT refresh_wa_case_event_head(case_id) "
+                             + "FROM (SELECT DISTINCT case_id FROM wa_case_event_messages) cases");
+        jdbcTemplate.execute("ANALYZE wa_case_event_messages");
+        jdbcTemplate.execute("ANALYZE wa_case_event_heads");
+    }
+
+    private double measure(JdbcTemplate jdbcTemplate, String claimSql) {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            assertTrue(jdbcTemplate.queryForList(claimSql).isEmpty());
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            assertTrue(jdbcTemplate.queryForList(claimSql).isEmpty());
+        }
+        return (double) TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / 1000 / MEASURED_ITERATIONS;
+    }
+}
@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("db")
+@TestPropertySource(properties = {
+    "scheduledExecutors.virtualThreads.enabled=true",
+    ConsumerThreadingLoadBenchmark.LOAD_SETTINGS_THREAD_POOL_SIZE,
+    ConsumerThreadingLoadBenchmark.LOAD_SETTINGS_MAX_CONCURRENT_POLLS,
+    ConsumerThreadingLoadBenchmark.LOAD_SETTINGS_POLL_INTERVAL,
+    ConsumerThreadingLoadBenchmark.LOAD_SETTINGS_CLAIM_BATCH_SIZE
+})
+class VirtualThreadConsumerLoadBenchmarkTest extends ConsumerThreadingLoadBenchmark {
+}
@@ -0,0 +1,99 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.LaunchDarklyFeatureFlagProvider;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.SendMessageRequest;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.WorkflowMessageSender;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnStringValue;
+
+/**
+ * Sends the messages of events initiating 1, 5 and 20 tasks to a stub wa-workflow-api answering every request after
+ * a fixed latency, the subclasses only differ in workflowMessages.batchingEnabled. Run with ./gradlew benchmark.
+ */
+@Slf4j
+abstract class WorkflowMessageBatchingLoadBenchmark {
+
+    private static final long STUB_LATENCY_MILLISECONDS = 20;
+    private static final int WARM_UP_EVENTS = 10;
+    private static final int EVENTS = 50;
+
+    private static final AtomicInteger STUB_REQUESTS = new AtomicInteger();
+    private static HttpServer workflowApiStub;
+
+    @MockBean
+    private LaunchDarklyFeatureFlagProvider launchDarklyFeatureFlagProvider;
+
+    @Autowired
+    private WorkflowMessageSender workflowMessageSender;
+
+    @DynamicPropertySource
+    static void workflowApiStubProperties(DynamicPropertyRegistry registry) throws IOException {
+        workflowApiStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        workflowApiStub.createContext("/workflow/message", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.readAllBytes();
+                TimeUnit.MILLISECONDS.sleep(STUB_LATENCY_MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            STUB_REQUESTS.incrementAndGet();
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        workflowApiStub.start();
+
+        String url = "http://localhost:" + workflowApiStub.getAddress().getPort();
+        registry.add("wa-workflow-api.url", () -> url);
+    }
+
+    @AfterAll
+    static void stopWorkflowApiStub() {
+        workflowApiStub.stop(0);
+    }
+
+    @Test
+    void should_report_latency_per_event_by_number_of_messages() {
+        for (int messagesPerEvent : new int[]{1, 5, 20}) {
+            List<SendMessageRequest> messages = messages(messagesPerEvent);
+            IntStream.range(0, WARM_UP_EVENTS)
+                .forEach(event -> workflowMessageSender.sendMessages("s2s token", messages));
+
+            STUB_REQUESTS.set(0);
+            long start = System.nanoTime();
+            IntStream.range(0, EVENTS)
+                .forEach(event -> workflowMessageSender.sendMessages("s2s token", messages));
+            long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+
+            log.info("{}: {} events of {} messages in {} ms, {} ms per event, {} requests to wa-workflow-api",
+                getClass().getSimpleName(), EVENTS, messagesPerEvent, elapsedMicros / 1000,
+                String.format("%.1f", elapsedMicros / 1000.0 / EVENTS), STUB_REQUESTS.get());
+        }
+    }
+
+    private static List<SendMessageRequest> messages(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(task -> SendMessageRequest.builder()
+                .messageName("createTaskMessage")
+                .processVariables(Map.<String, DmnValue<?>>of("taskId", dmnStringValue("task" + task)))
+                .build())
+            .toList();
+    }
+}
@@ -0,0 +1,82 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("db")
+class CaseBucketOwnershipTest {
+
+    private static final int BUCKET_COUNT = 8;
+
+    @MockBean
+    private LaunchDarklyFeatureFlagProvider launchDarklyFeatureFlagProvider;
+
+    @MockBean
+    private DatabaseMessageConsumer databaseMessageConsumer;
+
+    @Autowired
+    private DataSource db;
+
+    private CaseBucketOwnership firstReplica;
+    private CaseBucketOwnership secondReplica;
+
+    @BeforeEach
+    void setUp() {
+        firstReplica = replica();
+        secondReplica = replica();
+    }
+
+    @AfterEach
+    void tearDown() {
+        firstReplica.stop();
+        secondReplica.stop();
+    }
+
+    @Test
+    void should_split_buckets_between_replicas_and_take_over_buckets_of_a_stopped_replica() {
+        firstReplica.rebalance();
+        assertEquals(allBuckets(), Set.copyOf(firstReplica.getOwnedBuckets()));
+
+        // the second replica joins, the first one releases its extra buckets for the second one to lock
+        secondReplica.rebalance();
+        assertTrue(secondReplica.getOwnedBuckets().isEmpty());
+        firstReplica.rebalance();
+        secondReplica.rebalance();
+
+        assertEquals(BUCKET_COUNT / 2, firstReplica.getOwnedBuckets().size());
+        assertEquals(BUCKET_COUNT / 2, secondReplica.getOwnedBuckets().size());
+        Set<Integer> ownedBuckets = new HashSet<>(firstReplica.getOwnedBuckets());
+        ownedBuckets.addAll(secondReplica.getOwnedBuckets());
+        assertEquals(allBuckets(), ownedBuckets);
+
+        firstReplica.stop();
+        secondReplica.rebalance();
+
+        assertTrue(firstReplica.getOwnedBuckets().isEmpty());
+        assertEquals(allBuckets(), Set.copyOf(secondReplica.getOwnedBuckets()));
+    }
+
+    private CaseBucketOwnership replica() {
+        return new CaseBucketOwnership(db, Executors.newSingleThreadScheduledExecutor(), BUCKET_COUNT, 1000);
+    }
+
+    private static Set<Integer> allBuckets() {
+        return IntStream.range(0, BUCKET_COUNT).boxed().collect(Collectors.toSet());
+    }
+}
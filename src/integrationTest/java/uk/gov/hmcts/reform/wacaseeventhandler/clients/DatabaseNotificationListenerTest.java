@@ -0,0 +1,73 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+import javax.sql.DataSource;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.gov.hmcts.reform.wacaseeventhandler.clients.DatabaseNotificationListener.NEW_MESSAGE_CHANNEL;
+import static uk.gov.hmcts.reform.wacaseeventhandler.clients.DatabaseNotificationListener.READY_MESSAGE_CHANNEL;
+
+@SpringBootTest
+@ActiveProfiles("db")
+class DatabaseNotificationListenerTest {
+
+    private static final String INSERT_MESSAGE =
+        "INSERT INTO wa_case_event_messages (message_id, case_id, event_timestamp, from_dlq, state, "
+        + "message_properties, message_content, received, delivery_count, retry_count) "
+        + "VALUES (?, '1111222233334444', now(), false, 'NEW', 'null', '{}', now(), 0, 0)";
+
+    @MockBean
+    private LaunchDarklyFeatureFlagProvider launchDarklyFeatureFlagProvider;
+
+    @MockBean
+    private DatabaseMessageConsumer databaseMessageConsumer;
+
+    @Autowired
+    private DatabaseNotificationListener databaseNotificationListener;
+
+    @Autowired
+    private DataSource db;
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(db).execute("DELETE FROM wa_case_event_messages");
+    }
+
+    @Test
+    void should_wake_up_waiting_consumers_when_messages_are_stored_and_become_ready() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(db);
+        String messageId = UUID.randomUUID().toString();
+        // the listener signals every channel once it is connected
+        await().atMost(30, SECONDS)
+            .until(() -> databaseNotificationListener.getNotificationCount(NEW_MESSAGE_CHANNEL) > 0);
+
+        long newNotifications = databaseNotificationListener.getNotificationCount(NEW_MESSAGE_CHANNEL);
+        long readyNotifications = databaseNotificationListener.getNotificationCount(READY_MESSAGE_CHANNEL);
+        jdbcTemplate.update(INSERT_MESSAGE, messageId);
+
+        assertTrue(databaseNotificationListener.awaitNotification(NEW_MESSAGE_CHANNEL, newNotifications, 10_000));
+        assertFalse(databaseNotificationListener.awaitNotification(READY_MESSAGE_CHANNEL, readyNotifications, 500));
+
+        jdbcTemplate.update("UPDATE wa_case_event_messages SET state = 'READY' WHERE message_id = ?", messageId);
+
+        assertTrue(databaseNotificationListener.awaitNotification(READY_MESSAGE_CHANNEL, readyNotifications, 10_000));
+    }
+
+    @Test
+    void should_return_false_when_no_notification_arrives_before_timeout() {
+        long readyNotifications = databaseNotificationListener.getNotificationCount(READY_MESSAGE_CHANNEL);
+
+        assertFalse(databaseNotificationListener.awaitNotification(READY_MESSAGE_CHANNEL, readyNotifications, 200));
+    }
+}
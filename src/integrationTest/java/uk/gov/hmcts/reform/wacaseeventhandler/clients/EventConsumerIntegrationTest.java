@@ -26,19 +26,25 @@ import reactor.core.publisher.Flux;
 import reactor.core.scheduler.Schedulers;
 import uk.gov.hmcts.reform.wacaseeventhandler.config.ServiceBusConfiguration;
 import uk.gov.hmcts.reform.wacaseeventhandler.entity.CaseEventMessageEntity;
+import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageBatchRepository;
 import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
-import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -67,6 +73,8 @@ public class EventConsumerIntegrationTest {
 
     private static CaseEventMessageRepository repository;
 
+    private static CaseEventMessageBatchRepository batchRepository;
+
     private static ServiceBusReceiverClient ccdReceiverClient;
 
     private static ServiceBusReceiverClient dlqReceiverClient;
@@ -94,6 +102,13 @@ public class EventConsumerIntegrationTest {
             return repository;
         }
 
+        @Bean
+        @Primary
+        public CaseEventMessageBatchRepository mockCaseEventMessageBatchRepository() {
+            batchRepository = mock(CaseEventMessageBatchRepository.class);
+            return batchRepository;
+        }
+
         @Bean
         @Primary
         public ServiceBusConfiguration mockServiceBusConfiguration() {
@@ -104,12 +119,14 @@ public class EventConsumerIntegrationTest {
             doNothing().when(ccdCaseEventsSessionReceiver).close();
             ccdReceiverClient = mock(ServiceBusReceiverClient.class);
             when(ccdCaseEventsSessionReceiver.acceptNextSession()).thenReturn(ccdReceiverClient);
-            doAnswer(invocation -> emitMessage(messageList)).when(ccdReceiverClient).receiveMessages(1);
+            doAnswer(invocation -> emitMessage(messageList)).when(ccdReceiverClient)
+                .receiveMessages(anyInt(), any(Duration.class));
 
             dlqReceiverClient = mock(ServiceBusReceiverClient.class);
             when(serviceBusConfiguration.createCcdCaseEventsDeadLetterQueueSessionReceiver())
                 .thenReturn(dlqReceiverClient);
-            doAnswer(invocation -> emitMessage(dlqMessageList)).when(dlqReceiverClient).receiveMessages(1);
+            doAnswer(invocation -> emitMessage(dlqMessageList)).when(dlqReceiverClient)
+                .receiveMessages(anyInt(), any(Duration.class));
 
             return serviceBusConfiguration;
         }
@@ -117,10 +134,9 @@ public class EventConsumerIntegrationTest {
 
     @BeforeEach
     public void setUp() {
-        Mockito.reset(repository);
+        Mockito.reset(repository, batchRepository);
         when(message.getBody()).thenReturn(BinaryData.fromString(getCaseEventMessage()));
-        when(repository.findByMessageId(any())).thenReturn(List.of());
-        when(repository.save(any(CaseEventMessageEntity.class))).thenReturn(null);
+        when(repository.insertOrIncrementDeliveryCount(any(CaseEventMessageEntity.class))).thenReturn(null);
     }
 
     @Test
@@ -129,8 +145,9 @@ public class EventConsumerIntegrationTest {
         when(message.getMessageId()).thenReturn(messageId);
         messageList.add(message);
         await()
-            .untilAsserted(() -> verify(repository, times(1)).save(any(CaseEventMessageEntity.class)));
+            .untilAsserted(() -> verify(batchRepository, times(1)).insertOrIncrementDeliveryCounts(anyList()));
 
+        verify(repository, never()).insertOrIncrementDeliveryCount(any(CaseEventMessageEntity.class));
         verify(ccdReceiverClient).complete(messageArgumentCaptor.capture());
         assertEquals(messageId, messageArgumentCaptor.getValue().getMessageId());
     }
@@ -139,11 +156,13 @@ public class EventConsumerIntegrationTest {
     public void should_abandon_the_message_when_database_repository_failure() {
         String messageId = "some_message_id_2";
         when(message.getMessageId()).thenReturn(messageId);
-        when(repository.findByMessageId(singletonList(messageId))).thenThrow(new RuntimeException());
+        when(repository.insertOrIncrementDeliveryCount(argThat(entity -> messageId.equals(entity.getMessageId()))))
+            .thenThrow(new RuntimeException());
+        doThrow(new RuntimeException()).when(batchRepository).insertOrIncrementDeliveryCounts(anyList());
         messageList.add(message);
         await()
-            .untilAsserted(() -> verify(repository,
-                                        times(1)).findByMessageId(singletonList(messageId)));
+            .untilAsserted(() -> verify(repository, times(1))
+                .insertOrIncrementDeliveryCount(argThat(entity -> messageId.equals(entity.getMessageId()))));
 
         verify(ccdReceiverClient, atLeast(1)).abandon(messageArgumentCaptor.capture());
         assertEquals(messageId, messageArgumentCaptor.getValue().getMessageId());
@@ -153,10 +172,13 @@ public class EventConsumerIntegrationTest {
     public void should_abandon_the_message_when_repository_fail_to_save_the_record() {
         String messageId = "some_message_id_3";
         when(message.getMessageId()).thenReturn(messageId);
-        when(repository.save(any(CaseEventMessageEntity.class))).thenThrow(new RuntimeException());
+        when(repository.insertOrIncrementDeliveryCount(any(CaseEventMessageEntity.class)))
+            .thenThrow(new RuntimeException());
+        doThrow(new RuntimeException()).when(batchRepository).insertOrIncrementDeliveryCounts(anyList());
         messageList.add(message);
         await()
-            .untilAsserted(() -> verify(repository, times(1)).save(any(CaseEventMessageEntity.class)));
+            .untilAsserted(() -> verify(repository, times(1))
+                .insertOrIncrementDeliveryCount(any(CaseEventMessageEntity.class)));
 
         verify(ccdReceiverClient, atLeast(1)).abandon(messageArgumentCaptor.capture());
         assertEquals(messageId, messageArgumentCaptor.getValue().getMessageId());
@@ -168,8 +190,9 @@ public class EventConsumerIntegrationTest {
         when(message.getMessageId()).thenReturn(messageId);
         dlqMessageList.add(message);
         await()
-            .untilAsserted(() -> verify(repository, times(1)).save(any(CaseEventMessageEntity.class)));
+            .untilAsserted(() -> verify(batchRepository, times(1)).insertOrIncrementDeliveryCounts(anyList()));
 
+        verify(repository, never()).insertOrIncrementDeliveryCount(any(CaseEventMessageEntity.class));
         verify(dlqReceiverClient).complete(messageArgumentCaptor.capture());
         assertEquals(messageId, messageArgumentCaptor.getValue().getMessageId());
     }
@@ -178,11 +201,13 @@ public class EventConsumerIntegrationTest {
     public void should_abandon_the_message_when_dlq_database_repository_failure() {
         String messageId = "some_message_id_5";
         when(message.getMessageId()).thenReturn(messageId);
-        when(repository.findByMessageId(singletonList(messageId))).thenThrow(new RuntimeException());
+        when(repository.insertOrIncrementDeliveryCount(argThat(entity -> messageId.equals(entity.getMessageId()))))
+            .thenThrow(new RuntimeException());
+        doThrow(new RuntimeException()).when(batchRepository).insertOrIncrementDeliveryCounts(anyList());
         dlqMessageList.add(message);
         await()
-            .untilAsserted(() -> verify(repository,
-                                        times(1)).findByMessageId(singletonList(messageId)));
+            .untilAsserted(() -> verify(repository, times(1))
+                .insertOrIncrementDeliveryCount(argThat(entity -> messageId.equals(entity.getMessageId()))));
 
         verify(dlqReceiverClient, atLeast(1)).abandon(messageArgumentCaptor.capture());
         assertEquals(messageId, messageArgumentCaptor.getValue().getMessageId());
@@ -192,10 +217,13 @@ public class EventConsumerIntegrationTest {
     public void should_abandon_the_message_when_repository_fail_to_save_dlq_record() {
         String messageId = "some_message_id_6";
         when(message.getMessageId()).thenReturn(messageId);
-        when(repository.save(any(CaseEventMessageEntity.class))).thenThrow(new RuntimeException());
+        when(repository.insertOrIncrementDeliveryCount(any(CaseEventMessageEntity.class)))
+            .thenThrow(new RuntimeException());
+        doThrow(new RuntimeException()).when(batchRepository).insertOrIncrementDeliveryCounts(anyList());
         dlqMessageList.add(message);
         await()
-            .untilAsserted(() -> verify(repository, times(1)).save(any(CaseEventMessageEntity.class)));
+            .untilAsserted(() -> verify(repository, times(1))
+                .insertOrIncrementDeliveryCount(any(CaseEventMessageEntity.class)));
 
         verify(dlqReceiverClient, atLeast(1)).abandon(messageArgumentCaptor.capture());
         assertEquals(messageId, messageArgumentCaptor.getValue().getMessageId());
@@ -0,0 +1,80 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.Executors;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("db")
+class LeaderElectionTest {
+
+    @MockBean
+    private LaunchDarklyFeatureFlagProvider launchDarklyFeatureFlagProvider;
+
+    @MockBean
+    private DatabaseMessageConsumer databaseMessageConsumer;
+
+    @Autowired
+    private DataSource db;
+
+    private final MeterRegistry firstRegistry = new SimpleMeterRegistry();
+    private final MeterRegistry secondRegistry = new SimpleMeterRegistry();
+    private LeaderElection firstCandidate;
+    private LeaderElection secondCandidate;
+
+    @BeforeEach
+    void setUp() {
+        new JdbcTemplate(db).execute("DELETE FROM wa_leader_heartbeats");
+        firstCandidate = candidate(firstRegistry);
+        secondCandidate = candidate(secondRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        firstCandidate.stop();
+        secondCandidate.stop();
+    }
+
+    @Test
+    void should_elect_one_leader_and_fail_over_when_the_leader_stops() {
+        firstCandidate.elect();
+        secondCandidate.elect();
+
+        assertTrue(firstCandidate.isLeader());
+        assertFalse(secondCandidate.isLeader());
+        assertEquals(1, leadershipChanges(firstRegistry, "acquired"));
+
+        firstCandidate.stop();
+        secondCandidate.elect();
+
+        assertFalse(firstCandidate.isLeader());
+        assertTrue(secondCandidate.isLeader());
+        assertEquals(1, leadershipChanges(firstRegistry, "lost"));
+        assertEquals(1, leadershipChanges(secondRegistry, "acquired"));
+        // the second candidate measured the failover from the heartbeat of the first one
+        assertEquals(1, secondRegistry.get("wa.case.event.handler.leadership.failover").timer().count());
+        assertEquals(1.0, secondRegistry.get("wa.case.event.handler.leader").gauge().value());
+    }
+
+    private LeaderElection candidate(MeterRegistry meterRegistry) {
+        return new LeaderElection(db, Executors.newSingleThreadScheduledExecutor(), meterRegistry, true, 1000, 30_000);
+    }
+
+    private static double leadershipChanges(MeterRegistry meterRegistry, String change) {
+        return meterRegistry.get("wa.case.event.handler.leadership.changes").tag("change", change).counter().count();
+    }
+}
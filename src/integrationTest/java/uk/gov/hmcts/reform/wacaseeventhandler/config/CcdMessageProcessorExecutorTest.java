@@ -23,6 +23,7 @@ import java.util.concurrent.TimeUnit;
 
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
@@ -67,6 +68,8 @@ class CcdMessageProcessorExecutorTest {
         caseEventMessageEntity.setMessageId(MESSAGE_ID);
         caseEventMessageEntity.setCaseId(CASE_ID);
         when(caseEventMessageRepository.getNextAvailableMessageReadyToProcess()).thenReturn(caseEventMessageEntity);
+        when(caseEventMessageRepository.getNextAvailableMessagesReadyToProcess(anyInt()))
+            .thenReturn(List.of(caseEventMessageEntity));
         when(featureFlagProvider.getBooleanValue(any(), any())).thenReturn(true);
         lenient().when(telemetryContext.getOperation()).thenReturn(operationContext);
     }
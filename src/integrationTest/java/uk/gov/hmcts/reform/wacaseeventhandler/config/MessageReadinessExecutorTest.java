@@ -10,9 +10,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.LoggerFactory;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.DatabaseNotificationListener;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.LeaderElection;
 import uk.gov.hmcts.reform.wacaseeventhandler.clients.MessageReadinessConsumer;
 import uk.gov.hmcts.reform.wacaseeventhandler.config.executors.MessageReadinessExecutor;
-import uk.gov.hmcts.reform.wacaseeventhandler.entity.CaseEventMessageEntity;
 import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.DeadLetterQueuePeekService;
 
@@ -25,9 +27,7 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class MessageReadinessExecutorTest {
 
-    private static final String MESSAGE_ID = "message id";
-
-    private static final String PROCESS_LOG_MESSAGE = "Updating following message to READY state " + MESSAGE_ID;
+    private static final String PROCESS_LOG_MESSAGE = "Updated 1 messages to READY state";
 
     private ListAppender<ILoggingEvent> listAppender;
 
@@ -35,6 +35,12 @@ class MessageReadinessExecutorTest {
     private DeadLetterQueuePeekService deadLetterQueuePeekService;
     @Mock
     private CaseEventMessageRepository caseEventMessageRepository;
+    @Mock
+    private DatabaseNotificationListener databaseNotificationListener;
+    @Mock
+    private LeaderElection leaderElection;
+    @Mock
+    private PlatformTransactionManager platformTransactionManager;
 
 
     @BeforeEach
@@ -45,26 +51,25 @@ class MessageReadinessExecutorTest {
         listAppender.start();
 
         logger.addAppender(listAppender);
-
-        CaseEventMessageEntity caseEventMessageEntity = new CaseEventMessageEntity();
-        caseEventMessageEntity.setMessageId(MESSAGE_ID);
-        when(caseEventMessageRepository.getAllMessagesInNewState()).thenReturn(List.of(caseEventMessageEntity));
     }
 
     @Test
     void should_create_executor_that_repeatedly_calls_message_readiness_consumer() {
         MessageReadinessExecutor messageReadinessExecutor = new MessageReadinessExecutor();
-        MessageReadinessConsumer messageReadinessConsumer =
-                new MessageReadinessConsumer(deadLetterQueuePeekService, caseEventMessageRepository);
+        MessageReadinessConsumer messageReadinessConsumer = new MessageReadinessConsumer(
+            deadLetterQueuePeekService, caseEventMessageRepository, leaderElection, platformTransactionManager);
+        ReflectionTestUtils.setField(messageReadinessConsumer, "promotionChunkSize", 1000);
         ReflectionTestUtils.setField(messageReadinessExecutor, "messageReadinessConsumer",
                                      messageReadinessConsumer);
         ReflectionTestUtils.setField(messageReadinessExecutor, "messageReadinessExecutorService",
                                      Executors.newScheduledThreadPool(1));
+        ReflectionTestUtils.setField(messageReadinessExecutor, "databaseNotificationListener",
+                                     databaseNotificationListener);
         ReflectionTestUtils.setField(messageReadinessExecutor, "pollInterval", 2);
 
-        CaseEventMessageEntity caseEventMessageEntity = new CaseEventMessageEntity();
-        caseEventMessageEntity.setMessageId(MESSAGE_ID);
-        when(caseEventMessageRepository.getAllMessagesInNewState()).thenReturn(List.of(caseEventMessageEntity));
+        when(leaderElection.isLeader()).thenReturn(true);
+        when(caseEventMessageRepository.hasMessagesInNewState()).thenReturn(true);
+        when(caseEventMessageRepository.updateNewMessagesToReady(1000)).thenReturn(1);
         when(deadLetterQueuePeekService.isDeadLetterQueueEmpty()).thenReturn(true);
         messageReadinessExecutor.start();
 
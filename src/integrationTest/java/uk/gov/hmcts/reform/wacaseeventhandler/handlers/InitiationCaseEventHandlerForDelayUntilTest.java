@@ -1,6 +1,7 @@
 package uk.gov.hmcts.reform.wacaseeventhandler.handlers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,9 +22,11 @@ import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.InitiateEv
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.DueDateService;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.IdempotencyKeyGenerator;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.WorkflowMessageSender;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.calendar.DelayUntilConfigurator;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.calendar.DelayUntilRequest;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.dates.IsoDateFormatter;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.dmn.DmnPrefilter;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.holidaydates.HolidayService;
 
 import java.time.LocalDateTime;
@@ -63,6 +66,8 @@ class InitiationCaseEventHandlerForDelayUntilTest {
     private IsoDateFormatter isoDateFormatter;
     @Mock
     private ObjectMapper objectMapper;
+    @Mock
+    private DmnPrefilter dmnPrefilter;
 
 
     @Mock
@@ -88,7 +93,9 @@ class InitiationCaseEventHandlerForDelayUntilTest {
             isoDateFormatter,
             dueDateService,
             objectMapper,
-            delayUntilConfigurator
+            delayUntilConfigurator,
+            dmnPrefilter,
+            new WorkflowMessageSender(workflowApiClient, new SimpleMeterRegistry(), false, 0)
         );
 
         eventInstanceId = UUID.randomUUID().toString();
@@ -1,6 +1,7 @@
 package uk.gov.hmcts.reform.wacaseeventhandler.handlers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,8 +19,10 @@ import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.InitiateEv
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.DueDateService;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.IdempotencyKeyGenerator;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.WorkflowMessageSender;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.calendar.DelayUntilConfigurator;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.dates.IsoDateFormatter;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.dmn.DmnPrefilter;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.holidaydates.HolidayService;
 
 import java.time.LocalDateTime;
@@ -57,6 +60,8 @@ class InitiationCaseEventHandlerTest {
     private IsoDateFormatter isoDateFormatter;
     @Mock
     private ObjectMapper objectMapper;
+    @Mock
+    private DmnPrefilter dmnPrefilter;
 
     @Mock
     private DelayUntilConfigurator delayUntilConfigurator;
@@ -82,7 +87,9 @@ class InitiationCaseEventHandlerTest {
             isoDateFormatter,
             dueDateService,
             objectMapper,
-            delayUntilConfigurator
+            delayUntilConfigurator,
+            dmnPrefilter,
+            new WorkflowMessageSender(workflowApiClient, new SimpleMeterRegistry(), false, 0)
         );
 
         eventInstanceId = UUID.randomUUID().toString();
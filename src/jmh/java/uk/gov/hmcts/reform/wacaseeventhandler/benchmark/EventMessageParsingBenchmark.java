@@ -0,0 +1,107 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.JacksonConfiguration;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformationMetadata;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformationRequest;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.EventMessageParser;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single pass ingestion parser with the previous binding of the message body to EventInformation
+ * and EventInformationRequest followed by the MessageProperties round trip through a String.
+ * Run with ./gradlew jmh, the gc profiler reports the allocation per message as gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EventMessageParsingBenchmark {
+
+    /**
+     * Number of case fields in AdditionalData, from a message without AdditionalData to a large case.
+     */
+    @Param({"0", "50", "1000"})
+    private int additionalDataFields;
+
+    private ObjectMapper objectMapper;
+    private EventMessageParser eventMessageParser;
+    private String message;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new JacksonConfiguration().objectMapper(new Jackson2ObjectMapperBuilder());
+        eventMessageParser = new EventMessageParser(objectMapper);
+        message = objectMapper.writeValueAsString(buildMessage());
+    }
+
+    @Benchmark
+    public void twoPassBinding(Blackhole blackhole) throws JsonProcessingException {
+        EventInformation eventInformation = objectMapper.readValue(message, EventInformation.class);
+        EventInformationMetadata eventInformationMetadata =
+            objectMapper.readValue(message, EventInformationRequest.class).getEventInformationMetadata();
+        JsonNode messageProperties = objectMapper.readTree(
+            objectMapper.writeValueAsString(eventInformationMetadata.getMessageProperties()));
+
+        blackhole.consume(eventInformation.getCaseId());
+        blackhole.consume(eventInformation.getEventTimeStamp());
+        blackhole.consume(eventInformationMetadata.getHoldUntil());
+        blackhole.consume(messageProperties);
+    }
+
+    @Benchmark
+    public void singlePassParser(Blackhole blackhole) throws JsonProcessingException {
+        blackhole.consume(eventMessageParser.parse(message));
+    }
+
+    private ObjectNode buildMessage() {
+        ObjectNode root = objectMapper.createObjectNode()
+            .put("EventInstanceId", "2ab7ea3e-c1d3-4b77-9a5b-8bf2b3a1e5c1")
+            .put("EventTimeStamp", "2022-05-04T10:15:30.123456")
+            .put("CaseId", "1651658130123456")
+            .put("JurisdictionId", "IA")
+            .put("CaseTypeId", "Asylum")
+            .put("EventId", "submitAppeal")
+            .put("PreviousStateId", "appealStarted")
+            .put("NewStateId", "appealSubmitted")
+            .put("UserId", "4d63f5c0-1f36-4a4c-a3c2-2d3b4a3c1e2f");
+
+        ObjectNode additionalData = root.putObject("AdditionalData");
+        ObjectNode data = additionalData.putObject("Data");
+        ObjectNode definition = additionalData.putObject("Definition");
+        for (int i = 0; i < additionalDataFields; i++) {
+            String field = "caseField" + i;
+            if (i % 10 == 0) {
+                data.putObject(field)
+                    .put("value", "value " + i)
+                    .putArray("items").add("first " + i).add("second " + i);
+            } else {
+                data.put(field, "a case field value of realistic length for field " + i);
+            }
+            definition.putObject(field)
+                .put("type", i % 10 == 0 ? "Complex" : "Text")
+                .put("subtype", "Text")
+                .putObject("typeDef");
+        }
+
+        root.putObject("MessageProperties")
+            .put("property1", "test1")
+            .put("property2", "test2");
+        root.put("HoldUntil", "2022-05-04T11:15:30");
+        return root;
+    }
+}
@@ -0,0 +1,28 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.DecisionDefinitionXml;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@FeignClient(
+    name = "camunda",
+    url = "${camunda.url}"
+)
+public interface CamundaClient {
+
+    String SERVICE_AUTHORIZATION = "ServiceAuthorization";
+
+    @GetMapping(
+        value = "/decision-definition/key/{key}/tenant-id/{tenant-id}/xml",
+        produces = APPLICATION_JSON_VALUE
+    )
+    DecisionDefinitionXml getDecisionDefinitionXml(
+        @RequestHeader(SERVICE_AUTHORIZATION) String serviceAuthorisation,
+        @PathVariable("key") String key,
+        @PathVariable("tenant-id") String tenantId
+    );
+}
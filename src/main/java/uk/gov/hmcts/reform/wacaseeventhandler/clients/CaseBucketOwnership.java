@@ -0,0 +1,214 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+/**
+ * Splits the cases into bucket-count hash buckets of the case id and leases a share of the buckets to this
+ * replica with Postgres advisory locks, so the replicas claim messages of different cases instead of skipping
+ * over each other's locked rows. The locks are held on a dedicated connection of the session lock pool: buckets
+ * of a replica that goes away are released with its session and picked up by the remaining replicas on their
+ * next rebalance.
+ * A bucket count of 0 disables the partitioning and every replica claims messages of any case.
+ */
+@Slf4j
+@Component
+@SuppressWarnings("PMD.DoNotUseThreads")
+@Profile("!functional & !local")
+public class CaseBucketOwnership {
+
+    // advisory lock key spaces, the first key of the two key advisory locks
+    static final int MEMBER_LOCK_NAMESPACE = 0x57414d31;
+    static final int BUCKET_LOCK_NAMESPACE = 0x57414231;
+
+    private static final String LOCK_MEMBERSHIP = "SELECT pg_backend_pid(), pg_advisory_lock(?, pg_backend_pid())";
+    private static final String COUNT_MEMBERS =
+        "SELECT count(*) FROM pg_locks "
+        + "WHERE locktype = 'advisory' AND granted AND objsubid = 2 AND classid = ?::oid "
+        + "AND database = (SELECT oid FROM pg_database WHERE datname = current_database())";
+    private static final String TRY_LOCK_BUCKET = "SELECT pg_try_advisory_lock(?, ?)";
+    private static final String UNLOCK_BUCKET = "SELECT pg_advisory_unlock(?, ?)";
+    private static final String UNLOCK_ALL = "SELECT pg_advisory_unlock_all()";
+
+    private final DataSource dataSource;
+    private final ScheduledExecutorService caseBucketOwnershipExecutorService;
+    private final int bucketCount;
+    private final long rebalanceInterval;
+
+    // only read and written on the rebalance thread
+    private final TreeSet<Integer> lockedBuckets = new TreeSet<>();
+    private Connection connection;
+    private int backendPid;
+
+    private volatile List<Integer> ownedBuckets = List.of();
+
+    public CaseBucketOwnership(@Qualifier("sessionLockDataSource") DataSource dataSource,
+                               @Qualifier("caseBucketOwnershipExecutorService")
+                               ScheduledExecutorService caseBucketOwnershipExecutorService,
+                               @Value("${scheduledExecutors.messageProcessing.caseBuckets.count}")
+                               int bucketCount,
+                               @Value("${scheduledExecutors.messageProcessing.caseBuckets."
+                                   + "rebalanceIntervalMilliSeconds}")
+                               long rebalanceInterval) {
+        this.dataSource = dataSource;
+        this.caseBucketOwnershipExecutorService = caseBucketOwnershipExecutorService;
+        this.bucketCount = bucketCount;
+        this.rebalanceInterval = rebalanceInterval;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        log.info("Starting case bucket ownership over {} buckets", bucketCount);
+        caseBucketOwnershipExecutorService.scheduleWithFixedDelay(
+            this::rebalance, 0, rebalanceInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!isEnabled() || caseBucketOwnershipExecutorService.isShutdown()) {
+            return;
+        }
+        log.info("Shutting down case bucket ownership");
+        // the last task releases the membership and every bucket on the rebalance thread
+        caseBucketOwnershipExecutorService.execute(this::disconnect);
+        caseBucketOwnershipExecutorService.shutdown();
+        try {
+            if (!caseBucketOwnershipExecutorService.awaitTermination(10, TimeUnit.SECONDS)) {
+                caseBucketOwnershipExecutorService.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            caseBucketOwnershipExecutorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return bucketCount > 0;
+    }
+
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * The buckets currently leased to this replica, a message belongs to bucket abs(hashtext(case_id) % count).
+     */
+    public List<Integer> getOwnedBuckets() {
+        return ownedBuckets;
+    }
+
+    void rebalance() {
+        try {
+            if (connection == null) {
+                connect();
+            }
+            int members = countMembers();
+            int share = (bucketCount + members - 1) / members;
+
+            while (lockedBuckets.size() > share) {
+                unlockBucket(lockedBuckets.last());
+            }
+            // start the search at a different bucket on every replica so they do not race for the same ones
+            int firstCandidate = Math.floorMod(backendPid, bucketCount);
+            for (int offset = 0; offset < bucketCount && lockedBuckets.size() < share; offset++) {
+                int bucket = (firstCandidate + offset) % bucketCount;
+                if (!lockedBuckets.contains(bucket)) {
+                    tryLockBucket(bucket);
+                }
+            }
+            publishOwnedBuckets(members);
+        } catch (SQLException | RuntimeException ex) {
+            // a failed rebalance must not cancel the schedule
+            log.warn("Lost the case bucket ownership connection, reconnecting on next rebalance", ex);
+            disconnect();
+        }
+    }
+
+    private void connect() throws SQLException {
+        connection = dataSource.getConnection();
+        connection.setAutoCommit(true);
+        try (PreparedStatement statement = connection.prepareStatement(LOCK_MEMBERSHIP)) {
+            statement.setInt(1, MEMBER_LOCK_NAMESPACE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                backendPid = resultSet.getInt(1);
+            }
+        }
+    }
+
+    private int countMembers() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(COUNT_MEMBERS)) {
+            statement.setInt(1, MEMBER_LOCK_NAMESPACE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return Math.max(1, resultSet.getInt(1));
+            }
+        }
+    }
+
+    private void tryLockBucket(int bucket) throws SQLException {
+        if (executeLockFunction(TRY_LOCK_BUCKET, bucket)) {
+            lockedBuckets.add(bucket);
+        }
+    }
+
+    private void unlockBucket(int bucket) throws SQLException {
+        executeLockFunction(UNLOCK_BUCKET, bucket);
+        lockedBuckets.remove(bucket);
+    }
+
+    private boolean executeLockFunction(String sql, int bucket) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, BUCKET_LOCK_NAMESPACE);
+            statement.setInt(2, bucket);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void publishOwnedBuckets(int members) {
+        List<Integer> buckets = List.copyOf(lockedBuckets);
+        if (!buckets.equals(ownedBuckets)) {
+            log.info("Case bucket ownership changed, {} replicas, owning buckets {}", members, buckets);
+        }
+        ownedBuckets = buckets;
+    }
+
+    private void disconnect() {
+        ownedBuckets = List.of();
+        lockedBuckets.clear();
+        if (connection != null) {
+            // the pooled connection keeps its session, so the locks are released before it goes back to the pool
+            try (PreparedStatement statement = connection.prepareStatement(UNLOCK_ALL)) {
+                statement.execute();
+            } catch (SQLException ex) {
+                log.warn("Could not release the case bucket locks", ex);
+            }
+            try {
+                connection.close();
+            } catch (SQLException ex) {
+                log.warn("Could not close the case bucket ownership connection", ex);
+            }
+            connection = null;
+        }
+    }
+}
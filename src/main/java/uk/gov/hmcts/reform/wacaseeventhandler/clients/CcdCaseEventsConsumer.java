@@ -1,9 +1,11 @@
 package uk.gov.hmcts.reform.wacaseeventhandler.clients;
 
 import com.azure.messaging.servicebus.ServiceBusException;
+import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
 import com.azure.messaging.servicebus.ServiceBusReceiverClient;
 import com.azure.messaging.servicebus.ServiceBusSessionReceiverClient;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.Scope;
@@ -11,6 +13,9 @@ import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.wacaseeventhandler.config.ServiceBusConfiguration;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.EventMessageReceiverService;
 
+import java.time.Duration;
+import java.util.List;
+
 @Slf4j
 @Component
 @Scope("prototype")
@@ -20,13 +25,23 @@ import uk.gov.hmcts.reform.wacaseeventhandler.services.EventMessageReceiverServi
 public class CcdCaseEventsConsumer implements Runnable {
 
     private final ServiceBusConfiguration serviceBusConfiguration;
-    private final EventMessageReceiverService eventMessageReceiverService;
+    private final ReceivedMessageBatchStore batchStore;
     private boolean keepRun = true;
 
+    @Value("${azure.servicebus.receive-batch-size}")
+    private int receiveBatchSize;
+
+    @Value("${azure.servicebus.receive-batch-wait-milliseconds}")
+    private long receiveBatchWaitMilliSeconds;
+
     public CcdCaseEventsConsumer(ServiceBusConfiguration serviceBusConfiguration,
                                  EventMessageReceiverService eventMessageReceiverService) {
         this.serviceBusConfiguration = serviceBusConfiguration;
-        this.eventMessageReceiverService = eventMessageReceiverService;
+        this.batchStore = new ReceivedMessageBatchStore(
+            "CCD Case Event",
+            eventMessageReceiverService::handleCcdCaseEventAsbMessages,
+            eventMessageReceiverService::handleCcdCaseEventAsbMessage
+        );
     }
 
     @Override
@@ -50,25 +65,15 @@ public class CcdCaseEventsConsumer implements Runnable {
 
             }
 
-            receiver.receiveMessages(1).forEach(
-                message -> {
-                    try {
-                        String messageId = message.getMessageId();
-                        String sessionId = message.getSessionId();
-                        log.info("Received CCD Case Event message with id '{}' and case id '{}'",
-                            messageId, sessionId);
-
-                        eventMessageReceiverService.handleCcdCaseEventAsbMessage(messageId, sessionId,
-                            new String(message.getBody().toBytes()));
-                        receiver.complete(message);
+            List<ServiceBusReceivedMessage> messages = receiver
+                .receiveMessages(receiveBatchSize, Duration.ofMillis(receiveBatchWaitMilliSeconds))
+                .stream()
+                .toList();
+            if (messages.isEmpty()) {
+                return;
+            }
 
-                        log.info("CCD Case Event message with id '{}' handled successfully", messageId);
-                    } catch (Exception ex) {
-                        log.error("Error processing CCD Case Event message with id '{}' - "
-                                  + "abandon the processing and ASB will re-deliver it", message.getMessageId());
-                        receiver.abandon(message);
-                    }
-                });
+            batchStore.store(receiver, messages);
         } catch (IllegalStateException ex) {
             log.error("Timeout: No CCD Case Event messages received waiting for next session {}", ex.getMessage());
         } catch (ServiceBusException ex) {
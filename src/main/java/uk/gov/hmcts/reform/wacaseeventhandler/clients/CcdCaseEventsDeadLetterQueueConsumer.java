@@ -1,7 +1,9 @@
 package uk.gov.hmcts.reform.wacaseeventhandler.clients;
 
+import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
 import com.azure.messaging.servicebus.ServiceBusReceiverClient;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.Scope;
@@ -9,6 +11,9 @@ import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.wacaseeventhandler.config.ServiceBusConfiguration;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.EventMessageReceiverService;
 
+import java.time.Duration;
+import java.util.List;
+
 @Slf4j
 @Component
 @Scope("prototype")
@@ -18,13 +23,23 @@ import uk.gov.hmcts.reform.wacaseeventhandler.services.EventMessageReceiverServi
 public class CcdCaseEventsDeadLetterQueueConsumer implements Runnable {
 
     private final ServiceBusConfiguration serviceBusConfiguration;
-    private final EventMessageReceiverService eventMessageReceiverService;
+    private final ReceivedMessageBatchStore batchStore;
     private boolean keepRun = true;
 
+    @Value("${azure.servicebus.receive-batch-size}")
+    private int receiveBatchSize;
+
+    @Value("${azure.servicebus.receive-batch-wait-milliseconds}")
+    private long receiveBatchWaitMilliSeconds;
+
     public CcdCaseEventsDeadLetterQueueConsumer(ServiceBusConfiguration serviceBusConfiguration,
                                                 EventMessageReceiverService eventMessageReceiverService) {
         this.serviceBusConfiguration = serviceBusConfiguration;
-        this.eventMessageReceiverService = eventMessageReceiverService;
+        this.batchStore = new ReceivedMessageBatchStore(
+            "CCD Case Event Dead Letter Queue",
+            eventMessageReceiverService::handleDlqMessages,
+            eventMessageReceiverService::handleDlqMessage
+        );
     }
 
     @Override
@@ -41,30 +56,15 @@ public class CcdCaseEventsDeadLetterQueueConsumer implements Runnable {
     @SuppressWarnings({"PMD.DataflowAnomalyAnalysis"})
     protected void consumeMessage(ServiceBusReceiverClient receiver) {
         try {
-            receiver.receiveMessages(1).forEach(
-                message -> {
-                    final String messageId = message.getMessageId();
-                    try {
-                        log.info("Received CCD Case Event Dead Letter Queue message with id '{}'", messageId);
-
-                        eventMessageReceiverService.handleDlqMessage(
-                            messageId,
-                            message.getSessionId(),
-                            new String(message.getBody().toBytes())
-                        );
-
-                        receiver.complete(message);
+            List<ServiceBusReceivedMessage> messages = receiver
+                .receiveMessages(receiveBatchSize, Duration.ofMillis(receiveBatchWaitMilliSeconds))
+                .stream()
+                .toList();
+            if (messages.isEmpty()) {
+                return;
+            }
 
-                        log.info(
-                            "CCD Case Event Dead Letter Queue message with id '{}' handled successfully",
-                            messageId
-                        );
-                    } catch (Exception ex) {
-                        log.error("Error processing CCD Case Event Dead Letter Queue message with id '{}' - "
-                                      + "abandon the processing and ASB will re-deliver it", messageId);
-                        receiver.abandon(message);
-                    }
-                });
+            batchStore.store(receiver, messages);
         } catch (Exception ex) {
             log.error("Error occurred while completing the message processing {}", ex.getMessage());
         }
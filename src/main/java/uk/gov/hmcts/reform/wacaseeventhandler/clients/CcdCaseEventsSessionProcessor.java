@@ -0,0 +1,78 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import com.azure.messaging.servicebus.ServiceBusErrorContext;
+import com.azure.messaging.servicebus.ServiceBusProcessorClient;
+import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
+import com.azure.messaging.servicebus.ServiceBusReceivedMessageContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.ServiceBusConfiguration;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.EventMessageReceiverService;
+
+/**
+ * Receives CCD case events with the service bus session processor instead of the session receiver threads
+ * started by {@code CcdCaseEventsExecutor}. The processor keeps up to max-concurrent-sessions sessions open,
+ * prefetches their messages and renews the message locks while a message is being stored.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${azure.servicebus.enableASB-DLQ:false} "
+    + "&& ${azure.servicebus.session-processor.enabled:false}")
+@Profile("!functional & !local")
+public class CcdCaseEventsSessionProcessor {
+
+    private final ServiceBusConfiguration serviceBusConfiguration;
+    private final EventMessageReceiverService eventMessageReceiverService;
+    private ServiceBusProcessorClient processorClient;
+
+    public CcdCaseEventsSessionProcessor(ServiceBusConfiguration serviceBusConfiguration,
+                                         EventMessageReceiverService eventMessageReceiverService) {
+        this.serviceBusConfiguration = serviceBusConfiguration;
+        this.eventMessageReceiverService = eventMessageReceiverService;
+    }
+
+    @PostConstruct
+    public void start() {
+        log.info("Starting CCD case events session processor");
+        processorClient = serviceBusConfiguration.createCcdCaseEventsSessionProcessor(
+            this::processMessage, this::processError);
+        processorClient.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        log.info("Shutting down CCD case events session processor");
+        if (processorClient != null) {
+            processorClient.close();
+        }
+        log.info("Shut down CCD case events session processor");
+    }
+
+    protected void processMessage(ServiceBusReceivedMessageContext context) {
+        ServiceBusReceivedMessage message = context.getMessage();
+        String messageId = message.getMessageId();
+        try {
+            String sessionId = message.getSessionId();
+            log.info("Received CCD Case Event message with id '{}' and case id '{}'", messageId, sessionId);
+
+            eventMessageReceiverService.handleCcdCaseEventAsbMessage(messageId, sessionId,
+                new String(message.getBody().toBytes()));
+            context.complete();
+
+            log.info("CCD Case Event message with id '{}' handled successfully", messageId);
+        } catch (Exception ex) {
+            log.error("Error processing CCD Case Event message with id '{}' - "
+                      + "abandon the processing and ASB will re-deliver it", messageId);
+            context.abandon();
+        }
+    }
+
+    protected void processError(ServiceBusErrorContext context) {
+        log.error("Error occurred while receiving CCD Case Event messages from '{}', source {}: {}",
+                  context.getEntityPath(), context.getErrorSource(), context.getException().getMessage());
+    }
+}
@@ -3,30 +3,36 @@ package uk.gov.hmcts.reform.wacaseeventhandler.clients;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import feign.FeignException;
 import feign.RetryableException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.SerializationUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.CaseEventMessage;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.FailureClass;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.MessageUpdateRetry;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.SchedulingKey;
 import uk.gov.hmcts.reform.wacaseeventhandler.entity.CaseEventMessageEntity;
 import uk.gov.hmcts.reform.wacaseeventhandler.entity.MessageState;
 import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.CaseEventMessageMapper;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.FairClaimScheduler;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.UpdateRecordErrorHandlingService;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.ccd.CcdEventProcessor;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.springframework.transaction.annotation.Propagation.NOT_SUPPORTED;
 
@@ -35,105 +41,337 @@ import static org.springframework.transaction.annotation.Propagation.NOT_SUPPORT
 @SuppressWarnings({"PMD.DoNotUseThreads", "PMD.DataflowAnomalyAnalysis", "PMD.UnusedPrivateField", "PMD.SingularField"})
 @Transactional(propagation = NOT_SUPPORTED)
 @Profile("!functional & !local")
-public class DatabaseMessageConsumer implements Runnable {
-    protected static final Map<Integer, Integer> RETRY_COUNT_TO_DELAY_MAP = new ConcurrentHashMap<>();
-
-    static {
-        RETRY_COUNT_TO_DELAY_MAP.put(1, 5);
-        RETRY_COUNT_TO_DELAY_MAP.put(2, 15);
-        RETRY_COUNT_TO_DELAY_MAP.put(3, 30);
-        RETRY_COUNT_TO_DELAY_MAP.put(4, 60);
-        RETRY_COUNT_TO_DELAY_MAP.put(5, 300);
-        RETRY_COUNT_TO_DELAY_MAP.put(6, 900);
-        RETRY_COUNT_TO_DELAY_MAP.put(7, 1800);
-        RETRY_COUNT_TO_DELAY_MAP.put(8, 3600);
-    }
-
+public class DatabaseMessageConsumer {
     private final CaseEventMessageRepository caseEventMessageRepository;
     private final CaseEventMessageMapper caseEventMessageMapper;
     private final CcdEventProcessor ccdEventProcessor;
     private final UpdateRecordErrorHandlingService updateRecordErrorHandlingService;
+    private final CaseBucketOwnership caseBucketOwnership;
+    private final FairClaimScheduler fairClaimScheduler;
+    private final RetryBackoffPolicy retryBackoffPolicy;
+    private final HeldMessageTimer heldMessageTimer;
     private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary drainedMessagesPerPoll;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    /**
+     * Upper bound on the number of messages drained in a single poll. A value of 1 restores the
+     * previous behaviour of processing one message per poll interval.
+     */
+    @Value("${scheduledExecutors.messageProcessing.maxMessagesPerPoll}")
+    private int maxMessagesPerPoll;
+
+    @Value("${scheduledExecutors.messageProcessing.maxPollDurationMilliSeconds}")
+    private long maxPollDuration;
+
+    /**
+     * Number of case head messages claimed by a single query. Values above 1 lease up to that many messages,
+     * at most one per case, and process them one after the other before the next claim.
+     */
+    @Value("${scheduledExecutors.messageProcessing.claimBatchSize}")
+    private int claimBatchSize;
+
+    /**
+     * How long a claimed message stays leased to the worker processing it. A message whose lease expired
+     * before its state was updated can be claimed again by another worker.
+     */
+    @Value("${scheduledExecutors.messageProcessing.leaseDurationMilliSeconds}")
+    private long leaseDuration;
+
+    /**
+     * Number of subsequent messages of a case processed straight after its claimed message was processed,
+     * each claimed on its own with the same readiness rules. A value of 0 claims every message separately.
+     */
+    @Value("${scheduledExecutors.messageProcessing.caseDrainLimit}")
+    private int caseDrainLimit;
 
     public DatabaseMessageConsumer(CaseEventMessageRepository caseEventMessageRepository,
                                    CaseEventMessageMapper caseEventMessageMapper,
                                    CcdEventProcessor ccdEventProcessor,
                                    UpdateRecordErrorHandlingService updateRecordErrorHandlingService,
-                                   PlatformTransactionManager transactionManager) {
+                                   CaseBucketOwnership caseBucketOwnership,
+                                   FairClaimScheduler fairClaimScheduler,
+                                   RetryBackoffPolicy retryBackoffPolicy,
+                                   HeldMessageTimer heldMessageTimer,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry) {
         this.caseEventMessageRepository = caseEventMessageRepository;
         this.caseEventMessageMapper = caseEventMessageMapper;
         this.ccdEventProcessor = ccdEventProcessor;
         this.updateRecordErrorHandlingService = updateRecordErrorHandlingService;
+        this.caseBucketOwnership = caseBucketOwnership;
+        this.fairClaimScheduler = fairClaimScheduler;
+        this.retryBackoffPolicy = retryBackoffPolicy;
+        this.heldMessageTimer = heldMessageTimer;
         this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.drainedMessagesPerPoll = DistributionSummary.builder("wa.case.event.handler.messages.drained")
+            .description("Number of messages processed by a single database consumer poll")
+            .register(meterRegistry);
     }
 
-
     /**
-     * Spring Uniform Random Backoff Policy used for retry mechanism.
+     * Processes ready messages until none is left or the poll budget is exhausted.
      *
-     * @see <a href="https://docs.spring.io/spring-retry/docs/api/current/index.html?org/springframework/retry/annotation/Backoff.html">spring.docs</a>
+     * @return the number of messages processed
      */
-    @Retryable(
-        maxAttemptsExpression = "${retry.maxAttempts}",
-        backoff = @Backoff(
-            delayExpression = "${retry.backOff.delay}",
-            maxDelayExpression = "${retry.backOff.maxDelay}",
-            randomExpression = "${retry.backOff.random}"
-        )
-    )
-    @Override
     @SuppressWarnings("squid:S2189")
-    public void run() {
+    public int processReadyMessages() {
+        final long pollStartedAt = System.currentTimeMillis();
+        int drainedMessages = 0;
         try {
-            Optional<MessageUpdateRetry> updateRetry = transactionTemplate.execute(status -> {
-                CaseEventMessageEntity caseEventMessageEntity = selectNextMessage();
-
-                if (caseEventMessageEntity == null) {
-                    return Optional.empty();
+            int processedMessages = processNextMessages(drainedMessages, pollStartedAt);
+            while (processedMessages > 0) {
+                drainedMessages += processedMessages;
+                if (isPollBudgetExhausted(drainedMessages, pollStartedAt)) {
+                    log.info("Poll budget exhausted after {} messages, continuing on next poll", drainedMessages);
+                    break;
                 }
-
-                log.info(
-                    "Starting database message processing for messageId='{}', caseId='{}', state='{}', "
-                        + "retryCount={}, holdUntil={}",
-                    caseEventMessageEntity.getMessageId(),
-                    caseEventMessageEntity.getCaseId(),
-                    caseEventMessageEntity.getState(),
-                    caseEventMessageEntity.getRetryCount(),
-                    caseEventMessageEntity.getHoldUntil()
-                );
-                final CaseEventMessage caseEventMessage = caseEventMessageMapper
-                    .mapToCaseEventMessage(SerializationUtils.clone(caseEventMessageEntity));
-                Optional<MessageUpdateRetry> updatable = processMessage(caseEventMessage);
-
-                //if record state update failed, Rollback the transaction
-                updatable.ifPresent(r -> status.setRollbackOnly());
-                return updatable;
-            });
-
-            //Retry updating the record state
-            updateRetry.ifPresent(msg ->
-                updateRecordErrorHandlingService.handleUpdateError(msg.getState(),
-                    msg.getMessageId(),
-                    msg.getRetryCount(),
-                    msg.getHoldUntil())
-            );
+                processedMessages = processNextMessages(drainedMessages, pollStartedAt);
+            }
         } catch (Exception ex) {
             log.warn("An error occurred when running database message consumer. "
                      + "Catching exception continuing execution", ex);
+        } finally {
+            drainedMessagesPerPoll.record(drainedMessages);
         }
+        return drainedMessages;
+    }
 
+    /**
+     * Claims the next messages and processes them one after the other. Every message after the first has its
+     * lease renewed before it is processed, and is skipped if the lease was lost meanwhile. The messages left
+     * once the poll budget is exhausted are released, so other workers can claim them straight away.
+     */
+    private int processNextMessages(int drainedMessages, long pollStartedAt) {
+        final String claimedBy = workerId();
+        final List<CaseEventMessageEntity> leasedMessages = leaseMessages(claimedBy, this::selectNextMessages);
+        int processedMessages = 0;
+        for (int i = 0; i < leasedMessages.size(); i++) {
+            if (processedMessages > 0 && isPollBudgetExhausted(drainedMessages + processedMessages, pollStartedAt)) {
+                releaseLeases(leasedMessages.subList(i, leasedMessages.size()), claimedBy);
+                break;
+            }
+            CaseEventMessageEntity caseEventMessageEntity = leasedMessages.get(i);
+            // the first message was leased just now
+            if (i > 0 && !renewLease(caseEventMessageEntity.getMessageId(), claimedBy)) {
+                continue;
+            }
+            MessageUpdateRetry messageUpdate = processLeasedMessage(caseEventMessageEntity, claimedBy);
+            if (messageUpdate == null) {
+                continue;
+            }
+            processedMessages++;
+            if (messageUpdate.getState() == MessageState.PROCESSED) {
+                processedMessages += drainCase(caseEventMessageEntity.getCaseId(), claimedBy,
+                                               drainedMessages + processedMessages, pollStartedAt);
+            }
+        }
+        return processedMessages;
     }
 
-    private CaseEventMessageEntity selectNextMessage() {
-        log.trace("Selecting next message for processing from the database");
+    /**
+     * Processes the ready message of a single case, and the case's subsequent messages, straight away.
+     * Used by the fast path for a message promoted to READY as soon as it was stored.
+     *
+     * @return the number of messages processed
+     */
+    public int processCaseMessages(String caseId) {
+        final long pollStartedAt = System.currentTimeMillis();
+        final String claimedBy = workerId();
+        final List<CaseEventMessageEntity> leasedMessages =
+            leaseMessages(claimedBy, () -> selectNextCaseMessage(caseId));
+        if (leasedMessages.isEmpty()) {
+            return 0;
+        }
+        MessageUpdateRetry messageUpdate = processLeasedMessage(leasedMessages.get(0), claimedBy);
+        if (messageUpdate == null) {
+            return 0;
+        }
+        return messageUpdate.getState() == MessageState.PROCESSED
+            ? 1 + drainCase(caseId, claimedBy, 1, pollStartedAt) : 1;
+    }
 
-        return caseEventMessageRepository.getNextAvailableMessageReadyToProcess();
+    /**
+     * Processes the next messages of the case one by one while they are ready, so a burst of events on a case
+     * does not need a claim query for each of its messages. Every message is leased just before it is processed,
+     * and the drain stops once the poll budget is exhausted.
+     */
+    private int drainCase(String caseId, String claimedBy, int polledMessages, long pollStartedAt) {
+        int drainedMessages = 0;
+        while (drainedMessages < caseDrainLimit
+               && !isPollBudgetExhausted(polledMessages + drainedMessages, pollStartedAt)) {
+            final List<CaseEventMessageEntity> leasedMessages =
+                leaseMessages(claimedBy, () -> selectNextCaseMessage(caseId));
+            if (leasedMessages.isEmpty()) {
+                break;
+            }
+            MessageUpdateRetry messageUpdate = processLeasedMessage(leasedMessages.get(0), claimedBy);
+            if (messageUpdate == null) {
+                break;
+            }
+            drainedMessages++;
+            if (messageUpdate.getState() != MessageState.PROCESSED) {
+                break;
+            }
+        }
+        if (drainedMessages > 0) {
+            log.info("Drained {} subsequent messages of caseId {}", drainedMessages, caseId);
+        }
+        return drainedMessages;
     }
 
-    private Optional<MessageUpdateRetry> processMessage(CaseEventMessage caseEventMessage) {
+    /**
+     * Processes a message leased to this worker and stores its outcome.
+     *
+     * @return the update applied to the message, or null if the message could not be mapped
+     */
+    private MessageUpdateRetry processLeasedMessage(CaseEventMessageEntity caseEventMessageEntity,
+                                                    String claimedBy) {
+        log.info(
+            "Starting database message processing for messageId='{}', caseId='{}', state='{}', "
+                + "retryCount={}, holdUntil={}",
+            caseEventMessageEntity.getMessageId(),
+            caseEventMessageEntity.getCaseId(),
+            caseEventMessageEntity.getState(),
+            caseEventMessageEntity.getRetryCount(),
+            caseEventMessageEntity.getHoldUntil()
+        );
+        final CaseEventMessage caseEventMessage = caseEventMessageMapper
+            .mapToCaseEventMessage(SerializationUtils.clone(caseEventMessageEntity));
         if (caseEventMessage == null) {
-            return Optional.empty();
+            return null;
         }
+        MessageUpdateRetry messageUpdate = processMessage(caseEventMessage);
+
+        if (!applyMessageUpdate(messageUpdate, claimedBy)) {
+            //Retry updating the record state
+            updateRecordErrorHandlingService.handleUpdateError(messageUpdate.getState(),
+                messageUpdate.getMessageId(),
+                messageUpdate.getRetryCount(),
+                messageUpdate.getHoldUntil(),
+                claimedBy);
+        }
+        if (messageUpdate.getHoldUntil() != null) {
+            heldMessageTimer.hold(caseEventMessageEntity.getCaseId(), messageUpdate.getHoldUntil());
+        }
+        return messageUpdate;
+    }
+
+    /**
+     * Locks the selected messages ready to process and leases them to this worker in a short transaction, so no
+     * row lock or database connection is held while the messages are processed.
+     */
+    private List<CaseEventMessageEntity> leaseMessages(String claimedBy,
+                                                       Supplier<List<CaseEventMessageEntity>> selection) {
+        final List<CaseEventMessageEntity> leasedMessages = transactionTemplate.execute(status -> {
+            final List<CaseEventMessageEntity> selectedMessages = selection.get();
+            if (!selectedMessages.isEmpty()) {
+                caseEventMessageRepository.leaseMessages(
+                    selectedMessages.stream().map(CaseEventMessageEntity::getMessageId).toList(),
+                    claimedBy,
+                    leaseDuration);
+            }
+            return selectedMessages;
+        });
+        return Objects.requireNonNullElse(leasedMessages, List.of());
+    }
+
+    private boolean renewLease(String messageId, String claimedBy) {
+        Integer renewedLeases = transactionTemplate.execute(
+            status -> caseEventMessageRepository.renewLease(messageId, claimedBy, leaseDuration));
+        if (Objects.requireNonNullElse(renewedLeases, 0) == 0) {
+            log.warn("Lease on message with id {} expired before it was processed, skipping the message", messageId);
+            return false;
+        }
+        return true;
+    }
+
+    private void releaseLeases(List<CaseEventMessageEntity> messages, String claimedBy) {
+        List<String> messageIds = messages.stream().map(CaseEventMessageEntity::getMessageId).toList();
+        log.info("Poll budget exhausted, releasing {} claimed messages", messageIds.size());
+        transactionTemplate.execute(status -> caseEventMessageRepository.releaseLeases(messageIds, claimedBy));
+    }
+
+    private List<CaseEventMessageEntity> selectNextCaseMessage(String caseId) {
+        CaseEventMessageEntity nextCaseMessage =
+            caseEventMessageRepository.getNextAvailableCaseMessageReadyToProcess(caseId);
+        return nextCaseMessage == null ? List.of() : List.of(nextCaseMessage);
+    }
+
+    private String workerId() {
+        return instanceId + ":" + Thread.currentThread().getName();
+    }
+
+    private boolean isPollBudgetExhausted(int drainedMessages, long pollStartedAt) {
+        return drainedMessages >= maxMessagesPerPoll
+               || System.currentTimeMillis() - pollStartedAt >= maxPollDuration;
+    }
+
+    private List<CaseEventMessageEntity> selectNextMessages() {
+        log.trace("Selecting next message for processing from the database");
+
+        // only messages of cases in the buckets leased to this replica are claimed, a bucket count of 1
+        // with bucket 0 matches every case
+        int bucketCount = caseBucketOwnership.isEnabled() ? caseBucketOwnership.getBucketCount() : 1;
+        List<Integer> ownedBuckets = caseBucketOwnership.isEnabled() ? caseBucketOwnership.getOwnedBuckets()
+            : List.of(0);
+        if (ownedBuckets.isEmpty()) {
+            return List.of();
+        }
+
+        // cases whose held message is due go first, skipping the cases claimed by another worker meanwhile
+        String dueCaseId = heldMessageTimer.pollDueCase();
+        while (dueCaseId != null) {
+            CaseEventMessageEntity dueCaseMessage =
+                caseEventMessageRepository.getDueCaseMessageReadyToProcess(dueCaseId, bucketCount, ownedBuckets);
+            if (dueCaseMessage != null) {
+                return List.of(dueCaseMessage);
+            }
+            dueCaseId = heldMessageTimer.pollDueCase();
+        }
+
+        if (fairClaimScheduler.isEnabled()) {
+            List<CaseEventMessageEntity> scheduledMessages = selectScheduledMessages(bucketCount, ownedBuckets);
+            if (!scheduledMessages.isEmpty()) {
+                return scheduledMessages;
+            }
+        }
+
+        if (caseBucketOwnership.isEnabled()) {
+            return caseEventMessageRepository.getNextAvailableMessagesReadyToProcessInCaseBuckets(
+                Math.max(1, claimBatchSize), bucketCount, ownedBuckets);
+        }
+
+        if (claimBatchSize > 1) {
+            // at most one head message is claimed per case
+            return caseEventMessageRepository.getNextAvailableMessagesReadyToProcess(claimBatchSize);
+        }
+
+        CaseEventMessageEntity caseEventMessageEntity =
+            caseEventMessageRepository.getNextAvailableMessageReadyToProcess();
+        return caseEventMessageEntity == null ? List.of() : List.of(caseEventMessageEntity);
+    }
+
+    /**
+     * Claims the messages of the jurisdiction and case type picked by the fair scheduler. Nothing is claimed
+     * when the scheduler knows of no key with a claimable message, the caller then claims from every key so
+     * messages stored since the last backlog refresh are not held back.
+     */
+    private List<CaseEventMessageEntity> selectScheduledMessages(int bucketCount, List<Integer> buckets) {
+        Optional<SchedulingKey> schedulingKey = fairClaimScheduler.nextKey();
+        if (schedulingKey.isEmpty()) {
+            return List.of();
+        }
+
+        SchedulingKey key = schedulingKey.get();
+        List<CaseEventMessageEntity> scheduledMessages =
+            caseEventMessageRepository.getNextAvailableMessagesReadyToProcessForSchedulingKey(
+                Math.max(1, claimBatchSize), key.getJurisdictionId(), key.getCaseTypeId(), bucketCount, buckets);
+        fairClaimScheduler.claimed(key, scheduledMessages.size());
+        return scheduledMessages;
+    }
+
+    private MessageUpdateRetry processMessage(CaseEventMessage caseEventMessage) {
         final String caseEventMessageId = caseEventMessage.getMessageId();
         log.info("Processing message with id: {} and caseId: {} from the database",
             caseEventMessageId,
@@ -145,7 +383,7 @@ public class DatabaseMessageConsumer implements Runnable {
                 caseEventMessageId,
                 caseEventMessage.getCaseId()
             );
-            return updateMessageState(MessageState.PROCESSED, caseEventMessageId, 0, null);
+            return messageUpdate(MessageState.PROCESSED, caseEventMessageId, 0, null);
         } catch (FeignException fe) {
             log.error("FeignException while processing message. caseEventMessage:{} exception: ",
                 caseEventMessage, fe);
@@ -156,12 +394,13 @@ public class DatabaseMessageConsumer implements Runnable {
             return processError(caseEventMessage);
         } catch (Exception ex) {
             log.error("Exception while processing message. caseEventMessage:{} exception: ", caseEventMessage, ex);
-            return processRetryableError(caseEventMessage);
+            return processRetryableError(caseEventMessage, FailureClass.UNEXPECTED);
         }
     }
 
-    private Optional<MessageUpdateRetry> processException(FeignException fce, CaseEventMessage caseEventMessage) {
+    private MessageUpdateRetry processException(FeignException fce, CaseEventMessage caseEventMessage) {
         boolean isNonRetryableError = true;
+        FailureClass failureClass = FailureClass.RETRYABLE_HTTP_STATUS;
         try {
             final HttpStatus httpStatus = HttpStatus.valueOf(fce.status());
             isNonRetryableError = UnprocessableHttpErrors.isNonRetryableError(httpStatus);
@@ -172,6 +411,7 @@ public class DatabaseMessageConsumer implements Runnable {
         } catch (IllegalArgumentException iae) {
             if (fce instanceof RetryableException) {
                 isNonRetryableError = false;
+                failureClass = FailureClass.CONNECTION;
             }
         }
 
@@ -181,52 +421,65 @@ public class DatabaseMessageConsumer implements Runnable {
             log.warn("Retryable error occurred when processing message with caseEventMessage: {}",
                 caseEventMessage
             );
-            return processRetryableError(caseEventMessage);
+            return processRetryableError(caseEventMessage, failureClass);
         }
     }
 
-    private Optional<MessageUpdateRetry> processRetryableError(CaseEventMessage caseEventMessage) {
+    private MessageUpdateRetry processRetryableError(CaseEventMessage caseEventMessage,
+                                                     FailureClass failureClass) {
         int retryCount = caseEventMessage.getRetryCount() + 1;
-        Integer newHoldUntilIncrement = RETRY_COUNT_TO_DELAY_MAP.get(retryCount);
+        Optional<Duration> retryDelay = retryBackoffPolicy.getDelay(failureClass, retryCount);
         String messageId = caseEventMessage.getMessageId();
 
-        if (newHoldUntilIncrement != null) {
-            LocalDateTime newHoldUntil = LocalDateTime.now().plusSeconds(newHoldUntilIncrement);
+        if (retryDelay.isPresent()) {
+            LocalDateTime newHoldUntil = LocalDateTime.now().plus(retryDelay.get());
             log.info("Updating values, retry_count {} and hold_until {} on case event message {}",
                 retryCount,
                 newHoldUntil,
                 messageId);
-            return updateMessageState(null, messageId, retryCount, newHoldUntil);
+            return messageUpdate(null, messageId, retryCount, newHoldUntil);
         }
-        return updateMessageState(MessageState.UNPROCESSABLE, messageId, 0, null);
+        return messageUpdate(MessageState.UNPROCESSABLE, messageId, 0, null);
     }
 
-    private Optional<MessageUpdateRetry> processError(CaseEventMessage caseEventMessage) {
+    private MessageUpdateRetry processError(CaseEventMessage caseEventMessage) {
         String caseEventMessageId = caseEventMessage.getMessageId();
         log.warn("Could not process message with caseEventMessage: {}, setting state to Unprocessable.",
             caseEventMessage
         );
 
-        return updateMessageState(MessageState.UNPROCESSABLE, caseEventMessageId, 0, null);
+        return messageUpdate(MessageState.UNPROCESSABLE, caseEventMessageId, 0, null);
+    }
+
+    private MessageUpdateRetry messageUpdate(MessageState state, String messageId,
+                                             int retryCount, LocalDateTime holdUntil) {
+        return MessageUpdateRetry.builder()
+            .messageId(messageId)
+            .state(state)
+            .holdUntil(holdUntil)
+            .retryCount(retryCount)
+            .build();
     }
 
-    private Optional<MessageUpdateRetry> updateMessageState(MessageState state, String messageId,
-                                                            int retryCount, LocalDateTime holdUntil) {
+    private boolean applyMessageUpdate(MessageUpdateRetry messageUpdate, String claimedBy) {
+        final String messageId = messageUpdate.getMessageId();
         try {
-            if (state == null) {
-                caseEventMessageRepository.updateMessageWithRetryDetails(retryCount, holdUntil, messageId);
-            } else {
-                caseEventMessageRepository.updateMessageState(state, List.of(messageId));
+            Integer updatedMessages = transactionTemplate.execute(status -> {
+                if (messageUpdate.getState() == null) {
+                    return caseEventMessageRepository.updateLeasedMessageWithRetryDetails(
+                        messageUpdate.getRetryCount(), messageUpdate.getHoldUntil(), messageId, claimedBy);
+                }
+                return caseEventMessageRepository.updateLeasedMessageState(
+                    messageUpdate.getState(), messageId, claimedBy);
+            });
+            if (Objects.requireNonNullElse(updatedMessages, 0) == 0) {
+                log.warn("Lease on message with id {} expired before it was processed, "
+                         + "the message may have been claimed again", messageId);
             }
         } catch (RuntimeException e) {
             log.error("Error in updating message with id {}, retrying to update", messageId);
-            return Optional.of(MessageUpdateRetry.builder()
-                .messageId(messageId)
-                .state(state)
-                .holdUntil(holdUntil)
-                .retryCount(retryCount)
-                .build());
-        }
-        return Optional.empty();
+            return false;
+        }
+        return true;
     }
 }
@@ -0,0 +1,158 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.sql.DataSource;
+
+/**
+ * Listens on the Postgres notification channels raised when messages are stored in NEW state or move to
+ * READY state, and wakes up the consumers waiting for them. The listening connection stays checked out of the
+ * session lock pool for as long as it is up. Consumers still poll on a timeout, so a lost connection only delays
+ * processing until their next poll.
+ */
+@Slf4j
+@Component
+@SuppressWarnings("PMD.DoNotUseThreads")
+@Profile("!functional & !local")
+public class DatabaseNotificationListener {
+
+    public static final String NEW_MESSAGE_CHANNEL = "wa_case_event_messages_new";
+    public static final String READY_MESSAGE_CHANNEL = "wa_case_event_messages_ready";
+
+    private static final int LISTEN_TIMEOUT_MILLISECONDS = 1000;
+    private static final int RECONNECT_DELAY_MILLISECONDS = 5000;
+
+    private final DataSource dataSource;
+    private final ExecutorService databaseNotificationExecutorService;
+    private final Map<String, AtomicLong> notificationCounts = Map.of(
+        NEW_MESSAGE_CHANNEL, new AtomicLong(),
+        READY_MESSAGE_CHANNEL, new AtomicLong()
+    );
+    // a lock rather than a monitor, a virtual thread waiting on a monitor stays pinned to its carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notified = lock.newCondition();
+    private volatile boolean running;
+
+    public DatabaseNotificationListener(@Qualifier("sessionLockDataSource") DataSource dataSource,
+                                        @Qualifier("databaseNotificationExecutorService")
+                                        ExecutorService databaseNotificationExecutorService) {
+        this.dataSource = dataSource;
+        this.databaseNotificationExecutorService = databaseNotificationExecutorService;
+    }
+
+    @PostConstruct
+    public void start() {
+        log.info("Starting database notification listener");
+        running = true;
+        databaseNotificationExecutorService.execute(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() {
+        log.info("Shutting down database notification listener");
+        running = false;
+        lock.lock();
+        try {
+            notified.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        databaseNotificationExecutorService.shutdownNow();
+    }
+
+    public long getNotificationCount(String channel) {
+        return notificationCounts.get(channel).get();
+    }
+
+    /**
+     * Waits until a notification arrives on the channel after the given count was read, or the timeout elapses.
+     *
+     * @return true if a notification arrived
+     */
+    public boolean awaitNotification(String channel, long seenNotificationCount, long timeoutMilliSeconds) {
+        final AtomicLong notificationCount = notificationCounts.get(channel);
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMilliSeconds);
+        lock.lock();
+        try {
+            while (running && notificationCount.get() == seenNotificationCount) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                notified.awaitNanos(remaining);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+        return notificationCount.get() != seenNotificationCount;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                for (String channel : notificationCounts.keySet()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for database notifications on {}", notificationCounts.keySet());
+                // messages may have been stored while the listener was not connected
+                notificationCounts.keySet().forEach(this::signal);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(LISTEN_TIMEOUT_MILLISECONDS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            signal(notification.getName());
+                        }
+                    }
+                }
+            } catch (SQLException ex) {
+                log.warn("Database notification listener disconnected, reconnecting in {} ms",
+                    RECONNECT_DELAY_MILLISECONDS, ex);
+                pauseBeforeReconnecting();
+            }
+        }
+    }
+
+    private void signal(String channel) {
+        AtomicLong notificationCount = notificationCounts.get(channel);
+        if (notificationCount != null) {
+            lock.lock();
+            try {
+                notificationCount.incrementAndGet();
+                notified.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void pauseBeforeReconnecting() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(RECONNECT_DELAY_MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
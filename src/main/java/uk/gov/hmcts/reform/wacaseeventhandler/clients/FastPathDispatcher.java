@@ -0,0 +1,166 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.CaseEventMessageStoredEvent;
+import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.DeadLetterQueuePeekService;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Fast path for a message stored while nothing else of its case waits to be processed. Once the message is
+ * committed it is promoted to READY state on its own and processed by an in-process worker, instead of waiting
+ * for the next readiness check and database consumer poll. The database stays the source of truth: a message
+ * that cannot take the fast path, or whose worker dies, is promoted and processed by the regular polls.
+ */
+@Slf4j
+@Component
+@SuppressWarnings("PMD.DoNotUseThreads")
+@ConditionalOnProperty("azure.servicebus.enableASB-DLQ")
+@Profile("!functional & !local")
+public class FastPathDispatcher {
+
+    private final CaseEventMessageRepository caseEventMessageRepository;
+    private final DeadLetterQueuePeekService deadLetterQueuePeekService;
+    private final DatabaseMessageConsumer databaseMessageConsumer;
+    private final ExecutorService fastPathExecutorService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int workers;
+    private final BlockingQueue<CaseEventMessageStoredEvent> storedMessages;
+    private final MeterRegistry meterRegistry;
+    private final Timer storedToProcessed;
+
+    private volatile boolean running;
+
+    public FastPathDispatcher(CaseEventMessageRepository caseEventMessageRepository,
+                              DeadLetterQueuePeekService deadLetterQueuePeekService,
+                              DatabaseMessageConsumer databaseMessageConsumer,
+                              @Qualifier("fastPathExecutorService") ExecutorService fastPathExecutorService,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${fastPath.enabled}") boolean enabled,
+                              @Value("${fastPath.workers}") int workers,
+                              @Value("${fastPath.queueCapacity}") int queueCapacity) {
+        this.caseEventMessageRepository = caseEventMessageRepository;
+        this.deadLetterQueuePeekService = deadLetterQueuePeekService;
+        this.databaseMessageConsumer = databaseMessageConsumer;
+        this.fastPathExecutorService = fastPathExecutorService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.workers = workers;
+        this.storedMessages = new LinkedBlockingQueue<>(Math.max(1, queueCapacity));
+        this.meterRegistry = meterRegistry;
+        this.storedToProcessed = Timer.builder("wa.case.event.handler.fast.path.latency")
+            .description("Time from storing a message to having processed it on the fast path")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        log.info("Starting fast path with {} workers", workers);
+        running = true;
+        IntStream.range(0, workers).forEach(worker -> fastPathExecutorService.execute(this::work));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!enabled || fastPathExecutorService.isShutdown()) {
+            return;
+        }
+        log.info("Shutting down fast path");
+        running = false;
+        // the queued messages are left to the regular polls
+        fastPathExecutorService.shutdownNow();
+        try {
+            if (!fastPathExecutorService.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Fast path workers did not terminate");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues a stored message for the fast path. Runs on the thread that stored the message, after its
+     * transaction committed, so it never waits for a worker.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessageStored(CaseEventMessageStoredEvent event) {
+        if (!running) {
+            return;
+        }
+        if (!storedMessages.offer(event)) {
+            count("queue_full");
+        }
+    }
+
+    void dispatch(CaseEventMessageStoredEvent event) {
+        // messages from the dead letter queue may have to be processed first
+        if (!deadLetterQueuePeekService.isDeadLetterQueueEmpty()) {
+            count("dead_letter_queue_not_empty");
+            return;
+        }
+
+        Integer promotedMessages = transactionTemplate.execute(status ->
+            caseEventMessageRepository.promoteSoleCaseMessage(event.getMessageId()));
+        if (Objects.requireNonNullElse(promotedMessages, 0) == 0) {
+            count("case_not_idle");
+            return;
+        }
+
+        int processedMessages = databaseMessageConsumer.processCaseMessages(event.getCaseId());
+        if (processedMessages > 0) {
+            storedToProcessed.record(Duration.ofNanos(System.nanoTime() - event.getStoredAt()));
+            count("processed");
+        } else {
+            // claimed by a regular poll first, or held until later
+            count("not_claimed");
+        }
+    }
+
+    private void work() {
+        while (running) {
+            try {
+                dispatch(storedMessages.take());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Fast path failed, the message is left to the regular polls", ex);
+            }
+        }
+    }
+
+    private void count(String outcome) {
+        Counter.builder("wa.case.event.handler.fast.path")
+            .description("Number of stored messages offered to the fast path, by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment();
+    }
+}
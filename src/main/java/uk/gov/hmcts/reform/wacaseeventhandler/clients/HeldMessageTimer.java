@@ -0,0 +1,143 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository;
+import uk.gov.hmcts.reform.wacaseeventhandler.repository.HeldMessage;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps a timer for every message held until a later time after a failure, so the database consumer claims the
+ * message's case as soon as the hold ends instead of finding it among the other ready messages on some later
+ * poll. The timers are rebuilt from the held messages in the database at startup, which also picks up the
+ * messages held by replicas that are gone. The claim query still checks hold_until, so held messages are claimed
+ * by the regular polls too, e.g. when the timer of another replica fired.
+ */
+@Slf4j
+@Component
+@SuppressWarnings("PMD.DoNotUseThreads")
+@Profile("!functional & !local")
+public class HeldMessageTimer {
+
+    private final CaseEventMessageRepository caseEventMessageRepository;
+    private final ScheduledExecutorService heldMessageTimerExecutorService;
+    private final boolean enabled;
+    private final long tickDuration;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TimingWheel<String> timingWheel;
+    private final Queue<String> dueCases = new ConcurrentLinkedQueue<>();
+
+    public HeldMessageTimer(CaseEventMessageRepository caseEventMessageRepository,
+                            @Qualifier("heldMessageTimerExecutorService")
+                            ScheduledExecutorService heldMessageTimerExecutorService,
+                            @Value("${heldMessageTimer.enabled}") boolean enabled,
+                            @Value("${heldMessageTimer.tickMilliSeconds}") long tickDuration,
+                            @Value("${heldMessageTimer.wheelSize}") int wheelSize) {
+        this(caseEventMessageRepository, heldMessageTimerExecutorService, enabled, tickDuration, wheelSize,
+             System::currentTimeMillis);
+    }
+
+    HeldMessageTimer(CaseEventMessageRepository caseEventMessageRepository,
+                     ScheduledExecutorService heldMessageTimerExecutorService,
+                     boolean enabled,
+                     long tickDuration,
+                     int wheelSize,
+                     LongSupplier clock) {
+        this.caseEventMessageRepository = caseEventMessageRepository;
+        this.heldMessageTimerExecutorService = heldMessageTimerExecutorService;
+        this.enabled = enabled;
+        this.tickDuration = tickDuration;
+        this.clock = clock;
+        this.timingWheel = new TimingWheel<>(tickDuration, wheelSize, clock.getAsLong());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        rebuild();
+        heldMessageTimerExecutorService.scheduleAtFixedRate(
+            this::advance, tickDuration, tickDuration, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!enabled || heldMessageTimerExecutorService.isShutdown()) {
+            return;
+        }
+        log.info("Shutting down held message timer");
+        heldMessageTimerExecutorService.shutdown();
+        try {
+            if (!heldMessageTimerExecutorService.awaitTermination(10, TimeUnit.SECONDS)) {
+                heldMessageTimerExecutorService.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            heldMessageTimerExecutorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts the timer of a message of the case held until the given time.
+     */
+    public void hold(String caseId, LocalDateTime holdUntil) {
+        if (!enabled || caseId == null || holdUntil == null) {
+            return;
+        }
+        schedule(caseId, clock.getAsLong() + Duration.between(LocalDateTime.now(), holdUntil).toMillis());
+    }
+
+    /**
+     * Returns the next case whose held message is due, or null if there is none.
+     */
+    public String pollDueCase() {
+        return dueCases.poll();
+    }
+
+    void rebuild() {
+        List<HeldMessage> heldMessages = caseEventMessageRepository.getHeldMessages();
+        long now = clock.getAsLong();
+        heldMessages.forEach(heldMessage ->
+            schedule(heldMessage.getCaseId(), now + heldMessage.getDueInMillis()));
+        log.info("Rebuilt held message timers of {} messages", heldMessages.size());
+    }
+
+    void advance() {
+        lock.lock();
+        try {
+            dueCases.addAll(timingWheel.advance(clock.getAsLong()));
+        } catch (RuntimeException ex) {
+            // a failed tick must not cancel the schedule
+            log.warn("Failed to advance held message timers", ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void schedule(String caseId, long dueAt) {
+        lock.lock();
+        try {
+            if (!timingWheel.schedule(caseId, dueAt)) {
+                dueCases.add(caseId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
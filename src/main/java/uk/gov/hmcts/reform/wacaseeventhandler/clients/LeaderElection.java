@@ -0,0 +1,205 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+/**
+ * Elects one replica to run the singleton background work, such as promoting NEW messages to READY state.
+ * The leader holds a session advisory lock on a dedicated connection of the session lock pool, so the leadership
+ * ends with the leader's database session and one of the other replicas takes over on its next election round.
+ * With the election disabled every replica acts as leader.
+ */
+@Slf4j
+@Component
+@SuppressWarnings("PMD.DoNotUseThreads")
+@Profile("!functional & !local")
+public class LeaderElection {
+
+    static final String ROLE = "singleton-work";
+
+    private static final int LEADER_LOCK_NAMESPACE = 0x57414c31;
+
+    private static final String TRY_LOCK_LEADERSHIP = "SELECT pg_try_advisory_lock(?, hashtext(?))";
+    private static final String UNLOCK_ALL = "SELECT pg_advisory_unlock_all()";
+    private static final String MILLISECONDS_SINCE_LAST_HEARTBEAT =
+        "SELECT extract(epoch FROM current_timestamp - heartbeat) * 1000 FROM public.wa_leader_heartbeats "
+        + "WHERE role = ?";
+    private static final String RECORD_HEARTBEAT =
+        "INSERT INTO public.wa_leader_heartbeats (role, leader_id, heartbeat) VALUES (?, ?, current_timestamp) "
+        + "ON CONFLICT (role) DO UPDATE SET leader_id = excluded.leader_id, heartbeat = excluded.heartbeat";
+
+    private final DataSource dataSource;
+    private final ScheduledExecutorService leaderElectionExecutorService;
+    private final boolean enabled;
+    private final long electionInterval;
+    private final long failoverTarget;
+    private final String candidateId = UUID.randomUUID().toString();
+    private final Counter leadershipAcquired;
+    private final Counter leadershipLost;
+    private final Timer failoverTime;
+
+    // only read and written on the election thread
+    private Connection connection;
+
+    private volatile boolean leader;
+
+    public LeaderElection(@Qualifier("sessionLockDataSource") DataSource dataSource,
+                          @Qualifier("leaderElectionExecutorService")
+                          ScheduledExecutorService leaderElectionExecutorService,
+                          MeterRegistry meterRegistry,
+                          @Value("${leaderElection.enabled}") boolean enabled,
+                          @Value("${leaderElection.intervalMilliSeconds}") long electionInterval,
+                          @Value("${leaderElection.failoverTargetMilliSeconds}") long failoverTarget) {
+        this.dataSource = dataSource;
+        this.leaderElectionExecutorService = leaderElectionExecutorService;
+        this.enabled = enabled;
+        this.electionInterval = electionInterval;
+        this.failoverTarget = failoverTarget;
+        this.leadershipAcquired = leadershipChanges(meterRegistry, "acquired");
+        this.leadershipLost = leadershipChanges(meterRegistry, "lost");
+        this.failoverTime = Timer.builder("wa.case.event.handler.leadership.failover")
+            .description("Time between the last heartbeat of the previous leader and the new leader taking over")
+            .serviceLevelObjectives(Duration.ofMillis(failoverTarget))
+            .register(meterRegistry);
+        Gauge.builder("wa.case.event.handler.leader", this, election -> election.isLeader() ? 1 : 0)
+            .description("1 while this replica runs the singleton background work")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        log.info("Starting leader election as candidate {}", candidateId);
+        leaderElectionExecutorService.scheduleWithFixedDelay(
+            this::elect, 0, electionInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!enabled || leaderElectionExecutorService.isShutdown()) {
+            return;
+        }
+        log.info("Shutting down leader election");
+        // the last task steps down on the election thread, another replica takes over on its next round
+        leaderElectionExecutorService.execute(this::stepDown);
+        leaderElectionExecutorService.shutdown();
+        try {
+            if (!leaderElectionExecutorService.awaitTermination(10, TimeUnit.SECONDS)) {
+                leaderElectionExecutorService.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            leaderElectionExecutorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isLeader() {
+        return !enabled || leader;
+    }
+
+    void elect() {
+        try {
+            if (connection == null) {
+                connection = dataSource.getConnection();
+                connection.setAutoCommit(true);
+            }
+            if (!leader && tryLockLeadership()) {
+                takeOver();
+            }
+            if (leader) {
+                recordHeartbeat();
+            }
+        } catch (SQLException | RuntimeException ex) {
+            // a failed round must not cancel the schedule
+            log.warn("Lost the leader election connection, standing for election again on next round", ex);
+            stepDown();
+        }
+    }
+
+    private boolean tryLockLeadership() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(TRY_LOCK_LEADERSHIP)) {
+            statement.setInt(1, LEADER_LOCK_NAMESPACE);
+            statement.setString(2, ROLE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void takeOver() throws SQLException {
+        leader = true;
+        leadershipAcquired.increment();
+        try (PreparedStatement statement = connection.prepareStatement(MILLISECONDS_SINCE_LAST_HEARTBEAT)) {
+            statement.setString(1, ROLE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    long failoverMillis = resultSet.getLong(1);
+                    failoverTime.record(failoverMillis, TimeUnit.MILLISECONDS);
+                    if (failoverMillis > failoverTarget) {
+                        log.warn("Leadership failover took {} ms, above the target of {} ms",
+                            failoverMillis, failoverTarget);
+                    }
+                }
+            }
+        }
+        log.info("Candidate {} is now the leader for {}", candidateId, ROLE);
+    }
+
+    private void recordHeartbeat() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(RECORD_HEARTBEAT)) {
+            statement.setString(1, ROLE);
+            statement.setString(2, candidateId);
+            statement.executeUpdate();
+        }
+    }
+
+    private void stepDown() {
+        if (leader) {
+            leader = false;
+            leadershipLost.increment();
+            log.info("Candidate {} is no longer the leader for {}", candidateId, ROLE);
+        }
+        if (connection != null) {
+            // the pooled connection keeps its session, so the lock is released before it goes back to the pool
+            try (PreparedStatement statement = connection.prepareStatement(UNLOCK_ALL)) {
+                statement.execute();
+            } catch (SQLException ex) {
+                log.warn("Could not release the leadership lock", ex);
+            }
+            try {
+                connection.close();
+            } catch (SQLException ex) {
+                log.warn("Could not close the leader election connection", ex);
+            }
+            connection = null;
+        }
+    }
+
+    private static Counter leadershipChanges(MeterRegistry meterRegistry, String change) {
+        return Counter.builder("wa.case.event.handler.leadership.changes")
+            .description("Number of times this replica acquired or lost the leadership")
+            .tag("change", change)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,150 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.LocalDmnEngineConfiguration;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.EvaluateDmnRequest;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.SendMessageRequest;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.CancellationEvaluateResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateDmnResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.InitiateEvaluateResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.dmn.LocalDmnEngine;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * {@link WorkflowApiClient} evaluating DMN tables with the {@link LocalDmnEngine}, so the handlers need not know
+ * where their tables are evaluated. Tables without a definition, or whose local evaluation fails, are evaluated by
+ * wa-workflow-api. In shadow mode wa-workflow-api evaluates every table and the local results are only compared
+ * with its results.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnExpression(LocalDmnEngineConfiguration.ACTIVE)
+public class LocalDmnWorkflowApiClient implements WorkflowApiClient {
+
+    private final WorkflowApiClient remoteWorkflowApiClient;
+    private final LocalDmnEngine localDmnEngine;
+    private final LocalDmnEngineConfiguration configuration;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public LocalDmnWorkflowApiClient(@Qualifier("remoteWorkflowApiClient") WorkflowApiClient remoteWorkflowApiClient,
+                                     LocalDmnEngine localDmnEngine,
+                                     LocalDmnEngineConfiguration configuration,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry) {
+        this.remoteWorkflowApiClient = remoteWorkflowApiClient;
+        this.localDmnEngine = localDmnEngine;
+        this.configuration = configuration;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void sendMessage(String serviceAuthorisation, SendMessageRequest sendMessageRequest) {
+        remoteWorkflowApiClient.sendMessage(serviceAuthorisation, sendMessageRequest);
+    }
+
+    @Override
+    public void sendMessages(String serviceAuthorisation, List<SendMessageRequest> sendMessageRequests) {
+        remoteWorkflowApiClient.sendMessages(serviceAuthorisation, sendMessageRequests);
+    }
+
+    @Override
+    public EvaluateDmnResponse<CancellationEvaluateResponse> evaluateCancellationDmn(
+        String serviceAuthorisation,
+        String key,
+        String tenantId,
+        EvaluateDmnRequest evaluateDmnRequest
+    ) {
+        return evaluate(key, tenantId, evaluateDmnRequest, CancellationEvaluateResponse.class,
+            () -> remoteWorkflowApiClient.evaluateCancellationDmn(serviceAuthorisation, key, tenantId,
+                                                                  evaluateDmnRequest));
+    }
+
+    @Override
+    public EvaluateDmnResponse<InitiateEvaluateResponse> evaluateInitiationDmn(
+        String serviceAuthorisation,
+        String key,
+        String tenantId,
+        EvaluateDmnRequest evaluateDmnRequest
+    ) {
+        return evaluate(key, tenantId, evaluateDmnRequest, InitiateEvaluateResponse.class,
+            () -> remoteWorkflowApiClient.evaluateInitiationDmn(serviceAuthorisation, key, tenantId,
+                                                                evaluateDmnRequest));
+    }
+
+    private <T extends EvaluateResponse> EvaluateDmnResponse<T> evaluate(
+        String key,
+        String tenantId,
+        EvaluateDmnRequest evaluateDmnRequest,
+        Class<T> responseType,
+        Supplier<EvaluateDmnResponse<T>> remoteEvaluation
+    ) {
+        Optional<EvaluateDmnResponse<T>> localResponse =
+            evaluateLocally(key, tenantId, evaluateDmnRequest, responseType);
+
+        if (configuration.getMode() == LocalDmnEngineConfiguration.Mode.SHADOW) {
+            EvaluateDmnResponse<T> remoteResponse = remoteEvaluation.get();
+            compare(key, localResponse, remoteResponse);
+            return remoteResponse;
+        }
+
+        if (localResponse.isPresent()) {
+            count("local");
+            return localResponse.get();
+        }
+        count("fallback");
+        return remoteEvaluation.get();
+    }
+
+    private <T extends EvaluateResponse> Optional<EvaluateDmnResponse<T>> evaluateLocally(
+        String key,
+        String tenantId,
+        EvaluateDmnRequest evaluateDmnRequest,
+        Class<T> responseType
+    ) {
+        try {
+            return localDmnEngine.evaluate(key, tenantId, evaluateDmnRequest, responseType);
+        } catch (RuntimeException ex) {
+            log.warn("Local evaluation of DMN table '{}' failed", key, ex);
+            return Optional.empty();
+        }
+    }
+
+    private <T extends EvaluateResponse> void compare(String key,
+                                                      Optional<EvaluateDmnResponse<T>> localResponse,
+                                                      EvaluateDmnResponse<T> remoteResponse) {
+        if (localResponse.isEmpty()) {
+            count("shadow_unavailable");
+            return;
+        }
+        // compared as json as not every response type defines equals
+        if (objectMapper.valueToTree(localResponse.get().getResults())
+            .equals(objectMapper.valueToTree(remoteResponse.getResults()))) {
+            count("shadow_match");
+        } else {
+            log.warn("Local evaluation of DMN table '{}' differs from its remote evaluation", key);
+            count("shadow_mismatch");
+        }
+    }
+
+    private void count(String outcome) {
+        Counter.builder("wa.case.event.handler.local.dmn")
+            .description("Number of DMN evaluations with the local DMN engine enabled, by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment();
+    }
+}
@@ -1,18 +1,18 @@
 package uk.gov.hmcts.reform.wacaseeventhandler.clients;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-import uk.gov.hmcts.reform.wacaseeventhandler.entity.CaseEventMessageEntity;
-import uk.gov.hmcts.reform.wacaseeventhandler.entity.MessageState;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.DeadLetterQueuePeekService;
 
-import java.util.List;
+import java.util.Objects;
 
 @Slf4j
 @Component
@@ -22,11 +22,23 @@ import java.util.List;
 public class MessageReadinessConsumer implements Runnable {
     private final DeadLetterQueuePeekService deadLetterQueuePeekService;
     private final CaseEventMessageRepository caseEventMessageRepository;
+    private final LeaderElection leaderElection;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Maximum number of NEW messages moved to READY state by a single update statement, in sequence order.
+     */
+    @Value("${scheduledExecutors.messageReadiness.promotionChunkSize}")
+    private int promotionChunkSize;
 
     public MessageReadinessConsumer(DeadLetterQueuePeekService deadLetterQueuePeekService,
-                                    CaseEventMessageRepository caseEventMessageRepository) {
+                                    CaseEventMessageRepository caseEventMessageRepository,
+                                    LeaderElection leaderElection,
+                                    PlatformTransactionManager transactionManager) {
         this.deadLetterQueuePeekService = deadLetterQueuePeekService;
         this.caseEventMessageRepository = caseEventMessageRepository;
+        this.leaderElection = leaderElection;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -43,18 +55,32 @@ public class MessageReadinessConsumer implements Runnable {
         )
     )
     @Override
-    @Transactional
     public void run() {
         try {
-            final List<CaseEventMessageEntity> allMessageInNewState =
-                caseEventMessageRepository.getAllMessagesInNewState();
+            // only the leader promotes messages, the other replicas would update the same rows
+            if (!leaderElection.isLeader()) {
+                log.trace("Not the leader, skipping message readiness check");
+                return;
+            }
 
-            if (!allMessageInNewState.isEmpty()) {
-                log.info("Number of messages to check the readiness {}", allMessageInNewState.size());
+            if (!caseEventMessageRepository.hasMessagesInNewState()) {
+                return;
             }
 
-            allMessageInNewState.forEach(this::checkMessageToMoveToReadyState);
+            // the dead letter queue is peeked once per readiness check rather than once per message
+            if (!deadLetterQueuePeekService.isDeadLetterQueueEmpty()) {
+                log.debug("Dead letter queue is not empty, messages stay in NEW state");
+                return;
+            }
+
+            int updatedMessages = 0;
+            int updatedChunk;
+            do {
+                updatedChunk = updateNextChunkToReady();
+                updatedMessages += updatedChunk;
+            } while (updatedChunk > 0 && updatedChunk >= promotionChunkSize);
 
+            log.info("Updated {} messages to READY state", updatedMessages);
         } catch (Exception ex) {
             log.warn("An error occurred when running message readiness check. "
                      + "Catching exception continuing execution", ex);
@@ -62,11 +88,9 @@ public class MessageReadinessConsumer implements Runnable {
 
     }
 
-    private void checkMessageToMoveToReadyState(CaseEventMessageEntity messageInNewState) {
-        if (deadLetterQueuePeekService.isDeadLetterQueueEmpty()) {
-            log.info("Updating following message to READY state {}", messageInNewState.getMessageId());
-            caseEventMessageRepository.updateMessageState(MessageState.READY,
-                List.of(messageInNewState.getMessageId()));
-        }
+    private int updateNextChunkToReady() {
+        final Integer updatedChunk = transactionTemplate.execute(status ->
+            caseEventMessageRepository.updateNewMessagesToReady(promotionChunkSize));
+        return Objects.requireNonNullElse(updatedChunk, 0);
     }
 }
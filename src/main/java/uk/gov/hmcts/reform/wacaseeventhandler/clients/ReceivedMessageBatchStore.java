@@ -0,0 +1,88 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
+import com.azure.messaging.servicebus.ServiceBusReceiverClient;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.ReceivedEventMessage;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Stores a batch of messages received from Azure Service Bus in a single transaction and completes them once the
+ * batch is committed. When the batch cannot be stored every message is stored on its own, and a message that
+ * cannot be stored or completed is abandoned so ASB re-delivers it.
+ */
+@Slf4j
+class ReceivedMessageBatchStore {
+
+    @FunctionalInterface
+    interface MessageStore {
+        void store(String messageId, String sessionId, String message);
+    }
+
+    private final String messageType;
+    private final Consumer<List<ReceivedEventMessage>> batchStore;
+    private final MessageStore messageStore;
+
+    ReceivedMessageBatchStore(String messageType,
+                              Consumer<List<ReceivedEventMessage>> batchStore,
+                              MessageStore messageStore) {
+        this.messageType = messageType;
+        this.batchStore = batchStore;
+        this.messageStore = messageStore;
+    }
+
+    void store(ServiceBusReceiverClient receiver, List<ServiceBusReceivedMessage> messages) {
+        try {
+            batchStore.accept(messages.stream()
+                .map(ReceivedMessageBatchStore::toReceivedEventMessage)
+                .toList());
+        } catch (Exception ex) {
+            log.warn("Error storing batch of {} {} messages - storing them one at a time",
+                     messages.size(), messageType);
+            messages.forEach(message -> storeMessage(receiver, message));
+            return;
+        }
+        // the batch is committed, so a message is only completed once it is stored
+        messages.forEach(message -> complete(receiver, message));
+    }
+
+    private void storeMessage(ServiceBusReceiverClient receiver, ServiceBusReceivedMessage message) {
+        final String messageId = message.getMessageId();
+        try {
+            log.info("Received {} message with id '{}' and case id '{}'",
+                     messageType, messageId, message.getSessionId());
+
+            messageStore.store(messageId, message.getSessionId(), new String(message.getBody().toBytes()));
+            receiver.complete(message);
+
+            log.info("{} message with id '{}' handled successfully", messageType, messageId);
+        } catch (Exception ex) {
+            log.error("Error processing {} message with id '{}' - "
+                      + "abandon the processing and ASB will re-deliver it", messageType, messageId);
+            receiver.abandon(message);
+        }
+    }
+
+    private void complete(ServiceBusReceiverClient receiver, ServiceBusReceivedMessage message) {
+        final String messageId = message.getMessageId();
+        try {
+            receiver.complete(message);
+
+            log.info("{} message with id '{}' handled successfully", messageType, messageId);
+        } catch (Exception ex) {
+            log.error("Error completing {} message with id '{}' - "
+                      + "abandon the processing and ASB will re-deliver it", messageType, messageId);
+            receiver.abandon(message);
+        }
+    }
+
+    private static ReceivedEventMessage toReceivedEventMessage(ServiceBusReceivedMessage message) {
+        return ReceivedEventMessage.builder()
+            .messageId(message.getMessageId())
+            .sessionId(message.getSessionId())
+            .message(new String(message.getBody().toBytes()))
+            .build();
+    }
+}
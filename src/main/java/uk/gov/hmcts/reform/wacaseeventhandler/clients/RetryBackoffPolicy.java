@@ -0,0 +1,43 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.RetryBackoffConfiguration;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.RetryBackoffConfiguration.Backoff;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.FailureClass;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks how long a failed message is held before it is retried. The jitter spreads the retries of messages
+ * failing together, e.g. during an outage of a downstream service, so they are not all retried at once.
+ */
+@Component
+public class RetryBackoffPolicy {
+
+    private final RetryBackoffConfiguration configuration;
+
+    public RetryBackoffPolicy(RetryBackoffConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Returns the delay before the given retry, or empty when the message has used up its retries.
+     */
+    public Optional<Duration> getDelay(FailureClass failureClass, int retryCount) {
+        Backoff backoff = configuration.getBackoff(failureClass);
+        List<Integer> delays = backoff.getDelaysSeconds();
+        if (retryCount < 1 || retryCount > delays.size()) {
+            return Optional.empty();
+        }
+
+        long delay = Duration.ofSeconds(delays.get(retryCount - 1)).toMillis();
+        double jitter = Math.min(Math.max(backoff.getJitter(), 0), 1);
+        if (jitter > 0) {
+            delay += (long) (delay * jitter * ThreadLocalRandom.current().nextDouble(-1, 1));
+        }
+        return Optional.of(Duration.ofMillis(delay));
+    }
+}
@@ -0,0 +1,128 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. The first level has one slot per tick, every further level has slots as long as
+ * a whole turn of the level below, and levels are added as timers further ahead are scheduled. A timer sits in
+ * the slot of the lowest level that can hold it and moves down a level whenever the wheel reaches its slot, so
+ * scheduling is constant time and each tick only touches the timers due in it.
+ * Not thread safe.
+ */
+final class TimingWheel<T> {
+
+    private final long tickDuration;
+    private final int wheelSize;
+    private final List<Level> levels = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long tickDuration, int wheelSize, long now) {
+        this.tickDuration = tickDuration;
+        this.wheelSize = wheelSize;
+        this.currentTick = now / tickDuration;
+        levels.add(new Level(1));
+    }
+
+    /**
+     * Schedules the item to fire once the wheel has advanced to its due time.
+     *
+     * @return false when the item is already due, it is not scheduled then
+     */
+    boolean schedule(T item, long dueAt) {
+        long dueTick = Math.floorDiv(dueAt + tickDuration - 1, tickDuration);
+        if (dueTick <= currentTick) {
+            return false;
+        }
+        insert(new Timer<>(item, dueTick));
+        size++;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given time.
+     *
+     * @return the items that became due, in due order
+     */
+    List<T> advance(long now) {
+        long targetTick = now / tickDuration;
+        List<T> dueItems = new ArrayList<>();
+        while (currentTick < targetTick && size > 0) {
+            currentTick++;
+            // timers of a higher level slot reached by the wheel move down to the levels below
+            for (int i = levels.size() - 1; i > 0; i--) {
+                Level level = levels.get(i);
+                if (currentTick % level.span == 0) {
+                    level.drain(currentTick / level.span).forEach(timer -> {
+                        if (timer.dueTick <= currentTick) {
+                            fire(timer, dueItems);
+                        } else {
+                            insert(timer);
+                        }
+                    });
+                }
+            }
+            levels.get(0).drain(currentTick).forEach(timer -> fire(timer, dueItems));
+        }
+        // no timer is left to pass by
+        currentTick = Math.max(currentTick, targetTick);
+        return dueItems;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void fire(Timer<T> timer, List<T> dueItems) {
+        dueItems.add(timer.item);
+        size--;
+    }
+
+    private void insert(Timer<T> timer) {
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                levels.add(new Level(levels.get(i - 1).span * wheelSize));
+            }
+            Level level = levels.get(i);
+            long levelStart = currentTick - currentTick % level.span;
+            if (timer.dueTick < levelStart + level.span * wheelSize) {
+                level.slot(timer.dueTick / level.span).add(timer);
+                return;
+            }
+        }
+    }
+
+    private final class Level {
+        private final long span;
+        private final List<List<Timer<T>>> slots = new ArrayList<>();
+
+        private Level(long span) {
+            this.span = span;
+            for (int i = 0; i < wheelSize; i++) {
+                slots.add(new ArrayList<>());
+            }
+        }
+
+        private List<Timer<T>> slot(long slotTick) {
+            return slots.get((int) (slotTick % wheelSize));
+        }
+
+        private List<Timer<T>> drain(long slotTick) {
+            List<Timer<T>> slot = slot(slotTick);
+            List<Timer<T>> timers = new ArrayList<>(slot);
+            slot.clear();
+            return timers;
+        }
+    }
+
+    private static final class Timer<T> {
+        private final T item;
+        private final long dueTick;
+
+        private Timer(T item, long dueTick) {
+            this.item = item;
+            this.dueTick = dueTick;
+        }
+    }
+}
@@ -10,12 +10,17 @@ import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.Cancellati
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateDmnResponse;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.InitiateEvaluateResponse;
 
+import java.util.List;
+
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 @SuppressWarnings("PMD.UseObjectForClearerAPI")
 @FeignClient(
     name = "workflow-api",
-    url = "${wa-workflow-api.url}"
+    url = "${wa-workflow-api.url}",
+    qualifiers = "remoteWorkflowApiClient",
+    // LocalDmnWorkflowApiClient takes precedence when the local DMN engine is active
+    primary = false
 )
 public interface WorkflowApiClient {
 
@@ -29,6 +34,14 @@ public interface WorkflowApiClient {
     void sendMessage(@RequestHeader(SERVICE_AUTHORIZATION) String serviceAuthorisation,
                      SendMessageRequest sendMessageRequest);
 
+    @PostMapping(
+        value = "/workflow/message/batch",
+        consumes = APPLICATION_JSON_VALUE,
+        produces = APPLICATION_JSON_VALUE
+    )
+    void sendMessages(@RequestHeader(SERVICE_AUTHORIZATION) String serviceAuthorisation,
+                      List<SendMessageRequest> sendMessageRequests);
+
     @PostMapping(
         value = "/workflow/decision-definition/key/{key}/tenant-id/{tenant-id}/evaluate",
         consumes = APPLICATION_JSON_VALUE,
@@ -34,6 +34,21 @@ public class CaffeineConfiguration {
     @Value("#{T(java.util.concurrent.TimeUnit).of('${caffeine.liveness.database.check.unit}')}")
     private TimeUnit livenessDatabaseCheckCacheUnit;
 
+    @Value("${caffeine.dead-letter-queue.peek.duration}")
+    private Integer deadLetterQueuePeekCacheDuration;
+
+    @Value("#{T(java.util.concurrent.TimeUnit).of('${caffeine.dead-letter-queue.peek.unit}')}")
+    private TimeUnit deadLetterQueuePeekCacheUnit;
+
+    @Value("${caffeine.dmn-evaluation.duration}")
+    private Integer dmnEvaluationCacheDuration;
+
+    @Value("#{T(java.util.concurrent.TimeUnit).of('${caffeine.dmn-evaluation.unit}')}")
+    private TimeUnit dmnEvaluationCacheUnit;
+
+    @Value("${caffeine.dmn-evaluation.maximum-size}")
+    private Long dmnEvaluationCacheMaximumSize;
+
     @Bean
     public Ticker ticker() {
         return Ticker.systemTicker();
@@ -85,5 +100,38 @@ public class CaffeineConfiguration {
         return caffeineCacheManager;
     }
 
+    @Bean
+    public Caffeine<Object, Object> deadLetterQueuePeekCaffeineConfig(Ticker ticker) {
+        return Caffeine.newBuilder()
+            .expireAfterWrite(deadLetterQueuePeekCacheDuration, deadLetterQueuePeekCacheUnit)
+            .ticker(ticker);
+    }
+
+    @Bean
+    public CacheManager deadLetterQueuePeekCacheManager(Caffeine<Object, Object> deadLetterQueuePeekCaffeineConfig) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(deadLetterQueuePeekCaffeineConfig);
+        caffeineCacheManager.setCacheNames(List.of("dead_letter_queue_peek_cache"));
+        return caffeineCacheManager;
+    }
+
+    @Bean
+    public Caffeine<Object, Object> dmnEvaluationCaffeineConfig(Ticker ticker) {
+        // stats back the cache hit and miss metrics
+        return Caffeine.newBuilder()
+            .expireAfterWrite(dmnEvaluationCacheDuration, dmnEvaluationCacheUnit)
+            .maximumSize(dmnEvaluationCacheMaximumSize)
+            .recordStats()
+            .ticker(ticker);
+    }
+
+    @Bean
+    public CacheManager dmnEvaluationCacheManager(Caffeine<Object, Object> dmnEvaluationCaffeineConfig) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(dmnEvaluationCaffeineConfig);
+        caffeineCacheManager.setCacheNames(List.of("dmn_evaluation_cache"));
+        return caffeineCacheManager;
+    }
+
 
 }
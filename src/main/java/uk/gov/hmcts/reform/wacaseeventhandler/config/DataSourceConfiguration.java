@@ -0,0 +1,42 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Connection pools of the application. Postgres session advisory locks, such as the case bucket leases and the
+ * leadership, hold a connection for as long as the replica holds the lock, and so does listening for
+ * notifications, so they are taken on connections of a small pool of their own and never starve the main pool
+ * used to process messages.
+ */
+@Configuration
+@Profile("!functional & !local")
+public class DataSourceConfiguration {
+
+    // declared here, as declaring any other data source stops spring boot from creating the main one
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean("sessionLockDataSource")
+    public HikariDataSource sessionLockDataSource(DataSourceProperties dataSourceProperties,
+                                                  @Value("${sessionLockDataSource.maximumPoolSize}")
+                                                  int maximumPoolSize) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("session-lock");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(0);
+        return dataSource;
+    }
+}
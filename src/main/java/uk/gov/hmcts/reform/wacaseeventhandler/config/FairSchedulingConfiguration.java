@@ -0,0 +1,35 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Weights of the jurisdictions and case types when READY messages are claimed, see FairClaimScheduler.
+ * A weight is keyed by jurisdiction, e.g. {@code IA}, or by jurisdiction and case type, e.g. {@code [IA/Asylum]},
+ * the latter taking precedence.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "fair-scheduling")
+@Getter
+@Setter
+@ToString
+public class FairSchedulingConfiguration {
+    private boolean enabled;
+    private long refreshIntervalMilliSeconds;
+    private int defaultWeight = 1;
+    private Map<String, Integer> weights = new HashMap<>();
+
+    public int getWeight(String jurisdictionId, String caseTypeId) {
+        Integer weight = weights.get(jurisdictionId + "/" + caseTypeId);
+        if (weight == null) {
+            weight = weights.getOrDefault(jurisdictionId, defaultWeight);
+        }
+        return Math.max(1, weight);
+    }
+}
@@ -0,0 +1,32 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Evaluation of DMN tables in process, see LocalDmnEngine. In shadow mode the tables are still evaluated by
+ * wa-workflow-api and the local results are only compared with the remote ones, when enabled the local results are
+ * used and wa-workflow-api is only called for tables without a definition.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "local-dmn-engine")
+@Getter
+@Setter
+@ToString
+public class LocalDmnEngineConfiguration {
+
+    public static final String ACTIVE = "!'${localDmnEngine.mode:disabled}'.equalsIgnoreCase('disabled')";
+
+    private Mode mode = Mode.DISABLED;
+    private String definitionsDirectory;
+    private long definitionCacheMinutes = 10;
+
+    public enum Mode {
+        DISABLED,
+        SHADOW,
+        ENABLED
+    }
+}
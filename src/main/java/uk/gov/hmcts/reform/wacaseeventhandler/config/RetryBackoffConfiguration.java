@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.FailureClass;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delays before a failed message is retried, by failure class. The n-th retry of a message waits the n-th delay,
+ * varied by up to +/- jitter of it, and a message failing once more after the last delay is UNPROCESSABLE.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "retry-backoff")
+@Getter
+@Setter
+@ToString
+public class RetryBackoffConfiguration {
+
+    public static final List<Integer> DEFAULT_DELAYS_SECONDS = List.of(5, 15, 30, 60, 300, 900, 1800, 3600);
+
+    private Map<FailureClass, Backoff> failureClasses = new EnumMap<>(FailureClass.class);
+
+    public Backoff getBackoff(FailureClass failureClass) {
+        return failureClasses.getOrDefault(failureClass, new Backoff());
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class Backoff {
+        private List<Integer> delaysSeconds = DEFAULT_DELAYS_SECONDS;
+        private double jitter;
+    }
+}
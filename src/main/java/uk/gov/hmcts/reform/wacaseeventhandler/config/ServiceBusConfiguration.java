@@ -2,6 +2,9 @@ package uk.gov.hmcts.reform.wacaseeventhandler.config;
 
 import com.azure.core.amqp.AmqpRetryOptions;
 import com.azure.messaging.servicebus.ServiceBusClientBuilder;
+import com.azure.messaging.servicebus.ServiceBusErrorContext;
+import com.azure.messaging.servicebus.ServiceBusProcessorClient;
+import com.azure.messaging.servicebus.ServiceBusReceivedMessageContext;
 import com.azure.messaging.servicebus.ServiceBusReceiverClient;
 import com.azure.messaging.servicebus.ServiceBusSessionReceiverClient;
 import com.azure.messaging.servicebus.models.SubQueue;
@@ -12,6 +15,7 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.function.Consumer;
 
 @Slf4j
 @Component
@@ -27,6 +31,14 @@ public class ServiceBusConfiguration {
     private String ccdCaseEventsSubscriptionName;
     @Value("${azure.servicebus.retry-duration}")
     private int retryTime;
+    @Value("${azure.servicebus.session-processor.max-concurrent-sessions}")
+    private int maxConcurrentSessions;
+    @Value("${azure.servicebus.session-processor.prefetch-count}")
+    private int prefetchCount;
+    @Value("${azure.servicebus.session-processor.max-auto-lock-renew-seconds}")
+    private long maxAutoLockRenewSeconds;
+    @Value("${azure.servicebus.session-processor.session-idle-timeout-seconds}")
+    private long sessionIdleTimeoutSeconds;
 
     public ServiceBusSessionReceiverClient createCcdCaseEventsSessionReceiver() {
         log.info("Creating CCD Case Events Session receiver");
@@ -57,6 +69,31 @@ public class ServiceBusConfiguration {
         return client;
     }
 
+    public ServiceBusProcessorClient createCcdCaseEventsSessionProcessor(
+        Consumer<ServiceBusReceivedMessageContext> processMessage,
+        Consumer<ServiceBusErrorContext> processError) {
+        log.info("Creating CCD Case Events Session processor");
+        // one call per session keeps the messages of a case in order
+        ServiceBusProcessorClient client = new ServiceBusClientBuilder()
+                .connectionString(connectionString)
+                .retryOptions(retryOptions())
+                .sessionProcessor()
+                .topicName(topicName)
+                .subscriptionName(ccdCaseEventsSubscriptionName)
+                .maxConcurrentSessions(maxConcurrentSessions)
+                .maxConcurrentCalls(1)
+                .prefetchCount(prefetchCount)
+                .maxAutoLockRenewDuration(Duration.ofSeconds(maxAutoLockRenewSeconds))
+                .sessionIdleTimeout(Duration.ofSeconds(sessionIdleTimeoutSeconds))
+                .disableAutoComplete()
+                .processMessage(processMessage)
+                .processError(processError)
+                .buildProcessorClient();
+
+        log.info("CCD Case Events Session processor created, successfully");
+        return client;
+    }
+
     private AmqpRetryOptions retryOptions() {
         AmqpRetryOptions retryOptions = new AmqpRetryOptions();
         retryOptions.setTryTimeout(Duration.ofSeconds(Integer.valueOf(retryTime)));
@@ -5,7 +5,7 @@ import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.wacaseeventhandler.clients.CcdCaseEventsConsumer;
@@ -17,7 +17,8 @@ import java.util.stream.IntStream;
 
 @Slf4j
 @Component
-@ConditionalOnProperty("azure.servicebus.enableASB-DLQ")
+@ConditionalOnExpression("${azure.servicebus.enableASB-DLQ:false} "
+    + "&& !${azure.servicebus.session-processor.enabled:false}")
 @Profile("!functional & !local")
 public class CcdCaseEventsExecutor {
 
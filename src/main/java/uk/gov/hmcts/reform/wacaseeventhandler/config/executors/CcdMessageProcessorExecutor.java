@@ -8,9 +8,16 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.wacaseeventhandler.clients.DatabaseMessageConsumer;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.DatabaseNotificationListener;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static uk.gov.hmcts.reform.wacaseeventhandler.clients.DatabaseNotificationListener.READY_MESSAGE_CHANNEL;
 
 @Component
 @Slf4j
@@ -20,24 +27,64 @@ public class CcdMessageProcessorExecutor {
     @Value("${scheduledExecutors.messageProcessing.pollIntervalMilliSeconds}")
     private int pollInterval;
 
+    @Value("${scheduledExecutors.messageProcessing.maxIdlePollIntervalMilliSeconds}")
+    private int maxIdlePollInterval;
+
+    @Value("${scheduledExecutors.messageProcessing.threadPoolSize}")
+    private int workerCount;
+
+    @Value("${scheduledExecutors.messageProcessing.maxConcurrentPolls}")
+    private int maxConcurrentPolls;
+
     @Autowired
     private DatabaseMessageConsumer databaseMessageConsumer;
 
+    @Autowired
+    private DatabaseNotificationListener databaseNotificationListener;
+
     @Autowired
     private ScheduledExecutorService databaseMessageExecutorService;
 
+    private final List<NotificationDrivenPoller> workers = new CopyOnWriteArrayList<>();
+
     @PostConstruct
     public void start() {
-        log.info("Starting Database message executor");
-        databaseMessageExecutorService.scheduleWithFixedDelay(databaseMessageConsumer,
-            5000,
-            pollInterval,
-            TimeUnit.MILLISECONDS);
+        log.info("Starting Database message executor with {} workers", workerCount);
+        // Each worker leases its own messages, the claim query only ever returns the head message of a case.
+        // Idle workers wake up as soon as a message moves to READY state.
+        // The permits bound the number of polls processing messages at once, a poll only holds a database
+        // connection for the short transactions leasing and updating a message.
+        Semaphore pollPermits = new Semaphore(Math.max(1, maxConcurrentPolls), true);
+        IntStream.range(0, workerCount).forEach(worker -> {
+            NotificationDrivenPoller poller = new NotificationDrivenPoller(
+                () -> pollWithPermit(pollPermits),
+                databaseNotificationListener,
+                READY_MESSAGE_CHANNEL,
+                pollInterval,
+                maxIdlePollInterval);
+            workers.add(poller);
+            databaseMessageExecutorService.schedule(poller, 5000, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private int pollWithPermit(Semaphore pollPermits) {
+        try {
+            pollPermits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+        try {
+            return databaseMessageConsumer.processReadyMessages();
+        } finally {
+            pollPermits.release();
+        }
     }
 
     @PreDestroy
     public void cleanup() {
         log.info("Shutting down Database message executor");
+        workers.forEach(NotificationDrivenPoller::stop);
         databaseMessageExecutorService.shutdown();
         try {
             // Wait a while for existing tasks to terminate
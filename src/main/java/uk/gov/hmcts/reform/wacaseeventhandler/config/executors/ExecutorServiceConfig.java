@@ -22,28 +22,75 @@ public class ExecutorServiceConfig {
     @Value("${scheduledExecutors.messageReadiness.threadPoolSize}")
     private int readinessThreadPoolSize;
 
+    @Value("${fastPath.workers}")
+    private int fastPathWorkers;
+
+    @Value("${scheduledExecutors.virtualThreads.enabled}")
+    private boolean virtualThreads;
+
     @Bean("ccdCaseEventExecutorService")
     public ExecutorService createCcdCaseEventExecutorService() {
-        return Executors.newFixedThreadPool(concurrentSessions);
+        return fixedThreadPool("ccd-case-event-", concurrentSessions);
     }
 
     @Bean("deadLetterQueueExecutorService")
     public ExecutorService createDeadLetterQueueExecutorService() {
-        return Executors.newFixedThreadPool(concurrentSessions);
+        return fixedThreadPool("dead-letter-queue-", concurrentSessions);
     }
 
     @Bean("ccdEventExecutorService")
     public ExecutorService createccdEventExecutorService() {
-        return Executors.newFixedThreadPool(concurrentSessions);
+        return fixedThreadPool("ccd-event-", concurrentSessions);
     }
 
     @Bean("databaseMessageExecutorService")
     public ScheduledExecutorService createDatabaseMessageExecutorService() {
-        return Executors.newScheduledThreadPool(processingThreadPoolSize);
+        return scheduledThreadPool("database-message-", processingThreadPoolSize);
     }
 
     @Bean("messageReadinessExecutorService")
     public ScheduledExecutorService createMessageReadinessExecutorService() {
-        return Executors.newScheduledThreadPool(readinessThreadPoolSize);
+        return scheduledThreadPool("message-readiness-", readinessThreadPoolSize);
+    }
+
+    @Bean("caseBucketOwnershipExecutorService")
+    public ScheduledExecutorService createCaseBucketOwnershipExecutorService() {
+        return scheduledThreadPool("case-bucket-ownership-", 1);
+    }
+
+    @Bean("leaderElectionExecutorService")
+    public ScheduledExecutorService createLeaderElectionExecutorService() {
+        return scheduledThreadPool("leader-election-", 1);
+    }
+
+    @Bean("heldMessageTimerExecutorService")
+    public ScheduledExecutorService createHeldMessageTimerExecutorService() {
+        return scheduledThreadPool("held-message-timer-", 1);
+    }
+
+    @Bean("fastPathExecutorService")
+    public ExecutorService createFastPathExecutorService() {
+        return fixedThreadPool("fast-path-", fastPathWorkers);
+    }
+
+    @Bean("databaseNotificationExecutorService")
+    public ExecutorService createDatabaseNotificationExecutorService() {
+        return fixedThreadPool("database-notification-", 1);
+    }
+
+    // every task run on these executors is a long running consumer loop, so a virtual thread per task
+    // runs the same number of consumers and only frees the platform threads while they wait on I/O
+    private ExecutorService fixedThreadPool(String name, int threads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name, 0).factory());
+        }
+        return Executors.newFixedThreadPool(threads, Thread.ofPlatform().name(name, 0).factory());
+    }
+
+    private ScheduledExecutorService scheduledThreadPool(String name, int threads) {
+        if (virtualThreads) {
+            return Executors.newScheduledThreadPool(threads, Thread.ofVirtual().name(name, 0).factory());
+        }
+        return Executors.newScheduledThreadPool(threads, Thread.ofPlatform().name(name, 0).factory());
     }
 }
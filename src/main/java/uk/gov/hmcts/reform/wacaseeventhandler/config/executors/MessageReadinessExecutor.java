@@ -8,11 +8,16 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.DatabaseNotificationListener;
 import uk.gov.hmcts.reform.wacaseeventhandler.clients.MessageReadinessConsumer;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+import static uk.gov.hmcts.reform.wacaseeventhandler.clients.DatabaseNotificationListener.NEW_MESSAGE_CHANNEL;
+
 @Component
 @Slf4j
 @ConditionalOnProperty("azure.servicebus.enableASB-DLQ")
@@ -24,16 +29,31 @@ public class MessageReadinessExecutor {
     @Autowired
     private MessageReadinessConsumer messageReadinessConsumer;
 
+    @Autowired
+    private DatabaseNotificationListener databaseNotificationListener;
+
     @Autowired
     private ScheduledExecutorService messageReadinessExecutorService;
 
+    private final List<NotificationDrivenPoller> pollers = new CopyOnWriteArrayList<>();
 
     @PostConstruct
     public void start() {
         log.info("Starting message readiness executor");
         try {
-            messageReadinessExecutorService.scheduleWithFixedDelay(messageReadinessConsumer, 9000, pollInterval,
-                                                                   TimeUnit.MILLISECONDS);
+            // Messages waiting for the dead letter queue to empty stay in NEW state, so the readiness check
+            // keeps a fixed poll interval and only wakes up earlier when a new message is stored
+            NotificationDrivenPoller poller = new NotificationDrivenPoller(
+                () -> {
+                    messageReadinessConsumer.run();
+                    return 0;
+                },
+                databaseNotificationListener,
+                NEW_MESSAGE_CHANNEL,
+                pollInterval,
+                pollInterval);
+            pollers.add(poller);
+            messageReadinessExecutorService.schedule(poller, 9000, TimeUnit.MILLISECONDS);
             log.info("Readiness check thread started successfully");
         } catch (Exception ex) {
             log.error("Error while starting readiness executor", ex);
@@ -44,6 +64,7 @@ public class MessageReadinessExecutor {
     @PreDestroy
     public void cleanup() {
         log.info("Shutting down message readiness executor");
+        pollers.forEach(NotificationDrivenPoller::stop);
         messageReadinessExecutorService.shutdown();
         try {
             // Wait a while for existing tasks to terminate
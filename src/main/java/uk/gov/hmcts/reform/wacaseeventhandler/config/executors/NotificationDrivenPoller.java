@@ -0,0 +1,62 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.config.executors;
+
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.DatabaseNotificationListener;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Runs a poll repeatedly on one worker thread. A poll that found work is followed straight away by the next one.
+ * After an idle poll the worker waits for a database notification on the channel, or for the idle interval,
+ * which doubles after every idle poll up to the maximum and resets once work is found.
+ */
+@Slf4j
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class NotificationDrivenPoller implements Runnable {
+
+    private final IntSupplier poll;
+    private final DatabaseNotificationListener databaseNotificationListener;
+    private final String channel;
+    private final long minIdleInterval;
+    private final long maxIdleInterval;
+    private volatile boolean running = true;
+
+    public NotificationDrivenPoller(IntSupplier poll,
+                                    DatabaseNotificationListener databaseNotificationListener,
+                                    String channel,
+                                    long minIdleInterval,
+                                    long maxIdleInterval) {
+        this.poll = poll;
+        this.databaseNotificationListener = databaseNotificationListener;
+        this.channel = channel;
+        this.minIdleInterval = minIdleInterval;
+        this.maxIdleInterval = Math.max(minIdleInterval, maxIdleInterval);
+    }
+
+    @Override
+    public void run() {
+        long idleInterval = minIdleInterval;
+        while (running && !Thread.currentThread().isInterrupted()) {
+            long seenNotificationCount = databaseNotificationListener.getNotificationCount(channel);
+            if (pollForWork() > 0
+                || databaseNotificationListener.awaitNotification(channel, seenNotificationCount, idleInterval)) {
+                idleInterval = minIdleInterval;
+            } else {
+                idleInterval = Math.min(idleInterval * 2, maxIdleInterval);
+            }
+        }
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    private int pollForWork() {
+        try {
+            return poll.getAsInt();
+        } catch (RuntimeException ex) {
+            log.warn("An error occurred when polling the database, waiting before the next poll", ex);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.DmnEvaluationCacheService;
+
+@RestController
+@Slf4j
+public class DmnEvaluationCacheController {
+
+    private final DmnEvaluationCacheService dmnEvaluationCacheService;
+
+    public DmnEvaluationCacheController(DmnEvaluationCacheService dmnEvaluationCacheService) {
+        this.dmnEvaluationCacheService = dmnEvaluationCacheService;
+    }
+
+    @Operation(description = "Evict the cached evaluations of a DMN table, e.g. once it has been redeployed")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "No Content")
+    })
+    @DeleteMapping(path = "/dmn-evaluation-cache/{tableKey}")
+    public ResponseEntity<Void> evictTable(@PathVariable String tableKey) {
+        log.info("Received request to evict cached evaluations of DMN table '{}'", tableKey);
+        dmnEvaluationCacheService.evict(tableKey);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(description = "Evict the cached evaluations of all DMN tables")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "No Content")
+    })
+    @DeleteMapping(path = "/dmn-evaluation-cache")
+    public ResponseEntity<Void> evictAll() {
+        log.info("Received request to evict cached evaluations of all DMN tables");
+        dmnEvaluationCacheService.evict(null);
+        return ResponseEntity.noContent().build();
+    }
+}
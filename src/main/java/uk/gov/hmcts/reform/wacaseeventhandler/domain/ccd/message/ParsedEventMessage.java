@@ -0,0 +1,26 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields of a case event message needed to store it, read in a single pass over the message body.
+ */
+@Getter
+@Builder
+@ToString
+@EqualsAndHashCode
+public class ParsedEventMessage {
+
+    private final String caseId;
+    private final LocalDateTime eventTimeStamp;
+    private final String jurisdictionId;
+    private final String caseTypeId;
+    private final JsonNode messageProperties;
+    private final LocalDateTime holdUntil;
+}
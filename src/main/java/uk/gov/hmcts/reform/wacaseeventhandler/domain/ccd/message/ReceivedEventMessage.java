@@ -0,0 +1,20 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A case event message as received from the service bus, before it is parsed and stored.
+ */
+@Getter
+@Builder
+@ToString
+@EqualsAndHashCode
+public class ReceivedEventMessage {
+
+    private final String messageId;
+    private final String sessionId;
+    private final String message;
+}
@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.domain.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published when a NEW case event message received from the service bus is stored, see FastPathDispatcher.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class CaseEventMessageStoredEvent {
+
+    private final String messageId;
+    private final String caseId;
+    private final long storedAt = System.nanoTime();
+}
@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.domain.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The inputs that fully determine the result of a DMN evaluation which does not depend on the case data.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class DmnEvaluationKey {
+
+    private final String tableKey;
+    private final String tenantId;
+    private final String eventId;
+    private final String newStateId;
+    private final String previousStateId;
+}
@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.domain.model;
+
+/**
+ * Kind of retryable failure of processing a case event message, each retried with its own backoff.
+ */
+public enum FailureClass {
+    /**
+     * A downstream service answered with an HTTP status worth retrying, e.g. 500 or 503.
+     */
+    RETRYABLE_HTTP_STATUS,
+    /**
+     * A downstream service could not be reached or did not answer in time.
+     */
+    CONNECTION,
+    /**
+     * Any other unexpected exception.
+     */
+    UNEXPECTED
+}
@@ -0,0 +1,20 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.domain.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The jurisdiction and case type READY messages are scheduled by, either may be null for messages stored
+ * before they were recorded.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class SchedulingKey {
+
+    private final String jurisdictionId;
+    private final String caseTypeId;
+}
@@ -37,6 +37,8 @@ public class CaseEventMessageEntity implements Serializable {
     private static final String DELIVERY_COUNT = "delivery_count";
     private static final String HOLD_UNTIL = "hold_until";
     private static final String RETRY_COUNT = "retry_count";
+    private static final String JURISDICTION_ID = "jurisdiction_id";
+    private static final String CASE_TYPE_ID = "case_type_id";
     private static final long serialVersionUID = 6682644496535002875L;
 
 
@@ -82,6 +84,12 @@ public class CaseEventMessageEntity implements Serializable {
     @Column(name = RETRY_COUNT, nullable = false)
     private Integer retryCount;
 
+    @Column(name = JURISDICTION_ID)
+    private String jurisdictionId;
+
+    @Column(name = CASE_TYPE_ID)
+    private String caseTypeId;
+
     public String getMessageId() {
         return messageId;
     }
@@ -180,6 +188,22 @@ public class CaseEventMessageEntity implements Serializable {
         this.retryCount = retryCount;
     }
 
+    public String getJurisdictionId() {
+        return jurisdictionId;
+    }
+
+    public void setJurisdictionId(String jurisdictionId) {
+        this.jurisdictionId = jurisdictionId;
+    }
+
+    public String getCaseTypeId() {
+        return caseTypeId;
+    }
+
+    public void setCaseTypeId(String caseTypeId) {
+        this.caseTypeId = caseTypeId;
+    }
+
     @JsonIgnore
     public CaseEventMessageEntity buildMessage(String id, MessageState state) {
         this.messageId = id;
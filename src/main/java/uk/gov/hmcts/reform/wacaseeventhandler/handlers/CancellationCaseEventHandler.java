@@ -1,21 +1,18 @@
 package uk.gov.hmcts.reform.wacaseeventhandler.handlers;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
-import uk.gov.hmcts.reform.wacaseeventhandler.clients.WorkflowApiClient;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.CancellationActions;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue;
-import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.EvaluateDmnRequest;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.SendMessageRequest;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.CancellationEvaluateResponse;
-import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateDmnResponse;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateResponse;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
-import uk.gov.hmcts.reform.wacaseeventhandler.util.AdditionalDataReader;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.WorkflowMessageSender;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -26,54 +23,40 @@ import java.util.stream.Stream;
 import static java.util.Arrays.asList;
 import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnAndMessageNames.TASK_CANCELLATION;
 import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnBooleanValue;
-import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnMapValue;
 import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnStringValue;
 
 @Slf4j
 @Service
 @Order(1)
-@SuppressWarnings({"PMD.DataflowAnomalyAnalysis", "unchecked"})
+@SuppressWarnings({"PMD.DataflowAnomalyAnalysis"})
 public class CancellationCaseEventHandler implements CaseEventHandler {
 
     private final AuthTokenGenerator serviceAuthGenerator;
-    private final WorkflowApiClient workflowApiClient;
-    private final ObjectMapper objectMapper;
+    private final WorkflowMessageSender workflowMessageSender;
+    private final CancellationDmnEvaluator cancellationDmnEvaluator;
 
-    public CancellationCaseEventHandler(AuthTokenGenerator serviceAuthGenerator, WorkflowApiClient workflowApiClient,
-                                        ObjectMapper objectMapper) {
+    public CancellationCaseEventHandler(AuthTokenGenerator serviceAuthGenerator,
+                                        WorkflowMessageSender workflowMessageSender,
+                                        CancellationDmnEvaluator cancellationDmnEvaluator) {
         this.serviceAuthGenerator = serviceAuthGenerator;
-        this.workflowApiClient = workflowApiClient;
-        this.objectMapper = objectMapper;
+        this.workflowMessageSender = workflowMessageSender;
+        this.cancellationDmnEvaluator = cancellationDmnEvaluator;
     }
 
     @Override
     public List<? extends EvaluateResponse> evaluateDmn(EventInformation eventInformation) {
-        String tableKey = TASK_CANCELLATION.getTableKey(
-            eventInformation.getJurisdictionId(),
-            eventInformation.getCaseTypeId()
-        );
-
-        String tenantId = eventInformation.getJurisdictionId();
-
-        EvaluateDmnRequest evaluateDmnRequest = buildEvaluateDmnRequest(
-            eventInformation.getPreviousStateId(),
-            eventInformation.getEventId(),
-            eventInformation.getNewStateId(),
-            AdditionalDataReader.readValue(objectMapper,eventInformation.getAdditionalData())
-        );
-
-        EvaluateDmnResponse<CancellationEvaluateResponse> response = workflowApiClient.evaluateCancellationDmn(
-            serviceAuthGenerator.generate(),
-            tableKey,
-            tenantId,
-            evaluateDmnRequest);
+        return cancellationDmnEvaluator.evaluate(eventInformation);
+    }
 
-        return response.getResults();
+    @Override
+    public boolean usesCancellationDmn() {
+        return true;
     }
 
     @Override
     public void handle(List<? extends EvaluateResponse> results, EventInformation eventInformation) {
         log.info("CancellationCaseEventHandler eventInformation:{}", eventInformation);
+        List<SendMessageRequest> messages = new ArrayList<>();
         results.stream()
             .filter(CancellationEvaluateResponse.class::isInstance)
             .map(CancellationEvaluateResponse.class::cast)
@@ -81,31 +64,20 @@ public class CancellationCaseEventHandler implements CaseEventHandler {
             .forEach(cancellationEvaluateResponse -> {
                 DmnValue<String> taskCategories = cancellationEvaluateResponse.getTaskCategories();
                 DmnValue<String> processCategories = cancellationEvaluateResponse.getProcessCategories();
-                sendCancellationMessage(
+                addCancellationMessages(
+                    messages,
                     eventInformation.getCaseId(),
                     taskCategories,
                     processCategories
                 );
             });
+        if (!messages.isEmpty()) {
+            workflowMessageSender.sendMessages(serviceAuthGenerator.generate(), messages);
+        }
     }
 
-    private EvaluateDmnRequest buildEvaluateDmnRequest(
-        String previousStateId,
-        String eventId,
-        String newStateId,
-        Map<String, Object> additionalData
-    ) {
-        Map<String, DmnValue<?>> variables = Map.of(
-            "event", dmnStringValue(eventId),
-            "state", dmnStringValue(newStateId),
-            "fromState", dmnStringValue(previousStateId),
-            "additionalData", dmnMapValue(additionalData)
-        );
-
-        return new EvaluateDmnRequest(variables);
-    }
-
-    private void sendCancellationMessage(String caseReference,
+    private void addCancellationMessages(List<SendMessageRequest> messages,
+                                         String caseReference,
                                          DmnValue<String> categories,
                                          DmnValue<String> processCategories) {
         Set<SendMessageRequest> cancellationMessageRequests =
@@ -114,7 +86,7 @@ public class CancellationCaseEventHandler implements CaseEventHandler {
         cancellationMessageRequests.forEach(message -> {
                 if (message != null) {
                     log.info("sendCancellationMessage message:{}", message);
-                    workflowApiClient.sendMessage(serviceAuthGenerator.generate(), message);
+                    messages.add(message);
                 }
             }
         );
@@ -0,0 +1,110 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.handlers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.WorkflowApiClient;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.EvaluateDmnRequest;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.CancellationEvaluateResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateDmnResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.DmnEvaluationKey;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.DmnEvaluationCacheService;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.dmn.DmnPrefilter;
+import uk.gov.hmcts.reform.wacaseeventhandler.util.AdditionalDataReader;
+
+import java.util.List;
+import java.util.Map;
+
+import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnAndMessageNames.TASK_CANCELLATION;
+import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnMapValue;
+import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnStringValue;
+
+/**
+ * Evaluates the wa-task-cancellation DMN table of an event. The cancellation, warning and reconfiguration handlers
+ * all act on the results of this table, each on the rules of its own action, so it is evaluated once per event
+ * and its results are shared between them.
+ */
+@Slf4j
+@Service
+@SuppressWarnings("unchecked")
+public class CancellationDmnEvaluator {
+
+    private final AuthTokenGenerator serviceAuthGenerator;
+    private final WorkflowApiClient workflowApiClient;
+    private final ObjectMapper objectMapper;
+    private final DmnEvaluationCacheService dmnEvaluationCacheService;
+    private final DmnPrefilter dmnPrefilter;
+
+    public CancellationDmnEvaluator(AuthTokenGenerator serviceAuthGenerator, WorkflowApiClient workflowApiClient,
+                                    ObjectMapper objectMapper, DmnEvaluationCacheService dmnEvaluationCacheService,
+                                    DmnPrefilter dmnPrefilter) {
+        this.serviceAuthGenerator = serviceAuthGenerator;
+        this.workflowApiClient = workflowApiClient;
+        this.objectMapper = objectMapper;
+        this.dmnEvaluationCacheService = dmnEvaluationCacheService;
+        this.dmnPrefilter = dmnPrefilter;
+    }
+
+    public List<CancellationEvaluateResponse> evaluate(EventInformation eventInformation) {
+        String tableKey = TASK_CANCELLATION.getTableKey(
+            eventInformation.getJurisdictionId(),
+            eventInformation.getCaseTypeId()
+        );
+        log.debug("tableKey : {}", tableKey);
+
+        String tenantId = eventInformation.getJurisdictionId();
+
+        Map<String, Object> additionalData =
+            AdditionalDataReader.readValue(objectMapper, eventInformation.getAdditionalData());
+        EvaluateDmnRequest evaluateDmnRequest = buildEvaluateDmnRequest(
+            eventInformation.getPreviousStateId(),
+            eventInformation.getEventId(),
+            eventInformation.getNewStateId(),
+            additionalData
+        );
+
+        if (dmnPrefilter.canSkip(tableKey, tenantId, evaluateDmnRequest)) {
+            return List.of();
+        }
+
+        if (dmnEvaluationCacheService.isCacheable(tableKey, additionalData)) {
+            return dmnEvaluationCacheService.evaluateCancellationDmn(
+                new DmnEvaluationKey(
+                    tableKey,
+                    tenantId,
+                    eventInformation.getEventId(),
+                    eventInformation.getNewStateId(),
+                    eventInformation.getPreviousStateId()
+                ),
+                evaluateDmnRequest
+            );
+        }
+
+        EvaluateDmnResponse<CancellationEvaluateResponse> response = workflowApiClient.evaluateCancellationDmn(
+            serviceAuthGenerator.generate(),
+            tableKey,
+            tenantId,
+            evaluateDmnRequest);
+
+        return response.getResults();
+    }
+
+    private EvaluateDmnRequest buildEvaluateDmnRequest(
+        String previousStateId,
+        String eventId,
+        String newStateId,
+        Map<String, Object> additionalData
+    ) {
+        Map<String, DmnValue<?>> variables = Map.of(
+            "event", dmnStringValue(eventId),
+            "state", dmnStringValue(newStateId),
+            "fromState", dmnStringValue(previousStateId),
+            "additionalData", dmnMapValue(additionalData)
+        );
+
+        return new EvaluateDmnRequest(variables);
+    }
+}
@@ -10,4 +10,12 @@ public interface CaseEventHandler {
     List<? extends EvaluateResponse> evaluateDmn(EventInformation eventInformation);
 
     void handle(List<? extends EvaluateResponse> results, EventInformation eventInformation);
+
+    /**
+     * Whether the handler acts on the results of the task cancellation DMN table. That table is evaluated once
+     * per event by {@link CancellationDmnEvaluator} and its results are handed to every such handler.
+     */
+    default boolean usesCancellationDmn() {
+        return false;
+    }
 }
@@ -18,9 +18,11 @@ import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.AdditionalData;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.DueDateService;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.IdempotencyKeyGenerator;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.WorkflowMessageSender;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.calendar.DelayUntilConfigurator;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.calendar.DelayUntilRequest;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.dates.IsoDateFormatter;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.dmn.DmnPrefilter;
 import uk.gov.hmcts.reform.wacaseeventhandler.util.AdditionalDataReader;
 
 import java.time.LocalDateTime;
@@ -57,6 +59,8 @@ public class InitiationCaseEventHandler implements CaseEventHandler {
     private final DueDateService dueDateService;
     private final ObjectMapper objectMapper;
     private final DelayUntilConfigurator delayUntilConfigurator;
+    private final DmnPrefilter dmnPrefilter;
+    private final WorkflowMessageSender workflowMessageSender;
 
     @Autowired
     public InitiationCaseEventHandler(AuthTokenGenerator serviceAuthGenerator,
@@ -65,7 +69,9 @@ public class InitiationCaseEventHandler implements CaseEventHandler {
                                       IsoDateFormatter isoDateFormatter,
                                       DueDateService dueDateService,
                                       ObjectMapper objectMapper,
-                                      DelayUntilConfigurator delayUntilConfigurator) {
+                                      DelayUntilConfigurator delayUntilConfigurator,
+                                      DmnPrefilter dmnPrefilter,
+                                      WorkflowMessageSender workflowMessageSender) {
         this.serviceAuthGenerator = serviceAuthGenerator;
         this.workflowApiClient = workflowApiClient;
         this.idempotencyKeyGenerator = idempotencyKeyGenerator;
@@ -73,6 +79,8 @@ public class InitiationCaseEventHandler implements CaseEventHandler {
         this.dueDateService = dueDateService;
         this.objectMapper = objectMapper;
         this.delayUntilConfigurator = delayUntilConfigurator;
+        this.dmnPrefilter = dmnPrefilter;
+        this.workflowMessageSender = workflowMessageSender;
     }
 
     @Override
@@ -93,6 +101,11 @@ public class InitiationCaseEventHandler implements CaseEventHandler {
             LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE),
             directionDueDate
         );
+        if (dmnPrefilter.canSkip(tableKey, tenantId, evaluateDmnRequest)) {
+            log.debug("No rule of table {} matches eventId: {}, newStateId: {}", tableKey,
+                      eventInformation.getEventId(), eventInformation.getNewStateId());
+            return List.of();
+        }
         log.info(
             "EvaluateDmnRequest created for eventId: {}, newStateId: {}, directionDueDate: {}, timestamp {}",
             eventInformation.getEventId(),
@@ -113,20 +126,21 @@ public class InitiationCaseEventHandler implements CaseEventHandler {
     @Override
     public void handle(List<? extends EvaluateResponse> results, EventInformation eventInformation) {
         log.info("InitiationCaseEventHandler eventInformation:{}", eventInformation);
-        results.stream()
+        List<SendMessageRequest> requests = results.stream()
             .filter(InitiateEvaluateResponse.class::isInstance)
             .map(InitiateEvaluateResponse.class::cast)
-            .forEach(initiateEvaluateResponse -> {
+            .map(initiateEvaluateResponse -> {
                 log.info("initiateEvaluateResponse is {}", initiateEvaluateResponse);
                 SendMessageRequest request =
                     buildInitiateTaskMessageRequest(initiateEvaluateResponse, eventInformation);
 
                 log.info("sendInitiationMessage message:{}", request);
-                workflowApiClient.sendMessage(
-                    serviceAuthGenerator.generate(),
-                    request
-                );
-            });
+                return request;
+            })
+            .toList();
+        if (!requests.isEmpty()) {
+            workflowMessageSender.sendMessages(serviceAuthGenerator.generate(), requests);
+        }
     }
 
     @SuppressWarnings("unchecked")
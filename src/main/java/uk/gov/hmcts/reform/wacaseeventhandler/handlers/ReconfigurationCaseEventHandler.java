@@ -5,12 +5,8 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
 import uk.gov.hmcts.reform.wacaseeventhandler.clients.TaskManagementApiClient;
-import uk.gov.hmcts.reform.wacaseeventhandler.clients.WorkflowApiClient;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.CancellationActions;
-import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue;
-import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.EvaluateDmnRequest;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.CancellationEvaluateResponse;
-import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateDmnResponse;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateResponse;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.MarkTaskToReconfigureTaskFilter;
@@ -21,12 +17,9 @@ import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.TaskOperationName;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.TaskOperationRequest;
 
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
-import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnAndMessageNames.TASK_CANCELLATION;
-import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnStringValue;
 
 @Slf4j
 @Service
@@ -35,38 +28,25 @@ import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmn
 public class ReconfigurationCaseEventHandler implements CaseEventHandler {
 
     private final AuthTokenGenerator serviceAuthGenerator;
-    private final WorkflowApiClient workflowApiClient;
+    private final CancellationDmnEvaluator cancellationDmnEvaluator;
     private final TaskManagementApiClient taskManagementApiClient;
 
-    public ReconfigurationCaseEventHandler(AuthTokenGenerator serviceAuthGenerator, WorkflowApiClient workflowApiClient,
+    public ReconfigurationCaseEventHandler(AuthTokenGenerator serviceAuthGenerator,
+                                           CancellationDmnEvaluator cancellationDmnEvaluator,
                                            TaskManagementApiClient taskManagementApiClient) {
         this.serviceAuthGenerator = serviceAuthGenerator;
-        this.workflowApiClient = workflowApiClient;
+        this.cancellationDmnEvaluator = cancellationDmnEvaluator;
         this.taskManagementApiClient = taskManagementApiClient;
     }
 
     @Override
     public List<? extends EvaluateResponse> evaluateDmn(EventInformation reconfigurationEventInformation) {
-        String tableKey = TASK_CANCELLATION.getTableKey(
-            reconfigurationEventInformation.getJurisdictionId(),
-            reconfigurationEventInformation.getCaseTypeId()
-        );
-        log.debug("tableKey : {}", tableKey);
-        String tenantId = reconfigurationEventInformation.getJurisdictionId();
-
-        EvaluateDmnRequest evaluateDmnRequest = buildEvaluateDmnRequest(
-            reconfigurationEventInformation.getPreviousStateId(),
-            reconfigurationEventInformation.getEventId(),
-            reconfigurationEventInformation.getNewStateId()
-        );
-
-        EvaluateDmnResponse<CancellationEvaluateResponse> response = workflowApiClient.evaluateCancellationDmn(
-            serviceAuthGenerator.generate(),
-            tableKey,
-            tenantId,
-            evaluateDmnRequest);
+        return cancellationDmnEvaluator.evaluate(reconfigurationEventInformation);
+    }
 
-        return response.getResults();
+    @Override
+    public boolean usesCancellationDmn() {
+        return true;
     }
 
     @Override
@@ -98,20 +78,6 @@ public class ReconfigurationCaseEventHandler implements CaseEventHandler {
         }
     }
 
-    private EvaluateDmnRequest buildEvaluateDmnRequest(
-        String previousStateId,
-        String eventId,
-        String newStateId
-    ) {
-        Map<String, DmnValue<?>> variables = Map.of(
-            "event", dmnStringValue(eventId),
-            "state", dmnStringValue(newStateId),
-            "fromState", dmnStringValue(previousStateId)
-        );
-
-        return new EvaluateDmnRequest(variables);
-    }
-
     private void sendReconfigurationRequest(String caseReference) {
         TaskOperationRequest taskOperationRequest = buildTaskOperationRequest(caseReference);
         taskManagementApiClient.performOperation(serviceAuthGenerator.generate(), taskOperationRequest);
@@ -5,18 +5,17 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ObjectUtils;
 import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
-import uk.gov.hmcts.reform.wacaseeventhandler.clients.WorkflowApiClient;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.CancellationActions;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.Warning;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.WarningValues;
-import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.EvaluateDmnRequest;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.SendMessageRequest;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.CancellationEvaluateResponse;
-import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateDmnResponse;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateResponse;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.WorkflowMessageSender;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -37,35 +36,26 @@ import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmn
 public class WarningCaseEventHandler implements CaseEventHandler {
 
     private final AuthTokenGenerator serviceAuthGenerator;
-    private final WorkflowApiClient workflowApiClient;
+    private final WorkflowMessageSender workflowMessageSender;
+    private final CancellationDmnEvaluator cancellationDmnEvaluator;
 
-    public WarningCaseEventHandler(AuthTokenGenerator serviceAuthGenerator, WorkflowApiClient workflowApiClient) {
+    public WarningCaseEventHandler(AuthTokenGenerator serviceAuthGenerator,
+                                   WorkflowMessageSender workflowMessageSender,
+                                   CancellationDmnEvaluator cancellationDmnEvaluator) {
         this.serviceAuthGenerator = serviceAuthGenerator;
-        this.workflowApiClient = workflowApiClient;
+        this.workflowMessageSender = workflowMessageSender;
+        this.cancellationDmnEvaluator = cancellationDmnEvaluator;
     }
 
     @Override
     public List<? extends EvaluateResponse> evaluateDmn(EventInformation eventInformation) {
-        String tableKey = TASK_WARN.getTableKey(
-            eventInformation.getJurisdictionId(),
-            eventInformation.getCaseTypeId()
-        );
-
-        String tenantId = eventInformation.getJurisdictionId();
-
-        EvaluateDmnRequest evaluateDmnRequest = buildEvaluateDmnRequest(
-            eventInformation.getPreviousStateId(),
-            eventInformation.getEventId(),
-            eventInformation.getNewStateId()
-        );
-
-        EvaluateDmnResponse<CancellationEvaluateResponse> response = workflowApiClient.evaluateCancellationDmn(
-            serviceAuthGenerator.generate(),
-            tableKey,
-            tenantId,
-            evaluateDmnRequest);
+        // the warning rules live in the task cancellation table
+        return cancellationDmnEvaluator.evaluate(eventInformation);
+    }
 
-        return response.getResults();
+    @Override
+    public boolean usesCancellationDmn() {
+        return true;
     }
 
     @SuppressWarnings("PMD.ConfusingTernary")
@@ -103,10 +93,15 @@ public class WarningCaseEventHandler implements CaseEventHandler {
                 }
             });
 
-        processWarningResponse(emptyWarnings, warnings, ctgWarnings, eventInformation);
+        List<SendMessageRequest> messages = new ArrayList<>();
+        processWarningResponse(messages, emptyWarnings, warnings, ctgWarnings, eventInformation);
+        if (!messages.isEmpty()) {
+            workflowMessageSender.sendMessages(serviceAuthGenerator.generate(), messages);
+        }
     }
 
     private void processWarningResponse(
+        List<SendMessageRequest> messages,
         Set<CancellationEvaluateResponse> emptyWarnings,
         Set<Warning> warnings,
         Set<CancellationEvaluateResponse> ctgWarnings,
@@ -115,7 +110,8 @@ public class WarningCaseEventHandler implements CaseEventHandler {
     ) {
         // scenario: event without warning attributes
         if (!emptyWarnings.isEmpty()) {
-            emptyWarnings.forEach(response -> sendWarningMessage(
+            emptyWarnings.forEach(response -> addWarningMessages(
+                messages,
                 eventInformation.getCaseId(),
                 response.getTaskCategories(),
                 response.getProcessCategories(),
@@ -128,7 +124,8 @@ public class WarningCaseEventHandler implements CaseEventHandler {
             WarningValues warningValues = new WarningValues();
             warnings.forEach(warning -> warningValues.getValues().add(warning));
 
-            sendWarningMessage(
+            addWarningMessages(
+                messages,
                 eventInformation.getCaseId(),
                 null,
                 null,
@@ -144,7 +141,8 @@ public class WarningCaseEventHandler implements CaseEventHandler {
                 WarningValues warningValues = new WarningValues();
                 warningValues.getValues().add(warning);
 
-                sendWarningMessage(
+                addWarningMessages(
+                    messages,
                     eventInformation.getCaseId(),
                     response.getTaskCategories(),
                     response.getProcessCategories(),
@@ -154,7 +152,8 @@ public class WarningCaseEventHandler implements CaseEventHandler {
         }
     }
 
-    private void sendWarningMessage(String caseReference,
+    private void addWarningMessages(List<SendMessageRequest> messages,
+                                    String caseReference,
                                     DmnValue<String> categories,
                                     DmnValue<String> processCategories,
                                     String warningVariables) {
@@ -165,7 +164,7 @@ public class WarningCaseEventHandler implements CaseEventHandler {
         warningMessageRequest.forEach(message -> {
                 if (message != null) {
                     log.info("sendWarningMessage message:{}", message);
-                    workflowApiClient.sendMessage(serviceAuthGenerator.generate(), message);
+                    messages.add(message);
                 }
             }
         );
@@ -270,20 +269,6 @@ public class WarningCaseEventHandler implements CaseEventHandler {
 
     }
 
-    private EvaluateDmnRequest buildEvaluateDmnRequest(
-        String previousStateId,
-        String eventId,
-        String newStateId
-    ) {
-        Map<String, DmnValue<?>> variables = Map.of(
-            "event", dmnStringValue(eventId),
-            "state", dmnStringValue(newStateId),
-            "fromState", dmnStringValue(previousStateId)
-        );
-
-        return new EvaluateDmnRequest(variables);
-    }
-
     private SendMessageRequest addWarningsToProcessVariables(
         Map<String, DmnValue<?>> correlationKeys,
         String warningVariables) {
@@ -0,0 +1,64 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import uk.gov.hmcts.reform.wacaseeventhandler.entity.CaseEventMessageEntity;
+
+import java.sql.Types;
+import java.util.List;
+
+@Repository
+public class CaseEventMessageBatchRepository {
+
+    // the delivery count of a new row holds the redeliveries folded into the same batch
+    private static final String INSERT_OR_INCREMENT_DELIVERY_COUNTS =
+        "INSERT INTO public.wa_case_event_messages (message_id, case_id, event_timestamp, from_dlq, state, "
+        + "message_properties, message_content, received, delivery_count, hold_until, retry_count, "
+        + "jurisdiction_id, case_type_id) "
+        + "VALUES (:messageId, :caseId, :eventTimestamp, :fromDlq, cast(:state as message_state_enum), "
+        + "cast(:messageProperties as jsonb), :messageContent, :received, :deliveryCount, :holdUntil, :retryCount, "
+        + ":jurisdictionId, :caseTypeId) "
+        + "ON CONFLICT (message_id) DO UPDATE "
+        + "SET delivery_count = wa_case_event_messages.delivery_count + 1 + excluded.delivery_count";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CaseEventMessageBatchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Stores the messages with one batched statement, the driver rewrites the batch into a multi-row insert.
+     * Each message id must appear at most once in the batch.
+     */
+    public void insertOrIncrementDeliveryCounts(List<CaseEventMessageEntity> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_OR_INCREMENT_DELIVERY_COUNTS, messages.stream()
+            .map(CaseEventMessageBatchRepository::toParameters)
+            .toArray(SqlParameterSource[]::new));
+    }
+
+    private static SqlParameterSource toParameters(CaseEventMessageEntity message) {
+        return new MapSqlParameterSource()
+            .addValue("messageId", message.getMessageId(), Types.VARCHAR)
+            .addValue("caseId", message.getCaseId(), Types.VARCHAR)
+            .addValue("eventTimestamp", message.getEventTimestamp(), Types.TIMESTAMP)
+            .addValue("fromDlq", message.getFromDlq())
+            .addValue("state", message.getState().name())
+            .addValue("messageProperties",
+                message.getMessageProperties() == null ? null : message.getMessageProperties().toString(),
+                Types.VARCHAR)
+            .addValue("messageContent", message.getMessageContent(), Types.VARCHAR)
+            .addValue("received", message.getReceived(), Types.TIMESTAMP)
+            .addValue("deliveryCount", message.getDeliveryCount())
+            .addValue("holdUntil", message.getHoldUntil(), Types.TIMESTAMP)
+            .addValue("retryCount", message.getRetryCount())
+            .addValue("jurisdictionId", message.getJurisdictionId(), Types.VARCHAR)
+            .addValue("caseTypeId", message.getCaseTypeId(), Types.VARCHAR);
+    }
+}
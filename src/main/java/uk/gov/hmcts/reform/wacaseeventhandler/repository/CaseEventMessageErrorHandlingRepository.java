@@ -32,4 +32,17 @@ public interface CaseEventMessageErrorHandlingRepository extends CrudRepository<
                                       @Param("holdUntil") LocalDateTime holdUntil,
                                       @Param("messageId") String messageId);
 
+    @Modifying
+    @Query(value = CaseEventMessageRepository.UPDATE_LEASED_MESSAGE_STATE, nativeQuery = true)
+    int updateLeasedMessageState(@Param("messageState") MessageState messageState,
+                                 @Param("messageId") String messageId,
+                                 @Param("claimedBy") String claimedBy);
+
+    @Modifying
+    @Query(value = CaseEventMessageRepository.UPDATE_LEASED_MESSAGE_RETRY_DETAILS, nativeQuery = true)
+    int updateLeasedMessageWithRetryDetails(@Param("retryCount") int retryCount,
+                                            @Param("holdUntil") LocalDateTime holdUntil,
+                                            @Param("messageId") String messageId,
+                                            @Param("claimedBy") String claimedBy);
+
 }
@@ -14,23 +14,15 @@ import java.util.List;
 @Repository
 public interface CaseEventMessageRepository extends CrudRepository<CaseEventMessageEntity, Long> {
 
-    String LOCK_AND_GET_NEXT_MESSAGE_SQL =
-        "select * "
-        + "from public.wa_case_event_messages msg "
-        + "where msg.state = 'READY' "
-        // earliest event message unprocessed message for the case
-        + "and (msg.case_id, msg.event_timestamp) in ( "
-        + "  select case_id, min(event_timestamp) "
-        + "  from wa_case_event_messages "
-        + "  where state != 'PROCESSED' "
-        + "  group by case_id) "
-        // there is no event message for the same case with timestamp null
-        + "and not exists (select 1 from wa_case_event_messages e "
-        + "                where e.case_id = msg.case_id "
-        + "                and e.event_timestamp is null) "
-        // there is no any event message with case id null
-        + "and not exists (select 1 from wa_case_event_messages c "
-        + "                where c.case_id is null) "
+    String READY_TO_PROCESS_CONDITIONS =
+        "msg.state = 'READY' "
+        // msg is joined on the earliest unprocessed message of the case, which is kept up to date in
+        // wa_case_event_heads, and there is no event message for the same case with timestamp null
+        + "and head.head_message_id is not null "
+        + "and not head.blocked_by_null_timestamp "
+        // there is no any event message with case id null, counted in wa_case_event_null_case_guard
+        + "and not exists (select 1 from wa_case_event_null_case_guard g "
+        + "                where g.message_count > 0) "
         + "and ( "
         + "  not msg.from_dlq "
         + "  or ( "
@@ -42,29 +34,170 @@ public interface CaseEventMessageRepository extends CrudRepository<CaseEventMess
         + "              and d.event_timestamp > msg.event_timestamp "
         + "              and not d.from_dlq "
         + "              and d.state = 'READY') "
-        // There is at least one non dlq message in ready or processed state and timestamp is 30 min higher
-        + "      or exists (select 1 from wa_case_event_messages d "
-        + "                 where d.event_timestamp > msg.event_timestamp + interval '30 minutes' "
-        + "                 and not d.from_dlq "
-        + "                 and d.state in ('READY', 'PROCESSED'))))) "
-        + "and (current_timestamp > hold_until or hold_until is null)"
-        + "for update skip locked "
+        // There is at least one non dlq message in ready or processed state and timestamp is 30 min higher,
+        // the latest such timestamp is read once per query from idx_wacem_non_dlq_ready_processed_ts
+        + "      or (select max(w.event_timestamp) from wa_case_event_messages w "
+        + "          where not w.from_dlq and w.state in ('READY', 'PROCESSED')) "
+        + "         > msg.event_timestamp + interval '30 minutes'))) "
+        + "and (current_timestamp > msg.hold_until or msg.hold_until is null) "
+        // the message is not leased to a worker, or the lease has expired
+        + "and (msg.lease_expires_at is null or msg.lease_expires_at < current_timestamp) ";
+
+    String CASE_HEAD_MESSAGES =
+        "select msg.* "
+        + "from public.wa_case_event_heads head "
+        + "join public.wa_case_event_messages msg on msg.message_id = head.head_message_id ";
+
+    String LOCK_AND_GET_NEXT_MESSAGE_SQL =
+        CASE_HEAD_MESSAGES
+        + "where " + READY_TO_PROCESS_CONDITIONS
+        + "for update of msg skip locked "
         + "limit 1 ";
 
+    String LOCK_AND_GET_NEXT_MESSAGES_SQL =
+        CASE_HEAD_MESSAGES
+        + "where " + READY_TO_PROCESS_CONDITIONS
+        + "for update of msg skip locked "
+        + "limit :batchSize ";
+
+    // the next message of a case whose previous message was just processed by the same worker
+    String LOCK_AND_GET_NEXT_CASE_MESSAGE_SQL =
+        CASE_HEAD_MESSAGES
+        + "where head.case_id = :caseId "
+        + "and " + READY_TO_PROCESS_CONDITIONS
+        + "for update of msg skip locked "
+        + "limit 1 ";
+
+    // the case of msg is in one of the hash buckets owned by this replica, see CaseBucketOwnership
+    String LOCK_AND_GET_NEXT_MESSAGES_IN_CASE_BUCKETS_SQL =
+        CASE_HEAD_MESSAGES
+        + "where " + READY_TO_PROCESS_CONDITIONS
+        + "and abs(hashtext(msg.case_id) % :bucketCount) in (:buckets) "
+        + "for update of msg skip locked "
+        + "limit :batchSize ";
+
+    // the case head messages of one jurisdiction and case type picked by FairClaimScheduler,
+    // a bucket count of 1 with bucket 0 matches every case when the case buckets are disabled
+    String LOCK_AND_GET_NEXT_MESSAGES_FOR_SCHEDULING_KEY_SQL =
+        CASE_HEAD_MESSAGES
+        + "where " + READY_TO_PROCESS_CONDITIONS
+        + "and msg.jurisdiction_id is not distinct from cast(:jurisdictionId as text) "
+        + "and msg.case_type_id is not distinct from cast(:caseTypeId as text) "
+        + "and abs(hashtext(msg.case_id) % :bucketCount) in (:buckets) "
+        + "for update of msg skip locked "
+        + "limit :batchSize ";
+
+    // the head message of a case whose hold ended, see HeldMessageTimer
+    String LOCK_AND_GET_DUE_CASE_MESSAGE_SQL =
+        CASE_HEAD_MESSAGES
+        + "where head.case_id = :caseId "
+        + "and abs(hashtext(msg.case_id) % :bucketCount) in (:buckets) "
+        + "and " + READY_TO_PROCESS_CONDITIONS
+        + "for update of msg skip locked "
+        + "limit 1 ";
+
+    // served by idx_wa_case_event_messages_hold_until
+    String GET_HELD_MESSAGES =
+        "select msg.case_id as \"caseId\", "
+        + "cast(extract(epoch from msg.hold_until - current_timestamp) * 1000 as bigint) as \"dueInMillis\" "
+        + "from public.wa_case_event_messages msg "
+        + "where msg.state = 'READY' "
+        + "and msg.hold_until > current_timestamp";
+
+    String GET_READY_BACKLOGS =
+        "select msg.jurisdiction_id as \"jurisdictionId\", msg.case_type_id as \"caseTypeId\", "
+        + "count(*) as \"backlog\", "
+        + "cast(extract(epoch from current_timestamp - min(msg.received)) as double precision) as \"lagSeconds\" "
+        + "from public.wa_case_event_heads head "
+        + "join public.wa_case_event_messages msg on msg.message_id = head.head_message_id "
+        + "where msg.state = 'READY' "
+        + "group by msg.jurisdiction_id, msg.case_type_id";
+
     String UPDATE_CASE_MESSAGE_STATE =
         "UPDATE public.wa_case_event_messages"
-        + " SET state = cast(:#{#messageState.toString()} as message_state_enum)"
+        + " SET state = cast(:#{#messageState.toString()} as message_state_enum),"
+        + " claimed_by = null, lease_expires_at = null"
         + " WHERE message_id in (:messageIds)";
 
     String UPDATE_CASE_MESSAGE_RETRY_DETAILS =
         "UPDATE public.wa_case_event_messages SET retry_count = :retryCount, "
-        + "hold_until = :holdUntil WHERE message_id = :messageId";
+        + "hold_until = :holdUntil, claimed_by = null, lease_expires_at = null WHERE message_id = :messageId";
+
+    String LEASE_MESSAGES =
+        "UPDATE public.wa_case_event_messages"
+        + " SET claimed_by = :claimedBy,"
+        + " lease_expires_at = current_timestamp + :leaseDuration * interval '1 millisecond'"
+        + " WHERE message_id in (:messageIds)";
+
+    // a message of a claimed batch is only processed while it is still leased to the worker, every message
+    // gets a full lease before it is processed however long the messages before it took
+    String RENEW_LEASE =
+        "UPDATE public.wa_case_event_messages"
+        + " SET lease_expires_at = current_timestamp + :leaseDuration * interval '1 millisecond'"
+        + " WHERE message_id = :messageId AND claimed_by = :claimedBy"
+        + " AND lease_expires_at > current_timestamp";
+
+    String RELEASE_LEASES =
+        "UPDATE public.wa_case_event_messages SET claimed_by = null, lease_expires_at = null"
+        + " WHERE message_id in (:messageIds) AND claimed_by = :claimedBy";
+
+    String UPDATE_LEASED_MESSAGE_STATE =
+        "UPDATE public.wa_case_event_messages"
+        + " SET state = cast(:#{#messageState.toString()} as message_state_enum),"
+        + " claimed_by = null, lease_expires_at = null"
+        + " WHERE message_id = :messageId AND claimed_by = :claimedBy";
+
+    String UPDATE_LEASED_MESSAGE_RETRY_DETAILS =
+        "UPDATE public.wa_case_event_messages SET retry_count = :retryCount, "
+        + "hold_until = :holdUntil, claimed_by = null, lease_expires_at = null "
+        + "WHERE message_id = :messageId AND claimed_by = :claimedBy";
+
+    // a redelivered message keeps the stored row and only counts the delivery
+    String INSERT_OR_INCREMENT_DELIVERY_COUNT =
+        "INSERT INTO public.wa_case_event_messages (message_id, case_id, event_timestamp, from_dlq, state, "
+        + "message_properties, message_content, received, delivery_count, hold_until, retry_count, "
+        + "jurisdiction_id, case_type_id) "
+        + "VALUES (:#{#message.messageId}, :#{#message.caseId}, :#{#message.eventTimestamp}, "
+        + ":#{#message.fromDlq}, cast(:#{#message.state.name()} as message_state_enum), "
+        + "cast(:#{#message.messageProperties?.toString()} as jsonb), :#{#message.messageContent}, "
+        + ":#{#message.received}, :#{#message.deliveryCount}, :#{#message.holdUntil}, :#{#message.retryCount}, "
+        + ":#{#message.jurisdictionId}, :#{#message.caseTypeId}) "
+        + "ON CONFLICT (message_id) DO UPDATE "
+        + "SET delivery_count = wa_case_event_messages.delivery_count + 1 "
+        + "RETURNING *";
+
+    String EXISTS_NEW_MESSAGES =
+        "SELECT exists (SELECT 1 from public.wa_case_event_messages msg where msg.state = 'NEW')";
+
+    String UPDATE_NEW_MESSAGES_TO_READY =
+        "UPDATE public.wa_case_event_messages SET state = 'READY' "
+        + "WHERE message_id in (SELECT msg.message_id from public.wa_case_event_messages msg "
+        + "                     where msg.state = 'NEW' "
+        + "                     order by msg.sequence "
+        + "                     limit :chunkSize "
+        + "                     for update skip locked)";
+
+    // a message is promoted on its own only while no other message of its case waits to be processed,
+    // a message stored concurrently for the same case keeps both NEW for the readiness check
+    String PROMOTE_SOLE_CASE_MESSAGE =
+        "UPDATE public.wa_case_event_messages msg SET state = 'READY' "
+        + "WHERE msg.message_id = :messageId "
+        + "AND msg.state = 'NEW' "
+        + "AND NOT msg.from_dlq "
+        + "AND NOT exists (SELECT 1 from public.wa_case_event_messages other "
+        + "                where other.case_id = msg.case_id "
+        + "                and other.message_id <> msg.message_id "
+        + "                and other.state <> 'PROCESSED')";
 
     String SELECT_NEW_MESSAGES =
         "SELECT * from public.wa_case_event_messages msg where msg.state = 'NEW' "
         + "order by sequence DESC for update skip locked";
 
 
+    // held until the transaction of the job ends, a job triggered on two replicas at once only runs on one,
+    // the first key keeps the job locks apart from the other advisory locks
+    String TRY_LOCK_JOB = "SELECT pg_try_advisory_xact_lock(1463896625, hashtext(:jobName))";
+
     String FIND_PROBLEM_MESSAGES = """
         SELECT message_id,
         sequence,
@@ -77,7 +210,9 @@ public interface CaseEventMessageRepository extends CrudRepository<CaseEventMess
         received,
         delivery_count,
         hold_until,
-        retry_count
+        retry_count,
+        jurisdiction_id,
+        case_type_id
         from wa_case_event_messages msg
         where msg.state IN ('UNPROCESSABLE', 'READY')
         and case when msg.state='READY' then
@@ -104,9 +239,43 @@ public interface CaseEventMessageRepository extends CrudRepository<CaseEventMess
     @Query("FROM CaseEventMessageEntity cem WHERE cem.messageId IN (:messageIds)")
     List<CaseEventMessageEntity> findByMessageId(List<String> messageIds);
 
+    @Query(value = INSERT_OR_INCREMENT_DELIVERY_COUNT, nativeQuery = true)
+    CaseEventMessageEntity insertOrIncrementDeliveryCount(@Param("message") CaseEventMessageEntity message);
+
     @Query(value = LOCK_AND_GET_NEXT_MESSAGE_SQL, nativeQuery = true)
     CaseEventMessageEntity getNextAvailableMessageReadyToProcess();
 
+    @Query(value = LOCK_AND_GET_NEXT_MESSAGES_SQL, nativeQuery = true)
+    List<CaseEventMessageEntity> getNextAvailableMessagesReadyToProcess(@Param("batchSize") int batchSize);
+
+    @Query(value = LOCK_AND_GET_NEXT_CASE_MESSAGE_SQL, nativeQuery = true)
+    CaseEventMessageEntity getNextAvailableCaseMessageReadyToProcess(@Param("caseId") String caseId);
+
+    @Query(value = LOCK_AND_GET_NEXT_MESSAGES_IN_CASE_BUCKETS_SQL, nativeQuery = true)
+    List<CaseEventMessageEntity> getNextAvailableMessagesReadyToProcessInCaseBuckets(
+        @Param("batchSize") int batchSize,
+        @Param("bucketCount") int bucketCount,
+        @Param("buckets") List<Integer> buckets);
+
+    @Query(value = LOCK_AND_GET_NEXT_MESSAGES_FOR_SCHEDULING_KEY_SQL, nativeQuery = true)
+    List<CaseEventMessageEntity> getNextAvailableMessagesReadyToProcessForSchedulingKey(
+        @Param("batchSize") int batchSize,
+        @Param("jurisdictionId") String jurisdictionId,
+        @Param("caseTypeId") String caseTypeId,
+        @Param("bucketCount") int bucketCount,
+        @Param("buckets") List<Integer> buckets);
+
+    @Query(value = LOCK_AND_GET_DUE_CASE_MESSAGE_SQL, nativeQuery = true)
+    CaseEventMessageEntity getDueCaseMessageReadyToProcess(@Param("caseId") String caseId,
+                                                           @Param("bucketCount") int bucketCount,
+                                                           @Param("buckets") List<Integer> buckets);
+
+    @Query(value = GET_HELD_MESSAGES, nativeQuery = true)
+    List<HeldMessage> getHeldMessages();
+
+    @Query(value = GET_READY_BACKLOGS, nativeQuery = true)
+    List<ReadyBacklog> getReadyBacklogs();
+
     @Modifying
     @Query(value = UPDATE_CASE_MESSAGE_STATE, nativeQuery = true)
     int updateMessageState(@Param("messageState") MessageState messageState,
@@ -118,9 +287,53 @@ public interface CaseEventMessageRepository extends CrudRepository<CaseEventMess
                                       @Param("holdUntil") LocalDateTime holdUntil,
                                       @Param("messageId") String messageId);
 
+    @Modifying
+    @Query(value = LEASE_MESSAGES, nativeQuery = true)
+    int leaseMessages(@Param("messageIds") List<String> messageIds,
+                      @Param("claimedBy") String claimedBy,
+                      @Param("leaseDuration") long leaseDuration);
+
+    @Modifying
+    @Query(value = RENEW_LEASE, nativeQuery = true)
+    int renewLease(@Param("messageId") String messageId,
+                   @Param("claimedBy") String claimedBy,
+                   @Param("leaseDuration") long leaseDuration);
+
+    @Modifying
+    @Query(value = RELEASE_LEASES, nativeQuery = true)
+    int releaseLeases(@Param("messageIds") List<String> messageIds,
+                      @Param("claimedBy") String claimedBy);
+
+    @Modifying
+    @Query(value = UPDATE_LEASED_MESSAGE_STATE, nativeQuery = true)
+    int updateLeasedMessageState(@Param("messageState") MessageState messageState,
+                                 @Param("messageId") String messageId,
+                                 @Param("claimedBy") String claimedBy);
+
+    @Modifying
+    @Query(value = UPDATE_LEASED_MESSAGE_RETRY_DETAILS, nativeQuery = true)
+    int updateLeasedMessageWithRetryDetails(@Param("retryCount") int retryCount,
+                                            @Param("holdUntil") LocalDateTime holdUntil,
+                                            @Param("messageId") String messageId,
+                                            @Param("claimedBy") String claimedBy);
+
     @Query(value = SELECT_NEW_MESSAGES, nativeQuery = true)
     List<CaseEventMessageEntity> getAllMessagesInNewState();
 
+    @Query(value = EXISTS_NEW_MESSAGES, nativeQuery = true)
+    boolean hasMessagesInNewState();
+
+    @Modifying
+    @Query(value = UPDATE_NEW_MESSAGES_TO_READY, nativeQuery = true)
+    int updateNewMessagesToReady(@Param("chunkSize") int chunkSize);
+
+    @Modifying
+    @Query(value = PROMOTE_SOLE_CASE_MESSAGE, nativeQuery = true)
+    int promoteSoleCaseMessage(@Param("messageId") String messageId);
+
+    @Query(value = TRY_LOCK_JOB, nativeQuery = true)
+    boolean tryLockJob(@Param("jobName") String jobName);
+
     @Query(value = FIND_PROBLEM_MESSAGES, nativeQuery = true)
     List<CaseEventMessageEntity> findProblemMessages(int messageTimeLimit);
 
@@ -0,0 +1,11 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.repository;
+
+/**
+ * A READY message held until a later time, and how long until its hold ends.
+ */
+public interface HeldMessage {
+
+    String getCaseId();
+
+    Long getDueInMillis();
+}
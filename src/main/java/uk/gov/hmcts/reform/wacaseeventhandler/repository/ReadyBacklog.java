@@ -0,0 +1,15 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.repository;
+
+/**
+ * The READY case head messages of a jurisdiction and case type, and how long the oldest of them has waited.
+ */
+public interface ReadyBacklog {
+
+    String getJurisdictionId();
+
+    String getCaseTypeId();
+
+    Long getBacklog();
+
+    Double getLagSeconds();
+}
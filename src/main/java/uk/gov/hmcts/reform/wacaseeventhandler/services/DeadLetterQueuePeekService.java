@@ -2,11 +2,17 @@ package uk.gov.hmcts.reform.wacaseeventhandler.services;
 
 import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
 import com.azure.messaging.servicebus.ServiceBusReceiverClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.wacaseeventhandler.config.ServiceBusConfiguration;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Slf4j
 @Service
 @ConditionalOnProperty("azure.servicebus.enableASB-DLQ")
@@ -14,14 +20,31 @@ import uk.gov.hmcts.reform.wacaseeventhandler.config.ServiceBusConfiguration;
 public class DeadLetterQueuePeekService {
 
     private final ServiceBusReceiverClient serviceBusReceiverClient;
+    private final AtomicInteger deadLetterQueueEmpty = new AtomicInteger();
+    private final Counter deadLetterQueuePeeks;
 
-    public DeadLetterQueuePeekService(ServiceBusConfiguration serviceBusConfiguration) {
+    public DeadLetterQueuePeekService(ServiceBusConfiguration serviceBusConfiguration,
+                                      MeterRegistry meterRegistry) {
         this.serviceBusReceiverClient =
                 serviceBusConfiguration.createCcdCaseEventsDeadLetterQueueSessionReceiver();
+        Gauge.builder("wa.case.event.handler.dlq.empty", deadLetterQueueEmpty, AtomicInteger::get)
+            .description("1 when the last dead letter queue peek found it empty, 0 otherwise")
+            .register(meterRegistry);
+        this.deadLetterQueuePeeks = Counter.builder("wa.case.event.handler.dlq.peeks")
+            .description("Number of dead letter queue peeks sent to the service bus")
+            .register(meterRegistry);
     }
 
+    /**
+     * Peeks the dead letter queue. The result is cached for a few seconds so readiness checks running close
+     * together share a single peek.
+     */
+    @Cacheable(value = "dead_letter_queue_peek_cache", sync = true,
+            cacheManager = "deadLetterQueuePeekCacheManager")
     public boolean isDeadLetterQueueEmpty() {
         ServiceBusReceivedMessage message = serviceBusReceiverClient.peekMessage(1);
+        deadLetterQueuePeeks.increment();
+        deadLetterQueueEmpty.set(message == null ? 1 : 0);
         log.debug("Is dead letter queue empty {}", message == null);
         return message == null;
     }
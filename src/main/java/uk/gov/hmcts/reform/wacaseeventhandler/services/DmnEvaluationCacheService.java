@@ -0,0 +1,94 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.WorkflowApiClient;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.EvaluateDmnRequest;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.CancellationEvaluateResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.DmnEvaluationKey;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Caches the results of task cancellation DMN evaluations whose inputs are fully determined by a
+ * {@link DmnEvaluationKey}, so events of the same type and state transition do not each evaluate the table again.
+ * Concurrent evaluations of the same key wait for the first one. Entries expire after a while, and the entries of
+ * a table can be evicted when it is redeployed.
+ */
+@Slf4j
+@Service
+public class DmnEvaluationCacheService {
+
+    public static final String DMN_EVALUATION_CACHE = "dmn_evaluation_cache";
+
+    private final AuthTokenGenerator serviceAuthGenerator;
+    private final WorkflowApiClient workflowApiClient;
+    private final CacheManager dmnEvaluationCacheManager;
+    private final boolean enabled;
+    private final Set<String> contextFreeTables;
+
+    public DmnEvaluationCacheService(AuthTokenGenerator serviceAuthGenerator,
+                                     WorkflowApiClient workflowApiClient,
+                                     @Qualifier("dmnEvaluationCacheManager") CacheManager dmnEvaluationCacheManager,
+                                     @Value("${caffeine.dmn-evaluation.enabled}") boolean enabled,
+                                     @Value("${caffeine.dmn-evaluation.context-free-tables}")
+                                     Set<String> contextFreeTables) {
+        this.serviceAuthGenerator = serviceAuthGenerator;
+        this.workflowApiClient = workflowApiClient;
+        this.dmnEvaluationCacheManager = dmnEvaluationCacheManager;
+        this.enabled = enabled;
+        this.contextFreeTables = Set.copyOf(contextFreeTables);
+    }
+
+    /**
+     * Whether the evaluation of the table can be cached. That is when the event carries no additional data, or
+     * when the rules of the table are known not to read it.
+     */
+    public boolean isCacheable(String tableKey, Map<String, Object> additionalData) {
+        return enabled && (additionalData == null || contextFreeTables.contains(tableKey));
+    }
+
+    @Cacheable(value = DMN_EVALUATION_CACHE, key = "#key", sync = true, cacheManager = "dmnEvaluationCacheManager")
+    public List<CancellationEvaluateResponse> evaluateCancellationDmn(DmnEvaluationKey key,
+                                                                     EvaluateDmnRequest evaluateDmnRequest) {
+        log.debug("Evaluating DMN for cache key {}", key);
+        return workflowApiClient.evaluateCancellationDmn(
+            serviceAuthGenerator.generate(),
+            key.getTableKey(),
+            key.getTenantId(),
+            evaluateDmnRequest
+        ).getResults();
+    }
+
+    /**
+     * Evicts the cached evaluations of a table, or of all tables when no table key is given.
+     *
+     * @return the number of evicted evaluations
+     */
+    public int evict(String tableKey) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = getCache();
+        List<Object> keys = cache.asMap().keySet().stream()
+            .filter(key -> tableKey == null
+                || key instanceof DmnEvaluationKey dmnEvaluationKey
+                && tableKey.equals(dmnEvaluationKey.getTableKey()))
+            .toList();
+        cache.invalidateAll(keys);
+        log.info("Evicted {} cached DMN evaluations of table '{}'", keys.size(), tableKey == null ? "*" : tableKey);
+        return keys.size();
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> getCache() {
+        CaffeineCache cache = (CaffeineCache) Objects.requireNonNull(
+            dmnEvaluationCacheManager.getCache(DMN_EVALUATION_CACHE));
+        return cache.getNativeCache();
+    }
+}
@@ -0,0 +1,151 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.ParsedEventMessage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the fields needed to store a case event message in one streaming pass over the message body.
+ * The message is validated the same way as when it is bound to {@code EventInformation} and
+ * {@code EventInformationMetadata}: the fields bound to strings must hold scalar values, JurisdictionId and
+ * CaseTypeId must be present and the MessageProperties values are stored as text. AdditionalData is skipped
+ * without being read into memory.
+ */
+@Component
+@SuppressWarnings("PMD.CyclomaticComplexity")
+public class EventMessageParser {
+
+    private static final String CASE_ID = "CaseId";
+    private static final String EVENT_TIME_STAMP = "EventTimeStamp";
+    private static final String JURISDICTION_ID = "JurisdictionId";
+    private static final String CASE_TYPE_ID = "CaseTypeId";
+    private static final String HOLD_UNTIL = "HoldUntil";
+    private static final String MESSAGE_PROPERTIES = "MessageProperties";
+    private static final String ADDITIONAL_DATA = "AdditionalData";
+    private static final Set<String> OTHER_TEXT_FIELDS =
+        Set.of("EventInstanceId", "EventId", "PreviousStateId", "NewStateId", "UserId");
+    private static final Set<String> ADDITIONAL_DATA_MAPS = Set.of("Data", "Definition");
+
+    private final ObjectMapper objectMapper;
+
+    public EventMessageParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public ParsedEventMessage parse(String message) throws JsonProcessingException {
+        try (JsonParser parser = objectMapper.createParser(message)) {
+            return parse(parser);
+        } catch (JsonProcessingException ex) {
+            throw ex;
+        } catch (IOException ex) {
+            // not expected when reading from a String
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private ParsedEventMessage parse(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw MismatchedInputException.from(parser, ParsedEventMessage.class,
+                "Case event message is not a JSON object");
+        }
+
+        ParsedEventMessage.ParsedEventMessageBuilder builder = ParsedEventMessage.builder()
+            .messageProperties(NullNode.getInstance());
+        String jurisdictionId = null;
+        String caseTypeId = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.currentName();
+            parser.nextToken();
+            switch (fieldName) {
+                case CASE_ID -> builder.caseId(readText(parser));
+                case EVENT_TIME_STAMP -> builder.eventTimeStamp(objectMapper.readValue(parser, LocalDateTime.class));
+                case JURISDICTION_ID -> jurisdictionId = readText(parser);
+                case CASE_TYPE_ID -> caseTypeId = readText(parser);
+                case HOLD_UNTIL -> builder.holdUntil(objectMapper.readValue(parser, LocalDateTime.class));
+                case MESSAGE_PROPERTIES -> builder.messageProperties(readMessageProperties(parser));
+                case ADDITIONAL_DATA -> skipAdditionalData(parser);
+                default -> skipField(parser, fieldName);
+            }
+        }
+
+        if (jurisdictionId == null || caseTypeId == null) {
+            throw JsonMappingException.from(parser, "Case event message has no JurisdictionId or CaseTypeId");
+        }
+        return builder
+            .jurisdictionId(jurisdictionId)
+            .caseTypeId(caseTypeId)
+            .build();
+    }
+
+    private JsonNode readMessageProperties(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return NullNode.getInstance();
+        }
+        expectObject(parser, MESSAGE_PROPERTIES);
+
+        ObjectNode messageProperties = objectMapper.getNodeFactory().objectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String propertyName = parser.currentName();
+            parser.nextToken();
+            messageProperties.put(propertyName, readText(parser));
+        }
+        return messageProperties;
+    }
+
+    private void skipAdditionalData(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+        expectObject(parser, ADDITIONAL_DATA);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.currentName();
+            parser.nextToken();
+            if (ADDITIONAL_DATA_MAPS.contains(fieldName) && parser.currentToken() != JsonToken.VALUE_NULL) {
+                expectObject(parser, fieldName);
+            }
+            parser.skipChildren();
+        }
+    }
+
+    private void skipField(JsonParser parser, String fieldName) throws IOException {
+        if (OTHER_TEXT_FIELDS.contains(fieldName)) {
+            readText(parser);
+        } else {
+            parser.skipChildren();
+        }
+    }
+
+    private static String readText(JsonParser parser) throws IOException {
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        throw MismatchedInputException.from(parser, String.class,
+            "Expected a text value for " + parser.currentName());
+    }
+
+    private static void expectObject(JsonParser parser, String fieldName) throws MismatchedInputException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw MismatchedInputException.from(parser, Map.class,
+                "Expected a JSON object for " + fieldName);
+        }
+    }
+}
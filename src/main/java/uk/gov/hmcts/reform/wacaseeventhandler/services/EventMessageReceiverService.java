@@ -1,24 +1,26 @@
 package uk.gov.hmcts.reform.wacaseeventhandler.services;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
-import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformationMetadata;
-import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformationRequest;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.ParsedEventMessage;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.ReceivedEventMessage;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.CaseEventMessage;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.CaseEventMessageStoredEvent;
 import uk.gov.hmcts.reform.wacaseeventhandler.entity.CaseEventMessageEntity;
 import uk.gov.hmcts.reform.wacaseeventhandler.entity.MessageState;
 import uk.gov.hmcts.reform.wacaseeventhandler.exceptions.CaseEventMessageDuplicateMessageIdException;
 import uk.gov.hmcts.reform.wacaseeventhandler.exceptions.CaseEventMessageNotFoundException;
+import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageBatchRepository;
 import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.lang.Boolean.TRUE;
@@ -34,16 +36,22 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 public class EventMessageReceiverService {
     protected static final String MESSAGE_PROPERTIES = "MessageProperties";
 
-    private final ObjectMapper objectMapper;
+    private final EventMessageParser eventMessageParser;
     private final CaseEventMessageRepository repository;
+    private final CaseEventMessageBatchRepository batchRepository;
     private final CaseEventMessageMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public EventMessageReceiverService(ObjectMapper objectMapper,
+    public EventMessageReceiverService(EventMessageParser eventMessageParser,
                                        CaseEventMessageRepository repository,
-                                       CaseEventMessageMapper caseEventMessageMapper) {
-        this.objectMapper = objectMapper;
+                                       CaseEventMessageBatchRepository batchRepository,
+                                       CaseEventMessageMapper caseEventMessageMapper,
+                                       ApplicationEventPublisher eventPublisher) {
+        this.eventMessageParser = eventMessageParser;
         this.repository = repository;
+        this.batchRepository = batchRepository;
         this.mapper = caseEventMessageMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     public CaseEventMessage handleDlqMessage(String messageId, String sessionId, String message) {
@@ -62,6 +70,16 @@ public class EventMessageReceiverService {
         return handleMessage(messageId, sessionId, message, false);
     }
 
+    public void handleDlqMessages(List<ReceivedEventMessage> messages) {
+        log.info("Received batch of {} Case Event Dead Letter Queue messages", messages.size());
+        handleMessages(messages, true);
+    }
+
+    public void handleCcdCaseEventAsbMessages(List<ReceivedEventMessage> messages) {
+        log.debug("Received batch of {} CCD Case Events ASB messages", messages.size());
+        handleMessages(messages, false);
+    }
+
     public CaseEventMessage getMessage(String messageId) {
         CaseEventMessageEntity messageEntity = repository.findByMessageId(singletonList(messageId)).stream().findFirst()
             .orElseThrow(() -> new CaseEventMessageNotFoundException(
@@ -69,20 +87,6 @@ public class EventMessageReceiverService {
         return mapper.mapToCaseEventMessage(messageEntity);
     }
 
-    private CaseEventMessageEntity insertMessage(CaseEventMessageEntity caseEventMessageEntity) {
-
-        final List<CaseEventMessageEntity> existingMessages =
-                repository.findByMessageId(singletonList(caseEventMessageEntity.getMessageId()));
-        if (existingMessages.isEmpty()) {
-            return repository.save(caseEventMessageEntity);
-        } else {
-            CaseEventMessageEntity found = existingMessages.get(0);
-
-            found.setDeliveryCount(found.getDeliveryCount() + 1);
-            return repository.save(found);
-        }
-    }
-
     public void deleteMessage(String messageId) {
         CaseEventMessageEntity entity = repository.findByMessageId(singletonList(messageId)).stream().findFirst()
             .orElseThrow(() -> new CaseEventMessageNotFoundException(
@@ -125,25 +129,56 @@ public class EventMessageReceiverService {
     private CaseEventMessage handleMessage(String messageId, String sessionId, String message, Boolean fromDlq) {
 
         try {
-            CaseEventMessageEntity messageEntity = buildCaseEventMessageEntity(messageId, message, fromDlq);
-            CaseEventMessageEntity savedEntity = insertMessage(messageEntity);
+            CaseEventMessageEntity messageEntity = toCaseEventMessageEntity(messageId, sessionId, message, fromDlq);
+            CaseEventMessageEntity savedEntity = repository.insertOrIncrementDeliveryCount(messageEntity);
 
             log.info("Message with id '{}' successfully stored into the DB", messageId);
+            publishStored(messageEntity);
 
             return mapper.mapToCaseEventMessage(savedEntity);
+        } catch (DataIntegrityViolationException e) {
+            throw new CaseEventMessageDuplicateMessageIdException(
+                format("Trying to save a message with a duplicate messageId: %s", messageId), e);
+        }
+    }
+
+    private void handleMessages(List<ReceivedEventMessage> messages, boolean fromDlq) {
+        Map<String, CaseEventMessageEntity> messageEntities = new LinkedHashMap<>();
+        messages.forEach(message -> {
+            CaseEventMessageEntity existing = messageEntities.get(message.getMessageId());
+            if (existing == null) {
+                messageEntities.put(message.getMessageId(), toCaseEventMessageEntity(
+                    message.getMessageId(), message.getSessionId(), message.getMessage(), fromDlq));
+            } else {
+                existing.setDeliveryCount(existing.getDeliveryCount() + 1);
+            }
+        });
+
+        batchRepository.insertOrIncrementDeliveryCounts(List.copyOf(messageEntities.values()));
+
+        log.info("Batch of {} messages successfully stored into the DB", messages.size());
+        messageEntities.values().forEach(this::publishStored);
+    }
+
+    // listeners run once the transaction storing the message has committed
+    private void publishStored(CaseEventMessageEntity messageEntity) {
+        if (messageEntity.getState() == MessageState.NEW && !TRUE.equals(messageEntity.getFromDlq())) {
+            eventPublisher.publishEvent(
+                new CaseEventMessageStoredEvent(messageEntity.getMessageId(), messageEntity.getCaseId()));
+        }
+    }
+
+    private CaseEventMessageEntity toCaseEventMessageEntity(String messageId,
+                                                            String sessionId,
+                                                            String message,
+                                                            Boolean fromDlq) {
+        try {
+            return buildCaseEventMessageEntity(messageId, message, fromDlq);
         } catch (JsonProcessingException e) {
             log.error("Could not parse the message with id '{}' case id '{}'", messageId, sessionId);
 
             boolean isDlq = TRUE.equals(fromDlq);
-            CaseEventMessageEntity messageEntity = build(messageId, sessionId, message, isDlq,
-                                                         MessageState.UNPROCESSABLE);
-            CaseEventMessageEntity savedEntity = insertMessage(messageEntity);
-
-
-            return mapper.mapToCaseEventMessage(savedEntity);
-        } catch (DataIntegrityViolationException e) {
-            throw new CaseEventMessageDuplicateMessageIdException(
-                format("Trying to save a message with a duplicate messageId: %s", messageId), e);
+            return build(messageId, sessionId, message, isDlq, MessageState.UNPROCESSABLE);
         }
     }
 
@@ -152,51 +187,34 @@ public class EventMessageReceiverService {
                                                                Boolean fromDlq)
         throws JsonProcessingException {
 
-        EventInformation eventInformation = objectMapper.readValue(message, EventInformation.class);
-        boolean isValid = validate(messageId, eventInformation, fromDlq);
+        ParsedEventMessage eventMessage = eventMessageParser.parse(message);
+        boolean isValid = validate(messageId, eventMessage, fromDlq);
 
         CaseEventMessageEntity messageEntity;
         if (isValid) {
             log.info("Message validation successful for message id {}", messageId);
-            messageEntity = build(messageId, message, fromDlq, eventInformation, MessageState.NEW);
+            messageEntity = build(messageId, message, fromDlq, eventMessage, MessageState.NEW);
         } else {
             log.info("Message validation failed for message id {}", messageId);
-            messageEntity = build(messageId, message, fromDlq, eventInformation, MessageState.UNPROCESSABLE);
+            messageEntity = build(messageId, message, fromDlq, eventMessage, MessageState.UNPROCESSABLE);
         }
-
-        EventInformationRequest eventInformationRequest = objectMapper.readValue(
-            message,
-            EventInformationRequest.class
-        );
-        EventInformationMetadata eventInformationMetadata = eventInformationRequest.getEventInformationMetadata();
-        updateMessageEntity(messageEntity, eventInformationMetadata);
+        messageEntity.setMessageProperties(eventMessage.getMessageProperties());
+        messageEntity.setHoldUntil(eventMessage.getHoldUntil());
 
         return messageEntity;
     }
 
-    private void updateMessageEntity(CaseEventMessageEntity messageEntity,
-                                     EventInformationMetadata eventInformationMetadata) throws JsonProcessingException {
-        JsonNode actualObj = convertMapToJsonNode(eventInformationMetadata);
-        messageEntity.setMessageProperties(actualObj);
-        messageEntity.setHoldUntil(eventInformationMetadata.getHoldUntil());
-    }
-
-    private JsonNode convertMapToJsonNode(EventInformationMetadata eventInformationMetadata)
-        throws JsonProcessingException {
-
-        String json = objectMapper.writeValueAsString(eventInformationMetadata.getMessageProperties());
-        return objectMapper.readTree(json);
-    }
-
     private CaseEventMessageEntity build(String messageId,
                                          String message,
                                          Boolean fromDlq,
-                                         EventInformation eventInformation,
+                                         ParsedEventMessage eventMessage,
                                          MessageState state) {
         CaseEventMessageEntity caseEventMessageEntity = new CaseEventMessageEntity();
         caseEventMessageEntity.setMessageId(messageId);
-        caseEventMessageEntity.setCaseId(eventInformation.getCaseId());
-        caseEventMessageEntity.setEventTimestamp(eventInformation.getEventTimeStamp());
+        caseEventMessageEntity.setCaseId(eventMessage.getCaseId());
+        caseEventMessageEntity.setEventTimestamp(eventMessage.getEventTimeStamp());
+        caseEventMessageEntity.setJurisdictionId(eventMessage.getJurisdictionId());
+        caseEventMessageEntity.setCaseTypeId(eventMessage.getCaseTypeId());
         caseEventMessageEntity.setFromDlq(fromDlq);
         caseEventMessageEntity.setState(state);
         caseEventMessageEntity.setMessageContent(message);
@@ -225,14 +243,14 @@ public class EventMessageReceiverService {
         return caseEventMessageEntity;
     }
 
-    private boolean validate(String messageId, EventInformation eventInformation, Boolean fromDlq) {
+    private boolean validate(String messageId, ParsedEventMessage eventMessage, Boolean fromDlq) {
 
         log.info("Message validation for message id {} - [case id : {}, event timestamp : {}, from DLQ {}]",
-                 messageId, eventInformation.getCaseId(), eventInformation.getEventTimeStamp(), fromDlq);
-        return isNotBlank(eventInformation.getCaseId())
+                 messageId, eventMessage.getCaseId(), eventMessage.getEventTimeStamp(), fromDlq);
+        return isNotBlank(eventMessage.getCaseId())
             && isNotBlank(messageId)
-            && eventInformation.getEventTimeStamp() != null
-            && isNotBlank(eventInformation.getEventTimeStamp().toString())
+            && eventMessage.getEventTimeStamp() != null
+            && isNotBlank(eventMessage.getEventTimeStamp().toString())
             && fromDlq != null;
     }
 
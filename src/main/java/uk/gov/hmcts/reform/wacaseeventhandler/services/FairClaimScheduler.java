@@ -0,0 +1,141 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.FairSchedulingConfiguration;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.SchedulingKey;
+import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository;
+import uk.gov.hmcts.reform.wacaseeventhandler.repository.ReadyBacklog;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Picks the jurisdiction and case type whose READY messages are claimed next, so a bulk run of one service
+ * does not starve the others. Each key with a backlog advances its pass by claimed messages / weight and the
+ * key with the lowest pass is picked next (stride scheduling), so the keys with a backlog are claimed from in
+ * proportion to their weights. A key joining the backlog starts at the pass of the last picked key rather than
+ * catching up on the claims it missed.
+ */
+@Slf4j
+@Component
+public class FairClaimScheduler {
+
+    private static final String UNKNOWN = "unknown";
+
+    private final CaseEventMessageRepository caseEventMessageRepository;
+    private final FairSchedulingConfiguration configuration;
+    private final LongSupplier clock;
+    private final MultiGauge readyBacklog;
+    private final MultiGauge readyLag;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<SchedulingKey, Double> passes = new HashMap<>();
+    // keys without a claimable message until the next refresh, e.g. all their cases are held or leased
+    private final Set<SchedulingKey> exhausted = new HashSet<>();
+    private double virtualTime;
+    private long refreshDueAt;
+
+    public FairClaimScheduler(CaseEventMessageRepository caseEventMessageRepository,
+                              FairSchedulingConfiguration configuration,
+                              MeterRegistry meterRegistry) {
+        this(caseEventMessageRepository, configuration, meterRegistry, System::currentTimeMillis);
+    }
+
+    FairClaimScheduler(CaseEventMessageRepository caseEventMessageRepository,
+                       FairSchedulingConfiguration configuration,
+                       MeterRegistry meterRegistry,
+                       LongSupplier clock) {
+        this.caseEventMessageRepository = caseEventMessageRepository;
+        this.configuration = configuration;
+        this.clock = clock;
+        this.readyBacklog = MultiGauge.builder("wa.case.event.handler.ready.backlog")
+            .description("Number of cases with a READY message, by jurisdiction and case type")
+            .register(meterRegistry);
+        this.readyLag = MultiGauge.builder("wa.case.event.handler.ready.lag")
+            .description("Time the oldest READY case head message has waited, by jurisdiction and case type")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return configuration.isEnabled();
+    }
+
+    /**
+     * Returns the key to claim the next messages for, or empty when no key is known to have a claimable message.
+     */
+    public Optional<SchedulingKey> nextKey() {
+        lock.lock();
+        try {
+            if (clock.getAsLong() >= refreshDueAt) {
+                refresh();
+            }
+
+            Optional<SchedulingKey> next = passes.entrySet().stream()
+                .filter(entry -> !exhausted.contains(entry.getKey()))
+                .min(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey);
+            next.ifPresent(key -> virtualTime = passes.get(key));
+            return next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the number of messages claimed for a key returned by {@link #nextKey()}.
+     */
+    public void claimed(SchedulingKey key, int claimedMessages) {
+        lock.lock();
+        try {
+            if (claimedMessages == 0) {
+                exhausted.add(key);
+            } else {
+                passes.computeIfPresent(key, (k, pass) ->
+                    pass + (double) claimedMessages / configuration.getWeight(k.getJurisdictionId(),
+                                                                              k.getCaseTypeId()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refresh() {
+        List<ReadyBacklog> backlogs = caseEventMessageRepository.getReadyBacklogs();
+        refreshDueAt = clock.getAsLong() + configuration.getRefreshIntervalMilliSeconds();
+        exhausted.clear();
+
+        Map<SchedulingKey, Double> refreshed = new HashMap<>();
+        backlogs.forEach(backlog -> {
+            SchedulingKey key = new SchedulingKey(backlog.getJurisdictionId(), backlog.getCaseTypeId());
+            refreshed.put(key, Math.max(passes.getOrDefault(key, virtualTime), virtualTime));
+        });
+        passes.clear();
+        passes.putAll(refreshed);
+
+        readyBacklog.register(rows(backlogs, ReadyBacklog::getBacklog), true);
+        readyLag.register(rows(backlogs, ReadyBacklog::getLagSeconds), true);
+        log.debug("Refreshed READY backlog of {} jurisdictions and case types", backlogs.size());
+    }
+
+    private static List<MultiGauge.Row<?>> rows(List<ReadyBacklog> backlogs,
+                                                Function<ReadyBacklog, Number> value) {
+        return backlogs.stream()
+            .<MultiGauge.Row<?>>map(backlog -> MultiGauge.Row.of(
+                Tags.of("jurisdiction", Optional.ofNullable(backlog.getJurisdictionId()).orElse(UNKNOWN),
+                        "caseType", Optional.ofNullable(backlog.getCaseTypeId()).orElse(UNKNOWN)),
+                Optional.ofNullable(value.apply(backlog)).orElse(0)))
+            .toList();
+    }
+}
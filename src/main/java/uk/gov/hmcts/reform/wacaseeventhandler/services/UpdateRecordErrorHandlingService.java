@@ -10,7 +10,6 @@ import uk.gov.hmcts.reform.wacaseeventhandler.exceptions.CaseEventMessageNotFoun
 import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageErrorHandlingRepository;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 import static java.lang.String.format;
 import static uk.gov.hmcts.reform.wacaseeventhandler.entity.MessageState.PROCESSED;
@@ -27,7 +26,13 @@ public class UpdateRecordErrorHandlingService {
         this.errorHandlingRepository = errorHandlingRepository;
     }
 
-    public void handleUpdateError(MessageState state, String messageId, int retryCount, LocalDateTime holdUntil) {
+    /**
+     * Retries the update of a message processed by the worker the message is leased to. The update only applies
+     * while the message is still leased to that worker, so the outcome stored by another worker that claimed the
+     * message after the lease expired is kept.
+     */
+    public void handleUpdateError(MessageState state, String messageId, int retryCount, LocalDateTime holdUntil,
+                                  String claimedBy) {
         log.info("Retry updating message with message_id {}", messageId);
         CaseEventMessageEntity messageEntity = errorHandlingRepository.findByMessageIdToUpdate(messageId)
             .stream()
@@ -39,14 +44,23 @@ public class UpdateRecordErrorHandlingService {
             if (UNPROCESSABLE.equals(messageEntity.getState()) || PROCESSED.equals(messageEntity.getState())) {
                 log.info("Message with message_id {} is already updated", messageId);
             } else {
-                errorHandlingRepository.updateMessageWithRetryDetails(retryCount, holdUntil, messageId);
+                warnIfLeaseLost(errorHandlingRepository.updateLeasedMessageWithRetryDetails(
+                    retryCount, holdUntil, messageId, claimedBy), messageId);
             }
         } else {
             if (PROCESSED.equals(messageEntity.getState())) {
                 log.info("Message with message_id {} is already updated", messageId);
             } else {
-                errorHandlingRepository.updateMessageState(state, List.of(messageId));
+                warnIfLeaseLost(errorHandlingRepository.updateLeasedMessageState(state, messageId, claimedBy),
+                                messageId);
             }
         }
     }
+
+    private void warnIfLeaseLost(int updatedMessages, String messageId) {
+        if (updatedMessages == 0) {
+            log.warn("Lease on message with id {} expired before its update was retried, "
+                     + "the message may have been claimed again", messageId);
+        }
+    }
 }
@@ -0,0 +1,78 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.services;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.WorkflowApiClient;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.SendMessageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the workflow messages of an event to wa-workflow-api, in a single call when batching is enabled. When
+ * wa-workflow-api does not support batches the messages are sent one by one, and batches are not tried again
+ * for a while.
+ */
+@Slf4j
+@Service
+public class WorkflowMessageSender {
+
+    private final WorkflowApiClient workflowApiClient;
+    private final MeterRegistry meterRegistry;
+    private final boolean batchingEnabled;
+    private final long unsupportedRecheckNanos;
+
+    private volatile long batchingUnsupportedUntil;
+    private volatile boolean batchingUnsupported;
+
+    public WorkflowMessageSender(WorkflowApiClient workflowApiClient,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${workflowMessages.batchingEnabled}") boolean batchingEnabled,
+                                 @Value("${workflowMessages.unsupportedRecheckMilliSeconds}")
+                                 long unsupportedRecheckMilliSeconds) {
+        this.workflowApiClient = workflowApiClient;
+        this.meterRegistry = meterRegistry;
+        this.batchingEnabled = batchingEnabled;
+        this.unsupportedRecheckNanos = TimeUnit.MILLISECONDS.toNanos(unsupportedRecheckMilliSeconds);
+    }
+
+    public void sendMessages(String serviceAuthorisation, List<SendMessageRequest> sendMessageRequests) {
+        if (sendMessageRequests.isEmpty()) {
+            return;
+        }
+
+        if (sendMessageRequests.size() > 1 && batchingEnabled && isBatchingSupported()) {
+            try {
+                workflowApiClient.sendMessages(serviceAuthorisation, sendMessageRequests);
+                count("batch", sendMessageRequests.size());
+                return;
+            } catch (FeignException.NotFound | FeignException.MethodNotAllowed | FeignException.NotImplemented ex) {
+                log.warn("wa-workflow-api does not support batches of messages, sending them one by one: {}",
+                         ex.status());
+                batchingUnsupportedUntil = System.nanoTime() + unsupportedRecheckNanos;
+                batchingUnsupported = true;
+            }
+        }
+
+        sendMessageRequests.forEach(
+            sendMessageRequest -> workflowApiClient.sendMessage(serviceAuthorisation, sendMessageRequest)
+        );
+        count("single", sendMessageRequests.size());
+    }
+
+    private boolean isBatchingSupported() {
+        return !batchingUnsupported || System.nanoTime() - batchingUnsupportedUntil >= 0;
+    }
+
+    private void count(String mode, int messages) {
+        Counter.builder("wa.case.event.handler.workflow.messages")
+            .description("Number of messages sent to wa-workflow-api, by whether they were sent in a batch")
+            .tag("mode", mode)
+            .register(meterRegistry)
+            .increment(messages);
+    }
+}
@@ -4,9 +4,11 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.CancellationEvaluateResponse;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateResponse;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.CaseEventMessage;
+import uk.gov.hmcts.reform.wacaseeventhandler.handlers.CancellationDmnEvaluator;
 import uk.gov.hmcts.reform.wacaseeventhandler.handlers.CaseEventHandler;
 
 import java.util.LinkedHashMap;
@@ -19,12 +21,15 @@ public class CcdEventProcessor {
 
     private final List<CaseEventHandler> handlerServices;
     private final ObjectMapper objectMapper;
+    private final CancellationDmnEvaluator cancellationDmnEvaluator;
 
 
     public CcdEventProcessor(List<CaseEventHandler> handlerServices,
-                             ObjectMapper objectMapper) {
+                             ObjectMapper objectMapper,
+                             CancellationDmnEvaluator cancellationDmnEvaluator) {
         this.handlerServices = handlerServices;
         this.objectMapper = objectMapper;
+        this.cancellationDmnEvaluator = cancellationDmnEvaluator;
     }
 
 
@@ -76,12 +81,22 @@ public class CcdEventProcessor {
 
         log.info(logInfo.toString());
 
-        handlerServices.forEach(handler -> {
-            List<? extends EvaluateResponse> results = handler.evaluateDmn(eventInformation);
+        // the handlers sharing the task cancellation table are handed the results of a single evaluation
+        List<CancellationEvaluateResponse> cancellationResults = null;
+        for (CaseEventHandler handler : handlerServices) {
+            List<? extends EvaluateResponse> results;
+            if (handler.usesCancellationDmn()) {
+                if (cancellationResults == null) {
+                    cancellationResults = cancellationDmnEvaluator.evaluate(eventInformation);
+                }
+                results = cancellationResults;
+            } else {
+                results = handler.evaluateDmn(eventInformation);
+            }
             if (!results.isEmpty()) {
                 handler.handle(results, eventInformation);
             }
-        });
+        }
     }
 
 }
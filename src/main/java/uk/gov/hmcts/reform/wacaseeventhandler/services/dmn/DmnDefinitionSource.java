@@ -0,0 +1,60 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.services.dmn;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.CamundaClient;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.LocalDmnEngineConfiguration;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.DecisionDefinitionXml;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Definitions of the DMN tables, read from the configured directory of {@code {tableKey}.dmn} files or else
+ * fetched from Camunda.
+ */
+@Component
+public class DmnDefinitionSource {
+
+    private final LocalDmnEngineConfiguration configuration;
+    private final CamundaClient camundaClient;
+    private final AuthTokenGenerator serviceAuthGenerator;
+
+    public DmnDefinitionSource(LocalDmnEngineConfiguration configuration,
+                               CamundaClient camundaClient,
+                               AuthTokenGenerator serviceAuthGenerator) {
+        this.configuration = configuration;
+        this.camundaClient = camundaClient;
+        this.serviceAuthGenerator = serviceAuthGenerator;
+    }
+
+    /**
+     * Reads the definition of a table.
+     *
+     * @return the DMN XML, or empty when there is no definition of the table
+     */
+    public Optional<String> getDmnXml(String tableKey, String tenantId) {
+        if (StringUtils.hasText(configuration.getDefinitionsDirectory())) {
+            Path file = Path.of(configuration.getDefinitionsDirectory(), tableKey + ".dmn");
+            if (!Files.isRegularFile(file)) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(Files.readString(file));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        DecisionDefinitionXml definition = camundaClient.getDecisionDefinitionXml(
+            serviceAuthGenerator.generate(),
+            tableKey,
+            tenantId
+        );
+        return Optional.ofNullable(definition).map(DecisionDefinitionXml::getDmnXml);
+    }
+}
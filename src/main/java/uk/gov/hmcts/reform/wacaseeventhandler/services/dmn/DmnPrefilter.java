@@ -0,0 +1,88 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.services.dmn;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.EvaluateDmnRequest;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Skips the evaluation of a DMN table when no rule of the table can match the request, which is the case for most
+ * events, e.g. document uploads and notes. Every table is checked with a {@link DmnTableFilter} built from its
+ * definition, which is refreshed in the background once older than the refresh interval, so redeployed tables are
+ * picked up.
+ * A table whose definition cannot be read is always evaluated.
+ */
+@Slf4j
+@Component
+public class DmnPrefilter {
+
+    private final DmnDefinitionSource dmnDefinitionSource;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final LoadingCache<TableId, Optional<DmnTableFilter>> filters;
+
+    public DmnPrefilter(DmnDefinitionSource dmnDefinitionSource,
+                        MeterRegistry meterRegistry,
+                        @Value("${dmnPrefilter.enabled}") boolean enabled,
+                        @Value("${dmnPrefilter.refreshIntervalMilliSeconds}") long refreshIntervalMilliSeconds) {
+        this.dmnDefinitionSource = dmnDefinitionSource;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.filters = Caffeine.newBuilder()
+            .refreshAfterWrite(Duration.ofMillis(Math.max(1, refreshIntervalMilliSeconds)))
+            .build(this::loadFilter);
+    }
+
+    /**
+     * Whether the evaluation of the table can be skipped, as no rule of the table can match the request.
+     */
+    public boolean canSkip(String tableKey, String tenantId, EvaluateDmnRequest evaluateDmnRequest) {
+        if (!enabled) {
+            return false;
+        }
+        boolean skip = filters.get(new TableId(tableKey, tenantId))
+            .map(filter -> !filter.canMatch(evaluateDmnRequest.getVariables()))
+            .orElse(false);
+        count(tableKey, skip ? "skipped" : "evaluated");
+        return skip;
+    }
+
+    private Optional<DmnTableFilter> loadFilter(TableId tableId) {
+        try {
+            Optional<DmnTableFilter> filter = dmnDefinitionSource.getDmnXml(tableId.tableKey, tableId.tenantId)
+                .flatMap(dmnXml -> DmnTableFilter.fromDefinition(tableId.tableKey, dmnXml));
+            log.info("Loaded DMN pre-filter of table '{}' for tenant '{}', filtering: {}",
+                     tableId.tableKey, tableId.tenantId, filter.isPresent());
+            return filter;
+        } catch (RuntimeException ex) {
+            log.warn("Could not load DMN pre-filter of table '{}' for tenant '{}'",
+                     tableId.tableKey, tableId.tenantId, ex);
+            return Optional.empty();
+        }
+    }
+
+    private void count(String tableKey, String outcome) {
+        Counter.builder("wa.case.event.handler.dmn.prefilter")
+            .description("Number of DMN evaluations checked against the pre-filter, by table and outcome")
+            .tag("table", tableKey)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class TableId {
+        private final String tableKey;
+        private final String tenantId;
+    }
+}
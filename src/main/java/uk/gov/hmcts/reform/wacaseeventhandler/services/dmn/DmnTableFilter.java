@@ -0,0 +1,129 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.services.dmn;
+
+import org.camunda.bpm.model.dmn.Dmn;
+import org.camunda.bpm.model.dmn.DmnModelInstance;
+import org.camunda.bpm.model.dmn.instance.Decision;
+import org.camunda.bpm.model.dmn.instance.DecisionTable;
+import org.camunda.bpm.model.dmn.instance.Input;
+import org.camunda.bpm.model.dmn.instance.InputEntry;
+import org.camunda.bpm.model.dmn.instance.Rule;
+import org.camunda.bpm.model.dmn.instance.Text;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The string values each rule of a decision table can match, of the inputs that are plain variables, e.g. the
+ * {@code eventId} and {@code postEventState} of the initiation tables. An empty or {@code -} input entry matches
+ * any value, and so does any entry other than a list of string literals, so a table can only be found not to match
+ * variables whose values no rule can match.
+ */
+public final class DmnTableFilter {
+
+    private static final Pattern VARIABLE = Pattern.compile("[A-Za-z_]\\w*");
+    private static final Pattern STRING_LITERALS =
+        Pattern.compile("\\s*\"[^\"\\\\]*\"\\s*(,\\s*\"[^\"\\\\]*\"\\s*)*");
+    private static final Pattern STRING_LITERAL = Pattern.compile("\"([^\"\\\\]*)\"");
+
+    // per rule, the values each constrained variable must take
+    private final List<Map<String, Set<String>>> rules;
+
+    private DmnTableFilter(List<Map<String, Set<String>>> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Builds the filter of a decision table.
+     *
+     * @return the filter, or empty when the decision is not a single decision table, as other decisions it requires
+     *     may read any variable
+     */
+    public static Optional<DmnTableFilter> fromDefinition(String tableKey, String dmnXml) {
+        DmnModelInstance model = Dmn.readModelFromStream(new ByteArrayInputStream(dmnXml.getBytes(UTF_8)));
+        if (!(model.getModelElementById(tableKey) instanceof Decision decision)
+            || !(decision.getExpression() instanceof DecisionTable decisionTable)
+            || !decision.getInformationRequirements().isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<String> variables = decisionTable.getInputs().stream()
+            .map(DmnTableFilter::variableOf)
+            .toList();
+
+        List<Map<String, Set<String>>> rules = new ArrayList<>();
+        for (Rule rule : decisionTable.getRules()) {
+            List<InputEntry> inputEntries = new ArrayList<>(rule.getInputEntries());
+            Map<String, Set<String>> constraints = new HashMap<>();
+            for (int column = 0; column < Math.min(variables.size(), inputEntries.size()); column++) {
+                String variable = variables.get(column);
+                Set<String> values = valuesOf(inputEntries.get(column));
+                if (variable != null && values != null) {
+                    // two columns of the same variable must both match
+                    constraints.merge(variable, values, (left, right) -> {
+                        Set<String> both = new HashSet<>(left);
+                        both.retainAll(right);
+                        return both;
+                    });
+                }
+            }
+            rules.add(constraints);
+        }
+        return Optional.of(new DmnTableFilter(rules));
+    }
+
+    /**
+     * Whether any rule can match the variables. Variables that are not strings are taken to match any rule.
+     */
+    public boolean canMatch(Map<String, DmnValue<?>> variables) {
+        return rules.stream().anyMatch(constraints -> constraints.entrySet().stream()
+            .allMatch(constraint -> canMatch(constraint.getValue(), variables.get(constraint.getKey()))));
+    }
+
+    private static boolean canMatch(Set<String> values, DmnValue<?> variable) {
+        if (variable == null) {
+            // left to the evaluation to report a missing variable
+            return true;
+        }
+        Object value = variable.getValue();
+        return value != null && (!(value instanceof String) || values.contains(value));
+    }
+
+    private static String variableOf(Input input) {
+        if (input.getInputExpression() == null || input.getInputExpression().getText() == null) {
+            return null;
+        }
+        String text = input.getInputExpression().getText().getTextContent().trim();
+        return VARIABLE.matcher(text).matches() ? text : null;
+    }
+
+    private static Set<String> valuesOf(InputEntry inputEntry) {
+        String expressionLanguage = inputEntry.getExpressionLanguage();
+        if (expressionLanguage != null && !expressionLanguage.toLowerCase(Locale.ENGLISH).contains("feel")) {
+            return null;
+        }
+        Text text = inputEntry.getText();
+        String entry = text == null ? "" : text.getTextContent().trim();
+        if (!STRING_LITERALS.matcher(entry).matches()) {
+            // empty, "-" or another expression, which may match any value
+            return null;
+        }
+        Set<String> values = new HashSet<>();
+        Matcher literal = STRING_LITERAL.matcher(entry);
+        while (literal.find()) {
+            values.add(literal.group(1));
+        }
+        return values;
+    }
+}
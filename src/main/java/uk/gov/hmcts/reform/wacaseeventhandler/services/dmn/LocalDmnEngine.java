@@ -0,0 +1,118 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.services.dmn;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.dmn.engine.DmnDecisionResultEntries;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.LocalDmnEngineConfiguration;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.EvaluateDmnRequest;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateDmnResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateResponse;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Evaluates DMN tables in process with the Camunda DMN engine, instead of a call to wa-workflow-api per evaluation.
+ * The definition of a table is read from the {@link DmnDefinitionSource} and kept parsed for a while. The results
+ * take the shape wa-workflow-api returns them in.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression(LocalDmnEngineConfiguration.ACTIVE)
+public class LocalDmnEngine {
+
+    private final DmnEngine dmnEngine = DmnEngineConfiguration.createDefaultDmnEngineConfiguration().buildEngine();
+    private final DmnDefinitionSource dmnDefinitionSource;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Optional<DmnDecision>> decisions;
+
+    public LocalDmnEngine(DmnDefinitionSource dmnDefinitionSource,
+                          LocalDmnEngineConfiguration configuration,
+                          ObjectMapper objectMapper) {
+        this.dmnDefinitionSource = dmnDefinitionSource;
+        this.objectMapper = objectMapper;
+        this.decisions = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(configuration.getDefinitionCacheMinutes()))
+            .build();
+    }
+
+    /**
+     * Evaluates a table with the variables of the request.
+     *
+     * @return the results, or empty when there is no definition of the table
+     */
+    public <T extends EvaluateResponse> Optional<EvaluateDmnResponse<T>> evaluate(String tableKey,
+                                                                                 String tenantId,
+                                                                                 EvaluateDmnRequest request,
+                                                                                 Class<T> responseType) {
+        Optional<DmnDecision> decision = decisions.get(
+            tenantId + "/" + tableKey,
+            key -> loadDecision(tableKey, tenantId)
+        );
+        if (decision.isEmpty()) {
+            return Optional.empty();
+        }
+
+        VariableMap variables = Variables.createVariables();
+        request.getVariables().forEach(
+            (name, value) -> variables.putValue(name, value == null ? null : value.getValue())
+        );
+        DmnDecisionResult result = dmnEngine.evaluateDecision(decision.get(), variables);
+
+        List<T> results = result.stream()
+            .map(entries -> objectMapper.convertValue(toDmnValues(entries), responseType))
+            .toList();
+        return Optional.of(new EvaluateDmnResponse<>(results));
+    }
+
+    private Optional<DmnDecision> loadDecision(String tableKey, String tenantId) {
+        try {
+            Optional<String> dmnXml = dmnDefinitionSource.getDmnXml(tableKey, tenantId);
+            if (dmnXml.isEmpty()) {
+                log.info("No DMN definition of table '{}' for tenant '{}'", tableKey, tenantId);
+                return Optional.empty();
+            }
+            return Optional.of(dmnEngine.parseDecision(
+                tableKey,
+                new ByteArrayInputStream(dmnXml.get().getBytes(UTF_8))
+            ));
+        } catch (RuntimeException ex) {
+            log.warn("Could not load DMN definition of table '{}' for tenant '{}'", tableKey, tenantId, ex);
+            return Optional.empty();
+        }
+    }
+
+    private Map<String, DmnValue<?>> toDmnValues(DmnDecisionResultEntries entries) {
+        Map<String, DmnValue<?>> values = new LinkedHashMap<>();
+        entries.getEntryMapTyped().forEach((name, value) -> values.put(name, toDmnValue(value)));
+        return values;
+    }
+
+    private DmnValue<?> toDmnValue(TypedValue value) {
+        if (value == null) {
+            return null;
+        }
+        // the type names as the Camunda REST API returns them, e.g. String rather than string
+        String type = value.getType() == null ? null : StringUtils.capitalize(value.getType().getName());
+        return new DmnValue<>(value.getValue(), type);
+    }
+}
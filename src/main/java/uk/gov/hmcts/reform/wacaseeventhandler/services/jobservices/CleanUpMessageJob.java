@@ -35,6 +35,10 @@ public class CleanUpMessageJob implements MessageJob {
 
     @Override
     public List<String> run() {
+        if (!caseEventMessageRepository.tryLockJob(CLEAN_UP_MESSAGES.name())) {
+            log.info("{} job is already running on another replica", CLEAN_UP_MESSAGES.name());
+            return emptyList();
+        }
 
         LocalDateTime deleteBefore = LocalDateTime.now().minusDays(cleanUpJobConfiguration.getStartedDaysBefore());
         log.info("Clean up problem messages for job name '{}' from case db. {} ",
@@ -0,0 +1,105 @@
+-- Head (earliest unprocessed message) of every case, used by the claim query instead of grouping
+-- all unprocessed messages on every poll.
+CREATE TABLE public.wa_case_event_heads(
+      case_id text NOT NULL PRIMARY KEY,
+      head_message_id text,
+      head_event_timestamp timestamp,
+      blocked_by_null_timestamp boolean NOT NULL DEFAULT false
+);
+
+CREATE INDEX idx_wa_case_event_heads_claimable
+  ON public.wa_case_event_heads (head_message_id)
+  WHERE head_message_id IS NOT NULL AND NOT blocked_by_null_timestamp;
+
+CREATE OR REPLACE FUNCTION public.refresh_wa_case_event_head(p_case_id text) RETURNS void AS $$
+DECLARE
+  v_message_id text;
+  v_event_timestamp timestamp;
+BEGIN
+  IF p_case_id IS NULL THEN
+    RETURN;
+  END IF;
+
+  -- Lock the head row before recomputing it, so that a concurrent writer for the same case waits
+  -- and then recomputes from a snapshot that includes the messages committed by the first writer.
+  INSERT INTO public.wa_case_event_heads (case_id) VALUES (p_case_id) ON CONFLICT (case_id) DO NOTHING;
+  PERFORM 1 FROM public.wa_case_event_heads WHERE case_id = p_case_id FOR UPDATE;
+
+  IF NOT EXISTS (SELECT 1 FROM public.wa_case_event_messages WHERE case_id = p_case_id) THEN
+    DELETE FROM public.wa_case_event_heads WHERE case_id = p_case_id;
+    RETURN;
+  END IF;
+
+  SELECT message_id, event_timestamp INTO v_message_id, v_event_timestamp
+  FROM public.wa_case_event_messages
+  WHERE case_id = p_case_id
+    AND state <> 'PROCESSED'
+    AND event_timestamp IS NOT NULL
+  ORDER BY event_timestamp, sequence
+  LIMIT 1;
+
+  UPDATE public.wa_case_event_heads
+  SET head_message_id = v_message_id,
+      head_event_timestamp = v_event_timestamp,
+      blocked_by_null_timestamp = EXISTS (SELECT 1 FROM public.wa_case_event_messages
+                                          WHERE case_id = p_case_id
+                                            AND event_timestamp IS NULL)
+  WHERE case_id = p_case_id;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION public.maintain_wa_case_event_heads() RETURNS trigger AS $$
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    PERFORM public.refresh_wa_case_event_head(NEW.case_id);
+  ELSIF TG_OP = 'DELETE' THEN
+    PERFORM public.refresh_wa_case_event_head(OLD.case_id);
+  ELSE
+    PERFORM public.refresh_wa_case_event_head(NEW.case_id);
+    IF OLD.case_id IS DISTINCT FROM NEW.case_id THEN
+      PERFORM public.refresh_wa_case_event_head(OLD.case_id);
+    END IF;
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION public.truncate_wa_case_event_heads() RETURNS trigger AS $$
+BEGIN
+  TRUNCATE public.wa_case_event_heads;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_wa_case_event_heads_insert_delete
+  AFTER INSERT OR DELETE ON public.wa_case_event_messages
+  FOR EACH ROW EXECUTE FUNCTION public.maintain_wa_case_event_heads();
+
+-- NEW to READY transitions and retry details do not move the head of a case
+CREATE TRIGGER trg_wa_case_event_heads_update
+  AFTER UPDATE OF case_id, event_timestamp, state ON public.wa_case_event_messages
+  FOR EACH ROW
+  WHEN (OLD.case_id IS DISTINCT FROM NEW.case_id
+        OR OLD.event_timestamp IS DISTINCT FROM NEW.event_timestamp
+        OR (OLD.state = 'PROCESSED') <> (NEW.state = 'PROCESSED'))
+  EXECUTE FUNCTION public.maintain_wa_case_event_heads();
+
+CREATE TRIGGER trg_wa_case_event_heads_truncate
+  AFTER TRUNCATE ON public.wa_case_event_messages
+  FOR EACH STATEMENT EXECUTE FUNCTION public.truncate_wa_case_event_heads();
+
+INSERT INTO public.wa_case_event_heads (case_id, head_message_id, head_event_timestamp, blocked_by_null_timestamp)
+SELECT cases.case_id,
+       head.message_id,
+       head.event_timestamp,
+       EXISTS (SELECT 1 FROM public.wa_case_event_messages n
+               WHERE n.case_id = cases.case_id
+                 AND n.event_timestamp IS NULL)
+FROM (SELECT DISTINCT case_id FROM public.wa_case_event_messages WHERE case_id IS NOT NULL) cases
+LEFT JOIN LATERAL (SELECT m.message_id, m.event_timestamp
+                   FROM public.wa_case_event_messages m
+                   WHERE m.case_id = cases.case_id
+                     AND m.state <> 'PROCESSED'
+                     AND m.event_timestamp IS NOT NULL
+                   ORDER BY m.event_timestamp, m.sequence
+                   LIMIT 1) head ON true;
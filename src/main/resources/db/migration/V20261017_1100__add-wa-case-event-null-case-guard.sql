@@ -0,0 +1,47 @@
+-- Number of messages stored without a case id. While it is above zero no message is claimed for processing,
+-- the claim query reads this single row instead of scanning wa_case_event_messages for null case ids.
+CREATE TABLE public.wa_case_event_null_case_guard(
+      id boolean NOT NULL PRIMARY KEY DEFAULT true CHECK (id),
+      message_count bigint NOT NULL DEFAULT 0
+);
+
+INSERT INTO public.wa_case_event_null_case_guard (message_count)
+SELECT count(*) FROM public.wa_case_event_messages WHERE case_id IS NULL;
+
+CREATE OR REPLACE FUNCTION public.maintain_wa_case_event_null_case_guard() RETURNS trigger AS $$
+BEGIN
+  IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND NEW.case_id IS NULL) THEN
+    UPDATE public.wa_case_event_null_case_guard SET message_count = message_count + 1;
+  ELSE
+    UPDATE public.wa_case_event_null_case_guard SET message_count = message_count - 1;
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION public.truncate_wa_case_event_heads() RETURNS trigger AS $$
+BEGIN
+  TRUNCATE public.wa_case_event_heads;
+  UPDATE public.wa_case_event_null_case_guard SET message_count = 0;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- only writes of messages without a case id touch the guard row
+CREATE TRIGGER trg_wa_case_event_null_case_guard_insert
+  AFTER INSERT ON public.wa_case_event_messages
+  FOR EACH ROW
+  WHEN (NEW.case_id IS NULL)
+  EXECUTE FUNCTION public.maintain_wa_case_event_null_case_guard();
+
+CREATE TRIGGER trg_wa_case_event_null_case_guard_delete
+  AFTER DELETE ON public.wa_case_event_messages
+  FOR EACH ROW
+  WHEN (OLD.case_id IS NULL)
+  EXECUTE FUNCTION public.maintain_wa_case_event_null_case_guard();
+
+CREATE TRIGGER trg_wa_case_event_null_case_guard_update
+  AFTER UPDATE OF case_id ON public.wa_case_event_messages
+  FOR EACH ROW
+  WHEN ((OLD.case_id IS NULL) <> (NEW.case_id IS NULL))
+  EXECUTE FUNCTION public.maintain_wa_case_event_null_case_guard();
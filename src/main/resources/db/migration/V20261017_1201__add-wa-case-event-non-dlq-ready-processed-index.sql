@@ -0,0 +1,5 @@
+-- The claim query reads the latest event timestamp of a non dlq message in READY or PROCESSED state from this
+-- index, a message from the dlq becomes eligible for processing once it is 30 minutes past its event timestamp.
+CREATE INDEX ${concurrently} IF NOT EXISTS idx_wacem_non_dlq_ready_processed_ts
+  ON public.wa_case_event_messages (event_timestamp)
+  WHERE NOT from_dlq AND state IN ('READY', 'PROCESSED');
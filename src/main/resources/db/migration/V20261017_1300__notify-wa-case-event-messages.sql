@@ -0,0 +1,24 @@
+-- Wake up the database consumers listening on these channels. Notifications are delivered on commit and
+-- identical notifications raised by the same transaction are delivered once.
+CREATE OR REPLACE FUNCTION public.notify_wa_case_event_messages() RETURNS trigger AS $$
+BEGIN
+  IF NEW.state = 'NEW' THEN
+    PERFORM pg_notify('wa_case_event_messages_new', '');
+  ELSIF NEW.state = 'READY' THEN
+    PERFORM pg_notify('wa_case_event_messages_ready', '');
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_wa_case_event_messages_notify_insert
+  AFTER INSERT ON public.wa_case_event_messages
+  FOR EACH ROW
+  WHEN (NEW.state IN ('NEW', 'READY'))
+  EXECUTE FUNCTION public.notify_wa_case_event_messages();
+
+CREATE TRIGGER trg_wa_case_event_messages_notify_update
+  AFTER UPDATE OF state ON public.wa_case_event_messages
+  FOR EACH ROW
+  WHEN (NEW.state IN ('NEW', 'READY') AND OLD.state IS DISTINCT FROM NEW.state)
+  EXECUTE FUNCTION public.notify_wa_case_event_messages();
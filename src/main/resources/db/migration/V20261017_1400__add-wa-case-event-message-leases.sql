@@ -0,0 +1,4 @@
+-- A claimed message is leased to the worker processing it until lease_expires_at, the claim transaction
+-- commits straight away and a message with an expired lease can be claimed again.
+ALTER TABLE public.wa_case_event_messages ADD COLUMN claimed_by text;
+ALTER TABLE public.wa_case_event_messages ADD COLUMN lease_expires_at timestamp;
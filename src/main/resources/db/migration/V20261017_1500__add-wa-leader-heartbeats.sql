@@ -0,0 +1,7 @@
+-- The leader of each singleton role records a heartbeat on every election round, a replica taking over the
+-- leadership measures the failover time from the last heartbeat of the previous leader.
+CREATE TABLE public.wa_leader_heartbeats(
+      role text NOT NULL PRIMARY KEY,
+      leader_id text NOT NULL,
+      heartbeat timestamp NOT NULL
+);
@@ -0,0 +1,9 @@
+-- Jurisdiction and case type are read from the message when it is stored, the claim query schedules
+-- READY messages fairly between them. Messages still to be processed are filled in from their content.
+ALTER TABLE public.wa_case_event_messages ADD COLUMN jurisdiction_id text;
+ALTER TABLE public.wa_case_event_messages ADD COLUMN case_type_id text;
+
+UPDATE public.wa_case_event_messages
+SET jurisdiction_id = cast(message_content as jsonb) ->> 'JurisdictionId',
+    case_type_id = cast(message_content as jsonb) ->> 'CaseTypeId'
+WHERE state IN ('NEW', 'READY');
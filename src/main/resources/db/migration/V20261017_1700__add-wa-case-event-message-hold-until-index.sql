@@ -0,0 +1,4 @@
+-- Messages held after a failure, loaded into the held message timers when a replica starts
+CREATE INDEX ${concurrently} IF NOT EXISTS idx_wa_case_event_messages_hold_until
+  ON public.wa_case_event_messages (hold_until)
+  WHERE state = 'READY' AND hold_until IS NOT NULL;
@@ -10,20 +10,29 @@ import com.azure.messaging.servicebus.ServiceBusSessionReceiverClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.scheduler.Schedulers;
 import uk.gov.hmcts.reform.wacaseeventhandler.config.ServiceBusConfiguration;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.ReceivedEventMessage;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.EventMessageReceiverService;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -32,6 +41,9 @@ import static org.testcontainers.shaded.org.awaitility.Awaitility.await;
 @ExtendWith(MockitoExtension.class)
 class CcdCaseEventConsumerTest {
 
+    private static final int BATCH_SIZE = 10;
+    private static final Duration BATCH_WAIT = Duration.ofMillis(100);
+
     @Mock
     private ServiceBusConfiguration serviceBusConfiguration;
     @Mock
@@ -44,12 +56,16 @@ class CcdCaseEventConsumerTest {
     private LaunchDarklyFeatureFlagProvider featureFlagProvider;
     @Mock
     private EventMessageReceiverService eventMessageReceiverService;
+    @Captor
+    private ArgumentCaptor<List<ReceivedEventMessage>> receivedEventMessagesCaptor;
 
     private CcdCaseEventsConsumer underTest;
 
     @BeforeEach
     void setUp() {
         underTest = new CcdCaseEventsConsumer(serviceBusConfiguration, eventMessageReceiverService);
+        ReflectionTestUtils.setField(underTest, "receiveBatchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(underTest, "receiveBatchWaitMilliSeconds", BATCH_WAIT.toMillis());
     }
 
     @Test
@@ -104,6 +120,7 @@ class CcdCaseEventConsumerTest {
 
         publishMessageToReceiver();
 
+        doThrow(new RuntimeException()).when(eventMessageReceiverService).handleCcdCaseEventAsbMessages(any());
         doThrow(new RuntimeException()).when(eventMessageReceiverService)
             .handleCcdCaseEventAsbMessage(any(), any(), any());
 
@@ -131,7 +148,7 @@ class CcdCaseEventConsumerTest {
     void should_start_consume_messages_when_consumer_start_is_called() {
         when(serviceBusConfiguration.createCcdCaseEventsSessionReceiver()).thenReturn(sessionReceiverClient);
         when(sessionReceiverClient.acceptNextSession()).thenReturn(receiverClient);
-        when(receiverClient.receiveMessages(1)).thenReturn(new IterableStream<>(Flux.empty()));
+        when(receiverClient.receiveMessages(BATCH_SIZE, BATCH_WAIT)).thenReturn(new IterableStream<>(Flux.empty()));
 
         Thread consumer = new Thread(underTest);
         consumer.start();
@@ -140,7 +157,7 @@ class CcdCaseEventConsumerTest {
             .atMost(1, TimeUnit.SECONDS)
             .untilAsserted(() -> {
                 verify(sessionReceiverClient, atLeastOnce()).acceptNextSession();
-                verify(receiverClient, atLeastOnce()).receiveMessages(1);
+                verify(receiverClient, atLeastOnce()).receiveMessages(BATCH_SIZE, BATCH_WAIT);
             });
         underTest.stop();
     }
@@ -152,19 +169,63 @@ class CcdCaseEventConsumerTest {
         consumer.start();
 
         verify(sessionReceiverClient, never()).acceptNextSession();
-        verify(receiverClient, never()).receiveMessages(1);
+        verify(receiverClient, never()).receiveMessages(BATCH_SIZE, BATCH_WAIT);
+    }
+
+    @Test
+    void should_complete_batch_of_messages_after_batch_is_stored() {
+        ServiceBusReceivedMessage secondMessage = mock(ServiceBusReceivedMessage.class);
+        when(receivedMessage.getBody()).thenReturn(BinaryData.fromString("TestMessage"));
+        when(secondMessage.getBody()).thenReturn(BinaryData.fromString("SecondTestMessage"));
+
+        publishMessagesToReceiver(receivedMessage, secondMessage);
+
+        underTest.consumeMessage(sessionReceiverClient);
+
+        verify(eventMessageReceiverService).handleCcdCaseEventAsbMessages(receivedEventMessagesCaptor.capture());
+        assertEquals(List.of("TestMessage", "SecondTestMessage"), receivedEventMessagesCaptor.getValue().stream()
+            .map(ReceivedEventMessage::getMessage)
+            .toList());
+        verify(receiverClient).complete(receivedMessage);
+        verify(receiverClient).complete(secondMessage);
+        verify(eventMessageReceiverService, never()).handleCcdCaseEventAsbMessage(any(), any(), any());
+    }
+
+    @Test
+    void should_store_messages_one_at_a_time_and_abandon_only_failed_message_when_batch_fails() {
+        ServiceBusReceivedMessage secondMessage = mock(ServiceBusReceivedMessage.class);
+        when(receivedMessage.getMessageId()).thenReturn("first");
+        when(receivedMessage.getBody()).thenReturn(BinaryData.fromString("TestMessage"));
+        when(secondMessage.getMessageId()).thenReturn("second");
+        when(secondMessage.getBody()).thenReturn(BinaryData.fromString("SecondTestMessage"));
+
+        publishMessagesToReceiver(receivedMessage, secondMessage);
+
+        doThrow(new RuntimeException()).when(eventMessageReceiverService).handleCcdCaseEventAsbMessages(any());
+        when(eventMessageReceiverService.handleCcdCaseEventAsbMessage(eq("first"), any(), any())).thenReturn(null);
+        doThrow(new RuntimeException()).when(eventMessageReceiverService)
+            .handleCcdCaseEventAsbMessage(eq("second"), any(), any());
+
+        underTest.consumeMessage(sessionReceiverClient);
+
+        verify(receiverClient).complete(receivedMessage);
+        verify(receiverClient, never()).abandon(receivedMessage);
+        verify(receiverClient, never()).complete(secondMessage);
+        verify(receiverClient).abandon(secondMessage);
     }
 
     private void publishMessageToReceiver() {
+        publishMessagesToReceiver(receivedMessage);
+    }
+
+    private void publishMessagesToReceiver(ServiceBusReceivedMessage... messages) {
         when(sessionReceiverClient.acceptNextSession()).thenReturn(receiverClient);
 
-        final Flux<ServiceBusReceivedMessage> iterableStreamFlux = Flux.<ServiceBusReceivedMessage>create(
-            sink -> {
-                sink.next(receivedMessage);
-                sink.complete();
-            }).subscribeOn(Schedulers.single());
+        final Flux<ServiceBusReceivedMessage> iterableStreamFlux = Flux.fromArray(messages)
+            .subscribeOn(Schedulers.single());
 
-        when(receiverClient.receiveMessages(1)).thenReturn(new IterableStream<>(iterableStreamFlux));
+        when(receiverClient.receiveMessages(BATCH_SIZE, BATCH_WAIT))
+            .thenReturn(new IterableStream<>(iterableStreamFlux));
     }
 
     @Test
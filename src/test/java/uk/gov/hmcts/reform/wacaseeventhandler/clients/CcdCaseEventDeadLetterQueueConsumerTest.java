@@ -9,21 +9,30 @@ import com.azure.messaging.servicebus.ServiceBusReceiverClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.scheduler.Schedulers;
 import uk.gov.hmcts.reform.wacaseeventhandler.config.ServiceBusConfiguration;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.ReceivedEventMessage;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.EventMessageReceiverService;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,6 +40,9 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class CcdCaseEventDeadLetterQueueConsumerTest {
 
+    private static final int BATCH_SIZE = 10;
+    private static final Duration BATCH_WAIT = Duration.ofMillis(100);
+
     @Mock
     private ServiceBusConfiguration serviceBusConfiguration;
     @Mock
@@ -39,6 +51,8 @@ class CcdCaseEventDeadLetterQueueConsumerTest {
     private ServiceBusReceivedMessage receivedMessage;
     @Mock
     private EventMessageReceiverService eventMessageReceiverService;
+    @Captor
+    private ArgumentCaptor<List<ReceivedEventMessage>> receivedEventMessagesCaptor;
     @Mock
     private LaunchDarklyFeatureFlagProvider featureFlagProvider;
 
@@ -47,6 +61,8 @@ class CcdCaseEventDeadLetterQueueConsumerTest {
     @BeforeEach
     void setUp() {
         underTest = new CcdCaseEventsDeadLetterQueueConsumer(serviceBusConfiguration, eventMessageReceiverService);
+        ReflectionTestUtils.setField(underTest, "receiveBatchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(underTest, "receiveBatchWaitMilliSeconds", BATCH_WAIT.toMillis());
     }
 
     @Test
@@ -102,6 +118,7 @@ class CcdCaseEventDeadLetterQueueConsumerTest {
 
         publishMessageToReceiver();
 
+        doThrow(new RuntimeException()).when(eventMessageReceiverService).handleDlqMessages(any());
         doThrow(new RuntimeException()).when(eventMessageReceiverService).handleDlqMessage(any(), any(), any());
 
         underTest.consumeMessage(receiverClient);
@@ -115,14 +132,14 @@ class CcdCaseEventDeadLetterQueueConsumerTest {
     @Test
     void should_start_consume_messages_when_consumer_start_is_called() {
         when(serviceBusConfiguration.createCcdCaseEventsDeadLetterQueueSessionReceiver()).thenReturn(receiverClient);
-        when(receiverClient.receiveMessages(1)).thenReturn(new IterableStream<>(Flux.empty()));
+        when(receiverClient.receiveMessages(BATCH_SIZE, BATCH_WAIT)).thenReturn(new IterableStream<>(Flux.empty()));
 
         Thread consumer = new Thread(underTest);
         consumer.start();
 
         await()
             .atMost(1, TimeUnit.SECONDS)
-            .untilAsserted(() -> verify(receiverClient, atLeastOnce()).receiveMessages(1));
+            .untilAsserted(() -> verify(receiverClient, atLeastOnce()).receiveMessages(BATCH_SIZE, BATCH_WAIT));
         underTest.stop();
     }
 
@@ -132,17 +149,61 @@ class CcdCaseEventDeadLetterQueueConsumerTest {
         Thread consumer = new Thread(underTest);
         consumer.start();
 
-        verify(receiverClient, never()).receiveMessages(1);
+        verify(receiverClient, never()).receiveMessages(BATCH_SIZE, BATCH_WAIT);
+    }
+
+    @Test
+    void should_complete_batch_of_messages_after_batch_is_stored() {
+        ServiceBusReceivedMessage secondMessage = mock(ServiceBusReceivedMessage.class);
+        when(receivedMessage.getBody()).thenReturn(BinaryData.fromString("TestMessage"));
+        when(secondMessage.getBody()).thenReturn(BinaryData.fromString("SecondTestMessage"));
+
+        publishMessagesToReceiver(receivedMessage, secondMessage);
+
+        underTest.consumeMessage(receiverClient);
+
+        verify(eventMessageReceiverService).handleDlqMessages(receivedEventMessagesCaptor.capture());
+        assertEquals(List.of("TestMessage", "SecondTestMessage"), receivedEventMessagesCaptor.getValue().stream()
+            .map(ReceivedEventMessage::getMessage)
+            .toList());
+        verify(receiverClient).complete(receivedMessage);
+        verify(receiverClient).complete(secondMessage);
+        verify(eventMessageReceiverService, never()).handleDlqMessage(any(), any(), any());
+    }
+
+    @Test
+    void should_store_messages_one_at_a_time_and_abandon_only_failed_message_when_batch_fails() {
+        ServiceBusReceivedMessage secondMessage = mock(ServiceBusReceivedMessage.class);
+        when(receivedMessage.getMessageId()).thenReturn("first");
+        when(receivedMessage.getBody()).thenReturn(BinaryData.fromString("TestMessage"));
+        when(secondMessage.getMessageId()).thenReturn("second");
+        when(secondMessage.getBody()).thenReturn(BinaryData.fromString("SecondTestMessage"));
+
+        publishMessagesToReceiver(receivedMessage, secondMessage);
+
+        doThrow(new RuntimeException()).when(eventMessageReceiverService).handleDlqMessages(any());
+        when(eventMessageReceiverService.handleDlqMessage(eq("first"), any(), any())).thenReturn(null);
+        doThrow(new RuntimeException()).when(eventMessageReceiverService)
+            .handleDlqMessage(eq("second"), any(), any());
+
+        underTest.consumeMessage(receiverClient);
+
+        verify(receiverClient).complete(receivedMessage);
+        verify(receiverClient, never()).abandon(receivedMessage);
+        verify(receiverClient, never()).complete(secondMessage);
+        verify(receiverClient).abandon(secondMessage);
     }
 
     private void publishMessageToReceiver() {
-        final Flux<ServiceBusReceivedMessage> iterableStreamFlux = Flux.<ServiceBusReceivedMessage>create(
-            sink -> {
-                sink.next(receivedMessage);
-                sink.complete();
-            }).subscribeOn(Schedulers.single());
+        publishMessagesToReceiver(receivedMessage);
+    }
+
+    private void publishMessagesToReceiver(ServiceBusReceivedMessage... messages) {
+        final Flux<ServiceBusReceivedMessage> iterableStreamFlux = Flux.fromArray(messages)
+            .subscribeOn(Schedulers.single());
 
-        when(receiverClient.receiveMessages(1)).thenReturn(new IterableStream<>(iterableStreamFlux));
+        when(receiverClient.receiveMessages(BATCH_SIZE, BATCH_WAIT))
+            .thenReturn(new IterableStream<>(iterableStreamFlux));
     }
 
 }
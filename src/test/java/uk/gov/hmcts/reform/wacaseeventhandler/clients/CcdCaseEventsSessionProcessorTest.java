@@ -0,0 +1,112 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import com.azure.core.util.BinaryData;
+import com.azure.messaging.servicebus.ServiceBusProcessorClient;
+import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
+import com.azure.messaging.servicebus.ServiceBusReceivedMessageContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.ServiceBusConfiguration;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.EventMessageReceiverService;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CcdCaseEventsSessionProcessorTest {
+
+    @Mock
+    private ServiceBusConfiguration serviceBusConfiguration;
+    @Mock
+    private ServiceBusProcessorClient processorClient;
+    @Mock
+    private EventMessageReceiverService eventMessageReceiverService;
+
+    private CcdCaseEventsSessionProcessor underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CcdCaseEventsSessionProcessor(serviceBusConfiguration, eventMessageReceiverService);
+    }
+
+    @Test
+    void should_complete_message_when_message_is_handled() {
+        ServiceBusReceivedMessageContext context = messageContext("some_message_id", "TestMessage");
+
+        underTest.processMessage(context);
+
+        verify(eventMessageReceiverService)
+            .handleCcdCaseEventAsbMessage("some_message_id", "some_session_id", "TestMessage");
+        verify(context).complete();
+        verify(context, never()).abandon();
+    }
+
+    @Test
+    void should_abandon_message_when_handling_message_throws_error() {
+        ServiceBusReceivedMessageContext context = messageContext("some_message_id", "TestMessage");
+        doThrow(new RuntimeException()).when(eventMessageReceiverService)
+            .handleCcdCaseEventAsbMessage(any(), any(), any());
+
+        underTest.processMessage(context);
+
+        verify(context).abandon();
+        verify(context, never()).complete();
+    }
+
+    @Test
+    void should_handle_messages_delivered_by_the_processor_once_started() {
+        List<ServiceBusReceivedMessageContext> standInSource = List.of(
+            messageContext("first_message_id", "FirstMessage"),
+            messageContext("second_message_id", "SecondMessage"));
+        when(serviceBusConfiguration.createCcdCaseEventsSessionProcessor(any(), any())).thenAnswer(invocation -> {
+            Consumer<ServiceBusReceivedMessageContext> processMessage = invocation.getArgument(0);
+            doAnswer(start -> {
+                standInSource.forEach(processMessage);
+                return null;
+            }).when(processorClient).start();
+            return processorClient;
+        });
+
+        underTest.start();
+
+        verify(eventMessageReceiverService)
+            .handleCcdCaseEventAsbMessage(eq("first_message_id"), any(), eq("FirstMessage"));
+        verify(eventMessageReceiverService)
+            .handleCcdCaseEventAsbMessage(eq("second_message_id"), any(), eq("SecondMessage"));
+        standInSource.forEach(context -> verify(context).complete());
+    }
+
+    @Test
+    void should_close_processor_when_stopped() {
+        when(serviceBusConfiguration.createCcdCaseEventsSessionProcessor(any(), any())).thenReturn(processorClient);
+
+        underTest.start();
+        underTest.stop();
+
+        verify(processorClient).start();
+        verify(processorClient).close();
+    }
+
+    private static ServiceBusReceivedMessageContext messageContext(String messageId, String body) {
+        ServiceBusReceivedMessage message = mock(ServiceBusReceivedMessage.class);
+        when(message.getMessageId()).thenReturn(messageId);
+        when(message.getSessionId()).thenReturn("some_session_id");
+        when(message.getBody()).thenReturn(BinaryData.fromString(body));
+
+        ServiceBusReceivedMessageContext context = mock(ServiceBusReceivedMessageContext.class);
+        when(context.getMessage()).thenReturn(message);
+        return context;
+    }
+}
@@ -6,6 +6,8 @@ import com.microsoft.applicationinsights.extensibility.context.OperationContext;
 import com.microsoft.applicationinsights.telemetry.TelemetryContext;
 import feign.FeignException;
 import feign.Request;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,15 +20,20 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.RetryBackoffConfiguration;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.CaseEventMessage;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.SchedulingKey;
 import uk.gov.hmcts.reform.wacaseeventhandler.entity.CaseEventMessageEntity;
 import uk.gov.hmcts.reform.wacaseeventhandler.entity.MessageState;
 import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.CaseEventMessageMapper;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.FairClaimScheduler;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.UpdateRecordErrorHandlingService;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.ccd.CcdEventProcessor;
 
@@ -34,10 +41,15 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
@@ -45,6 +57,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -65,6 +78,18 @@ class DatabaseMessageConsumerTest {
     @Mock
     private UpdateRecordErrorHandlingService updateRecordErrorHandlingService;
 
+    @Mock
+    private CaseBucketOwnership caseBucketOwnership;
+
+    @Mock
+    private FairClaimScheduler fairClaimScheduler;
+
+    @Spy
+    private RetryBackoffPolicy retryBackoffPolicy = new RetryBackoffPolicy(new RetryBackoffConfiguration());
+
+    @Mock
+    private HeldMessageTimer heldMessageTimer;
+
     @Mock
     private TransactionTemplate transactionTemplate;
 
@@ -80,6 +105,9 @@ class DatabaseMessageConsumerTest {
     @Mock
     private OperationContext operationContext;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private DatabaseMessageConsumer databaseMessageConsumer;
 
@@ -95,6 +123,12 @@ class DatabaseMessageConsumerTest {
         lenient().when(telemetryContext.getOperation()).thenReturn(operationContext);
     }
 
+    private CaseEventMessageEntity caseMessageEntity(String caseId) {
+        CaseEventMessageEntity caseEventMessageEntity = createCaseEventMessageEntity();
+        caseEventMessageEntity.setCaseId(caseId);
+        return caseEventMessageEntity;
+    }
+
     @NotNull
     private CaseEventMessageEntity createCaseEventMessageEntity() {
         CaseEventMessageEntity caseEventMessageEntity = new CaseEventMessageEntity();
@@ -105,7 +139,7 @@ class DatabaseMessageConsumerTest {
     @Test
     void should_not_process_message_if_null_message_selected() {
         when(caseEventMessageRepository.getNextAvailableMessageReadyToProcess()).thenReturn(null);
-        databaseMessageConsumer.run();
+        databaseMessageConsumer.processReadyMessages();
         verify(caseEventMessageMapper, never()).mapToCaseEventMessage(any());
         verifyNoInteractions(ccdEventProcessor);
     }
@@ -119,7 +153,7 @@ class DatabaseMessageConsumerTest {
         final CaseEventMessage caseEventMessage = createCaseEventMessage();
         when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
             .thenReturn(caseEventMessage);
-        databaseMessageConsumer.run();
+        databaseMessageConsumer.processReadyMessages();
         verify(caseEventMessageMapper).mapToCaseEventMessage(caseEventMessageEntity);
         verify(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
     }
@@ -143,13 +177,14 @@ class DatabaseMessageConsumerTest {
 
         doThrow(internalServerError)
             .when(ccdEventProcessor).processMessage(caseEventMessage);
-        databaseMessageConsumer.run();
+        databaseMessageConsumer.processReadyMessages();
 
         verify(caseEventMessageMapper).mapToCaseEventMessage(caseEventMessageEntity);
         verify(ccdEventProcessor).processMessage(caseEventMessage);
-        verify(caseEventMessageRepository).updateMessageState(
-            MessageState.UNPROCESSABLE,
-            List.of(caseEventMessage.getMessageId())
+        verify(caseEventMessageRepository).updateLeasedMessageState(
+            eq(MessageState.UNPROCESSABLE),
+            eq(caseEventMessage.getMessageId()),
+            anyString()
         );
     }
 
@@ -164,19 +199,21 @@ class DatabaseMessageConsumerTest {
 
         doThrow(mock(JsonProcessingException.class))
             .when(ccdEventProcessor).processMessage(caseEventMessage);
-        databaseMessageConsumer.run();
+        databaseMessageConsumer.processReadyMessages();
 
         verify(caseEventMessageMapper).mapToCaseEventMessage(caseEventMessageEntity);
         verify(ccdEventProcessor).processMessage(caseEventMessage);
-        verify(caseEventMessageRepository).updateMessageState(
-            MessageState.UNPROCESSABLE,
-            List.of(caseEventMessage.getMessageId())
+        verify(caseEventMessageRepository).updateLeasedMessageState(
+            eq(MessageState.UNPROCESSABLE),
+            eq(caseEventMessage.getMessageId()),
+            anyString()
         );
     }
 
     private static List<Arguments> getRetryableTestParameters() {
-        return DatabaseMessageConsumer.RETRY_COUNT_TO_DELAY_MAP.entrySet().stream()
-            .map(entrySet -> Arguments.of(entrySet.getKey(), entrySet.getValue()))
+        List<Integer> delays = RetryBackoffConfiguration.DEFAULT_DELAYS_SECONDS;
+        return IntStream.range(0, delays.size())
+            .mapToObj(index -> Arguments.of(index + 1, delays.get(index)))
             .toList();
     }
 
@@ -203,11 +240,12 @@ class DatabaseMessageConsumerTest {
             .when(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
         LocalDateTime now = LocalDateTime.now();
 
-        databaseMessageConsumer.run();
+        databaseMessageConsumer.processReadyMessages();
 
         synchronized (this) {
             verify(caseEventMessageRepository)
-                .updateMessageWithRetryDetails(retryCountCaptor.capture(), holdUntilCaptor.capture(), anyString());
+                .updateLeasedMessageWithRetryDetails(retryCountCaptor.capture(), holdUntilCaptor.capture(),
+                    anyString(), anyString());
             LocalDateTime updatedHoldUntilValue = holdUntilCaptor.getValue();
             assertTrue(updatedHoldUntilValue.isAfter(now));
 
@@ -239,12 +277,13 @@ class DatabaseMessageConsumerTest {
         doThrow(errorMessage)
             .when(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
 
-        databaseMessageConsumer.run();
+        databaseMessageConsumer.processReadyMessages();
 
         verify(ccdEventProcessor).processMessage(caseEventMessage);
-        verify(caseEventMessageRepository).updateMessageState(
-            MessageState.UNPROCESSABLE,
-            List.of(caseEventMessage.getMessageId())
+        verify(caseEventMessageRepository).updateLeasedMessageState(
+            eq(MessageState.UNPROCESSABLE),
+            eq(caseEventMessage.getMessageId()),
+            anyString()
         );
     }
 
@@ -257,13 +296,14 @@ class DatabaseMessageConsumerTest {
         when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
             .thenReturn(caseEventMessage);
 
-        databaseMessageConsumer.run();
+        databaseMessageConsumer.processReadyMessages();
 
         verify(caseEventMessageMapper).mapToCaseEventMessage(caseEventMessageEntity);
         verify(ccdEventProcessor).processMessage(caseEventMessage);
-        verify(caseEventMessageRepository).updateMessageState(
-            MessageState.PROCESSED,
-            List.of(caseEventMessage.getMessageId())
+        verify(caseEventMessageRepository).updateLeasedMessageState(
+            eq(MessageState.PROCESSED),
+            eq(caseEventMessage.getMessageId()),
+            anyString()
         );
     }
 
@@ -276,16 +316,14 @@ class DatabaseMessageConsumerTest {
         when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
             .thenReturn(caseEventMessage);
         String messageId = caseEventMessage.getMessageId();
-        when(caseEventMessageRepository.updateMessageState(MessageState.PROCESSED,
-                                                           List.of(messageId)))
+        when(caseEventMessageRepository.updateLeasedMessageState(eq(MessageState.PROCESSED), eq(messageId),
+                                                                 anyString()))
             .thenThrow(new RuntimeException());
 
-        when(platformTransactionManager.getTransaction(any())).thenReturn(transactionStatus);
-        doNothing().when(transactionStatus).setRollbackOnly();
+        databaseMessageConsumer.processReadyMessages();
 
-        databaseMessageConsumer.run();
-
-        verify(updateRecordErrorHandlingService).handleUpdateError(MessageState.PROCESSED, messageId, 0, null);
+        verify(updateRecordErrorHandlingService)
+            .handleUpdateError(eq(MessageState.PROCESSED), eq(messageId), eq(0), eq(null), anyString());
     }
 
     @Test
@@ -298,12 +336,10 @@ class DatabaseMessageConsumerTest {
         when(caseEventMessageRepository.getNextAvailableMessageReadyToProcess()).thenReturn(caseEventMessageEntity);
         when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
             .thenReturn(caseEventMessage);
-        when(caseEventMessageRepository.updateMessageWithRetryDetails(eq(retryCount), any(), eq(messageId)))
+        when(caseEventMessageRepository.updateLeasedMessageWithRetryDetails(eq(retryCount), any(), eq(messageId),
+                                                                            anyString()))
             .thenThrow(new RuntimeException());
 
-        when(platformTransactionManager.getTransaction(any())).thenReturn(transactionStatus);
-        doNothing().when(transactionStatus).setRollbackOnly();
-
         final Request request = mock(Request.class);
         FeignException.InternalServerError errorMessage = new FeignException.InternalServerError(
             "Error Message",
@@ -314,8 +350,349 @@ class DatabaseMessageConsumerTest {
         doThrow(errorMessage)
             .when(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
 
-        databaseMessageConsumer.run();
+        databaseMessageConsumer.processReadyMessages();
+
+        verify(updateRecordErrorHandlingService)
+            .handleUpdateError(eq(null), eq(messageId), eq(retryCount), any(), anyString());
+    }
+
+    @Test
+    void should_drain_messages_until_no_message_is_available() throws Exception {
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxMessagesPerPoll", 10);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxPollDuration", 60_000L);
+
+        when(caseEventMessageRepository.getNextAvailableMessageReadyToProcess())
+            .thenReturn(createCaseEventMessageEntity(), createCaseEventMessageEntity(), null);
+        when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
+            .thenReturn(createCaseEventMessage());
+
+        databaseMessageConsumer.processReadyMessages();
+
+        verify(caseEventMessageRepository, times(3)).getNextAvailableMessageReadyToProcess();
+        verify(ccdEventProcessor, times(2)).processMessage(any(CaseEventMessage.class));
+        assertEquals(2.0, meterRegistry.get("wa.case.event.handler.messages.drained").summary().totalAmount());
+    }
+
+    @Test
+    void should_stop_draining_messages_when_message_budget_is_exhausted() throws Exception {
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxMessagesPerPoll", 3);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxPollDuration", 60_000L);
+
+        when(caseEventMessageRepository.getNextAvailableMessageReadyToProcess())
+            .thenReturn(createCaseEventMessageEntity());
+        when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
+            .thenReturn(createCaseEventMessage());
+
+        databaseMessageConsumer.processReadyMessages();
+
+        verify(caseEventMessageRepository, times(3)).getNextAvailableMessageReadyToProcess();
+        verify(ccdEventProcessor, times(3)).processMessage(any(CaseEventMessage.class));
+        assertEquals(1, meterRegistry.get("wa.case.event.handler.messages.drained").summary().count());
+    }
+
+    @Test
+    void should_process_every_message_of_a_claimed_batch() throws Exception {
+        ReflectionTestUtils.setField(databaseMessageConsumer, "claimBatchSize", 3);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxMessagesPerPoll", 10);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxPollDuration", 60_000L);
+
+        CaseEventMessageEntity firstCaseMessage = caseMessageEntity("firstCaseId");
+        CaseEventMessageEntity secondCaseMessage = caseMessageEntity("secondCaseId");
+
+        when(caseEventMessageRepository.getNextAvailableMessagesReadyToProcess(3))
+            .thenReturn(List.of(firstCaseMessage, secondCaseMessage), List.of());
+        when(caseEventMessageRepository.renewLease(any(), anyString(), anyLong())).thenReturn(1);
+        when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
+            .thenReturn(createCaseEventMessage());
+
+        databaseMessageConsumer.processReadyMessages();
+
+        verify(caseEventMessageRepository, never()).getNextAvailableMessageReadyToProcess();
+        verify(ccdEventProcessor, times(2)).processMessage(any(CaseEventMessage.class));
+        verify(caseEventMessageRepository).leaseMessages(anyList(), anyString(), anyLong());
+        verify(caseEventMessageRepository).renewLease(any(), anyString(), anyLong());
+        verify(caseEventMessageRepository, times(2))
+            .updateLeasedMessageState(eq(MessageState.PROCESSED), anyString(), anyString());
+    }
+
+    @Test
+    void should_skip_message_of_a_claimed_batch_whose_lease_was_lost() throws Exception {
+        ReflectionTestUtils.setField(databaseMessageConsumer, "claimBatchSize", 3);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxMessagesPerPoll", 10);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxPollDuration", 60_000L);
+
+        CaseEventMessageEntity firstCaseMessage = caseMessageEntity("firstCaseId");
+        firstCaseMessage.setMessageId("firstMessageId");
+        CaseEventMessageEntity secondCaseMessage = caseMessageEntity("secondCaseId");
+        secondCaseMessage.setMessageId("secondMessageId");
+
+        when(caseEventMessageRepository.getNextAvailableMessagesReadyToProcess(3))
+            .thenReturn(List.of(firstCaseMessage, secondCaseMessage), List.of());
+        when(caseEventMessageRepository.renewLease(eq("secondMessageId"), anyString(), anyLong())).thenReturn(0);
+        when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
+            .thenReturn(createCaseEventMessage());
+
+        databaseMessageConsumer.processReadyMessages();
+
+        verify(caseEventMessageMapper).mapToCaseEventMessage(firstCaseMessage);
+        verify(caseEventMessageMapper, never()).mapToCaseEventMessage(secondCaseMessage);
+        verify(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
+    }
+
+    @Test
+    void should_release_messages_of_a_claimed_batch_left_when_poll_budget_is_exhausted() throws Exception {
+        ReflectionTestUtils.setField(databaseMessageConsumer, "claimBatchSize", 3);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxMessagesPerPoll", 1);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxPollDuration", 60_000L);
+
+        CaseEventMessageEntity firstCaseMessage = caseMessageEntity("firstCaseId");
+        firstCaseMessage.setMessageId("firstMessageId");
+        CaseEventMessageEntity secondCaseMessage = caseMessageEntity("secondCaseId");
+        secondCaseMessage.setMessageId("secondMessageId");
+        CaseEventMessageEntity thirdCaseMessage = caseMessageEntity("thirdCaseId");
+        thirdCaseMessage.setMessageId("thirdMessageId");
+
+        when(caseEventMessageRepository.getNextAvailableMessagesReadyToProcess(3))
+            .thenReturn(List.of(firstCaseMessage, secondCaseMessage, thirdCaseMessage));
+        when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
+            .thenReturn(createCaseEventMessage());
+
+        databaseMessageConsumer.processReadyMessages();
+
+        verify(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
+        verify(caseEventMessageRepository)
+            .releaseLeases(eq(List.of("secondMessageId", "thirdMessageId")), anyString());
+        verify(caseEventMessageRepository, never()).renewLease(any(), anyString(), anyLong());
+    }
+
+    @Test
+    void should_stop_draining_a_case_when_poll_budget_is_exhausted() throws Exception {
+        ReflectionTestUtils.setField(databaseMessageConsumer, "caseDrainLimit", 5);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxMessagesPerPoll", 2);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxPollDuration", 60_000L);
+        when(caseEventMessageRepository.getNextAvailableMessageReadyToProcess())
+            .thenReturn(caseMessageEntity("caseId"));
+        when(caseEventMessageRepository.getNextAvailableCaseMessageReadyToProcess("caseId"))
+            .thenReturn(caseMessageEntity("caseId"));
+        when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
+            .thenReturn(createCaseEventMessage());
+
+        databaseMessageConsumer.processReadyMessages();
+
+        verify(caseEventMessageRepository).getNextAvailableCaseMessageReadyToProcess("caseId");
+        verify(ccdEventProcessor, times(2)).processMessage(any(CaseEventMessage.class));
+    }
+
+    @Test
+    void should_drain_subsequent_messages_of_a_processed_case_up_to_drain_limit() throws Exception {
+        ReflectionTestUtils.setField(databaseMessageConsumer, "caseDrainLimit", 2);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxMessagesPerPoll", 3);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxPollDuration", 60_000L);
+        when(caseEventMessageRepository.getNextAvailableMessageReadyToProcess())
+            .thenReturn(caseMessageEntity("caseId"));
+        when(caseEventMessageRepository.getNextAvailableCaseMessageReadyToProcess("caseId"))
+            .thenReturn(caseMessageEntity("caseId"), caseMessageEntity("caseId"));
+        when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
+            .thenReturn(createCaseEventMessage());
+
+        databaseMessageConsumer.processReadyMessages();
+
+        verify(caseEventMessageRepository).getNextAvailableMessageReadyToProcess();
+        verify(caseEventMessageRepository, times(2)).getNextAvailableCaseMessageReadyToProcess("caseId");
+        verify(ccdEventProcessor, times(3)).processMessage(any(CaseEventMessage.class));
+        verify(caseEventMessageRepository, times(3)).leaseMessages(anyList(), anyString(), anyLong());
+    }
+
+    @Test
+    void should_stop_draining_a_case_when_a_subsequent_message_is_not_processed() throws Exception {
+        ReflectionTestUtils.setField(databaseMessageConsumer, "caseDrainLimit", 5);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxMessagesPerPoll", 2);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxPollDuration", 60_000L);
+        when(caseEventMessageRepository.getNextAvailableMessageReadyToProcess())
+            .thenReturn(caseMessageEntity("caseId"));
+        when(caseEventMessageRepository.getNextAvailableCaseMessageReadyToProcess("caseId"))
+            .thenReturn(caseMessageEntity("caseId"));
+        when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
+            .thenReturn(createCaseEventMessage());
+        doNothing().doThrow(new RuntimeException("workflow api unavailable"))
+            .when(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
+
+        databaseMessageConsumer.processReadyMessages();
+
+        verify(caseEventMessageRepository).getNextAvailableCaseMessageReadyToProcess("caseId");
+        verify(ccdEventProcessor, times(2)).processMessage(any(CaseEventMessage.class));
+    }
+
+    @Test
+    void should_not_drain_a_case_when_its_claimed_message_is_not_processed() throws Exception {
+        ReflectionTestUtils.setField(databaseMessageConsumer, "caseDrainLimit", 5);
+        when(caseEventMessageRepository.getNextAvailableMessageReadyToProcess())
+            .thenReturn(caseMessageEntity("caseId"));
+        when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
+            .thenReturn(createCaseEventMessage());
+        doThrow(new RuntimeException("workflow api unavailable"))
+            .when(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
+
+        databaseMessageConsumer.processReadyMessages();
+
+        verify(caseEventMessageRepository, never()).getNextAvailableCaseMessageReadyToProcess(anyString());
+    }
+
+    @Test
+    void should_process_ready_message_of_a_case_and_drain_its_subsequent_messages() throws Exception {
+        ReflectionTestUtils.setField(databaseMessageConsumer, "caseDrainLimit", 5);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxMessagesPerPoll", 10);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxPollDuration", 60_000L);
+        when(caseEventMessageRepository.getNextAvailableCaseMessageReadyToProcess("caseId"))
+            .thenReturn(caseMessageEntity("caseId"), caseMessageEntity("caseId"), null);
+        when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
+            .thenReturn(createCaseEventMessage());
+
+        assertEquals(2, databaseMessageConsumer.processCaseMessages("caseId"));
+
+        verify(caseEventMessageRepository, never()).getNextAvailableMessageReadyToProcess();
+        verify(caseEventMessageRepository, times(3)).getNextAvailableCaseMessageReadyToProcess("caseId");
+        verify(ccdEventProcessor, times(2)).processMessage(any(CaseEventMessage.class));
+    }
+
+    @Test
+    void should_not_process_messages_of_a_case_without_a_ready_message() {
+        assertEquals(0, databaseMessageConsumer.processCaseMessages("caseId"));
+
+        verifyNoInteractions(ccdEventProcessor);
+    }
+
+    @Test
+    void should_claim_messages_of_owned_case_buckets_only_when_case_buckets_are_enabled() throws Exception {
+        ReflectionTestUtils.setField(databaseMessageConsumer, "claimBatchSize", 3);
+        when(caseBucketOwnership.isEnabled()).thenReturn(true);
+        when(caseBucketOwnership.getBucketCount()).thenReturn(16);
+        when(caseBucketOwnership.getOwnedBuckets()).thenReturn(List.of(2, 5));
+
+        CaseEventMessageEntity caseMessage = createCaseEventMessageEntity();
+        when(caseEventMessageRepository.getNextAvailableMessagesReadyToProcessInCaseBuckets(3, 16, List.of(2, 5)))
+            .thenReturn(List.of(caseMessage));
+        when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
+            .thenReturn(createCaseEventMessage());
+
+        databaseMessageConsumer.processReadyMessages();
+
+        verify(caseEventMessageRepository, never()).getNextAvailableMessagesReadyToProcess(anyInt());
+        verify(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
+    }
+
+    @Test
+    void should_not_claim_messages_when_no_case_bucket_is_owned() {
+        when(caseBucketOwnership.isEnabled()).thenReturn(true);
+        when(caseBucketOwnership.getOwnedBuckets()).thenReturn(List.of());
+
+        databaseMessageConsumer.processReadyMessages();
+
+        verify(caseEventMessageRepository, never())
+            .getNextAvailableMessagesReadyToProcessInCaseBuckets(anyInt(), anyInt(), anyList());
+        verify(caseEventMessageRepository, never()).getNextAvailableMessageReadyToProcess();
+        verifyNoInteractions(ccdEventProcessor);
+    }
+
+    @Test
+    void should_start_held_message_timer_when_message_is_held_for_retry() throws Exception {
+        CaseEventMessageEntity caseEventMessageEntity = caseMessageEntity("heldCaseId");
+        when(caseEventMessageRepository.getNextAvailableMessageReadyToProcess()).thenReturn(caseEventMessageEntity);
+        when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
+            .thenReturn(createCaseEventMessage());
+        doThrow(new RuntimeException("workflow api unavailable"))
+            .when(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
+
+        databaseMessageConsumer.processReadyMessages();
+
+        verify(caseEventMessageRepository).updateLeasedMessageWithRetryDetails(
+            eq(1), holdUntilCaptor.capture(), anyString(), anyString());
+        verify(heldMessageTimer).hold("heldCaseId", holdUntilCaptor.getValue());
+    }
+
+    @Test
+    void should_claim_message_of_due_case_before_other_ready_messages() throws Exception {
+        when(heldMessageTimer.pollDueCase()).thenReturn("claimedElsewhereCaseId", "dueCaseId");
+        when(caseEventMessageRepository.getDueCaseMessageReadyToProcess("claimedElsewhereCaseId", 1, List.of(0)))
+            .thenReturn(null);
+        when(caseEventMessageRepository.getDueCaseMessageReadyToProcess("dueCaseId", 1, List.of(0)))
+            .thenReturn(caseMessageEntity("dueCaseId"));
+        when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
+            .thenReturn(createCaseEventMessage());
+
+        databaseMessageConsumer.processReadyMessages();
+
+        verify(caseEventMessageRepository, never()).getNextAvailableMessageReadyToProcess();
+        verify(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
+    }
+
+    @Test
+    void should_claim_messages_of_scheduled_jurisdiction_when_fair_scheduling_is_enabled() throws Exception {
+        SchedulingKey key = new SchedulingKey("IA", "Asylum");
+        when(fairClaimScheduler.isEnabled()).thenReturn(true);
+        when(fairClaimScheduler.nextKey()).thenReturn(Optional.of(key));
+
+        CaseEventMessageEntity caseMessage = createCaseEventMessageEntity();
+        when(caseEventMessageRepository.getNextAvailableMessagesReadyToProcessForSchedulingKey(
+            1, "IA", "Asylum", 1, List.of(0))).thenReturn(List.of(caseMessage));
+        when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
+            .thenReturn(createCaseEventMessage());
+
+        databaseMessageConsumer.processReadyMessages();
+
+        verify(fairClaimScheduler).claimed(key, 1);
+        verify(caseEventMessageRepository, never()).getNextAvailableMessageReadyToProcess();
+        verify(ccdEventProcessor).processMessage(any(CaseEventMessage.class));
+    }
+
+    @Test
+    void should_claim_from_every_jurisdiction_when_scheduled_jurisdiction_has_no_claimable_message() {
+        SchedulingKey key = new SchedulingKey("WA", "WaCaseType");
+        when(fairClaimScheduler.isEnabled()).thenReturn(true);
+        when(fairClaimScheduler.nextKey()).thenReturn(Optional.of(key));
+        when(caseEventMessageRepository.getNextAvailableMessagesReadyToProcessForSchedulingKey(
+            1, "WA", "WaCaseType", 1, List.of(0))).thenReturn(List.of());
+        when(caseEventMessageRepository.getNextAvailableMessageReadyToProcess()).thenReturn(null);
+
+        databaseMessageConsumer.processReadyMessages();
+
+        verify(fairClaimScheduler).claimed(key, 0);
+        verify(caseEventMessageRepository).getNextAvailableMessageReadyToProcess();
+        verifyNoInteractions(ccdEventProcessor);
+    }
+
+    @Test
+    void should_retry_update_of_failed_message_only_when_update_state_failed() {
+        ReflectionTestUtils.setField(databaseMessageConsumer, "claimBatchSize", 2);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxMessagesPerPoll", 10);
+        ReflectionTestUtils.setField(databaseMessageConsumer, "maxPollDuration", 60_000L);
+
+        CaseEventMessageEntity firstCaseMessage = createCaseEventMessageEntity();
+        firstCaseMessage.setCaseId("firstCaseId");
+        CaseEventMessageEntity secondCaseMessage = createCaseEventMessageEntity();
+        secondCaseMessage.setCaseId("secondCaseId");
+        CaseEventMessage firstMessage = CaseEventMessage.builder()
+            .messageId("firstMessageId").caseId("firstCaseId").retryCount(0).build();
+        CaseEventMessage secondMessage = CaseEventMessage.builder()
+            .messageId("secondMessageId").caseId("secondCaseId").retryCount(0).build();
+
+        when(caseEventMessageRepository.getNextAvailableMessagesReadyToProcess(2))
+            .thenReturn(List.of(firstCaseMessage, secondCaseMessage), List.of());
+        when(caseEventMessageRepository.renewLease(any(), anyString(), anyLong())).thenReturn(1);
+        when(caseEventMessageMapper.mapToCaseEventMessage(any(CaseEventMessageEntity.class)))
+            .thenReturn(firstMessage, secondMessage);
+        when(caseEventMessageRepository.updateLeasedMessageState(eq(MessageState.PROCESSED), eq("firstMessageId"),
+                                                                 anyString()))
+            .thenReturn(1);
+        when(caseEventMessageRepository.updateLeasedMessageState(eq(MessageState.PROCESSED), eq("secondMessageId"),
+                                                                 anyString()))
+            .thenThrow(new RuntimeException());
+
+        databaseMessageConsumer.processReadyMessages();
 
-        verify(updateRecordErrorHandlingService).handleUpdateError(eq(null), eq(messageId), eq(retryCount), any());
+        verify(updateRecordErrorHandlingService, never())
+            .handleUpdateError(eq(MessageState.PROCESSED), eq("firstMessageId"), eq(0), eq(null), anyString());
+        verify(updateRecordErrorHandlingService)
+            .handleUpdateError(eq(MessageState.PROCESSED), eq("secondMessageId"), eq(0), eq(null), anyString());
     }
 }
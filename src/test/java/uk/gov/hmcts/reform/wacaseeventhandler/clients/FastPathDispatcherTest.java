@@ -0,0 +1,120 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.CaseEventMessageStoredEvent;
+import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.DeadLetterQueuePeekService;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FastPathDispatcherTest {
+
+    private static final CaseEventMessageStoredEvent STORED_EVENT =
+        new CaseEventMessageStoredEvent("messageId", "caseId");
+
+    @Mock
+    private CaseEventMessageRepository caseEventMessageRepository;
+
+    @Mock
+    private DeadLetterQueuePeekService deadLetterQueuePeekService;
+
+    @Mock
+    private DatabaseMessageConsumer databaseMessageConsumer;
+
+    @Mock
+    private ExecutorService fastPathExecutorService;
+
+    @Mock
+    private PlatformTransactionManager platformTransactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FastPathDispatcher fastPathDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        fastPathDispatcher = new FastPathDispatcher(caseEventMessageRepository, deadLetterQueuePeekService,
+                                                    databaseMessageConsumer, fastPathExecutorService,
+                                                    platformTransactionManager, meterRegistry, true, 2, 1);
+    }
+
+    @Test
+    void should_promote_and_process_sole_message_of_a_case() {
+        when(deadLetterQueuePeekService.isDeadLetterQueueEmpty()).thenReturn(true);
+        when(caseEventMessageRepository.promoteSoleCaseMessage("messageId")).thenReturn(1);
+        when(databaseMessageConsumer.processCaseMessages("caseId")).thenReturn(1);
+
+        fastPathDispatcher.dispatch(STORED_EVENT);
+
+        verify(databaseMessageConsumer).processCaseMessages("caseId");
+        assertEquals(1.0, outcomeCount("processed"));
+        assertEquals(1, meterRegistry.get("wa.case.event.handler.fast.path.latency").timer().count());
+    }
+
+    @Test
+    void should_leave_message_to_regular_polls_when_case_has_other_pending_messages() {
+        when(deadLetterQueuePeekService.isDeadLetterQueueEmpty()).thenReturn(true);
+        when(caseEventMessageRepository.promoteSoleCaseMessage("messageId")).thenReturn(0);
+
+        fastPathDispatcher.dispatch(STORED_EVENT);
+
+        verifyNoInteractions(databaseMessageConsumer);
+        assertEquals(1.0, outcomeCount("case_not_idle"));
+    }
+
+    @Test
+    void should_leave_message_to_regular_polls_when_dead_letter_queue_is_not_empty() {
+        when(deadLetterQueuePeekService.isDeadLetterQueueEmpty()).thenReturn(false);
+
+        fastPathDispatcher.dispatch(STORED_EVENT);
+
+        verify(caseEventMessageRepository, never()).promoteSoleCaseMessage(anyString());
+        verifyNoInteractions(databaseMessageConsumer);
+        assertEquals(1.0, outcomeCount("dead_letter_queue_not_empty"));
+    }
+
+    @Test
+    void should_start_workers_and_drop_stored_messages_beyond_queue_capacity() {
+        fastPathDispatcher.start();
+        fastPathDispatcher.onMessageStored(STORED_EVENT);
+        fastPathDispatcher.onMessageStored(new CaseEventMessageStoredEvent("otherMessageId", "otherCaseId"));
+
+        verify(fastPathExecutorService, times(2)).execute(any());
+        assertEquals(1.0, outcomeCount("queue_full"));
+    }
+
+    @Test
+    void should_not_queue_stored_messages_when_disabled() {
+        fastPathDispatcher = new FastPathDispatcher(caseEventMessageRepository, deadLetterQueuePeekService,
+                                                    databaseMessageConsumer, fastPathExecutorService,
+                                                    platformTransactionManager, meterRegistry, false, 2, 1);
+
+        fastPathDispatcher.start();
+        fastPathDispatcher.onMessageStored(STORED_EVENT);
+        fastPathDispatcher.onMessageStored(STORED_EVENT);
+
+        verifyNoInteractions(fastPathExecutorService);
+        assertEquals(0, meterRegistry.find("wa.case.event.handler.fast.path").counters().size());
+    }
+
+    private double outcomeCount(String outcome) {
+        return meterRegistry.get("wa.case.event.handler.fast.path").tag("outcome", outcome).counter().count();
+    }
+}
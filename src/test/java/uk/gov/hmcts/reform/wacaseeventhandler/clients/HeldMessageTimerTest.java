@@ -0,0 +1,106 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository;
+import uk.gov.hmcts.reform.wacaseeventhandler.repository.HeldMessage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HeldMessageTimerTest {
+
+    @Mock
+    private CaseEventMessageRepository caseEventMessageRepository;
+
+    @Mock
+    private ScheduledExecutorService heldMessageTimerExecutorService;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private HeldMessageTimer heldMessageTimer;
+
+    @BeforeEach
+    void setUp() {
+        heldMessageTimer = new HeldMessageTimer(caseEventMessageRepository, heldMessageTimerExecutorService,
+                                                true, 100, 64, clock::get);
+    }
+
+    @Test
+    void should_rebuild_timers_from_held_messages_and_start_ticking_when_started() {
+        when(caseEventMessageRepository.getHeldMessages()).thenReturn(List.of(
+            heldMessage("laterCaseId", 60_000L),
+            heldMessage("soonerCaseId", 5_000L),
+            heldMessage("overdueCaseId", -10L)));
+
+        heldMessageTimer.start();
+
+        verify(heldMessageTimerExecutorService).scheduleAtFixedRate(any(), eq(100L), eq(100L),
+                                                                    eq(TimeUnit.MILLISECONDS));
+        assertEquals("overdueCaseId", heldMessageTimer.pollDueCase());
+        assertNull(heldMessageTimer.pollDueCase());
+
+        clock.addAndGet(5_000);
+        heldMessageTimer.advance();
+        assertEquals("soonerCaseId", heldMessageTimer.pollDueCase());
+        assertNull(heldMessageTimer.pollDueCase());
+
+        clock.addAndGet(55_000);
+        heldMessageTimer.advance();
+        assertEquals("laterCaseId", heldMessageTimer.pollDueCase());
+    }
+
+    @Test
+    void should_make_case_due_once_its_hold_ends() {
+        heldMessageTimer.hold("someCaseId", LocalDateTime.now().plusSeconds(30));
+
+        clock.addAndGet(29_000);
+        heldMessageTimer.advance();
+        assertNull(heldMessageTimer.pollDueCase());
+
+        clock.addAndGet(1_100);
+        heldMessageTimer.advance();
+        assertEquals("someCaseId", heldMessageTimer.pollDueCase());
+    }
+
+    @Test
+    void should_not_keep_timers_when_disabled() {
+        heldMessageTimer = new HeldMessageTimer(caseEventMessageRepository, heldMessageTimerExecutorService,
+                                                false, 100, 64, clock::get);
+
+        heldMessageTimer.start();
+        heldMessageTimer.hold("someCaseId", LocalDateTime.now().minusSeconds(1));
+
+        assertNull(heldMessageTimer.pollDueCase());
+        verifyNoInteractions(caseEventMessageRepository, heldMessageTimerExecutorService);
+    }
+
+    private static HeldMessage heldMessage(String caseId, Long dueInMillis) {
+        return new HeldMessage() {
+            @Override
+            public String getCaseId() {
+                return caseId;
+            }
+
+            @Override
+            public Long getDueInMillis() {
+                return dueInMillis;
+            }
+        };
+    }
+}
@@ -0,0 +1,163 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.LocalDmnEngineConfiguration;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.EvaluateDmnRequest;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.SendMessageRequest;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.CancellationEvaluateResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateDmnResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.InitiateEvaluateResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.dmn.LocalDmnEngine;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnStringValue;
+
+@ExtendWith(MockitoExtension.class)
+class LocalDmnWorkflowApiClientTest {
+
+    private static final String TABLE_KEY = "wa-task-cancellation-ia-asylum";
+    private static final String TENANT_ID = "ia";
+    private static final EvaluateDmnRequest REQUEST =
+        new EvaluateDmnRequest(Map.of("event", dmnStringValue("makeAnApplication")));
+    private static final EvaluateDmnResponse<CancellationEvaluateResponse> WARN_RESPONSE =
+        cancellationResponse("Warn");
+
+    @Mock
+    private WorkflowApiClient remoteWorkflowApiClient;
+
+    @Mock
+    private LocalDmnEngine localDmnEngine;
+
+    private final LocalDmnEngineConfiguration configuration = new LocalDmnEngineConfiguration();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LocalDmnWorkflowApiClient localDmnWorkflowApiClient;
+
+    @BeforeEach
+    void setUp() {
+        configuration.setMode(LocalDmnEngineConfiguration.Mode.ENABLED);
+        localDmnWorkflowApiClient = new LocalDmnWorkflowApiClient(remoteWorkflowApiClient, localDmnEngine,
+                                                                  configuration, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void should_evaluate_locally_when_enabled() {
+        when(localDmnEngine.evaluate(TABLE_KEY, TENANT_ID, REQUEST, CancellationEvaluateResponse.class))
+            .thenReturn(Optional.of(WARN_RESPONSE));
+
+        EvaluateDmnResponse<CancellationEvaluateResponse> response =
+            localDmnWorkflowApiClient.evaluateCancellationDmn("s2s token", TABLE_KEY, TENANT_ID, REQUEST);
+
+        assertSame(WARN_RESPONSE, response);
+        verifyNoInteractions(remoteWorkflowApiClient);
+        assertEquals(1.0, outcomeCount("local"));
+    }
+
+    @Test
+    void should_fall_back_to_remote_evaluation_when_table_has_no_definition() {
+        EvaluateDmnResponse<InitiateEvaluateResponse> remoteResponse = new EvaluateDmnResponse<>(List.of());
+        when(localDmnEngine.evaluate(TABLE_KEY, TENANT_ID, REQUEST, InitiateEvaluateResponse.class))
+            .thenReturn(Optional.empty());
+        when(remoteWorkflowApiClient.evaluateInitiationDmn("s2s token", TABLE_KEY, TENANT_ID, REQUEST))
+            .thenReturn(remoteResponse);
+
+        EvaluateDmnResponse<InitiateEvaluateResponse> response =
+            localDmnWorkflowApiClient.evaluateInitiationDmn("s2s token", TABLE_KEY, TENANT_ID, REQUEST);
+
+        assertSame(remoteResponse, response);
+        assertEquals(1.0, outcomeCount("fallback"));
+    }
+
+    @Test
+    void should_fall_back_to_remote_evaluation_when_local_evaluation_fails() {
+        when(localDmnEngine.evaluate(TABLE_KEY, TENANT_ID, REQUEST, CancellationEvaluateResponse.class))
+            .thenThrow(new IllegalStateException("Unknown FEEL function"));
+        when(remoteWorkflowApiClient.evaluateCancellationDmn("s2s token", TABLE_KEY, TENANT_ID, REQUEST))
+            .thenReturn(WARN_RESPONSE);
+
+        EvaluateDmnResponse<CancellationEvaluateResponse> response =
+            localDmnWorkflowApiClient.evaluateCancellationDmn("s2s token", TABLE_KEY, TENANT_ID, REQUEST);
+
+        assertSame(WARN_RESPONSE, response);
+        assertEquals(1.0, outcomeCount("fallback"));
+    }
+
+    @Test
+    void should_return_remote_results_and_count_matches_in_shadow_mode() {
+        configuration.setMode(LocalDmnEngineConfiguration.Mode.SHADOW);
+        when(localDmnEngine.evaluate(TABLE_KEY, TENANT_ID, REQUEST, CancellationEvaluateResponse.class))
+            .thenReturn(Optional.of(cancellationResponse("Warn")));
+        when(remoteWorkflowApiClient.evaluateCancellationDmn("s2s token", TABLE_KEY, TENANT_ID, REQUEST))
+            .thenReturn(WARN_RESPONSE);
+
+        EvaluateDmnResponse<CancellationEvaluateResponse> response =
+            localDmnWorkflowApiClient.evaluateCancellationDmn("s2s token", TABLE_KEY, TENANT_ID, REQUEST);
+
+        assertSame(WARN_RESPONSE, response);
+        assertEquals(1.0, outcomeCount("shadow_match"));
+    }
+
+    @Test
+    void should_return_remote_results_and_count_mismatches_in_shadow_mode() {
+        configuration.setMode(LocalDmnEngineConfiguration.Mode.SHADOW);
+        when(localDmnEngine.evaluate(TABLE_KEY, TENANT_ID, REQUEST, CancellationEvaluateResponse.class))
+            .thenReturn(Optional.of(cancellationResponse("Cancel")));
+        when(remoteWorkflowApiClient.evaluateCancellationDmn("s2s token", TABLE_KEY, TENANT_ID, REQUEST))
+            .thenReturn(WARN_RESPONSE);
+
+        EvaluateDmnResponse<CancellationEvaluateResponse> response =
+            localDmnWorkflowApiClient.evaluateCancellationDmn("s2s token", TABLE_KEY, TENANT_ID, REQUEST);
+
+        assertSame(WARN_RESPONSE, response);
+        assertEquals(1.0, outcomeCount("shadow_mismatch"));
+    }
+
+    @Test
+    void should_count_unavailable_local_evaluations_in_shadow_mode() {
+        configuration.setMode(LocalDmnEngineConfiguration.Mode.SHADOW);
+        when(localDmnEngine.evaluate(TABLE_KEY, TENANT_ID, REQUEST, CancellationEvaluateResponse.class))
+            .thenReturn(Optional.empty());
+        when(remoteWorkflowApiClient.evaluateCancellationDmn("s2s token", TABLE_KEY, TENANT_ID, REQUEST))
+            .thenReturn(WARN_RESPONSE);
+
+        localDmnWorkflowApiClient.evaluateCancellationDmn("s2s token", TABLE_KEY, TENANT_ID, REQUEST);
+
+        assertEquals(1.0, outcomeCount("shadow_unavailable"));
+    }
+
+    @Test
+    void should_send_messages_to_remote_client() {
+        SendMessageRequest sendMessageRequest = new SendMessageRequest("createTaskMessage", null, null, false);
+
+        localDmnWorkflowApiClient.sendMessage("s2s token", sendMessageRequest);
+
+        verify(remoteWorkflowApiClient).sendMessage("s2s token", sendMessageRequest);
+        verifyNoInteractions(localDmnEngine);
+    }
+
+    private static EvaluateDmnResponse<CancellationEvaluateResponse> cancellationResponse(String action) {
+        return new EvaluateDmnResponse<>(List.of(
+            CancellationEvaluateResponse.builder().action(dmnStringValue(action)).build()
+        ));
+    }
+
+    private double outcomeCount(String outcome) {
+        return meterRegistry.get("wa.case.event.handler.local.dmn").tag("outcome", outcome).counter().count();
+    }
+}
@@ -1,22 +1,22 @@
 package uk.gov.hmcts.reform.wacaseeventhandler.clients;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import uk.gov.hmcts.reform.wacaseeventhandler.entity.CaseEventMessageEntity;
-import uk.gov.hmcts.reform.wacaseeventhandler.entity.MessageState;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.DeadLetterQueuePeekService;
-import uk.gov.hmcts.reform.wacaseeventhandler.util.TestFixtures;
 
-import java.util.Collections;
-import java.util.List;
-
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,38 +27,70 @@ class MessageReadinessConsumerTest {
     @Mock
     private CaseEventMessageRepository caseEventMessageRepository;
 
+    @Mock
+    private LeaderElection leaderElection;
+
+    @Mock
+    private PlatformTransactionManager platformTransactionManager;
+
     @InjectMocks
     private MessageReadinessConsumer messageReadinessConsumer;
 
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(messageReadinessConsumer, "promotionChunkSize", 2);
+        lenient().when(leaderElection.isLeader()).thenReturn(true);
+    }
+
+    @Test
+    void should_not_check_message_readiness_when_not_the_leader() {
+        when(leaderElection.isLeader()).thenReturn(false);
+
+        messageReadinessConsumer.run();
+
+        verifyNoInteractions(caseEventMessageRepository, deadLetterQueuePeekService);
+    }
+
     @Test
     void should_not_modify_message_state_if_no_case_event_messages_returned_from_db() {
-        when(caseEventMessageRepository.getAllMessagesInNewState()).thenReturn(Collections.emptyList());
+        when(caseEventMessageRepository.hasMessagesInNewState()).thenReturn(false);
 
         messageReadinessConsumer.run();
 
-        verify(caseEventMessageRepository, never()).updateMessageState(any(), any());
+        verifyNoInteractions(deadLetterQueuePeekService);
+        verify(caseEventMessageRepository, never()).updateNewMessagesToReady(anyInt());
     }
 
     @Test
     void should_modify_message_state_feature_flag_enabled_messages_returned_from_db_and_dlq_empty() {
-        final CaseEventMessageEntity caseEventMessageEntity = TestFixtures.createCaseEventMessageEntity();
-        when(caseEventMessageRepository.getAllMessagesInNewState()).thenReturn(List.of(caseEventMessageEntity));
+        when(caseEventMessageRepository.hasMessagesInNewState()).thenReturn(true);
+        when(deadLetterQueuePeekService.isDeadLetterQueueEmpty()).thenReturn(true);
+        when(caseEventMessageRepository.updateNewMessagesToReady(2)).thenReturn(1);
+
+        messageReadinessConsumer.run();
+
+        verify(caseEventMessageRepository).updateNewMessagesToReady(2);
+    }
+
+    @Test
+    void should_update_messages_in_chunks_with_a_single_dlq_peek() {
+        when(caseEventMessageRepository.hasMessagesInNewState()).thenReturn(true);
         when(deadLetterQueuePeekService.isDeadLetterQueueEmpty()).thenReturn(true);
+        when(caseEventMessageRepository.updateNewMessagesToReady(2)).thenReturn(2, 2, 1);
 
         messageReadinessConsumer.run();
 
-        verify(caseEventMessageRepository)
-                .updateMessageState(MessageState.READY, List.of(caseEventMessageEntity.getMessageId()));
+        verify(deadLetterQueuePeekService).isDeadLetterQueueEmpty();
+        verify(caseEventMessageRepository, times(3)).updateNewMessagesToReady(2);
     }
 
     @Test
     void should_not_modify_message_state_feature_flag_enabled_messages_returned_from_db_and_dlq_not_empty() {
-        final CaseEventMessageEntity caseEventMessageEntity = TestFixtures.createCaseEventMessageEntity();
-        when(caseEventMessageRepository.getAllMessagesInNewState()).thenReturn(List.of(caseEventMessageEntity));
+        when(caseEventMessageRepository.hasMessagesInNewState()).thenReturn(true);
         when(deadLetterQueuePeekService.isDeadLetterQueueEmpty()).thenReturn(false);
 
         messageReadinessConsumer.run();
 
-        verify(caseEventMessageRepository, never()).updateMessageState(any(), any());
+        verify(caseEventMessageRepository, never()).updateNewMessagesToReady(anyInt());
     }
 }
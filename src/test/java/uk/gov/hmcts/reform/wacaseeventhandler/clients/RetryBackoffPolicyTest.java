@@ -0,0 +1,43 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.RetryBackoffConfiguration;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.RetryBackoffConfiguration.Backoff;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.FailureClass;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RetryBackoffPolicyTest {
+
+    @Test
+    void should_use_default_delays_without_jitter_for_failure_class_not_configured() {
+        RetryBackoffPolicy retryBackoffPolicy = new RetryBackoffPolicy(new RetryBackoffConfiguration());
+
+        assertEquals(Optional.of(Duration.ofSeconds(5)), retryBackoffPolicy.getDelay(FailureClass.UNEXPECTED, 1));
+        assertEquals(Optional.of(Duration.ofSeconds(3600)), retryBackoffPolicy.getDelay(FailureClass.UNEXPECTED, 8));
+        assertEquals(Optional.empty(), retryBackoffPolicy.getDelay(FailureClass.UNEXPECTED, 9));
+    }
+
+    @Test
+    void should_use_delays_of_failure_class_varied_by_jitter() {
+        Backoff connectionBackoff = new Backoff();
+        connectionBackoff.setDelaysSeconds(List.of(10, 20));
+        connectionBackoff.setJitter(0.5);
+        RetryBackoffConfiguration configuration = new RetryBackoffConfiguration();
+        configuration.setFailureClasses(Map.of(FailureClass.CONNECTION, connectionBackoff));
+        RetryBackoffPolicy retryBackoffPolicy = new RetryBackoffPolicy(configuration);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(retryBackoffPolicy.getDelay(FailureClass.CONNECTION, 2).orElseThrow())
+                .isBetween(Duration.ofSeconds(10), Duration.ofSeconds(30));
+        }
+        assertEquals(Optional.empty(), retryBackoffPolicy.getDelay(FailureClass.CONNECTION, 3));
+        assertEquals(Optional.of(Duration.ofSeconds(15)), retryBackoffPolicy.getDelay(FailureClass.UNEXPECTED, 2));
+    }
+}
@@ -0,0 +1,75 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.clients;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    @Test
+    void should_fire_timer_once_its_due_time_is_reached() {
+        TimingWheel<String> timingWheel = new TimingWheel<>(100, 8, 1_000);
+
+        assertTrue(timingWheel.schedule("first", 1_250));
+
+        assertEquals(List.of(), timingWheel.advance(1_200));
+        assertEquals(List.of("first"), timingWheel.advance(1_300));
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    void should_not_schedule_timer_already_due() {
+        TimingWheel<String> timingWheel = new TimingWheel<>(100, 8, 1_000);
+
+        assertFalse(timingWheel.schedule("due", 1_000));
+        assertFalse(timingWheel.schedule("overdue", 500));
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    void should_move_timers_beyond_the_first_level_down_and_fire_them_in_due_order() {
+        TimingWheel<String> timingWheel = new TimingWheel<>(100, 8, 0);
+        timingWheel.schedule("third level", 7_000);
+        timingWheel.schedule("second level", 2_000);
+        timingWheel.schedule("beyond the third level", 60_000);
+        timingWheel.schedule("first level", 500);
+
+        assertEquals(List.of("first level", "second level", "third level"), timingWheel.advance(59_900));
+        assertEquals(1, timingWheel.size());
+        assertEquals(List.of("beyond the third level"), timingWheel.advance(60_000));
+    }
+
+    @Test
+    void should_fire_every_timer_no_earlier_than_its_due_time_and_within_a_tick_of_it() {
+        Random random = new Random(42);
+        long now = 123_456;
+        TimingWheel<Integer> timingWheel = new TimingWheel<>(10, 16, now);
+        Map<Integer, Long> dueTimes = new HashMap<>();
+        Set<Integer> fired = new HashSet<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            long dueAt = now + 1 + random.nextInt(random.nextBoolean() ? 500 : 5_000_000);
+            if (timingWheel.schedule(step, dueAt)) {
+                dueTimes.put(step, dueAt);
+            }
+            now += random.nextInt(random.nextInt(20) == 0 ? 100_000 : 30);
+            for (Integer item : timingWheel.advance(now)) {
+                assertTrue(dueTimes.get(item) <= now);
+                fired.add(item);
+            }
+            final long currentTime = now;
+            dueTimes.forEach((item, itemDueAt) -> assertTrue(fired.contains(item) || itemDueAt > currentTime - 10));
+        }
+
+        assertEquals(dueTimes.size() - fired.size(), timingWheel.size());
+    }
+}
@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.DmnEvaluationCacheService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DmnEvaluationCacheControllerTest {
+
+    @Mock
+    private DmnEvaluationCacheService dmnEvaluationCacheService;
+    private DmnEvaluationCacheController controller;
+
+    @BeforeEach
+    void setup() {
+        controller = new DmnEvaluationCacheController(dmnEvaluationCacheService);
+    }
+
+    @Test
+    void should_evict_cached_evaluations_of_a_table() {
+        assertEquals(HttpStatus.NO_CONTENT,
+                     controller.evictTable("wa-task-cancellation-ia-asylum").getStatusCode());
+
+        verify(dmnEvaluationCacheService).evict("wa-task-cancellation-ia-asylum");
+    }
+
+    @Test
+    void should_evict_cached_evaluations_of_all_tables() {
+        assertEquals(HttpStatus.NO_CONTENT, controller.evictAll().getStatusCode());
+
+        verify(dmnEvaluationCacheService).evict(null);
+    }
+}
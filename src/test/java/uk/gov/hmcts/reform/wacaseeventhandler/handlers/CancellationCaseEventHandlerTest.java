@@ -1,13 +1,13 @@
 package uk.gov.hmcts.reform.wacaseeventhandler.handlers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
@@ -21,6 +21,9 @@ import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateRe
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.InitiateEvaluateResponse;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.AdditionalData;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.DmnEvaluationCacheService;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.WorkflowMessageSender;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.dmn.DmnPrefilter;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -55,9 +58,13 @@ class CancellationCaseEventHandlerTest {
     private WorkflowApiClient workflowApiClient;
     @Mock
     private AuthTokenGenerator serviceAuthGenerator;
+    @Mock
+    private DmnEvaluationCacheService dmnEvaluationCacheService;
+
+    @Mock
+    private DmnPrefilter dmnPrefilter;
     @Captor
     private ArgumentCaptor<SendMessageRequest> sendMessageRequestCaptor;
-    @InjectMocks
     private CancellationCaseEventHandler handlerService;
     @Mock
     private ObjectMapper objectMapper;
@@ -65,6 +72,10 @@ class CancellationCaseEventHandlerTest {
     @BeforeEach
     void setUp() {
         lenient().when(serviceAuthGenerator.generate()).thenReturn(SERVICE_AUTH_TOKEN);
+        handlerService = new CancellationCaseEventHandler(serviceAuthGenerator,
+            new WorkflowMessageSender(workflowApiClient, new SimpleMeterRegistry(), false, 0),
+            new CancellationDmnEvaluator(serviceAuthGenerator, workflowApiClient, objectMapper,
+                dmnEvaluationCacheService, dmnPrefilter));
         eventInformation = EventInformation.builder()
             .eventId("some event id")
             .newStateId("some post state")
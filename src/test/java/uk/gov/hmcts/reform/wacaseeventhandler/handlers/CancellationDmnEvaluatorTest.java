@@ -0,0 +1,119 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.handlers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.WorkflowApiClient;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.EvaluateDmnRequest;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.CancellationEvaluateResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateDmnResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.AdditionalData;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.DmnEvaluationKey;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.DmnEvaluationCacheService;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.dmn.DmnPrefilter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnMapValue;
+import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnStringValue;
+
+@ExtendWith(MockitoExtension.class)
+class CancellationDmnEvaluatorTest {
+
+    private static final String TASK_CANCELLATION_DMN_TABLE = "wa-task-cancellation-ia-asylum";
+    private static final String SERVICE_AUTH_TOKEN = "s2s token";
+
+    @Mock
+    private AuthTokenGenerator serviceAuthGenerator;
+    @Mock
+    private WorkflowApiClient workflowApiClient;
+    @Mock
+    private DmnEvaluationCacheService dmnEvaluationCacheService;
+    @Mock
+    private DmnPrefilter dmnPrefilter;
+
+    private final List<CancellationEvaluateResponse> results = List.of(new CancellationEvaluateResponse(
+        dmnStringValue("Warn"), dmnStringValue("Code1"), dmnStringValue("Text1"), null, null
+    ));
+
+    private CancellationDmnEvaluator cancellationDmnEvaluator;
+
+    @BeforeEach
+    void setUp() {
+        cancellationDmnEvaluator = new CancellationDmnEvaluator(serviceAuthGenerator, workflowApiClient,
+                                                                new ObjectMapper(), dmnEvaluationCacheService,
+                                                                dmnPrefilter);
+    }
+
+    @Test
+    void should_evaluate_through_the_cache_when_evaluation_does_not_depend_on_case_data() {
+        EvaluateDmnRequest evaluateDmnRequest = new EvaluateDmnRequest(Map.of(
+            "event", dmnStringValue("some event id"),
+            "state", dmnStringValue("some post state"),
+            "fromState", dmnStringValue("some previous state"),
+            "additionalData", dmnMapValue(null)
+        ));
+        DmnEvaluationKey key = new DmnEvaluationKey(TASK_CANCELLATION_DMN_TABLE, "ia", "some event id",
+                                                    "some post state", "some previous state");
+        when(dmnEvaluationCacheService.isCacheable(TASK_CANCELLATION_DMN_TABLE, null)).thenReturn(true);
+        when(dmnEvaluationCacheService.evaluateCancellationDmn(key, evaluateDmnRequest)).thenReturn(results);
+
+        assertThat(cancellationDmnEvaluator.evaluate(eventInformation(null))).isSameAs(results);
+
+        verify(workflowApiClient, never()).evaluateCancellationDmn(any(), any(), any(), any());
+    }
+
+    @Test
+    void should_evaluate_the_table_when_evaluation_depends_on_case_data() {
+        AdditionalData additionalData = AdditionalData.builder()
+            .data(Map.of("appealType", "protection"))
+            .build();
+        when(serviceAuthGenerator.generate()).thenReturn(SERVICE_AUTH_TOKEN);
+        when(dmnEvaluationCacheService.isCacheable(eq(TASK_CANCELLATION_DMN_TABLE), anyMap())).thenReturn(false);
+        when(workflowApiClient.evaluateCancellationDmn(
+            eq(SERVICE_AUTH_TOKEN), eq(TASK_CANCELLATION_DMN_TABLE), eq("ia"), any(EvaluateDmnRequest.class)
+        )).thenReturn(new EvaluateDmnResponse<>(results));
+
+        assertThat(cancellationDmnEvaluator.evaluate(eventInformation(additionalData))).isSameAs(results);
+
+        verify(dmnEvaluationCacheService, never()).evaluateCancellationDmn(any(), any());
+    }
+
+    @Test
+    void should_skip_the_evaluation_when_no_rule_can_match() {
+        when(dmnPrefilter.canSkip(eq(TASK_CANCELLATION_DMN_TABLE), eq("ia"), any(EvaluateDmnRequest.class)))
+            .thenReturn(true);
+
+        assertThat(cancellationDmnEvaluator.evaluate(eventInformation(null))).isEmpty();
+
+        verify(dmnEvaluationCacheService, never()).evaluateCancellationDmn(any(), any());
+        verify(workflowApiClient, never()).evaluateCancellationDmn(any(), any(), any(), any());
+    }
+
+    private static EventInformation eventInformation(AdditionalData additionalData) {
+        return EventInformation.builder()
+            .eventId("some event id")
+            .newStateId("some post state")
+            .previousStateId("some previous state")
+            .jurisdictionId("ia")
+            .caseTypeId("asylum")
+            .caseId("some case reference")
+            .eventTimeStamp(LocalDateTime.now())
+            .additionalData(additionalData)
+            .build();
+    }
+}
@@ -1,6 +1,7 @@
 package uk.gov.hmcts.reform.wacaseeventhandler.handlers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.Builder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,7 +11,6 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -25,7 +25,9 @@ import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.InitiateEv
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.DueDateService;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.IdempotencyKeyGenerator;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.WorkflowMessageSender;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.dates.IsoDateFormatter;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.dmn.DmnPrefilter;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -76,8 +78,9 @@ class InitiationCaseEventHandlerBackwardsCompatibilityTest {
     private DueDateService dueDateService;
     @Mock
     private ObjectMapper objectMapper;
+    @Mock
+    private DmnPrefilter dmnPrefilter;
 
-    @InjectMocks
     private InitiationCaseEventHandler handlerService;
     private String eventInstanceId;
 
@@ -105,6 +108,17 @@ class InitiationCaseEventHandlerBackwardsCompatibilityTest {
 
     @BeforeEach
     void setUp() {
+        handlerService = new InitiationCaseEventHandler(
+            serviceAuthGenerator,
+            workflowApiClient,
+            idempotencyKeyGenerator,
+            isoDateFormatter,
+            dueDateService,
+            objectMapper,
+            null,
+            dmnPrefilter,
+            new WorkflowMessageSender(workflowApiClient, new SimpleMeterRegistry(), false, 0)
+        );
         lenient().when(serviceAuthGenerator.generate()).thenReturn(SERVICE_AUTH_TOKEN);
         eventInstanceId = UUID.randomUUID().toString();
     }
@@ -1,6 +1,7 @@
 package uk.gov.hmcts.reform.wacaseeventhandler.handlers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.Builder;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,7 +12,6 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -28,7 +28,9 @@ import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.InitiateEv
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.DueDateService;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.IdempotencyKeyGenerator;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.WorkflowMessageSender;
 import uk.gov.hmcts.reform.wacaseeventhandler.services.dates.IsoDateFormatter;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.dmn.DmnPrefilter;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -80,8 +82,9 @@ class InitiationCaseEventHandlerTest {
     private DueDateService dueDateService;
     @Mock
     private ObjectMapper objectMapper;
+    @Mock
+    private DmnPrefilter dmnPrefilter;
 
-    @InjectMocks
     private InitiationCaseEventHandler handlerService;
     private String eventInstanceId;
 
@@ -109,6 +112,17 @@ class InitiationCaseEventHandlerTest {
 
     @BeforeEach
     void setUp() {
+        handlerService = new InitiationCaseEventHandler(
+            serviceAuthGenerator,
+            workflowApiClient,
+            idempotencyKeyGenerator,
+            isoDateFormatter,
+            dueDateService,
+            objectMapper,
+            null,
+            dmnPrefilter,
+            new WorkflowMessageSender(workflowApiClient, new SimpleMeterRegistry(), false, 0)
+        );
         lenient().when(serviceAuthGenerator.generate()).thenReturn(SERVICE_AUTH_TOKEN);
         eventInstanceId = UUID.randomUUID().toString();
     }
@@ -349,6 +363,17 @@ class InitiationCaseEventHandlerTest {
         verify(workflowApiClient, times(0)).sendMessage(eq(SERVICE_AUTH_TOKEN), any());
     }
 
+    @Test
+    void evaluateDmn_should_skip_evaluation_when_no_rule_can_match() {
+        EventInformation eventInformation = validAdditionalData();
+        when(dmnPrefilter.canSkip(eq(TASK_INITIATION_DMN_TABLE), eq(TENANT_ID), any(EvaluateDmnRequest.class)))
+            .thenReturn(true);
+
+        assertThat(handlerService.evaluateDmn(eventInformation)).isEmpty();
+
+        verify(workflowApiClient, times(0)).evaluateInitiationDmn(any(), any(), any(), any());
+    }
+
     @Test
     void evaluateDmn_should_not_log_additional_data(CapturedOutput output) {
         EventInformation eventInformation = validAdditionalData();
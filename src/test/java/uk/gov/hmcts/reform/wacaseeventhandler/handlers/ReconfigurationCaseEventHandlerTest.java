@@ -1,10 +1,10 @@
 package uk.gov.hmcts.reform.wacaseeventhandler.handlers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.system.CapturedOutput;
@@ -20,6 +20,8 @@ import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateRe
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.InitiateEvaluateResponse;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.TaskOperationRequest;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.DmnEvaluationCacheService;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.dmn.DmnPrefilter;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -36,6 +38,7 @@ import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnMapValue;
 import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnStringValue;
 
 @SuppressWarnings("checkstyle:LineLength")
@@ -55,12 +58,20 @@ class ReconfigurationCaseEventHandlerTest {
     private TaskManagementApiClient taskManagementApiClient;
     @Mock
     private AuthTokenGenerator serviceAuthGenerator;
-    @InjectMocks
+    @Mock
+    private DmnEvaluationCacheService dmnEvaluationCacheService;
+
+    @Mock
+    private DmnPrefilter dmnPrefilter;
     private ReconfigurationCaseEventHandler handlerService;
 
     @BeforeEach
     void setUp() {
         lenient().when(serviceAuthGenerator.generate()).thenReturn(SERVICE_AUTH_TOKEN);
+        handlerService = new ReconfigurationCaseEventHandler(serviceAuthGenerator,
+            new CancellationDmnEvaluator(serviceAuthGenerator, workflowApiClient, new ObjectMapper(),
+                dmnEvaluationCacheService, dmnPrefilter),
+            taskManagementApiClient);
         eventInformation = EventInformation.builder()
             .eventId("ANY_EVENT")
             .newStateId("some post state")
@@ -481,7 +492,8 @@ class ReconfigurationCaseEventHandlerTest {
         Map<String, DmnValue<?>> variables = Map.of(
             "event", dmnStringValue("ANY_EVENT"),
             "state", dmnStringValue("some post state"),
-            "fromState", dmnStringValue("some previous state")
+            "fromState", dmnStringValue("some previous state"),
+            "additionalData", dmnMapValue(null)
         );
 
         return new EvaluateDmnRequest(variables);
@@ -491,7 +503,8 @@ class ReconfigurationCaseEventHandlerTest {
         Map<String, DmnValue<?>> variables = Map.of(
             "event", dmnStringValue("ANY_EVENT"),
             "state", dmnStringValue(""),
-            "fromState", dmnStringValue("")
+            "fromState", dmnStringValue(""),
+            "additionalData", dmnMapValue(null)
         );
 
         return new EvaluateDmnRequest(variables);
@@ -1,12 +1,13 @@
 package uk.gov.hmcts.reform.wacaseeventhandler.handlers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
@@ -21,6 +22,9 @@ import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateDm
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateResponse;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.InitiateEvaluateResponse;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.DmnEvaluationCacheService;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.WorkflowMessageSender;
+import uk.gov.hmcts.reform.wacaseeventhandler.services.dmn.DmnPrefilter;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -40,6 +44,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnBooleanValue;
+import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnMapValue;
 import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnStringValue;
 
 @SuppressWarnings("unchecked")
@@ -57,15 +62,23 @@ class WarningCaseEventHandlerTest {
     private WorkflowApiClient workflowApiClient;
     @Mock
     private AuthTokenGenerator serviceAuthGenerator;
+    @Mock
+    private DmnEvaluationCacheService dmnEvaluationCacheService;
+
+    @Mock
+    private DmnPrefilter dmnPrefilter;
     @Captor
     private ArgumentCaptor<SendMessageRequest> sendMessageRequestCaptor;
-    @InjectMocks
     private WarningCaseEventHandler handlerService;
 
 
     @BeforeEach
     void setUp() {
         lenient().when(serviceAuthGenerator.generate()).thenReturn(SERVICE_AUTH_TOKEN);
+        handlerService = new WarningCaseEventHandler(serviceAuthGenerator,
+            new WorkflowMessageSender(workflowApiClient, new SimpleMeterRegistry(), false, 0),
+            new CancellationDmnEvaluator(serviceAuthGenerator, workflowApiClient, new ObjectMapper(),
+                dmnEvaluationCacheService, dmnPrefilter));
         eventInformation = EventInformation.builder()
             .eventId("some event id")
             .newStateId("some post state")
@@ -364,7 +377,8 @@ class WarningCaseEventHandlerTest {
         Map<String, DmnValue<?>> variables = Map.of(
             "event", dmnStringValue("some event id"),
             "state", dmnStringValue("some post state"),
-            "fromState", dmnStringValue("some previous state")
+            "fromState", dmnStringValue("some previous state"),
+            "additionalData", dmnMapValue(null)
         );
 
         return new EvaluateDmnRequest(variables);
@@ -0,0 +1,115 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.wacaseeventhandler.entity.CaseEventMessageEntity;
+import uk.gov.hmcts.reform.wacaseeventhandler.entity.MessageState;
+
+import java.util.List;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static uk.gov.hmcts.reform.wacaseeventhandler.util.TestFixtures.createCaseEventMessageEntity;
+
+@SpringBootTest
+@ActiveProfiles("db")
+class CaseEventMessageBatchRepositoryTest {
+
+    @Autowired
+    private CaseEventMessageBatchRepository batchRepository;
+
+    @Autowired
+    private CaseEventMessageRepository caseEventMessageRepository;
+
+    @Autowired
+    protected DataSource db;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void clearDownData() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(db);
+
+        String truncateTablesQuery =
+                "START TRANSACTION;"
+                    + "TRUNCATE TABLE WA_CASE_EVENT_MESSAGES CASCADE;"
+                    + "COMMIT;";
+        jdbcTemplate.execute(truncateTablesQuery);
+
+        jdbcTemplate.execute("ALTER SEQUENCE WA_CASE_EVENT_MESSAGES_SEQUENCE_SEQ RESTART WITH 1");
+    }
+
+    @Test
+    void should_insert_batch_of_messages_in_order() {
+        CaseEventMessageEntity first = createCaseEventMessageEntity();
+        CaseEventMessageEntity second = createCaseEventMessageEntity();
+        second.setEventTimestamp(null);
+        second.setMessageProperties(null);
+        second.setState(MessageState.UNPROCESSABLE);
+
+        transactionTemplate.executeWithoutResult(status ->
+            batchRepository.insertOrIncrementDeliveryCounts(List.of(first, second)));
+
+        CaseEventMessageEntity storedFirst = findByMessageId(first.getMessageId());
+        assertEquals(1L, storedFirst.getSequence());
+        assertEquals(MessageState.NEW, storedFirst.getState());
+        assertEquals(first.getMessageProperties(), storedFirst.getMessageProperties());
+
+        CaseEventMessageEntity storedSecond = findByMessageId(second.getMessageId());
+        assertEquals(2L, storedSecond.getSequence());
+        assertEquals(MessageState.UNPROCESSABLE, storedSecond.getState());
+        assertNull(storedSecond.getEventTimestamp());
+        assertNull(storedSecond.getMessageProperties());
+    }
+
+    @Test
+    void should_increment_delivery_count_of_redelivered_messages() {
+        CaseEventMessageEntity stored = createCaseEventMessageEntity();
+        transactionTemplate.executeWithoutResult(status ->
+            batchRepository.insertOrIncrementDeliveryCounts(List.of(stored)));
+
+        CaseEventMessageEntity redelivered = createCaseEventMessageEntity();
+        redelivered.setMessageId(stored.getMessageId());
+        redelivered.setMessageContent("redelivered content");
+        redelivered.setDeliveryCount(1);
+        transactionTemplate.executeWithoutResult(status ->
+            batchRepository.insertOrIncrementDeliveryCounts(List.of(redelivered)));
+
+        CaseEventMessageEntity message = findByMessageId(stored.getMessageId());
+        assertEquals(2, message.getDeliveryCount());
+        assertEquals(stored.getMessageContent(), message.getMessageContent());
+    }
+
+    @Test
+    void should_not_store_any_message_of_a_batch_with_an_invalid_message() {
+        CaseEventMessageEntity valid = createCaseEventMessageEntity();
+        CaseEventMessageEntity invalid = createCaseEventMessageEntity();
+        invalid.setMessageId(null);
+
+        assertThrows(RuntimeException.class, () -> transactionTemplate.executeWithoutResult(status ->
+            batchRepository.insertOrIncrementDeliveryCounts(List.of(valid, invalid))));
+
+        assertEquals(0, caseEventMessageRepository.count());
+    }
+
+    private CaseEventMessageEntity findByMessageId(String messageId) {
+        return caseEventMessageRepository.findByMessageId(List.of(messageId)).get(0);
+    }
+}
@@ -164,6 +164,20 @@ class CaseEventMessageErrorHandlingRepositoryTest {
         assertEquals(0, rowsAffected);
     }
 
+    @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        scripts = {"classpath:sql/insert_case_event_messages.sql"})
+    @Test
+    @Transactional
+    void should_update_leased_message_only_for_worker_holding_the_lease() {
+        caseEventMessageRepository.leaseMessages(List.of(MESSAGE_ID), "otherWorker", 60_000);
+
+        assertEquals(0, errorHandlingRepository.updateLeasedMessageState(MessageState.PROCESSED, MESSAGE_ID, "worker"));
+        assertEquals(0, errorHandlingRepository.updateLeasedMessageWithRetryDetails(
+            1, LocalDateTime.now(), MESSAGE_ID, "worker"));
+        assertEquals(1, errorHandlingRepository.updateLeasedMessageState(
+            MessageState.PROCESSED, MESSAGE_ID, "otherWorker"));
+    }
+
     @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
         scripts = {"classpath:sql/insert_case_event_messages.sql"})
     @Test
@@ -26,8 +26,10 @@ import javax.sql.DataSource;
 import static java.lang.Long.valueOf;
 import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static uk.gov.hmcts.reform.wacaseeventhandler.util.TestFixtures.createCaseEventMessageEntity;
 
@@ -84,6 +86,270 @@ class CaseEventMessageRepositoryTest {
         assertEquals("MessageId_bc8299fc-5d31-45c7-b847-c2622014a85a", caseEventMessageEntity.getMessageId());
     }
 
+    @Test
+    void should_return_empty_batch_when_table_is_empty() {
+        final List<CaseEventMessageEntity> nextAvailableMessagesReadyToProcess =
+            caseEventMessageRepository.getNextAvailableMessagesReadyToProcess(10);
+        assertTrue(nextAvailableMessagesReadyToProcess.isEmpty());
+    }
+
+    @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        scripts = {"classpath:sql/insert_case_event_messages_for_batch_claim.sql"})
+    @Test
+    void should_return_batch_of_case_head_messages_ready_to_process() {
+        final List<String> messageIds = transactionTemplate.execute(status ->
+            caseEventMessageRepository.getNextAvailableMessagesReadyToProcess(10).stream()
+                .map(CaseEventMessageEntity::getMessageId)
+                .sorted()
+                .toList());
+
+        assertEquals(List.of("MessageId_first_case_head", "MessageId_second_case_head"), messageIds);
+    }
+
+    @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        scripts = {"classpath:sql/insert_case_event_messages_for_batch_claim.sql"})
+    @Test
+    void should_limit_batch_of_case_head_messages_to_batch_size() {
+        final List<CaseEventMessageEntity> messages = transactionTemplate.execute(status ->
+            caseEventMessageRepository.getNextAvailableMessagesReadyToProcess(1));
+
+        assertNotNull(messages);
+        assertEquals(1, messages.size());
+    }
+
+    @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        scripts = {"classpath:sql/insert_case_event_messages_for_batch_claim.sql"})
+    @Test
+    void should_return_next_message_of_a_case_once_its_head_is_processed() {
+        transactionTemplate.execute(status -> caseEventMessageRepository.updateMessageState(
+            MessageState.PROCESSED, List.of("MessageId_first_case_head")));
+
+        final CaseEventMessageEntity nextCaseMessage = transactionTemplate.execute(status ->
+            caseEventMessageRepository.getNextAvailableCaseMessageReadyToProcess("1111222233334444"));
+        final CaseEventMessageEntity caseMessageOnHold = transactionTemplate.execute(status ->
+            caseEventMessageRepository.getNextAvailableCaseMessageReadyToProcess("9999000011112222"));
+
+        assertNotNull(nextCaseMessage);
+        assertEquals("MessageId_first_case_next", nextCaseMessage.getMessageId());
+        assertNull(caseMessageOnHold);
+    }
+
+    @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        scripts = {"classpath:sql/insert_case_event_messages_for_batch_claim.sql"})
+    @Test
+    void should_return_case_head_messages_of_owned_case_buckets_only() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(db);
+        String caseBucketQuery = "SELECT abs(hashtext(case_id) % 64) FROM wa_case_event_messages WHERE message_id = ?";
+        Integer ownedBucket = jdbcTemplate.queryForObject(caseBucketQuery, Integer.class, "MessageId_first_case_head");
+
+        final List<String> messageIds = transactionTemplate.execute(status ->
+            caseEventMessageRepository.getNextAvailableMessagesReadyToProcessInCaseBuckets(10, 64, List.of(ownedBucket))
+                .stream()
+                .map(CaseEventMessageEntity::getMessageId)
+                .toList());
+
+        assertNotNull(messageIds);
+        assertTrue(messageIds.contains("MessageId_first_case_head"));
+        messageIds.forEach(messageId -> assertEquals(
+            ownedBucket, jdbcTemplate.queryForObject(caseBucketQuery, Integer.class, messageId)));
+    }
+
+    @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        scripts = {"classpath:sql/insert_case_event_messages_for_batch_claim.sql"})
+    @Test
+    void should_return_held_messages_and_due_case_head_message_once_hold_ended() {
+        final List<HeldMessage> heldMessages = caseEventMessageRepository.getHeldMessages();
+        assertEquals(1, heldMessages.size());
+        assertEquals("9999000011112222", heldMessages.get(0).getCaseId());
+        assertTrue(heldMessages.get(0).getDueInMillis() > 0);
+
+        assertNull(transactionTemplate.execute(status ->
+            caseEventMessageRepository.getDueCaseMessageReadyToProcess("9999000011112222", 1, List.of(0))));
+
+        new JdbcTemplate(db).update("UPDATE wa_case_event_messages "
+                                    + "SET hold_until = current_timestamp - interval '1 second' "
+                                    + "WHERE case_id = '9999000011112222'");
+
+        final CaseEventMessageEntity dueCaseMessage = transactionTemplate.execute(status ->
+            caseEventMessageRepository.getDueCaseMessageReadyToProcess("9999000011112222", 1, List.of(0)));
+        assertNotNull(dueCaseMessage);
+        assertEquals("MessageId_third_case_on_hold", dueCaseMessage.getMessageId());
+        assertTrue(caseEventMessageRepository.getHeldMessages().isEmpty());
+    }
+
+    @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        scripts = {"classpath:sql/insert_case_event_messages_for_batch_claim.sql"})
+    @Test
+    void should_return_case_head_messages_and_backlog_of_jurisdiction_and_case_type() {
+        new JdbcTemplate(db).update("UPDATE wa_case_event_messages SET jurisdiction_id = 'IA', case_type_id = 'Asylum' "
+                                    + "WHERE case_id = '1111222233334444'");
+
+        final List<String> messageIds = transactionTemplate.execute(status ->
+            caseEventMessageRepository.getNextAvailableMessagesReadyToProcessForSchedulingKey(
+                    10, "IA", "Asylum", 1, List.of(0))
+                .stream()
+                .map(CaseEventMessageEntity::getMessageId)
+                .toList());
+        assertEquals(List.of("MessageId_first_case_head"), messageIds);
+
+        final List<String> unknownMessageIds = transactionTemplate.execute(status ->
+            caseEventMessageRepository.getNextAvailableMessagesReadyToProcessForSchedulingKey(
+                    10, null, null, 1, List.of(0))
+                .stream()
+                .map(CaseEventMessageEntity::getMessageId)
+                .toList());
+        assertEquals(List.of("MessageId_second_case_head"), unknownMessageIds);
+
+        final List<ReadyBacklog> backlogs = caseEventMessageRepository.getReadyBacklogs();
+        assertEquals(2, backlogs.size());
+        ReadyBacklog iaBacklog = backlogs.stream()
+            .filter(backlog -> "IA".equals(backlog.getJurisdictionId()))
+            .findFirst()
+            .orElseThrow();
+        assertEquals("Asylum", iaBacklog.getCaseTypeId());
+        assertEquals(1L, iaBacklog.getBacklog());
+        assertTrue(iaBacklog.getLagSeconds() > 0);
+    }
+
+    @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        scripts = {"classpath:sql/insert_case_event_messages_for_batch_claim.sql"})
+    @Test
+    void should_move_case_head_to_next_message_when_head_is_processed() {
+        transactionTemplate.execute(status -> caseEventMessageRepository.updateMessageState(
+            MessageState.PROCESSED, List.of("MessageId_first_case_head", "MessageId_second_case_head")));
+
+        final List<String> messageIds = transactionTemplate.execute(status ->
+            caseEventMessageRepository.getNextAvailableMessagesReadyToProcess(10).stream()
+                .map(CaseEventMessageEntity::getMessageId)
+                .toList());
+
+        assertEquals(List.of("MessageId_first_case_next"), messageIds);
+        assertEquals("MessageId_first_case_next", getCaseHeadMessageId("1111222233334444"));
+        assertNull(getCaseHeadMessageId("5555666677778888"));
+    }
+
+    @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        scripts = {"classpath:sql/insert_case_event_messages_for_batch_claim.sql"})
+    @Test
+    void should_not_return_case_head_when_case_has_message_with_null_event_timestamp() {
+        new JdbcTemplate(db).update(
+            "UPDATE wa_case_event_messages SET event_timestamp = null WHERE message_id = 'MessageId_first_case_next'");
+
+        final List<String> messageIds = transactionTemplate.execute(status ->
+            caseEventMessageRepository.getNextAvailableMessagesReadyToProcess(10).stream()
+                .map(CaseEventMessageEntity::getMessageId)
+                .toList());
+
+        assertEquals(List.of("MessageId_second_case_head"), messageIds);
+    }
+
+    @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        scripts = {"classpath:sql/insert_case_event_messages_for_batch_claim.sql"})
+    @Test
+    void should_remove_case_head_when_all_case_messages_are_deleted() {
+        new JdbcTemplate(db).update("DELETE FROM wa_case_event_messages WHERE case_id = '1111222233334444'");
+
+        assertEquals(0, new JdbcTemplate(db).queryForObject(
+            "SELECT count(*) FROM wa_case_event_heads WHERE case_id = '1111222233334444'", Integer.class));
+        assertEquals(2, new JdbcTemplate(db).queryForObject(
+            "SELECT count(*) FROM wa_case_event_heads", Integer.class));
+    }
+
+    @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        scripts = {"classpath:sql/insert_case_event_messages_for_batch_claim.sql"})
+    @Test
+    void should_not_return_messages_while_a_message_without_case_id_exists() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(db);
+        jdbcTemplate.update("UPDATE wa_case_event_messages SET case_id = null "
+                            + "WHERE message_id = 'MessageId_third_case_on_hold'");
+
+        assertTrue(transactionTemplate.execute(status ->
+            caseEventMessageRepository.getNextAvailableMessagesReadyToProcess(10)).isEmpty());
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT message_count FROM wa_case_event_null_case_guard", Integer.class));
+
+        jdbcTemplate.update("DELETE FROM wa_case_event_messages WHERE message_id = 'MessageId_third_case_on_hold'");
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT message_count FROM wa_case_event_null_case_guard", Integer.class));
+        assertEquals(2, transactionTemplate.execute(status ->
+            caseEventMessageRepository.getNextAvailableMessagesReadyToProcess(10)).size());
+    }
+
+    @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        scripts = {"classpath:sql/insert_case_event_messages_for_batch_claim.sql"})
+    @Test
+    void should_not_return_leased_messages_until_lease_expires() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(db);
+        transactionTemplate.execute(status -> caseEventMessageRepository.leaseMessages(
+            List.of("MessageId_first_case_head"), "worker", 60_000));
+
+        assertEquals(List.of("MessageId_second_case_head"), transactionTemplate.execute(status ->
+            caseEventMessageRepository.getNextAvailableMessagesReadyToProcess(10).stream()
+                .map(CaseEventMessageEntity::getMessageId)
+                .toList()));
+
+        jdbcTemplate.update("UPDATE wa_case_event_messages "
+                            + "SET lease_expires_at = current_timestamp - interval '1 second' "
+                            + "WHERE message_id = 'MessageId_first_case_head'");
+
+        assertEquals(2, transactionTemplate.execute(status ->
+            caseEventMessageRepository.getNextAvailableMessagesReadyToProcess(10)).size());
+    }
+
+    @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+        scripts = {"classpath:sql/insert_case_event_messages_for_batch_claim.sql"})
+    @Test
+    void should_only_update_leased_message_state_for_lease_holder() {
+        transactionTemplate.execute(status -> caseEventMessageRepository.leaseMessages(
+            List.of("MessageId_first_case_head"), "worker", 60_000));
+
+        assertEquals(0, transactionTemplate.execute(status -> caseEventMessageRepository.updateLeasedMessageState(
+            MessageState.PROCESSED, "MessageId_first_case_head", "other-worker")));
+        assertEquals(1, transactionTemplate.execute(status -> caseEventMessageRepository.updateLeasedMessageState(
+            MessageState.PROCESSED, "MessageId_first_case_head", "worker")));
+
+        assertMessageState("MessageId_first_case_head", MessageState.PROCESSED);
+        assertNull(new JdbcTemplate(db).queryForObject(
+            "SELECT claimed_by FROM wa_case_event_messages WHERE message_id = 'MessageId_first_case_head'",
+            String.class));
+    }
+
+    @Test
+    void should_insert_message_and_increment_delivery_count_when_message_is_redelivered() {
+        CaseEventMessageEntity message = createCaseEventMessageEntity();
+        message.setMessageId(MESSAGE_ID);
+
+        CaseEventMessageEntity inserted = transactionTemplate.execute(status ->
+            caseEventMessageRepository.insertOrIncrementDeliveryCount(message));
+
+        assertNotNull(inserted);
+        assertEquals(1L, inserted.getSequence());
+        assertEquals(0, inserted.getDeliveryCount());
+        assertEquals(MessageState.NEW, inserted.getState());
+        assertEquals(message.getMessageProperties(), inserted.getMessageProperties());
+
+        CaseEventMessageEntity redelivery = createCaseEventMessageEntity();
+        redelivery.setMessageId(MESSAGE_ID);
+        redelivery.setState(MessageState.UNPROCESSABLE);
+        redelivery.setMessageContent("redelivered content");
+
+        CaseEventMessageEntity redelivered = transactionTemplate.execute(status ->
+            caseEventMessageRepository.insertOrIncrementDeliveryCount(redelivery));
+
+        assertNotNull(redelivered);
+        assertEquals(inserted.getSequence(), redelivered.getSequence());
+        assertEquals(1, redelivered.getDeliveryCount());
+        assertEquals(MessageState.NEW, redelivered.getState());
+        assertEquals(message.getMessageContent(), redelivered.getMessageContent());
+        assertEquals(1, caseEventMessageRepository.findByMessageId(singletonList(MESSAGE_ID)).size());
+    }
+
+    private String getCaseHeadMessageId(String caseId) {
+        return new JdbcTemplate(db).queryForObject(
+            "SELECT head_message_id FROM wa_case_event_heads WHERE case_id = ?", String.class, caseId);
+    }
+
     @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
         scripts = {"classpath:sql/insert_case_event_messages_for_received_messages_check.sql"})
     @Test
@@ -380,4 +646,42 @@ class CaseEventMessageRepositoryTest {
                         .map(CaseEventMessageEntity::getSequence)
                         .toList());
     }
+
+    @Test
+    void should_update_new_messages_to_ready_in_sequence_order_chunks() {
+        caseEventMessageRepository.saveAll(IntStream.range(0, 5)
+            .mapToObj(num -> createCaseEventMessageEntity())
+            .toList());
+        assertTrue(caseEventMessageRepository.hasMessagesInNewState());
+
+        assertEquals(3, transactionTemplate.execute(status ->
+            caseEventMessageRepository.updateNewMessagesToReady(3)));
+        assertEquals(List.of(4L, 5L), caseEventMessageRepository.getAllMessagesInNewState().stream()
+            .map(CaseEventMessageEntity::getSequence)
+            .sorted()
+            .toList());
+
+        assertEquals(2, transactionTemplate.execute(status ->
+            caseEventMessageRepository.updateNewMessagesToReady(3)));
+        assertFalse(caseEventMessageRepository.hasMessagesInNewState());
+    }
+
+    @Test
+    void should_promote_new_message_only_while_no_other_message_of_its_case_is_pending() {
+        CaseEventMessageEntity soleMessage = createCaseEventMessageEntity();
+        CaseEventMessageEntity firstCaseMessage = createCaseEventMessageEntity();
+        CaseEventMessageEntity secondCaseMessage = createCaseEventMessageEntity();
+        secondCaseMessage.setCaseId(firstCaseMessage.getCaseId());
+        caseEventMessageRepository.saveAll(List.of(soleMessage, firstCaseMessage, secondCaseMessage));
+
+        assertEquals(1, transactionTemplate.execute(status ->
+            caseEventMessageRepository.promoteSoleCaseMessage(soleMessage.getMessageId())));
+        assertEquals(0, transactionTemplate.execute(status ->
+            caseEventMessageRepository.promoteSoleCaseMessage(soleMessage.getMessageId())));
+        assertEquals(0, transactionTemplate.execute(status ->
+            caseEventMessageRepository.promoteSoleCaseMessage(secondCaseMessage.getMessageId())));
+
+        assertMessageState(soleMessage.getMessageId(), MessageState.READY);
+        assertMessageState(secondCaseMessage.getMessageId(), MessageState.NEW);
+    }
 }
@@ -2,6 +2,8 @@ package uk.gov.hmcts.reform.wacaseeventhandler.services;
 
 import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
 import com.azure.messaging.servicebus.ServiceBusReceiverClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -9,6 +11,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.wacaseeventhandler.config.ServiceBusConfiguration;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
@@ -22,6 +25,7 @@ class DeadLetterQueuePeekServiceTest {
     @Mock
     private ServiceBusReceiverClient serviceBusReceiverClient;
 
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     private DeadLetterQueuePeekService deadLetterQueuePeekService;
 
@@ -32,9 +36,11 @@ class DeadLetterQueuePeekServiceTest {
         when(serviceBusConfiguration.createCcdCaseEventsDeadLetterQueueSessionReceiver())
                 .thenReturn(serviceBusReceiverClient);
 
-        deadLetterQueuePeekService = new DeadLetterQueuePeekService(serviceBusConfiguration);
+        deadLetterQueuePeekService = new DeadLetterQueuePeekService(serviceBusConfiguration, meterRegistry);
 
         assertTrue(deadLetterQueuePeekService.isDeadLetterQueueEmpty());
+        assertEquals(1.0, meterRegistry.get("wa.case.event.handler.dlq.empty").gauge().value());
+        assertEquals(1.0, meterRegistry.get("wa.case.event.handler.dlq.peeks").counter().count());
     }
 
     @Test
@@ -45,8 +51,9 @@ class DeadLetterQueuePeekServiceTest {
         when(serviceBusConfiguration.createCcdCaseEventsDeadLetterQueueSessionReceiver())
                 .thenReturn(serviceBusReceiverClient);
 
-        deadLetterQueuePeekService = new DeadLetterQueuePeekService(serviceBusConfiguration);
+        deadLetterQueuePeekService = new DeadLetterQueuePeekService(serviceBusConfiguration, meterRegistry);
 
         assertFalse(deadLetterQueuePeekService.isDeadLetterQueueEmpty());
+        assertEquals(0.0, meterRegistry.get("wa.case.event.handler.dlq.empty").gauge().value());
     }
 }
@@ -0,0 +1,94 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.WorkflowApiClient;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.EvaluateDmnRequest;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.CancellationEvaluateResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateDmnResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.DmnEvaluationKey;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.wacaseeventhandler.services.DmnEvaluationCacheService.DMN_EVALUATION_CACHE;
+
+@ExtendWith(MockitoExtension.class)
+class DmnEvaluationCacheServiceTest {
+
+    private static final String IA_TABLE = "wa-task-cancellation-ia-asylum";
+    private static final String WA_TABLE = "wa-task-cancellation-wa-wacasetype";
+
+    @Mock
+    private AuthTokenGenerator serviceAuthGenerator;
+
+    @Mock
+    private WorkflowApiClient workflowApiClient;
+
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+    private DmnEvaluationCacheService dmnEvaluationCacheService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100));
+        cacheManager.setCacheNames(List.of(DMN_EVALUATION_CACHE));
+        dmnEvaluationCacheService = new DmnEvaluationCacheService(serviceAuthGenerator, workflowApiClient,
+                                                                  cacheManager, true, Set.of(WA_TABLE));
+    }
+
+    @Test
+    void should_cache_evaluations_without_additional_data_or_of_context_free_tables_only() {
+        assertTrue(dmnEvaluationCacheService.isCacheable(IA_TABLE, null));
+        assertFalse(dmnEvaluationCacheService.isCacheable(IA_TABLE, Map.of("appealType", "protection")));
+        assertTrue(dmnEvaluationCacheService.isCacheable(WA_TABLE, Map.of("appealType", "protection")));
+
+        DmnEvaluationCacheService disabled = new DmnEvaluationCacheService(
+            serviceAuthGenerator, workflowApiClient, cacheManager, false, Set.of(WA_TABLE));
+        assertFalse(disabled.isCacheable(IA_TABLE, null));
+    }
+
+    @Test
+    void should_evaluate_the_table_of_the_key() {
+        EvaluateDmnRequest evaluateDmnRequest = new EvaluateDmnRequest(Map.of());
+        List<CancellationEvaluateResponse> results = List.of(CancellationEvaluateResponse.builder().build());
+        when(serviceAuthGenerator.generate()).thenReturn("s2s token");
+        when(workflowApiClient.evaluateCancellationDmn("s2s token", IA_TABLE, "ia", evaluateDmnRequest))
+            .thenReturn(new EvaluateDmnResponse<>(results));
+
+        assertEquals(results, dmnEvaluationCacheService.evaluateCancellationDmn(key(IA_TABLE), evaluateDmnRequest));
+    }
+
+    @Test
+    void should_evict_cached_evaluations_of_a_table() {
+        Cache cache = cacheManager.getCache(DMN_EVALUATION_CACHE);
+        assertNotNull(cache);
+        cache.put(key(IA_TABLE), List.of());
+        cache.put(key(WA_TABLE), List.of());
+
+        assertEquals(1, dmnEvaluationCacheService.evict(IA_TABLE));
+
+        assertNull(cache.get(key(IA_TABLE)));
+        assertNotNull(cache.get(key(WA_TABLE)));
+        assertEquals(1, dmnEvaluationCacheService.evict(null));
+        assertNull(cache.get(key(WA_TABLE)));
+    }
+
+    private static DmnEvaluationKey key(String tableKey) {
+        return new DmnEvaluationKey(tableKey, "ia", "submitAppeal", "appealSubmitted", "appealStarted");
+    }
+}
@@ -0,0 +1,111 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.JacksonConfiguration;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformationMetadata;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformationRequest;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.ParsedEventMessage;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EventMessageParserTest {
+
+    private static final String MESSAGE = "{\n"
+        + "  \"EventInstanceId\" : \"some event instance Id\",\n"
+        + "  \"EventTimeStamp\" : \"2020-12-07T17:39:22.232622\",\n"
+        + "  \"CaseId\" : \"12345\",\n"
+        + "  \"JurisdictionId\" : \"IA\",\n"
+        + "  \"CaseTypeId\" : \"Asylum\",\n"
+        + "  \"EventId\" : \"some event Id\",\n"
+        + "  \"NewStateId\" : \"some new state Id\",\n"
+        + "  \"UserId\" : \"some user Id\",\n"
+        + "  \"AdditionalData\" : {\n"
+        + "    \"Data\" : {\"appealType\" : \"protection\", \"nested\" : {\"values\" : [1, 2, 3]}},\n"
+        + "    \"Definition\" : {\"appealType\" : {\"type\" : \"FixedList\"}}\n"
+        + "  },\n"
+        + "  \"MessageProperties\" : {\n"
+        + "      \"property1\" : \"test1\",\n"
+        + "      \"property2\" : 2\n"
+        + "  },\n"
+        + "  \"HoldUntil\" : \"2020-12-08T10:00:00\"\n"
+        + "}";
+
+    private ObjectMapper objectMapper;
+    private EventMessageParser eventMessageParser;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new JacksonConfiguration().objectMapper(new Jackson2ObjectMapperBuilder());
+        eventMessageParser = new EventMessageParser(objectMapper);
+    }
+
+    @Test
+    void should_read_the_same_fields_as_event_information_binding() throws JsonProcessingException {
+        EventInformation eventInformation = objectMapper.readValue(MESSAGE, EventInformation.class);
+        EventInformationMetadata eventInformationMetadata =
+            objectMapper.readValue(MESSAGE, EventInformationRequest.class).getEventInformationMetadata();
+
+        ParsedEventMessage eventMessage = eventMessageParser.parse(MESSAGE);
+
+        assertEquals(eventInformation.getCaseId(), eventMessage.getCaseId());
+        assertEquals(eventInformation.getEventTimeStamp(), eventMessage.getEventTimeStamp());
+        assertEquals(eventInformationMetadata.getHoldUntil(), eventMessage.getHoldUntil());
+        assertEquals(
+            objectMapper.readTree(objectMapper.writeValueAsString(eventInformationMetadata.getMessageProperties())),
+            eventMessage.getMessageProperties());
+        assertEquals(LocalDateTime.of(2020, 12, 7, 17, 39, 22, 232_622_000), eventMessage.getEventTimeStamp());
+        // stored as sent, the EventInformation binding lower cases them
+        assertEquals("IA", eventMessage.getJurisdictionId());
+        assertEquals("Asylum", eventMessage.getCaseTypeId());
+        assertEquals("2", eventMessage.getMessageProperties().get("property2").asText());
+    }
+
+    @Test
+    void should_read_missing_message_properties_as_null_node() throws JsonProcessingException {
+        ParsedEventMessage eventMessage = eventMessageParser.parse(
+            "{\"CaseId\" : \"12345\", \"JurisdictionId\" : \"ia\", \"CaseTypeId\" : \"asylum\"}");
+
+        assertEquals(NullNode.getInstance(), eventMessage.getMessageProperties());
+        assertNull(eventMessage.getEventTimeStamp());
+        assertNull(eventMessage.getHoldUntil());
+    }
+
+    @Test
+    void should_fail_when_jurisdiction_is_missing() {
+        assertThrows(JsonProcessingException.class, () -> eventMessageParser.parse(
+            "{\"CaseId\" : \"12345\", \"CaseTypeId\" : \"asylum\"}"));
+    }
+
+    @Test
+    void should_fail_when_message_is_not_valid_json() {
+        assertThrows(JsonProcessingException.class, () -> eventMessageParser.parse("{CaseId: 12345"));
+    }
+
+    @Test
+    void should_fail_when_text_field_holds_an_object() {
+        assertThrows(JsonProcessingException.class, () -> eventMessageParser.parse(
+            "{\"CaseId\" : {\"id\" : 1}, \"JurisdictionId\" : \"ia\", \"CaseTypeId\" : \"asylum\"}"));
+    }
+
+    @Test
+    void should_fail_when_message_property_holds_an_object() {
+        assertThrows(JsonProcessingException.class, () -> eventMessageParser.parse(
+            "{\"JurisdictionId\" : \"ia\", \"CaseTypeId\" : \"asylum\", \"MessageProperties\" : {\"a\" : {}}}"));
+    }
+
+    @Test
+    void should_fail_when_additional_data_is_not_an_object() {
+        assertThrows(JsonProcessingException.class, () -> eventMessageParser.parse(
+            "{\"JurisdictionId\" : \"ia\", \"CaseTypeId\" : \"asylum\", \"AdditionalData\" : \"data\"}"));
+    }
+}
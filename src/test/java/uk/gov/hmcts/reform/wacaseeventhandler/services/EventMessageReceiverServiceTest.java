@@ -16,21 +16,22 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
-import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
-import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformationMetadata;
-import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformationRequest;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.ParsedEventMessage;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.ReceivedEventMessage;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.CaseEventMessage;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.CaseEventMessageStoredEvent;
 import uk.gov.hmcts.reform.wacaseeventhandler.entity.CaseEventMessageEntity;
 import uk.gov.hmcts.reform.wacaseeventhandler.entity.MessageState;
 import uk.gov.hmcts.reform.wacaseeventhandler.exceptions.CaseEventMessageDuplicateMessageIdException;
 import uk.gov.hmcts.reform.wacaseeventhandler.exceptions.CaseEventMessageNotFoundException;
+import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageBatchRepository;
 import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -45,7 +46,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -58,8 +59,6 @@ class EventMessageReceiverServiceTest {
     private static final String MESSAGE_ID = "messageId";
     private static final String MESSAGE = messageAsString();
     private static final String MESSAGE_WITHOUT_USER = messageNoUserAsString();
-    private static final String JURISDICTION = "WA";
-    private static final String CASE_TYPE_ID = "WaCaseType";
     private static final String CASE_ID = "12345";
     private static final String SESSION_ID = "12345";
     private static final LocalDateTime EVENT_TIME_STAMP = LocalDateTime.now();
@@ -70,18 +69,30 @@ class EventMessageReceiverServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private EventMessageParser eventMessageParser;
+
     @Mock
     private JsonProcessingException jsonProcessingException;
 
     @Mock
     private CaseEventMessageRepository caseEventMessageRepository;
 
+    @Mock
+    private CaseEventMessageBatchRepository caseEventMessageBatchRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Spy
     private CaseEventMessageMapper caseEventMessageMapper = new CaseEventMessageMapper(objectMapper);
 
     @Captor
     private ArgumentCaptor<CaseEventMessageEntity> caseEventMessageEntityCaptor;
 
+    @Captor
+    private ArgumentCaptor<List<CaseEventMessageEntity>> caseEventMessageEntitiesCaptor;
+
     @InjectMocks
     private EventMessageReceiverService eventMessageReceiverService;
 
@@ -94,85 +105,136 @@ class EventMessageReceiverServiceTest {
 
         logger.addAppender(listAppender);
 
-        eventMessageReceiverService = new EventMessageReceiverService(objectMapper,
+        eventMessageReceiverService = new EventMessageReceiverService(eventMessageParser,
             caseEventMessageRepository,
-            caseEventMessageMapper);
+            caseEventMessageBatchRepository,
+            caseEventMessageMapper,
+            eventPublisher);
     }
 
     @Test
     void should_handle_message_when_valid_message_received() throws JsonProcessingException {
 
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
+        when(eventMessageParser.parse(MESSAGE))
             .thenReturn(getEventInformation());
-        mockMessageProperties();
 
         CaseEventMessageEntity entity = new CaseEventMessageEntity();
-        when(caseEventMessageRepository.save(any())).thenReturn(entity);
+        when(caseEventMessageRepository.insertOrIncrementDeliveryCount(any())).thenReturn(entity);
         eventMessageReceiverService.handleAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
 
-        verify(caseEventMessageRepository).findByMessageId(singletonList(MESSAGE_ID));
-        verify(caseEventMessageRepository).save(caseEventMessageEntityCaptor.capture());
+        verify(caseEventMessageRepository).insertOrIncrementDeliveryCount(caseEventMessageEntityCaptor.capture());
         verify(caseEventMessageMapper).mapToCaseEventMessage(any(CaseEventMessageEntity.class));
 
         assertFalse(caseEventMessageEntityCaptor.getValue().getFromDlq());
         assertEquals(MessageState.NEW, caseEventMessageEntityCaptor.getValue().getState());
+        assertEquals(getMessagesPropertyAsJson(), caseEventMessageEntityCaptor.getValue().getMessageProperties());
+        assertEquals(RECEIVED, caseEventMessageEntityCaptor.getValue().getHoldUntil());
+    }
+
+    @Test
+    void should_publish_stored_event_when_valid_message_stored() throws JsonProcessingException {
+        when(eventMessageParser.parse(MESSAGE))
+            .thenReturn(getEventInformation());
+        when(caseEventMessageRepository.insertOrIncrementDeliveryCount(any()))
+            .thenReturn(new CaseEventMessageEntity());
+
+        eventMessageReceiverService.handleAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
+
+        ArgumentCaptor<CaseEventMessageStoredEvent> storedEvent =
+            ArgumentCaptor.forClass(CaseEventMessageStoredEvent.class);
+        verify(eventPublisher).publishEvent(storedEvent.capture());
+        assertEquals(MESSAGE_ID, storedEvent.getValue().getMessageId());
+        assertEquals(CASE_ID, storedEvent.getValue().getCaseId());
     }
 
     @Test
     void should_handle_message_event_information_when_parsing_failed() throws JsonProcessingException {
-        when(objectMapper.readValue(MESSAGE, EventInformation.class)).thenThrow(jsonProcessingException);
+        when(eventMessageParser.parse(MESSAGE)).thenThrow(jsonProcessingException);
 
         eventMessageReceiverService.handleAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
 
         assertLogMessageContains(String.format("Could not parse the message with id '%s' case id '%s'",
             MESSAGE_ID, SESSION_ID));
 
-        verify(caseEventMessageRepository).findByMessageId(singletonList(MESSAGE_ID));
-        verify(caseEventMessageRepository).save(caseEventMessageEntityCaptor.capture());
+        verify(caseEventMessageRepository).insertOrIncrementDeliveryCount(caseEventMessageEntityCaptor.capture());
     }
 
     @Test
     void handle_message_event_message_properties_parsing_failed() throws JsonProcessingException {
 
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
-            .thenReturn(getEventInformation());
-        mockParsingExceptionWhenRetrievingMessageProperties();
+        when(eventMessageParser.parse(MESSAGE)).thenThrow(jsonProcessingException);
 
         eventMessageReceiverService.handleAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
 
         assertLogMessageContains(String.format("Could not parse the message with id '%s' case id '%s'",
             MESSAGE_ID, SESSION_ID));
 
-        verify(caseEventMessageRepository).findByMessageId(singletonList(MESSAGE_ID));
-        verify(caseEventMessageRepository).save(caseEventMessageEntityCaptor.capture());
+        verify(caseEventMessageRepository).insertOrIncrementDeliveryCount(caseEventMessageEntityCaptor.capture());
     }
 
     @Test
     void should_handle_message_when_invalid_message_received() throws JsonProcessingException {
 
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
-            .thenReturn(EventInformation.builder()
-                .userId(USER_ID)
-                .jurisdictionId(JURISDICTION)
-                .caseTypeId(CASE_TYPE_ID)
+        when(eventMessageParser.parse(MESSAGE))
+            .thenReturn(ParsedEventMessage.builder()
                 .build());
-        mockMessageProperties();
 
         eventMessageReceiverService.handleAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
 
-        verify(caseEventMessageRepository).findByMessageId(singletonList(MESSAGE_ID));
-        verify(caseEventMessageRepository).save(caseEventMessageEntityCaptor.capture());
+        verify(caseEventMessageRepository).insertOrIncrementDeliveryCount(caseEventMessageEntityCaptor.capture());
         assertEquals(MessageState.UNPROCESSABLE, caseEventMessageEntityCaptor.getValue().getState());
     }
 
+    @Test
+    void should_store_batch_of_messages_with_a_single_batch_insert() throws JsonProcessingException {
+        when(eventMessageParser.parse(MESSAGE)).thenReturn(getEventInformation());
+        when(eventMessageParser.parse("unparseable")).thenThrow(jsonProcessingException);
+
+        eventMessageReceiverService.handleCcdCaseEventAsbMessages(List.of(
+            receivedEventMessage(MESSAGE_ID, MESSAGE),
+            receivedEventMessage("other message id", "unparseable")));
+
+        verify(caseEventMessageBatchRepository)
+            .insertOrIncrementDeliveryCounts(caseEventMessageEntitiesCaptor.capture());
+        verifyNoInteractions(caseEventMessageRepository);
+
+        List<CaseEventMessageEntity> entities = caseEventMessageEntitiesCaptor.getValue();
+        assertEquals(2, entities.size());
+        assertEquals(MESSAGE_ID, entities.get(0).getMessageId());
+        assertEquals(MessageState.NEW, entities.get(0).getState());
+        assertFalse(entities.get(0).getFromDlq());
+        assertEquals("other message id", entities.get(1).getMessageId());
+        assertEquals(MessageState.UNPROCESSABLE, entities.get(1).getState());
+        assertEquals(SESSION_ID, entities.get(1).getCaseId());
+        // only the NEW message is offered to the fast path
+        verify(eventPublisher).publishEvent(any(CaseEventMessageStoredEvent.class));
+    }
+
+    @Test
+    void should_fold_redelivered_message_in_batch_into_delivery_count() throws JsonProcessingException {
+        when(eventMessageParser.parse(MESSAGE)).thenReturn(getEventInformation());
+
+        eventMessageReceiverService.handleDlqMessages(List.of(
+            receivedEventMessage(MESSAGE_ID, MESSAGE),
+            receivedEventMessage(MESSAGE_ID, MESSAGE)));
+
+        verify(caseEventMessageBatchRepository)
+            .insertOrIncrementDeliveryCounts(caseEventMessageEntitiesCaptor.capture());
+
+        List<CaseEventMessageEntity> entities = caseEventMessageEntitiesCaptor.getValue();
+        assertEquals(1, entities.size());
+        assertEquals(1, entities.get(0).getDeliveryCount());
+        assertTrue(entities.get(0).getFromDlq());
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void should_upsert_valid_dlq_message() throws JsonProcessingException {
         CaseEventMessageEntity entity = new CaseEventMessageEntity();
         when(caseEventMessageRepository.findByMessageId(singletonList(MESSAGE_ID))).thenReturn(List.of(entity));
 
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
+        when(eventMessageParser.parse(MESSAGE))
             .thenReturn(getEventInformation());
-        mockMessageProperties();
 
         CaseEventMessage result = eventMessageReceiverService.upsertMessage(MESSAGE_ID, SESSION_ID, MESSAGE, true);
 
@@ -191,9 +253,8 @@ class EventMessageReceiverServiceTest {
         CaseEventMessageEntity entity = new CaseEventMessageEntity();
         when(caseEventMessageRepository.findByMessageId(singletonList(MESSAGE_ID))).thenReturn(List.of(entity));
 
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
+        when(eventMessageParser.parse(MESSAGE))
             .thenReturn(getEventInformationWithMissingEventTimeStamp());
-        mockMessageProperties();
 
         CaseEventMessage result = eventMessageReceiverService.upsertMessage(MESSAGE_ID, SESSION_ID, MESSAGE, true);
 
@@ -213,9 +274,8 @@ class EventMessageReceiverServiceTest {
         CaseEventMessageEntity entity = new CaseEventMessageEntity();
         when(caseEventMessageRepository.findByMessageId(singletonList(MESSAGE_ID))).thenReturn(List.of(entity));
 
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
+        when(eventMessageParser.parse(MESSAGE))
             .thenReturn(getEventInformationWithMissingCaseId());
-        mockMessageProperties();
 
         CaseEventMessage result = eventMessageReceiverService.upsertMessage(MESSAGE_ID, SESSION_ID, MESSAGE, true);
 
@@ -232,15 +292,14 @@ class EventMessageReceiverServiceTest {
 
     @Test
     void should_upsert_invalid_dlq_message_with_missing_messageId() throws JsonProcessingException {
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
+        when(eventMessageParser.parse(MESSAGE))
             .thenReturn(getEventInformation());
-        mockMessageProperties();
 
         CaseEventMessageEntity entity = new CaseEventMessageEntity();
-        when(caseEventMessageRepository.save(any())).thenReturn(entity);
+        when(caseEventMessageRepository.insertOrIncrementDeliveryCount(any())).thenReturn(entity);
         eventMessageReceiverService.upsertMessage(null, SESSION_ID, MESSAGE, true);
 
-        verify(caseEventMessageRepository).save(caseEventMessageEntityCaptor.capture());
+        verify(caseEventMessageRepository).insertOrIncrementDeliveryCount(caseEventMessageEntityCaptor.capture());
         verify(caseEventMessageMapper).mapToCaseEventMessage(any(CaseEventMessageEntity.class));
 
         assertEquals(MessageState.UNPROCESSABLE, caseEventMessageEntityCaptor.getValue().getState());
@@ -251,9 +310,8 @@ class EventMessageReceiverServiceTest {
         CaseEventMessageEntity entity = new CaseEventMessageEntity();
         when(caseEventMessageRepository.findByMessageId(singletonList(MESSAGE_ID))).thenReturn(List.of(entity));
 
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
+        when(eventMessageParser.parse(MESSAGE))
             .thenReturn(getEventInformation());
-        mockMessageProperties();
 
         CaseEventMessage result = eventMessageReceiverService.upsertMessage(MESSAGE_ID, SESSION_ID, MESSAGE, null);
 
@@ -273,7 +331,7 @@ class EventMessageReceiverServiceTest {
 
         CaseEventMessageEntity entity = new CaseEventMessageEntity();
         when(caseEventMessageRepository.findByMessageId(singletonList(MESSAGE_ID))).thenReturn(List.of(entity));
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
+        when(eventMessageParser.parse(MESSAGE))
             .thenThrow(jsonProcessingException);
 
         CaseEventMessage result = eventMessageReceiverService.upsertMessage(MESSAGE_ID, SESSION_ID, MESSAGE, false);
@@ -298,16 +356,15 @@ class EventMessageReceiverServiceTest {
     void should_upsert_valid_dlq_message_when_no_message_id_present() throws JsonProcessingException {
         when(caseEventMessageRepository.findByMessageId(singletonList(MESSAGE_ID))).thenReturn(List.of());
 
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
+        when(eventMessageParser.parse(MESSAGE))
             .thenReturn(getEventInformation());
-        mockMessageProperties();
 
         CaseEventMessageEntity entity = new CaseEventMessageEntity();
-        when(caseEventMessageRepository.save(any())).thenReturn(entity);
+        when(caseEventMessageRepository.insertOrIncrementDeliveryCount(any())).thenReturn(entity);
         eventMessageReceiverService.upsertMessage(MESSAGE_ID, SESSION_ID, MESSAGE, true);
 
-        verify(caseEventMessageRepository, times(2)).findByMessageId(singletonList(MESSAGE_ID));
-        verify(caseEventMessageRepository).save(caseEventMessageEntityCaptor.capture());
+        verify(caseEventMessageRepository).findByMessageId(singletonList(MESSAGE_ID));
+        verify(caseEventMessageRepository).insertOrIncrementDeliveryCount(caseEventMessageEntityCaptor.capture());
         verify(caseEventMessageMapper).mapToCaseEventMessage(any(CaseEventMessageEntity.class));
 
         assertEquals(MessageState.NEW, caseEventMessageEntityCaptor.getValue().getState());
@@ -316,14 +373,13 @@ class EventMessageReceiverServiceTest {
     @Test
     void should_handle_invalid_message_deserialization() throws JsonProcessingException {
 
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
+        when(eventMessageParser.parse(MESSAGE))
             .thenThrow(jsonProcessingException);
         CaseEventMessageEntity entity = new CaseEventMessageEntity();
-        when(caseEventMessageRepository.save(any())).thenReturn(entity);
+        when(caseEventMessageRepository.insertOrIncrementDeliveryCount(any())).thenReturn(entity);
         eventMessageReceiverService.handleAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
 
-        verify(caseEventMessageRepository).findByMessageId(singletonList(MESSAGE_ID));
-        verify(caseEventMessageRepository).save(caseEventMessageEntityCaptor.capture());
+        verify(caseEventMessageRepository).insertOrIncrementDeliveryCount(caseEventMessageEntityCaptor.capture());
         verify(caseEventMessageMapper).mapToCaseEventMessage(any(CaseEventMessageEntity.class));
 
         assertEquals(MessageState.UNPROCESSABLE, caseEventMessageEntityCaptor.getValue().getState());
@@ -332,7 +388,7 @@ class EventMessageReceiverServiceTest {
     @Test
     void should_handle_message_when_message_parsing_fails() throws JsonProcessingException {
 
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
+        when(eventMessageParser.parse(MESSAGE))
             .thenThrow(jsonProcessingException);
 
         eventMessageReceiverService.handleAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
@@ -340,8 +396,7 @@ class EventMessageReceiverServiceTest {
         assertLogMessageContains(
             String.format("Could not parse the message with id '%s' case id '%s'", MESSAGE_ID, SESSION_ID));
 
-        verify(caseEventMessageRepository).findByMessageId(singletonList(MESSAGE_ID));
-        verify(caseEventMessageRepository).save(caseEventMessageEntityCaptor.capture());
+        verify(caseEventMessageRepository).insertOrIncrementDeliveryCount(caseEventMessageEntityCaptor.capture());
         assertEquals(MessageState.UNPROCESSABLE, caseEventMessageEntityCaptor.getValue().getState());
         assertEquals(SESSION_ID, caseEventMessageEntityCaptor.getValue().getCaseId());
     }
@@ -349,23 +404,18 @@ class EventMessageReceiverServiceTest {
     @Test
     void should_handle_message_when_data_integrity_violation_occurs() throws JsonProcessingException {
 
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
-            .thenReturn(EventInformation.builder()
-                .userId(USER_ID)
-                .jurisdictionId(JURISDICTION)
-                .caseTypeId(CASE_TYPE_ID)
+        when(eventMessageParser.parse(MESSAGE))
+            .thenReturn(ParsedEventMessage.builder()
                 .build());
 
         doThrow(new DataIntegrityViolationException("Exception message"))
-            .when(caseEventMessageRepository).save(any(CaseEventMessageEntity.class));
-        mockMessageProperties();
+            .when(caseEventMessageRepository).insertOrIncrementDeliveryCount(any(CaseEventMessageEntity.class));
 
         final CaseEventMessageDuplicateMessageIdException caseEventMessageDuplicateMessageIdException =
             assertThrows(CaseEventMessageDuplicateMessageIdException.class,
                 () -> eventMessageReceiverService.handleAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE));
 
-        verify(caseEventMessageRepository).findByMessageId(singletonList(MESSAGE_ID));
-        verify(caseEventMessageRepository).save(caseEventMessageEntityCaptor.capture());
+        verify(caseEventMessageRepository).insertOrIncrementDeliveryCount(caseEventMessageEntityCaptor.capture());
         assertEquals(MessageState.UNPROCESSABLE, caseEventMessageEntityCaptor.getValue().getState());
 
         assertEquals(String.format("Trying to save a message with a duplicate messageId: %s", MESSAGE_ID),
@@ -376,19 +426,15 @@ class EventMessageReceiverServiceTest {
     void should_handle_dlq_message_when_feature_flag_enabled_and_valid_message_received()
         throws JsonProcessingException {
 
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
-            .thenReturn(EventInformation.builder()
-                .userId(USER_ID)
-                .jurisdictionId(JURISDICTION)
-                .caseTypeId(CASE_TYPE_ID)
+        when(eventMessageParser.parse(MESSAGE))
+            .thenReturn(ParsedEventMessage.builder()
                 .caseId("CASEID")
                 .eventTimeStamp(LocalDateTime.now())
                 .build());
-        mockMessageProperties();
 
         eventMessageReceiverService.handleDlqMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
 
-        verify(caseEventMessageRepository).save(caseEventMessageEntityCaptor.capture());
+        verify(caseEventMessageRepository).insertOrIncrementDeliveryCount(caseEventMessageEntityCaptor.capture());
         assertEquals(MessageState.NEW, caseEventMessageEntityCaptor.getValue().getState());
         assertTrue(caseEventMessageEntityCaptor.getValue().getFromDlq());
     }
@@ -397,18 +443,12 @@ class EventMessageReceiverServiceTest {
     void should_handle_dlq_case_event_asb_message_when_feature_flag_enabled_and_invalid_message_received()
         throws JsonProcessingException {
 
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
-            .thenReturn(EventInformation
-                .builder()
-                .userId(USER_ID)
-                .jurisdictionId(JURISDICTION)
-                .caseTypeId("CASEID")
+        when(eventMessageParser.parse(MESSAGE))
+            .thenReturn(ParsedEventMessage.builder()
                 .build());
-        mockMessageProperties();
         eventMessageReceiverService.handleDlqMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
 
-        verify(caseEventMessageRepository).findByMessageId(singletonList(MESSAGE_ID));
-        verify(caseEventMessageRepository).save(caseEventMessageEntityCaptor.capture());
+        verify(caseEventMessageRepository).insertOrIncrementDeliveryCount(caseEventMessageEntityCaptor.capture());
         assertEquals(MessageState.UNPROCESSABLE, caseEventMessageEntityCaptor.getValue().getState());
     }
 
@@ -418,49 +458,35 @@ class EventMessageReceiverServiceTest {
         final NullPointerException nullPointerException = assertThrows(NullPointerException.class, () ->
             eventMessageReceiverService.handleDlqMessage(MESSAGE_ID, SESSION_ID, MESSAGE_WITHOUT_USER));
 
-        assertThat(nullPointerException.getMessage(), containsString("because \"eventInformation\" is null"));
+        assertThat(nullPointerException.getMessage(), containsString("because \"eventMessage\" is null"));
         verifyNoInteractions(caseEventMessageRepository);
     }
 
     @Test
     void should_handle_ccd_case_event_asb_message_when_feature_flag_enabled_and_valid_message_received()
         throws JsonProcessingException {
-
-        mockMessageProperties();
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
-            .thenReturn(EventInformation
-                .builder()
-                .userId(USER_ID)
-                .jurisdictionId(JURISDICTION)
-                .caseTypeId("CASEID")
+        when(eventMessageParser.parse(MESSAGE))
+            .thenReturn(ParsedEventMessage.builder()
                 .caseId("CASEID")
                 .eventTimeStamp(LocalDateTime.now())
                 .build());
 
         eventMessageReceiverService.handleCcdCaseEventAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
 
-        verify(caseEventMessageRepository).findByMessageId(singletonList(MESSAGE_ID));
-        verify(caseEventMessageRepository).save(caseEventMessageEntityCaptor.capture());
+        verify(caseEventMessageRepository).insertOrIncrementDeliveryCount(caseEventMessageEntityCaptor.capture());
         assertEquals(MessageState.NEW, caseEventMessageEntityCaptor.getValue().getState());
     }
 
     @Test
     void should_handle_ccd_case_event_asb_message_when_feature_flag_enabled_and_invalid_message_received()
         throws JsonProcessingException {
-
-        mockMessageProperties();
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
-            .thenReturn(EventInformation
-                .builder()
-                .userId(USER_ID)
-                .jurisdictionId(JURISDICTION)
-                .caseTypeId("CASEID")
+        when(eventMessageParser.parse(MESSAGE))
+            .thenReturn(ParsedEventMessage.builder()
                 .build());
 
         eventMessageReceiverService.handleCcdCaseEventAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
 
-        verify(caseEventMessageRepository).findByMessageId(singletonList(MESSAGE_ID));
-        verify(caseEventMessageRepository).save(caseEventMessageEntityCaptor.capture());
+        verify(caseEventMessageRepository).insertOrIncrementDeliveryCount(caseEventMessageEntityCaptor.capture());
         assertEquals(MessageState.UNPROCESSABLE, caseEventMessageEntityCaptor.getValue().getState());
     }
 
@@ -470,27 +496,24 @@ class EventMessageReceiverServiceTest {
 
         CaseEventMessageEntity entity = new CaseEventMessageEntity();
         entity.setMessageId(MESSAGE_ID);
-        entity.setDeliveryCount(1);
+        entity.setDeliveryCount(2);
         entity.setState(MessageState.READY);
-
-        mockMessageProperties();
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
-            .thenReturn(EventInformation
-                .builder()
-                .userId(USER_ID)
-                .jurisdictionId(JURISDICTION)
-                .caseTypeId("CASEID")
+        when(eventMessageParser.parse(MESSAGE))
+            .thenReturn(ParsedEventMessage.builder()
                 .caseId("CASEID")
                 .eventTimeStamp(LocalDateTime.now())
                 .build());
 
-        when(caseEventMessageRepository.findByMessageId(singletonList(MESSAGE_ID))).thenReturn(List.of(entity));
+        when(caseEventMessageRepository.insertOrIncrementDeliveryCount(any())).thenReturn(entity);
 
-        eventMessageReceiverService.handleCcdCaseEventAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
+        CaseEventMessage result =
+            eventMessageReceiverService.handleCcdCaseEventAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
 
-        verify(caseEventMessageRepository).save(caseEventMessageEntityCaptor.capture());
-        assertEquals(MessageState.READY, caseEventMessageEntityCaptor.getValue().getState());
-        assertEquals(2, caseEventMessageEntityCaptor.getValue().getDeliveryCount());
+        verify(caseEventMessageRepository).insertOrIncrementDeliveryCount(caseEventMessageEntityCaptor.capture());
+        verify(caseEventMessageRepository, never()).save(any());
+        assertEquals(MESSAGE_ID, caseEventMessageEntityCaptor.getValue().getMessageId());
+        assertEquals(MessageState.READY, result.getState());
+        assertEquals(2, result.getDeliveryCount());
     }
 
     @Test
@@ -499,29 +522,25 @@ class EventMessageReceiverServiceTest {
 
         CaseEventMessageEntity entity = new CaseEventMessageEntity();
         entity.setMessageId(MESSAGE_ID);
-        entity.setDeliveryCount(1);
+        entity.setDeliveryCount(2);
         entity.setState(MessageState.READY);
         entity.setMessageContent("Existing_Message");
-
-        mockMessageProperties();
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
-            .thenReturn(EventInformation
-                .builder()
-                .userId(USER_ID)
-                .jurisdictionId(JURISDICTION)
-                .caseTypeId("CASEID")
+        when(eventMessageParser.parse(MESSAGE))
+            .thenReturn(ParsedEventMessage.builder()
                 .caseId("CASEID")
                 .eventTimeStamp(LocalDateTime.now())
                 .build());
 
-        when(caseEventMessageRepository.findByMessageId(singletonList(MESSAGE_ID))).thenReturn(List.of(entity));
+        when(caseEventMessageRepository.insertOrIncrementDeliveryCount(any())).thenReturn(entity);
 
-        eventMessageReceiverService.handleCcdCaseEventAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
+        CaseEventMessage result =
+            eventMessageReceiverService.handleCcdCaseEventAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
 
-        verify(caseEventMessageRepository).save(caseEventMessageEntityCaptor.capture());
-        assertEquals(MessageState.READY, caseEventMessageEntityCaptor.getValue().getState());
-        assertEquals("Existing_Message", caseEventMessageEntityCaptor.getValue().getMessageContent());
-        assertEquals(2, caseEventMessageEntityCaptor.getValue().getDeliveryCount());
+        verify(caseEventMessageRepository).insertOrIncrementDeliveryCount(caseEventMessageEntityCaptor.capture());
+        assertEquals(MESSAGE, caseEventMessageEntityCaptor.getValue().getMessageContent());
+        assertEquals(MessageState.READY, result.getState());
+        assertEquals("Existing_Message", result.getMessageContent());
+        assertEquals(2, result.getDeliveryCount());
     }
 
     @Test
@@ -529,7 +548,7 @@ class EventMessageReceiverServiceTest {
         final NullPointerException nullPointerException = assertThrows(NullPointerException.class, () ->
             eventMessageReceiverService.handleCcdCaseEventAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE_WITHOUT_USER));
 
-        assertThat(nullPointerException.getMessage(), containsString("because \"eventInformation\" is null"));
+        assertThat(nullPointerException.getMessage(), containsString("because \"eventMessage\" is null"));
         verifyNoInteractions(caseEventMessageRepository);
     }
 
@@ -606,18 +625,27 @@ class EventMessageReceiverServiceTest {
     @Test
     void should_update_delivery_count_when_saving_message_with_message_id_already_in_db()
         throws JsonProcessingException {
-        when(objectMapper.readValue(MESSAGE, EventInformation.class))
+        when(eventMessageParser.parse(MESSAGE))
             .thenReturn(getEventInformation());
-        mockMessageProperties();
 
         CaseEventMessageEntity entity = new CaseEventMessageEntity();
-        entity.setDeliveryCount(0);
-        when(caseEventMessageRepository.findByMessageId(any())).thenReturn(List.of(entity));
-        eventMessageReceiverService.handleAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
+        entity.setDeliveryCount(1);
+        when(caseEventMessageRepository.insertOrIncrementDeliveryCount(any())).thenReturn(entity);
+        CaseEventMessage result = eventMessageReceiverService.handleAsbMessage(MESSAGE_ID, SESSION_ID, MESSAGE);
 
-        verify(caseEventMessageRepository).save(caseEventMessageEntityCaptor.capture());
+        verify(caseEventMessageRepository).insertOrIncrementDeliveryCount(caseEventMessageEntityCaptor.capture());
+        verify(caseEventMessageRepository, never()).findByMessageId(any());
 
-        assertEquals(1, caseEventMessageEntityCaptor.getValue().getDeliveryCount());
+        assertEquals(0, caseEventMessageEntityCaptor.getValue().getDeliveryCount());
+        assertEquals(1, result.getDeliveryCount());
+    }
+
+    private static ReceivedEventMessage receivedEventMessage(String messageId, String message) {
+        return ReceivedEventMessage.builder()
+            .messageId(messageId)
+            .sessionId(SESSION_ID)
+            .message(message)
+            .build();
     }
 
     private void assertLogMessageContains(String expectedMessage) {
@@ -653,58 +681,28 @@ class EventMessageReceiverServiceTest {
             + "NewStateId: some new state Id}";
     }
 
-    private void mockMessageProperties() throws JsonProcessingException {
-        Map<String, String> messageProperties = Map.of(
-            "messageProperty1", "value1",
-            "messageProperty2", "value2"
-        );
-        when(objectMapper.readValue(MESSAGE, EventInformationRequest.class))
-            .thenReturn(new EventInformationRequest(null,
-                new EventInformationMetadata(messageProperties, null)));
-        when(objectMapper.writeValueAsString(messageProperties)).thenReturn("jsonMessageProperties");
-        when(objectMapper.readTree("jsonMessageProperties")).thenReturn(getMessagesPropertyAsJson());
-    }
-
-    private void mockParsingExceptionWhenRetrievingMessageProperties() throws JsonProcessingException {
-        Map<String, String> messageProperties = Map.of(
-            "messageProperty1", "value1",
-            "messageProperty2", "value2"
-        );
-        when(objectMapper.readValue(MESSAGE, EventInformationRequest.class))
-            .thenReturn(new EventInformationRequest(null,
-                new EventInformationMetadata(messageProperties, null)));
-        when(objectMapper.writeValueAsString(messageProperties)).thenThrow(jsonProcessingException);
-    }
-
     private JsonNode getMessagesPropertyAsJson() throws JsonProcessingException {
         return new ObjectMapper().readTree("{\"" + MESSAGE_PROPERTIES + "\":{\"property1\":\"test1\"}}");
     }
 
-    private EventInformation getEventInformation() {
-        return EventInformation.builder()
-            .userId(USER_ID)
-            .jurisdictionId(JURISDICTION)
-            .caseTypeId(CASE_TYPE_ID)
+    private ParsedEventMessage getEventInformation() throws JsonProcessingException {
+        return ParsedEventMessage.builder()
             .caseId(CASE_ID)
             .eventTimeStamp(LocalDateTime.now())
+            .messageProperties(getMessagesPropertyAsJson())
+            .holdUntil(RECEIVED)
             .build();
     }
 
-    private EventInformation getEventInformationWithMissingEventTimeStamp() {
-        return EventInformation.builder()
-            .userId(USER_ID)
-            .jurisdictionId(JURISDICTION)
-            .caseTypeId(CASE_TYPE_ID)
+    private ParsedEventMessage getEventInformationWithMissingEventTimeStamp() {
+        return ParsedEventMessage.builder()
             .caseId(CASE_ID)
             .eventTimeStamp(null)
             .build();
     }
 
-    private EventInformation getEventInformationWithMissingCaseId() {
-        return EventInformation.builder()
-            .userId(USER_ID)
-            .jurisdictionId(JURISDICTION)
-            .caseTypeId(CASE_TYPE_ID)
+    private ParsedEventMessage getEventInformationWithMissingCaseId() {
+        return ParsedEventMessage.builder()
             .caseId(null)
             .eventTimeStamp(LocalDateTime.now())
             .build();
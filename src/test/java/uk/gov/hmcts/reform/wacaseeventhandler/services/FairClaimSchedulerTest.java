@@ -0,0 +1,158 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.FairSchedulingConfiguration;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.SchedulingKey;
+import uk.gov.hmcts.reform.wacaseeventhandler.repository.CaseEventMessageRepository;
+import uk.gov.hmcts.reform.wacaseeventhandler.repository.ReadyBacklog;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FairClaimSchedulerTest {
+
+    private static final SchedulingKey IA_ASYLUM = new SchedulingKey("IA", "Asylum");
+    private static final SchedulingKey WA_CASE_TYPE = new SchedulingKey("WA", "WaCaseType");
+
+    @Mock
+    private CaseEventMessageRepository caseEventMessageRepository;
+
+    private final FairSchedulingConfiguration configuration = new FairSchedulingConfiguration();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+
+    private FairClaimScheduler fairClaimScheduler;
+
+    @BeforeEach
+    void setUp() {
+        configuration.setEnabled(true);
+        configuration.setRefreshIntervalMilliSeconds(5000);
+        fairClaimScheduler = new FairClaimScheduler(caseEventMessageRepository, configuration, meterRegistry,
+                                                    clock::get);
+    }
+
+    @Test
+    void should_claim_from_keys_in_proportion_to_their_weights() {
+        configuration.setWeights(new HashMap<>(Map.of("WA", 3)));
+        when(caseEventMessageRepository.getReadyBacklogs()).thenReturn(List.of(
+            readyBacklog("IA", "Asylum", 1000L, 600.0),
+            readyBacklog("WA", "WaCaseType", 10L, 5.0)));
+
+        Map<SchedulingKey, Integer> claims = new HashMap<>();
+        for (int i = 0; i < 40; i++) {
+            SchedulingKey key = fairClaimScheduler.nextKey().orElseThrow();
+            claims.merge(key, 1, Integer::sum);
+            fairClaimScheduler.claimed(key, 1);
+        }
+
+        assertEquals(10, claims.get(IA_ASYLUM));
+        assertEquals(30, claims.get(WA_CASE_TYPE));
+    }
+
+    @Test
+    void should_prefer_jurisdiction_and_case_type_weight_over_jurisdiction_weight() {
+        configuration.setDefaultWeight(2);
+        configuration.setWeights(new HashMap<>(Map.of("IA", 5, "IA/Asylum", 7)));
+
+        assertEquals(7, configuration.getWeight("IA", "Asylum"));
+        assertEquals(5, configuration.getWeight("IA", "Bail"));
+        assertEquals(2, configuration.getWeight("WA", "WaCaseType"));
+    }
+
+    @Test
+    void should_skip_exhausted_key_until_backlog_is_refreshed() {
+        when(caseEventMessageRepository.getReadyBacklogs()).thenReturn(List.of(
+            readyBacklog("IA", "Asylum", 1000L, 600.0)));
+
+        assertEquals(Optional.of(IA_ASYLUM), fairClaimScheduler.nextKey());
+        fairClaimScheduler.claimed(IA_ASYLUM, 0);
+        assertEquals(Optional.empty(), fairClaimScheduler.nextKey());
+
+        clock.addAndGet(5000);
+
+        assertEquals(Optional.of(IA_ASYLUM), fairClaimScheduler.nextKey());
+        verify(caseEventMessageRepository, times(2)).getReadyBacklogs();
+    }
+
+    @Test
+    void should_not_let_key_joining_the_backlog_catch_up_on_missed_claims() {
+        when(caseEventMessageRepository.getReadyBacklogs())
+            .thenReturn(List.of(readyBacklog("IA", "Asylum", 1000L, 600.0)))
+            .thenReturn(List.of(
+                readyBacklog("IA", "Asylum", 900L, 600.0),
+                readyBacklog("WA", "WaCaseType", 10L, 5.0)));
+
+        for (int i = 0; i < 100; i++) {
+            fairClaimScheduler.claimed(fairClaimScheduler.nextKey().orElseThrow(), 1);
+        }
+        clock.addAndGet(5000);
+
+        Map<SchedulingKey, Integer> claims = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            SchedulingKey key = fairClaimScheduler.nextKey().orElseThrow();
+            claims.merge(key, 1, Integer::sum);
+            fairClaimScheduler.claimed(key, 1);
+        }
+
+        // starting from a pass of 0 the new key would take all of these claims
+        assertTrue(claims.get(IA_ASYLUM) >= 4);
+        assertTrue(claims.get(WA_CASE_TYPE) <= 6);
+    }
+
+    @Test
+    void should_publish_backlog_and_lag_per_jurisdiction_and_case_type() {
+        when(caseEventMessageRepository.getReadyBacklogs()).thenReturn(List.of(
+            readyBacklog("IA", "Asylum", 1000L, 600.0),
+            readyBacklog(null, null, 3L, 20.0)));
+
+        fairClaimScheduler.nextKey();
+
+        assertEquals(1000.0, meterRegistry.get("wa.case.event.handler.ready.backlog")
+            .tags("jurisdiction", "IA", "caseType", "Asylum").gauge().value());
+        assertEquals(600.0, meterRegistry.get("wa.case.event.handler.ready.lag")
+            .tags("jurisdiction", "IA", "caseType", "Asylum").gauge().value());
+        assertEquals(3.0, meterRegistry.get("wa.case.event.handler.ready.backlog")
+            .tags("jurisdiction", "unknown", "caseType", "unknown").gauge().value());
+    }
+
+    private static ReadyBacklog readyBacklog(String jurisdictionId, String caseTypeId,
+                                             Long backlog, Double lagSeconds) {
+        return new ReadyBacklog() {
+            @Override
+            public String getJurisdictionId() {
+                return jurisdictionId;
+            }
+
+            @Override
+            public String getCaseTypeId() {
+                return caseTypeId;
+            }
+
+            @Override
+            public Long getBacklog() {
+                return backlog;
+            }
+
+            @Override
+            public Double getLagSeconds() {
+                return lagSeconds;
+            }
+        };
+    }
+}
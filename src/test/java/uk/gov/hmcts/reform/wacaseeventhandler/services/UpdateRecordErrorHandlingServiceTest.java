@@ -7,7 +7,6 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.wacaseeventhandler.entity.CaseEventMessageEntity;
 import uk.gov.hmcts.reform.wacaseeventhandler.entity.MessageState;
@@ -26,6 +25,8 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class UpdateRecordErrorHandlingServiceTest {
 
+    private static final String CLAIMED_BY = "instanceId:thread";
+
     @Mock
     private CaseEventMessageErrorHandlingRepository errorHandlingRepository;
 
@@ -45,9 +46,9 @@ class UpdateRecordErrorHandlingServiceTest {
     void should_handle_error_and_retry_update_with_new_state(MessageState newState) {
         when(messageEntity.getState()).thenReturn(MessageState.READY);
 
-        updateRecordErrorHandlingService.handleUpdateError(newState, "mewssageId", 0, null);
+        updateRecordErrorHandlingService.handleUpdateError(newState, "mewssageId", 0, null, CLAIMED_BY);
 
-        verify(errorHandlingRepository).updateMessageState(newState, List.of("mewssageId"));
+        verify(errorHandlingRepository).updateLeasedMessageState(newState, "mewssageId", CLAIMED_BY);
     }
 
     @ParameterizedTest
@@ -55,9 +56,10 @@ class UpdateRecordErrorHandlingServiceTest {
     void should_handle_error_and_update_Ready_and_Unprocessable_to_Proccessed(MessageState state) {
         when(messageEntity.getState()).thenReturn(state);
 
-        updateRecordErrorHandlingService.handleUpdateError(MessageState.PROCESSED, "mewssageId", 0, null);
+        updateRecordErrorHandlingService.handleUpdateError(MessageState.PROCESSED, "mewssageId", 0, null, CLAIMED_BY);
 
-        verify(errorHandlingRepository).updateMessageState(MessageState.PROCESSED, List.of("mewssageId"));
+        verify(errorHandlingRepository)
+            .updateLeasedMessageState(MessageState.PROCESSED, "mewssageId", CLAIMED_BY);
     }
 
     @ParameterizedTest
@@ -65,9 +67,11 @@ class UpdateRecordErrorHandlingServiceTest {
     void should_handle_error_and_update_Ready_and_Unprocessable_to_Unprocessable(MessageState state) {
         when(messageEntity.getState()).thenReturn(state);
 
-        updateRecordErrorHandlingService.handleUpdateError(MessageState.UNPROCESSABLE, "mewssageId", 0, null);
+        updateRecordErrorHandlingService.handleUpdateError(MessageState.UNPROCESSABLE, "mewssageId", 0, null,
+                                                           CLAIMED_BY);
 
-        verify(errorHandlingRepository).updateMessageState(MessageState.UNPROCESSABLE, List.of("mewssageId"));
+        verify(errorHandlingRepository)
+            .updateLeasedMessageState(MessageState.UNPROCESSABLE, "mewssageId", CLAIMED_BY);
     }
 
     @ParameterizedTest
@@ -75,9 +79,10 @@ class UpdateRecordErrorHandlingServiceTest {
     void should_handle_error_and_should_not_update_if_message_already_processed(MessageState newState) {
         when(messageEntity.getState()).thenReturn(MessageState.PROCESSED);
 
-        updateRecordErrorHandlingService.handleUpdateError(newState, "mewssageId", 0, null);
+        updateRecordErrorHandlingService.handleUpdateError(newState, "mewssageId", 0, null, CLAIMED_BY);
 
-        verify(errorHandlingRepository, never()).updateMessageState(any(MessageState.class), Mockito.<String>anyList());
+        verify(errorHandlingRepository, never())
+            .updateLeasedMessageState(any(MessageState.class), anyString(), anyString());
     }
 
     @Test
@@ -86,9 +91,9 @@ class UpdateRecordErrorHandlingServiceTest {
 
         LocalDateTime holdUntil = LocalDateTime.now();
 
-        updateRecordErrorHandlingService.handleUpdateError(null, "mewssageId", 1, holdUntil);
+        updateRecordErrorHandlingService.handleUpdateError(null, "mewssageId", 1, holdUntil, CLAIMED_BY);
 
-        verify(errorHandlingRepository).updateMessageWithRetryDetails(1, holdUntil, "mewssageId");
+        verify(errorHandlingRepository).updateLeasedMessageWithRetryDetails(1, holdUntil, "mewssageId", CLAIMED_BY);
     }
 
     @ParameterizedTest
@@ -96,9 +101,9 @@ class UpdateRecordErrorHandlingServiceTest {
     void should_handle_error_and_should_not_update_retry_if_message_already_processed(MessageState state) {
         when(messageEntity.getState()).thenReturn(state);
 
-        updateRecordErrorHandlingService.handleUpdateError(null, "mewssageId", 1, LocalDateTime.now());
+        updateRecordErrorHandlingService.handleUpdateError(null, "mewssageId", 1, LocalDateTime.now(), CLAIMED_BY);
 
         verify(errorHandlingRepository, never())
-            .updateMessageWithRetryDetails(anyInt(), any(LocalDateTime.class), anyString());
+            .updateLeasedMessageWithRetryDetails(anyInt(), any(LocalDateTime.class), anyString(), anyString());
     }
 }
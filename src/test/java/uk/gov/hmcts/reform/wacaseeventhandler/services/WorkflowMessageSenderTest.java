@@ -0,0 +1,117 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.services;
+
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.WorkflowApiClient;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.SendMessageRequest;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class WorkflowMessageSenderTest {
+
+    private static final String SERVICE_AUTH_TOKEN = "s2s token";
+
+    @Mock
+    private WorkflowApiClient workflowApiClient;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<SendMessageRequest> messages = List.of(
+        SendMessageRequest.builder().messageName("createTaskMessage").build(),
+        SendMessageRequest.builder().messageName("cancelTasks").build()
+    );
+
+    @Test
+    void should_send_messages_in_one_batch() {
+        WorkflowMessageSender sender = new WorkflowMessageSender(workflowApiClient, meterRegistry, true, 600_000);
+
+        sender.sendMessages(SERVICE_AUTH_TOKEN, messages);
+
+        verify(workflowApiClient).sendMessages(SERVICE_AUTH_TOKEN, messages);
+        verify(workflowApiClient, never()).sendMessage(any(), any());
+        assertEquals(2.0, modeCount("batch"));
+    }
+
+    @Test
+    void should_send_messages_one_by_one_when_batches_are_not_supported() {
+        WorkflowMessageSender sender = new WorkflowMessageSender(workflowApiClient, meterRegistry, true, 600_000);
+        doThrow(new FeignException.NotFound("Not Found", mock(Request.class), new byte[]{}, Collections.emptyMap()))
+            .when(workflowApiClient).sendMessages(SERVICE_AUTH_TOKEN, messages);
+
+        sender.sendMessages(SERVICE_AUTH_TOKEN, messages);
+        sender.sendMessages(SERVICE_AUTH_TOKEN, messages);
+
+        verify(workflowApiClient, times(1)).sendMessages(any(), anyList());
+        verify(workflowApiClient, times(2)).sendMessage(SERVICE_AUTH_TOKEN, messages.get(0));
+        verify(workflowApiClient, times(2)).sendMessage(SERVICE_AUTH_TOKEN, messages.get(1));
+        assertEquals(4.0, modeCount("single"));
+    }
+
+    @Test
+    void should_retry_batches_once_recheck_interval_has_passed() {
+        WorkflowMessageSender sender = new WorkflowMessageSender(workflowApiClient, meterRegistry, true, 0);
+        doThrow(new FeignException.NotFound("Not Found", mock(Request.class), new byte[]{}, Collections.emptyMap()))
+            .when(workflowApiClient).sendMessages(SERVICE_AUTH_TOKEN, messages);
+
+        sender.sendMessages(SERVICE_AUTH_TOKEN, messages);
+        sender.sendMessages(SERVICE_AUTH_TOKEN, messages);
+
+        verify(workflowApiClient, times(2)).sendMessages(SERVICE_AUTH_TOKEN, messages);
+    }
+
+    @Test
+    void should_send_messages_one_by_one_when_batching_disabled() {
+        WorkflowMessageSender sender = new WorkflowMessageSender(workflowApiClient, meterRegistry, false, 600_000);
+
+        sender.sendMessages(SERVICE_AUTH_TOKEN, messages);
+
+        verify(workflowApiClient, never()).sendMessages(any(), anyList());
+        verify(workflowApiClient).sendMessage(SERVICE_AUTH_TOKEN, messages.get(0));
+        verify(workflowApiClient).sendMessage(SERVICE_AUTH_TOKEN, messages.get(1));
+    }
+
+    @Test
+    void should_send_single_message_without_batch() {
+        WorkflowMessageSender sender = new WorkflowMessageSender(workflowApiClient, meterRegistry, true, 600_000);
+
+        sender.sendMessages(SERVICE_AUTH_TOKEN, messages.subList(0, 1));
+
+        verify(workflowApiClient, never()).sendMessages(any(), anyList());
+        verify(workflowApiClient).sendMessage(SERVICE_AUTH_TOKEN, messages.get(0));
+        assertEquals(1.0, modeCount("single"));
+    }
+
+    @Test
+    void should_not_send_empty_list_of_messages() {
+        WorkflowMessageSender sender = new WorkflowMessageSender(workflowApiClient, meterRegistry, true, 600_000);
+
+        sender.sendMessages(SERVICE_AUTH_TOKEN, List.of());
+
+        verifyNoInteractions(workflowApiClient);
+    }
+
+    private double modeCount(String mode) {
+        return meterRegistry.get("wa.case.event.handler.workflow.messages")
+            .tag("mode", mode)
+            .counter()
+            .count();
+    }
+}
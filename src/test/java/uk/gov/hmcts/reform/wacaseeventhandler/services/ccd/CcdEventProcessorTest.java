@@ -10,13 +10,18 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.system.CapturedOutput;
 import org.springframework.boot.test.system.OutputCaptureExtension;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.CancellationEvaluateResponse;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateDmnResponse;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.InitiateEvaluateResponse;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.AdditionalData;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.ccd.message.EventInformation;
 import uk.gov.hmcts.reform.wacaseeventhandler.domain.model.CaseEventMessage;
+import uk.gov.hmcts.reform.wacaseeventhandler.handlers.CancellationCaseEventHandler;
+import uk.gov.hmcts.reform.wacaseeventhandler.handlers.CancellationDmnEvaluator;
 import uk.gov.hmcts.reform.wacaseeventhandler.handlers.CaseEventHandler;
 import uk.gov.hmcts.reform.wacaseeventhandler.handlers.InitiationCaseEventHandler;
+import uk.gov.hmcts.reform.wacaseeventhandler.handlers.ReconfigurationCaseEventHandler;
+import uk.gov.hmcts.reform.wacaseeventhandler.handlers.WarningCaseEventHandler;
 
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -27,8 +32,10 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.hmcts.reform.wacaseeventhandler.util.TestFixtures.createCaseEventMessage;
@@ -40,6 +47,18 @@ class CcdEventProcessorTest {
     @Mock
     private InitiationCaseEventHandler initiationTaskHandler;
 
+    @Mock
+    private CancellationCaseEventHandler cancellationTaskHandler;
+
+    @Mock
+    private WarningCaseEventHandler warningTaskHandler;
+
+    @Mock
+    private ReconfigurationCaseEventHandler reconfigurationTaskHandler;
+
+    @Mock
+    private CancellationDmnEvaluator cancellationDmnEvaluator;
+
     @Mock
     private ObjectMapper mapper;
 
@@ -54,7 +73,7 @@ class CcdEventProcessorTest {
         doReturn(dmnResponse.getResults()).when(initiationTaskHandler).evaluateDmn(any(EventInformation.class));
 
         List<CaseEventHandler> handlerServices = List.of(initiationTaskHandler);
-        processor = new CcdEventProcessor(handlerServices, mapper);
+        processor = new CcdEventProcessor(handlerServices, mapper, cancellationDmnEvaluator);
 
         String incomingMessage = asJsonString(buildEventInformation());
         when(mapper.readValue(incomingMessage, EventInformation.class))
@@ -79,7 +98,7 @@ class CcdEventProcessorTest {
         doReturn(dmnResponse.getResults()).when(initiationTaskHandler).evaluateDmn(any(EventInformation.class));
 
         List<CaseEventHandler> handlerServices = List.of(initiationTaskHandler);
-        processor = new CcdEventProcessor(handlerServices, mapper);
+        processor = new CcdEventProcessor(handlerServices, mapper, cancellationDmnEvaluator);
 
         EventInformation eventInformation = buildEventInformation();
         String incomingMessage = asJsonString(eventInformation);
@@ -101,7 +120,7 @@ class CcdEventProcessorTest {
     void given_evaluateDmn_returns_nothing_then_caseEventHandler_does_not_handle() throws JsonProcessingException {
         List<CaseEventHandler> handlerServices = List.of(initiationTaskHandler);
 
-        processor = new CcdEventProcessor(handlerServices, mapper);
+        processor = new CcdEventProcessor(handlerServices, mapper, cancellationDmnEvaluator);
 
         String incomingMessage = asJsonString(buildEventInformation());
         when(mapper.readValue(incomingMessage, EventInformation.class))
@@ -114,10 +133,42 @@ class CcdEventProcessorTest {
         verify(initiationTaskHandler).evaluateDmn(any(EventInformation.class));
     }
 
+    @Test
+    void should_evaluate_cancellation_dmn_once_for_all_handlers_sharing_it() throws JsonProcessingException {
+        List<CancellationEvaluateResponse> cancellationResults =
+            List.of(CancellationEvaluateResponse.builder().build());
+        EventInformation eventInformation = buildEventInformation();
+        when(cancellationDmnEvaluator.evaluate(eventInformation)).thenReturn(cancellationResults);
+        when(cancellationTaskHandler.usesCancellationDmn()).thenReturn(true);
+        when(warningTaskHandler.usesCancellationDmn()).thenReturn(true);
+        when(reconfigurationTaskHandler.usesCancellationDmn()).thenReturn(true);
+
+        processor = new CcdEventProcessor(
+            List.of(cancellationTaskHandler, warningTaskHandler, reconfigurationTaskHandler, initiationTaskHandler),
+            mapper,
+            cancellationDmnEvaluator
+        );
+
+        String incomingMessage = asJsonString(eventInformation);
+        when(mapper.readValue(incomingMessage, EventInformation.class))
+            .thenReturn(eventInformation);
+
+        processor.processMessage(incomingMessage);
+
+        verify(cancellationDmnEvaluator).evaluate(eventInformation);
+        verify(cancellationTaskHandler, never()).evaluateDmn(any(EventInformation.class));
+        verify(warningTaskHandler, never()).evaluateDmn(any(EventInformation.class));
+        verify(reconfigurationTaskHandler, never()).evaluateDmn(any(EventInformation.class));
+        verify(cancellationTaskHandler).handle(cancellationResults, eventInformation);
+        verify(warningTaskHandler).handle(cancellationResults, eventInformation);
+        verify(reconfigurationTaskHandler).handle(cancellationResults, eventInformation);
+        verify(initiationTaskHandler).evaluateDmn(eq(eventInformation));
+    }
+
     @Test
     void test_EventInformation_logging(CapturedOutput output) throws JsonProcessingException {
         List<CaseEventHandler> handlerServices = List.of(initiationTaskHandler);
-        processor = new CcdEventProcessor(handlerServices, mapper);
+        processor = new CcdEventProcessor(handlerServices, mapper, cancellationDmnEvaluator);
 
         String incomingMessage = asJsonString(buildEventInformation(true, true));
         when(mapper.readValue(incomingMessage, EventInformation.class))
@@ -0,0 +1,118 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.services.dmn;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.CamundaClient;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.LocalDmnEngineConfiguration;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.EvaluateDmnRequest;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnMapValue;
+import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnStringValue;
+
+@ExtendWith(MockitoExtension.class)
+class DmnPrefilterTest {
+
+    private static final String CANCELLATION_TABLE = "wa-task-cancellation-ia-asylum";
+    private static final String INITIATION_TABLE = "wa-task-initiation-ia-asylum";
+
+    @Mock
+    private CamundaClient camundaClient;
+
+    @Mock
+    private AuthTokenGenerator serviceAuthGenerator;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DmnDefinitionSource dmnDefinitionSource;
+
+    private DmnPrefilter dmnPrefilter;
+
+    @BeforeEach
+    void setUp() {
+        LocalDmnEngineConfiguration configuration = new LocalDmnEngineConfiguration();
+        configuration.setDefinitionsDirectory("src/test/resources/dmn");
+        dmnDefinitionSource = new DmnDefinitionSource(configuration, camundaClient, serviceAuthGenerator);
+        dmnPrefilter = new DmnPrefilter(dmnDefinitionSource, meterRegistry, true, 300_000);
+    }
+
+    @Test
+    void should_skip_events_no_cancellation_rule_can_match() {
+        assertTrue(dmnPrefilter.canSkip(CANCELLATION_TABLE, "ia", cancellationRequest("uploadDocument", "x")));
+        assertFalse(dmnPrefilter.canSkip(CANCELLATION_TABLE, "ia", cancellationRequest("makeAnApplication", "x")));
+
+        assertEquals(1.0, outcomeCount(CANCELLATION_TABLE, "skipped"));
+        assertEquals(1.0, outcomeCount(CANCELLATION_TABLE, "evaluated"));
+    }
+
+    @Test
+    void should_skip_events_whose_previous_state_no_cancellation_rule_can_match() {
+        assertFalse(dmnPrefilter.canSkip(
+            CANCELLATION_TABLE, "ia", cancellationRequest("removeAppealFromOnline", "appealSubmitted")));
+        assertTrue(dmnPrefilter.canSkip(
+            CANCELLATION_TABLE, "ia", cancellationRequest("removeAppealFromOnline", "listing")));
+        assertTrue(dmnPrefilter.canSkip(
+            CANCELLATION_TABLE, "ia", cancellationRequest("removeAppealFromOnline", null)));
+    }
+
+    @Test
+    void should_skip_events_and_states_no_initiation_rule_can_match() {
+        assertFalse(dmnPrefilter.canSkip(INITIATION_TABLE, "ia", initiationRequest("submitAppeal", "appealSubmitted")));
+        assertTrue(dmnPrefilter.canSkip(INITIATION_TABLE, "ia", initiationRequest("submitAppeal", "listing")));
+        assertTrue(dmnPrefilter.canSkip(INITIATION_TABLE, "ia", initiationRequest("addCaseNote", "appealSubmitted")));
+    }
+
+    @Test
+    void should_not_skip_tables_without_definition() {
+        assertFalse(dmnPrefilter.canSkip("wa-task-initiation-wa-wacasetype", "wa",
+                                         initiationRequest("addCaseNote", "appealSubmitted")));
+
+        assertEquals(1.0, outcomeCount("wa-task-initiation-wa-wacasetype", "evaluated"));
+    }
+
+    @Test
+    void should_not_skip_when_disabled() {
+        dmnPrefilter = new DmnPrefilter(dmnDefinitionSource, meterRegistry, false, 300_000);
+
+        assertFalse(dmnPrefilter.canSkip(CANCELLATION_TABLE, "ia", cancellationRequest("uploadDocument", "x")));
+
+        assertEquals(0, meterRegistry.find("wa.case.event.handler.dmn.prefilter").counters().size());
+        verifyNoInteractions(camundaClient);
+    }
+
+    private EvaluateDmnRequest cancellationRequest(String event, String fromState) {
+        return new EvaluateDmnRequest(Map.of(
+            "event", dmnStringValue(event),
+            "state", dmnStringValue("appealSubmitted"),
+            "fromState", dmnStringValue(fromState),
+            "additionalData", dmnMapValue(null)
+        ));
+    }
+
+    private EvaluateDmnRequest initiationRequest(String eventId, String postEventState) {
+        return new EvaluateDmnRequest(Map.of(
+            "eventId", dmnStringValue(eventId),
+            "postEventState", dmnStringValue(postEventState),
+            "additionalData", dmnMapValue(Map.of("Data", Map.of("appealType", "refusalOfHumanRights")))
+        ));
+    }
+
+    private double outcomeCount(String tableKey, String outcome) {
+        return meterRegistry.get("wa.case.event.handler.dmn.prefilter")
+            .tag("table", tableKey)
+            .tag("outcome", outcome)
+            .counter()
+            .count();
+    }
+}
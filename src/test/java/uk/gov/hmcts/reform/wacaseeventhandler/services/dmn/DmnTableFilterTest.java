@@ -0,0 +1,106 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.services.dmn;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnIntegerValue;
+import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnStringValue;
+
+class DmnTableFilterTest {
+
+    private static final String TABLE_KEY = "wa-task-initiation-wa-wacasetype";
+
+    @Test
+    void should_match_any_of_several_literals() {
+        DmnTableFilter filter = filter(rule("\"eventA\", \"eventB\"", "\"stateA\""));
+
+        assertTrue(filter.canMatch(variables("eventB", "stateA")));
+        assertFalse(filter.canMatch(variables("eventC", "stateA")));
+        assertFalse(filter.canMatch(variables("eventA", "stateB")));
+    }
+
+    @Test
+    void should_match_any_value_of_empty_dash_and_other_entries() {
+        assertTrue(filter(rule("", "\"stateA\"")).canMatch(variables("eventC", "stateA")));
+        assertTrue(filter(rule("-", "\"stateA\"")).canMatch(variables("eventC", "stateA")));
+        assertTrue(filter(rule("not(\"eventA\")", "\"stateA\"")).canMatch(variables("eventC", "stateA")));
+        assertTrue(filter(rule("\"eventA\"", "starts with(?, \"state\")")).canMatch(variables("eventA", "stateC")));
+    }
+
+    @Test
+    void should_match_when_any_rule_matches() {
+        DmnTableFilter filter = filter(rule("\"eventA\"", "\"stateA\""), rule("\"eventB\"", ""));
+
+        assertTrue(filter.canMatch(variables("eventB", "stateC")));
+        assertFalse(filter.canMatch(variables("eventA", "stateC")));
+    }
+
+    @Test
+    void should_match_variables_that_are_not_strings_or_missing() {
+        DmnTableFilter filter = filter(rule("\"eventA\"", "\"stateA\""));
+
+        assertTrue(filter.canMatch(Map.of(
+            "eventId", dmnStringValue("eventA"),
+            "postEventState", dmnIntegerValue(1)
+        )));
+        assertTrue(filter.canMatch(Map.of("eventId", dmnStringValue("eventA"))));
+        assertFalse(filter.canMatch(Map.of("eventId", dmnStringValue(null))));
+    }
+
+    @Test
+    void should_not_match_any_variables_when_table_has_no_rules() {
+        assertFalse(filter().canMatch(variables("eventA", "stateA")));
+    }
+
+    @Test
+    void should_not_filter_decisions_requiring_other_decisions() {
+        String dmnXml = definitions(rule("\"eventA\"", "\"stateA\""))
+            .replace("<decisionTable", "<informationRequirement id=\"Requirement_1\">"
+                + "<requiredDecision href=\"#other-decision\"/></informationRequirement><decisionTable");
+
+        assertTrue(DmnTableFilter.fromDefinition(TABLE_KEY, dmnXml).isEmpty());
+    }
+
+    @Test
+    void should_not_filter_unknown_decisions() {
+        String dmnXml = definitions(rule("\"eventA\"", "\"stateA\""));
+
+        assertTrue(DmnTableFilter.fromDefinition("wa-task-initiation-ia-asylum", dmnXml).isEmpty());
+    }
+
+    private static DmnTableFilter filter(String... rules) {
+        Optional<DmnTableFilter> filter = DmnTableFilter.fromDefinition(TABLE_KEY, definitions(rules));
+        assertTrue(filter.isPresent());
+        return filter.get();
+    }
+
+    private static Map<String, DmnValue<?>> variables(String eventId, String postEventState) {
+        return Map.of("eventId", dmnStringValue(eventId), "postEventState", dmnStringValue(postEventState));
+    }
+
+    private static String rule(String eventEntry, String stateEntry) {
+        return "<rule><inputEntry><text><![CDATA[" + eventEntry + "]]></text></inputEntry>"
+            + "<inputEntry><text><![CDATA[" + stateEntry + "]]></text></inputEntry>"
+            + "<outputEntry><text>\"taskId\"</text></outputEntry></rule>";
+    }
+
+    private static String definitions(String... rules) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<definitions xmlns=\"https://www.omg.org/spec/DMN/20191111/MODEL/\" id=\"definitions\""
+            + " name=\"definitions\" namespace=\"http://camunda.org/schema/1.0/dmn\">"
+            + "<decision id=\"" + TABLE_KEY + "\" name=\"Task initiation DMN\">"
+            + "<decisionTable id=\"DecisionTable_1\" hitPolicy=\"COLLECT\">"
+            + "<input id=\"Input_event\"><inputExpression id=\"InputExpression_event\" typeRef=\"string\">"
+            + "<text>eventId</text></inputExpression></input>"
+            + "<input id=\"Input_state\"><inputExpression id=\"InputExpression_state\" typeRef=\"string\">"
+            + "<text>postEventState</text></inputExpression></input>"
+            + "<output id=\"Output_taskId\" name=\"taskId\" typeRef=\"string\"/>"
+            + String.join("", rules)
+            + "</decisionTable></decision></definitions>";
+    }
+}
@@ -0,0 +1,161 @@
+package uk.gov.hmcts.reform.wacaseeventhandler.services.dmn;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.wacaseeventhandler.clients.CamundaClient;
+import uk.gov.hmcts.reform.wacaseeventhandler.config.LocalDmnEngineConfiguration;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.request.EvaluateDmnRequest;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.CancellationEvaluateResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.DecisionDefinitionXml;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.EvaluateDmnResponse;
+import uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.response.InitiateEvaluateResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnIntegerValue;
+import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnMapValue;
+import static uk.gov.hmcts.reform.wacaseeventhandler.domain.camunda.DmnValue.dmnStringValue;
+
+@ExtendWith(MockitoExtension.class)
+class LocalDmnEngineTest {
+
+    private static final String CANCELLATION_TABLE = "wa-task-cancellation-ia-asylum";
+    private static final String INITIATION_TABLE = "wa-task-initiation-ia-asylum";
+    private static final String DEFINITIONS_DIRECTORY = "src/test/resources/dmn";
+
+    @Mock
+    private CamundaClient camundaClient;
+
+    @Mock
+    private AuthTokenGenerator serviceAuthGenerator;
+
+    private final LocalDmnEngineConfiguration configuration = new LocalDmnEngineConfiguration();
+
+    private LocalDmnEngine localDmnEngine;
+
+    @BeforeEach
+    void setUp() {
+        configuration.setMode(LocalDmnEngineConfiguration.Mode.ENABLED);
+        configuration.setDefinitionsDirectory(DEFINITIONS_DIRECTORY);
+        localDmnEngine = new LocalDmnEngine(
+            new DmnDefinitionSource(configuration, camundaClient, serviceAuthGenerator),
+            configuration,
+            new ObjectMapper()
+        );
+    }
+
+    @Test
+    void should_evaluate_cancellation_table_from_definitions_directory() {
+        Optional<EvaluateDmnResponse<CancellationEvaluateResponse>> response = localDmnEngine.evaluate(
+            CANCELLATION_TABLE, "ia", cancellationRequest("makeAnApplication", "appealSubmitted"),
+            CancellationEvaluateResponse.class
+        );
+
+        assertTrue(response.isPresent());
+        List<CancellationEvaluateResponse> results = response.get().getResults();
+        assertEquals(1, results.size());
+        assertEquals(dmnStringValue("Warn"), results.get(0).getAction());
+        assertEquals(dmnStringValue("TA01"), results.get(0).getWarningCode());
+        verifyNoInteractions(camundaClient);
+    }
+
+    @Test
+    void should_evaluate_initiation_table_with_additional_data() {
+        EvaluateDmnRequest request = new EvaluateDmnRequest(Map.of(
+            "eventId", dmnStringValue("submitAppeal"),
+            "postEventState", dmnStringValue("appealSubmitted"),
+            "additionalData", dmnMapValue(Map.of("Data", Map.of("appealType", "protection")))
+        ));
+
+        Optional<EvaluateDmnResponse<InitiateEvaluateResponse>> response = localDmnEngine.evaluate(
+            INITIATION_TABLE, "ia", request, InitiateEvaluateResponse.class
+        );
+
+        assertTrue(response.isPresent());
+        List<InitiateEvaluateResponse> results = response.get().getResults();
+        assertEquals(1, results.size());
+        assertEquals(dmnStringValue("reviewTheAppeal"), results.get(0).getTaskId());
+        assertEquals(dmnIntegerValue(2), results.get(0).getWorkingDaysAllowed());
+    }
+
+    @Test
+    void should_return_no_results_when_no_rule_matches() {
+        Optional<EvaluateDmnResponse<CancellationEvaluateResponse>> response = localDmnEngine.evaluate(
+            CANCELLATION_TABLE, "ia", cancellationRequest("someOtherEvent", "appealSubmitted"),
+            CancellationEvaluateResponse.class
+        );
+
+        assertTrue(response.isPresent());
+        assertTrue(response.get().getResults().isEmpty());
+    }
+
+    @Test
+    void should_return_empty_when_table_has_no_definition() {
+        Optional<EvaluateDmnResponse<CancellationEvaluateResponse>> response = localDmnEngine.evaluate(
+            "wa-task-cancellation-wa-wacasetype", "wa", cancellationRequest("makeAnApplication", "appealSubmitted"),
+            CancellationEvaluateResponse.class
+        );
+
+        assertTrue(response.isEmpty());
+        verifyNoInteractions(camundaClient);
+    }
+
+    @Test
+    void should_fetch_definition_from_camunda_once_when_no_definitions_directory() throws Exception {
+        configuration.setDefinitionsDirectory(null);
+        String dmnXml = Files.readString(Path.of(DEFINITIONS_DIRECTORY, CANCELLATION_TABLE + ".dmn"));
+        when(serviceAuthGenerator.generate()).thenReturn("s2s token");
+        when(camundaClient.getDecisionDefinitionXml("s2s token", CANCELLATION_TABLE, "ia"))
+            .thenReturn(new DecisionDefinitionXml("definitionId", dmnXml));
+
+        localDmnEngine.evaluate(CANCELLATION_TABLE, "ia", cancellationRequest("makeAnApplication", "appealSubmitted"),
+                                CancellationEvaluateResponse.class);
+        Optional<EvaluateDmnResponse<CancellationEvaluateResponse>> response = localDmnEngine.evaluate(
+            CANCELLATION_TABLE, "ia", cancellationRequest("removeAppealFromOnline", "appealSubmitted"),
+            CancellationEvaluateResponse.class
+        );
+
+        assertTrue(response.isPresent());
+        assertEquals(dmnStringValue("Cancel"), response.get().getResults().get(0).getAction());
+        verify(camundaClient, times(1)).getDecisionDefinitionXml("s2s token", CANCELLATION_TABLE, "ia");
+    }
+
+    @Test
+    void should_return_empty_when_definition_cannot_be_fetched_from_camunda() {
+        configuration.setDefinitionsDirectory(null);
+        when(serviceAuthGenerator.generate()).thenReturn("s2s token");
+        when(camundaClient.getDecisionDefinitionXml("s2s token", CANCELLATION_TABLE, "ia"))
+            .thenThrow(new IllegalStateException("Camunda unavailable"));
+
+        Optional<EvaluateDmnResponse<CancellationEvaluateResponse>> response = localDmnEngine.evaluate(
+            CANCELLATION_TABLE, "ia", cancellationRequest("makeAnApplication", "appealSubmitted"),
+            CancellationEvaluateResponse.class
+        );
+
+        assertTrue(response.isEmpty());
+    }
+
+    private EvaluateDmnRequest cancellationRequest(String event, String fromState) {
+        return new EvaluateDmnRequest(Map.of(
+            "event", dmnStringValue(event),
+            "state", dmnStringValue("appealSubmitted"),
+            "fromState", dmnStringValue(fromState),
+            "additionalData", dmnMapValue(null)
+        ));
+    }
+}
@@ -25,8 +25,11 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith({MockitoExtension.class, OutputCaptureExtension.class})
 class CleanUpMessageJobTest {
@@ -45,7 +48,7 @@ class CleanUpMessageJobTest {
             caseEventMessageRepository,
             cleanUpJobConfiguration
         );
-
+        lenient().when(caseEventMessageRepository.tryLockJob(JobName.CLEAN_UP_MESSAGES.name())).thenReturn(true);
     }
 
     @Test
@@ -58,6 +61,16 @@ class CleanUpMessageJobTest {
         assertFalse(cleanUpMessageJob.canRun(JobName.FIND_PROBLEM_MESSAGES));
     }
 
+    @Test
+    void should_not_clean_messages_when_job_is_running_on_another_replica() {
+        when(caseEventMessageRepository.tryLockJob(JobName.CLEAN_UP_MESSAGES.name())).thenReturn(false);
+
+        List<String> response = cleanUpMessageJob.run();
+
+        assertEquals(emptyList(), response);
+        verify(caseEventMessageRepository, never()).removeOldMessages(anyInt(), any(), any());
+    }
+
     @Test
     void should_clean_messages_when_environment_is_prod(CapturedOutput output) {
 
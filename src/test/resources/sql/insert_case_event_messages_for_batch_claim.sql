@@ -0,0 +1,21 @@
+INSERT INTO public.wa_case_event_messages (message_id,
+                                           sequence,
+                                           case_id,
+                                           event_timestamp,
+                                           from_dlq,
+                                           state,
+                                           message_properties,
+                                           message_content,
+                                           received,
+                                           delivery_count,
+                                           hold_until,
+                                           retry_count)
+VALUES
+  ('MessageId_first_case_head', 1, '1111222233334444', '2022-01-04 12:41:16.162368', false, 'READY',
+   'null', '{}', '2022-01-05 12:41:19.458704', 0, null, 0),
+  ('MessageId_first_case_next', 2, '1111222233334444', '2022-01-04 12:45:16.162368', false, 'READY',
+   'null', '{}', '2022-01-05 12:45:19.458704', 0, null, 0),
+  ('MessageId_second_case_head', 3, '5555666677778888', '2022-01-04 12:42:16.162368', false, 'READY',
+   'null', '{}', '2022-01-05 12:42:19.458704', 0, null, 0),
+  ('MessageId_third_case_on_hold', 4, '9999000011112222', '2022-01-04 12:43:16.162368', false, 'READY',
+   'null', '{}', '2022-01-05 12:43:19.458704', 0, '2099-01-01 00:00:00.000000', 0);